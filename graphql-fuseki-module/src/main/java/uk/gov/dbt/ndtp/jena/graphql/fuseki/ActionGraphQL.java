@@ -24,24 +24,42 @@
 package uk.gov.dbt.ndtp.jena.graphql.fuseki;
 
 import graphql.ExecutionResult;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
 import uk.gov.dbt.ndtp.jena.graphql.execution.GraphQLOverDatasetExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.execution.IncrementalResultListener;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLBatchRequest;
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp;
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.MultipartResponseWriter;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.jena.atlas.lib.Pair;
 import org.apache.jena.atlas.logging.FmtLog;
 import org.apache.jena.fuseki.servlets.ActionLib;
 import org.apache.jena.fuseki.servlets.ActionService;
 import org.apache.jena.fuseki.servlets.HttpAction;
 import org.apache.jena.fuseki.servlets.ServletOps;
 import org.apache.jena.riot.WebContent;
+import org.apache.jena.query.ARQ;
 import org.apache.jena.riot.web.HttpNames;
 import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.engine.Timeouts;
+import org.apache.jena.sparql.util.Context;
+import org.apache.jena.web.HttpSC;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A Fuseki action that evaluates GraphQL Requests using a configured Jena GraphQL {@link GraphQLOverDatasetExecutor}
@@ -105,9 +123,11 @@ public class ActionGraphQL extends ActionService {
         String method = httpAction.getRequestMethod().toUpperCase(Locale.ROOT);
 
         if (StringUtils.equals(method, HttpNames.METHOD_GET)) {
-            if (StringUtils.isBlank(httpAction.getRequestParameter(GraphQLOverHttp.PARAMETER_QUERY))) {
+            // A persisted operation may be requested by its hash alone, conveyed via the extensions parameter
+            if (StringUtils.isBlank(httpAction.getRequestParameter(GraphQLOverHttp.PARAMETER_QUERY))
+                    && StringUtils.isBlank(httpAction.getRequestParameter(GraphQLOverHttp.PARAMETER_EXTENSIONS))) {
                 ServletOps.errorBadRequest(
-                        "GET requests to GraphQL endpoints MUST have a non-empty query parameter");
+                        "GET requests to GraphQL endpoints MUST have a non-empty query, or extensions, parameter");
             }
         } else {
             // Allow only Content-Type: application/json if Content-Type is present, if missing we assume JSON body
@@ -126,26 +146,42 @@ public class ActionGraphQL extends ActionService {
         // Parse in the GraphQL Request which may have arrived as either a GET or a POST
         String method = httpAction.getRequestMethod().toUpperCase(Locale.ROOT);
 
-        GraphQLRequest request = null;
+        GraphQLBatchRequest body = null;
         try {
-            request = GraphQLOverHttp.parseRequest(httpAction, method, ActionGraphQL::getRequestParameter,
-                                                   ActionGraphQL::getRequestBody);
+            body = GraphQLOverHttp.parseBatchRequest(httpAction, method, ActionGraphQL::getRequestParameter,
+                                                     ActionGraphQL::getRequestBody);
         } catch (Throwable e) {
             ServletOps.errorBadRequest(e.getMessage());
         }
 
         httpAction.beginRead();
 
-        if (request == null) {
+        if (body == null) {
             ServletOps.errorBadRequest("Invalid GraphQL request");
             return; // Make SonarQube happy; errorBadRequest throws ActionErrorException.
         }
 
         try {
+            if (body.isBatch()) {
+                executeBatch(httpAction, body.getRequests());
+                return;
+            }
+
+            GraphQLRequest request = body.getRequests().get(0);
+            applyQueryTimeout(httpAction.getContext(), request);
             DatasetGraph dsg = httpAction.getActiveDSG();
             dsg = prepare(httpAction, request, dsg);
 
             FmtLog.info(httpAction.log, "[%d] GraphQL Query = \n%s", httpAction.id, request.getQuery());
+            if (GraphQLOverHttp.acceptsIncrementalDelivery(httpAction.getRequestHeader(HttpNames.hAccept))) {
+                IncrementalResponse response = new IncrementalResponse(httpAction);
+                try {
+                    this.executor.execute(dsg, request, response);
+                } finally {
+                    response.close();
+                }
+                return;
+            }
             ExecutionResult result = this.executor.execute(dsg, request);
 
             httpAction.setResponseHeader(HttpNames.hContentType, GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON);
@@ -160,6 +196,148 @@ public class ActionGraphQL extends ActionService {
         }
     }
 
+    /**
+     * Executes a batch of GraphQL Requests, writing their results to the HTTP response as a JSON array
+     * <p>
+     * Each request is prepared, via {@link #prepare(HttpAction, GraphQLRequest, DatasetGraph)}, as normal.  Where every
+     * request is to be executed against the same dataset, which is typically the case, the batch is executed via
+     * {@link GraphQLOverDatasetExecutor#executeBatch(DatasetGraph, List)}, otherwise each request is executed in turn.
+     * Either way the whole batch is executed within the read transaction for the action.
+     * </p>
+     *
+     * @param httpAction HTTP Action
+     * @param requests   GraphQL Requests
+     */
+    private void executeBatch(HttpAction httpAction, List<GraphQLRequest> requests) {
+        DatasetGraph active = httpAction.getActiveDSG();
+        List<DatasetGraph> datasets = new ArrayList<>(requests.size());
+        for (GraphQLRequest request : requests) {
+            applyQueryTimeout(httpAction.getContext(), request);
+            datasets.add(prepare(httpAction, request, active));
+            FmtLog.info(httpAction.log, "[%d] GraphQL Query %d of batch = \n%s", httpAction.id, datasets.size(),
+                        request.getQuery());
+        }
+
+        List<ExecutionResult> results;
+        if (datasets.stream().distinct().count() <= 1) {
+            try {
+                results = this.executor.executeBatch(datasets.isEmpty() ? active : datasets.get(0), requests);
+            } catch (IllegalArgumentException e) {
+                ServletOps.errorBadRequest(e.getMessage());
+                return;
+            }
+        } else {
+            results = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                results.add(this.executor.execute(datasets.get(i), requests.get(i)));
+            }
+        }
+
+        httpAction.setResponseHeader(HttpNames.hContentType, GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON);
+        httpAction.setResponseStatus(HttpSC.OK_200);
+        try (OutputStream output = httpAction.getResponseOutputStream()) {
+            GraphQLOverHttp.write(results, output);
+        } catch (IOException e) {
+            ServletOps.warning(httpAction, "Failed to serialize GraphQL Results", e);
+        }
+    }
+
+    /**
+     * Listener that writes the results of an execution to the HTTP response, as a {@code multipart/mixed} response when
+     * the execution delivers results incrementally, or as a normal GraphQL response otherwise
+     */
+    static final class IncrementalResponse implements IncrementalResultListener {
+        private final HttpAction httpAction;
+        private OutputStream output;
+        private MultipartResponseWriter writer;
+
+        IncrementalResponse(HttpAction httpAction) {
+            this.httpAction = httpAction;
+        }
+
+        @Override
+        public void onInitialResult(ExecutionResult result) {
+            try {
+                if (result instanceof IncrementalExecutionResult incremental && incremental.hasNext()) {
+                    this.httpAction.setResponseHeader(HttpNames.hContentType,
+                                                      GraphQLOverHttp.CONTENT_TYPE_INCREMENTAL_RESPONSE);
+                    this.httpAction.setResponseStatus(HttpSC.OK_200);
+                    this.output = this.httpAction.getResponseOutputStream();
+                    this.writer = new MultipartResponseWriter(this.output);
+                    this.writer.writeInitial(result);
+                } else {
+                    this.httpAction.setResponseHeader(HttpNames.hContentType,
+                                                      GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON);
+                    this.httpAction.setResponseStatus(GraphQLOverHttp.selectHttpStatus(result));
+                    this.output = this.httpAction.getResponseOutputStream();
+                    GraphQLOverHttp.write(result, this.output);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void onSubsequentResult(DelayedIncrementalPartialResult result) {
+            try {
+                this.writer.writeSubsequent(result);
+            } catch (IOException e) {
+                // Client has gone away, abandon the rest of the execution
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Ends the response
+         */
+        void close() {
+            try {
+                if (this.writer != null) {
+                    this.writer.end();
+                }
+                if (this.output != null) {
+                    this.output.close();
+                }
+            } catch (IOException e) {
+                ServletOps.warning(this.httpAction, "Failed to serialize GraphQL Results", e);
+            }
+        }
+    }
+
+    /**
+     * Applies the query timeout, i.e. {@code arq:queryTimeout}, configured for the server/dataset (if any) as the
+     * timeout for the GraphQL Request
+     * <p>
+     * The timeout is conveyed to the executor via the {@value QueryDeadline#EXTENSION_TIMEOUT} key of the request
+     * extensions.  If the request already asked for a shorter timeout then that is retained, a request cannot ask for
+     * a longer timeout than that configured.  Where the configured timeout has the form {@code initial,overall} the
+     * overall timeout is used since a GraphQL response is only returned once execution completes.
+     * </p>
+     *
+     * @param context Context for the action
+     * @param request GraphQL Request
+     */
+    static void applyQueryTimeout(Context context, GraphQLRequest request) {
+        Object rawTimeout = context != null ? context.get(ARQ.queryTimeout) : null;
+        if (rawTimeout == null) {
+            return;
+        }
+        Pair<Long, Long> timeouts = Timeouts.parseTimeoutStr(rawTimeout.toString(), TimeUnit.MILLISECONDS);
+        if (timeouts == null) {
+            return;
+        }
+        long timeout = timeouts.getRight() > 0 ? timeouts.getRight() : timeouts.getLeft();
+        if (timeout <= 0) {
+            return;
+        }
+
+        Map<String, Object> extensions =
+                request.getExtensions() != null ? new HashMap<>(request.getExtensions()) : new HashMap<>();
+        Duration selected = QueryDeadline.selectTimeout(Duration.ofMillis(timeout), extensions);
+        extensions.put(QueryDeadline.EXTENSION_TIMEOUT, selected.toMillis());
+        request.setExtensions(extensions);
+    }
+
     /**
      * Performs any additional preparation required before executing the GraphQL Request
      * <p>
@@ -0,0 +1,196 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fuseki;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.jena.atlas.logging.FmtLog;
+import org.apache.jena.fuseki.servlets.ActionLib;
+import org.apache.jena.fuseki.servlets.ActionService;
+import org.apache.jena.fuseki.servlets.HttpAction;
+import org.apache.jena.fuseki.servlets.ServletOps;
+import org.apache.jena.riot.WebContent;
+import org.apache.jena.riot.web.HttpNames;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.web.HttpSC;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryTimeoutException;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.QuadExportWriter;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A Fuseki action that streams the quads matching a quad filter as newline delimited JSON, N-Quads or Apache Arrow
+ * <p>
+ * The filter takes the same form as the arguments of the {@code quads} field of the dataset schema, and is supplied
+ * either as the JSON encoded {@value QuadExportWriter#PARAMETER_FILTER} parameter of a GET request, or as the JSON body
+ * of a POST request.  Quads are written as the dataset is scanned, see {@link QuadExportWriter}, so this is suitable for
+ * bulk extracts that would be impractical to return as a single GraphQL response.
+ * </p>
+ * <p>
+ * The maximum number of quads may be given via the {@value QuadExportWriter#PARAMETER_LIMIT} parameter, which is
+ * required when the filter matches every quad so that a bare request cannot export the whole dataset.  The dataset is
+ * prepared in the same way as for GraphQL requests on the same dataset, see
+ * {@link #prepare(HttpAction, GraphQLRequest, DatasetGraph)}, so an export never reveals data that GraphQL clients
+ * could not see, and the export is abandoned once the query timeout configured for the server/dataset (if any) elapses.
+ * </p>
+ */
+public class ActionQuadExport extends ActionService {
+
+    private final ActionGraphQL graphQL;
+
+    /**
+     * Creates a new quad export action that exports the dataset unchanged
+     */
+    public ActionQuadExport() {
+        this(null);
+    }
+
+    /**
+     * Creates a new quad export action that prepares the dataset in the same way as the given GraphQL action
+     *
+     * @param graphQL GraphQL action, may be {@code null} in which case the dataset is exported unchanged
+     */
+    public ActionQuadExport(ActionGraphQL graphQL) {
+        this.graphQL = graphQL;
+    }
+
+    @Override
+    public void execGet(HttpAction action) {
+        this.executeLifecycle(action);
+    }
+
+    @Override
+    public void execPost(HttpAction action) {
+        this.executeLifecycle(action);
+    }
+
+    @Override
+    public void execOptions(HttpAction action) {
+        ActionLib.doOptionsGetPost(action);
+        ServletOps.success(action);
+    }
+
+    @Override
+    public final void validate(HttpAction httpAction) {
+        String method = httpAction.getRequestMethod().toUpperCase(Locale.ROOT);
+        if (StringUtils.equals(method, HttpNames.METHOD_GET)) {
+            // The filter parameter is optional, though if omitted a limit is required, see execute()
+            return;
+        }
+        // As with GraphQL requests we assume a JSON body if no Content-Type is present
+        if (StringUtils.isNotBlank(httpAction.getRequestContentType())
+                && !StringUtils.startsWith(httpAction.getRequestContentType(), WebContent.contentTypeJSON)) {
+            ServletOps.errorBadRequest("POST requests to export endpoints MUST use Content-Type: application/json");
+        }
+    }
+
+    @Override
+    public final void execute(HttpAction httpAction) {
+        Map<String, Object> arguments = null;
+        QuadFilter filter = null;
+        Long limit = null;
+        try {
+            arguments = GraphQLOverHttp.parseMap(readFilter(httpAction));
+            filter = QuadExportWriter.parseFilter(arguments);
+            limit = QuadExportWriter.parseLimit(httpAction.getRequestParameter(QuadExportWriter.PARAMETER_LIMIT));
+        } catch (JsonProcessingException e) {
+            ServletOps.errorBadRequest("Failed to parse quad filter as a valid JSON object: " + e.getMessage());
+        } catch (IllegalArgumentException | IOException e) {
+            ServletOps.errorBadRequest(e.getMessage());
+        }
+        if (filter == null) {
+            ServletOps.errorBadRequest("Invalid quad filter");
+            return; // Make SonarQube happy; errorBadRequest throws ActionErrorException.
+        }
+        if (filter.isUnrestricted() && limit == null) {
+            ServletOps.errorBadRequest("Exports MUST supply either a quad filter or a " + QuadExportWriter.PARAMETER_LIMIT
+                                       + " parameter");
+        }
+
+        // The export is presented to prepare() as a request whose variables are the filter, so that any preparation
+        // applied to GraphQL requests, e.g. access control, is equally applied here
+        GraphQLRequest request = new GraphQLRequest();
+        request.setVariables(new HashMap<>(arguments));
+        ActionGraphQL.applyQueryTimeout(httpAction.getContext(), request);
+
+        String contentType = QuadExportWriter.selectContentType(httpAction.getRequestHeader(HttpNames.hAccept));
+        httpAction.beginRead();
+        try {
+            DatasetGraph dsg = prepare(httpAction, request, httpAction.getActiveDSG());
+            QueryDeadline deadline = QueryDeadline.after(QueryDeadline.selectTimeout(null, request.getExtensions()));
+            httpAction.setResponseHeader(HttpNames.hContentType, contentType);
+            httpAction.setResponseStatus(HttpSC.OK_200);
+            try (OutputStream output = httpAction.getResponseOutputStream()) {
+                long written = QuadExportWriter.write(dsg, filter, Objects.requireNonNullElse(limit, Long.MAX_VALUE),
+                                                      deadline, contentType, output);
+                FmtLog.info(httpAction.log, "[%d] Exported %,d quads as %s", httpAction.id, written, contentType);
+            } catch (IOException e) {
+                ServletOps.warning(httpAction, "Failed to export quads", e);
+            } catch (QueryTimeoutException e) {
+                // The response is already committed so the client sees a truncated export
+                ServletOps.warning(httpAction, "Quad export abandoned before completion", e);
+            }
+        } finally {
+            httpAction.endRead();
+        }
+    }
+
+    /**
+     * Performs any additional preparation required before exporting from the dataset
+     * <p>
+     * The default implementation delegates to {@link ActionGraphQL#prepare(HttpAction, GraphQLRequest, DatasetGraph)}
+     * of the GraphQL action this action was created with, if any, otherwise returns the dataset unchanged.  The
+     * request has no query, its variables are the quad filter, and its extensions carry the timeout for the export.
+     * </p>
+     *
+     * @param action  The HTTP Action for this request
+     * @param request The export, presented as a GraphQL Request
+     * @param dsg     The DatasetGraph for this request
+     * @return The DatasetGraph to export from
+     */
+    protected DatasetGraph prepare(HttpAction action, GraphQLRequest request, DatasetGraph dsg) {
+        return this.graphQL != null ? this.graphQL.prepare(action, request, dsg) : dsg;
+    }
+
+    private static String readFilter(HttpAction httpAction) throws IOException {
+        if (StringUtils.equals(httpAction.getRequestMethod().toUpperCase(Locale.ROOT), HttpNames.METHOD_GET)) {
+            return httpAction.getRequestParameter(QuadExportWriter.PARAMETER_FILTER);
+        }
+        try (InputStream input = httpAction.getRequestInputStream()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
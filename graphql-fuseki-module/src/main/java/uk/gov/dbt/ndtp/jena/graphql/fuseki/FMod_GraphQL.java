@@ -76,6 +76,19 @@ public class FMod_GraphQL implements FusekiAutoModule {
     public void configDataAccessPoint(DataAccessPoint dap, Model configModel) {
         // Wire up any GraphQL operations correctly
         dap.getDataService().forEachEndpoint(e -> setEndpointProcessor(dap, e));
+
+        // Exports prepare the dataset in the same way as GraphQL requests on the same dataset
+        ActionGraphQL graphQL = dap.getDataService()
+                                   .getEndpoints(SysGraphQL.OP_GRAPHQL)
+                                   .stream()
+                                   .map(Endpoint::getProcessor)
+                                   .filter(ActionGraphQL.class::isInstance)
+                                   .map(ActionGraphQL.class::cast)
+                                   .findFirst()
+                                   .orElse(null);
+        for (Endpoint e : dap.getDataService().getEndpoints(SysGraphQL.OP_EXPORT)) {
+            e.setProcessor(createExportProcessor(graphQL));
+        }
     }
 
     /**
@@ -94,6 +107,20 @@ public class FMod_GraphQL implements FusekiAutoModule {
         return new ActionGraphQL(executor);
     }
 
+    /**
+     * Creates the action processor that will handle quad export requests
+     * <p>
+     * The default is an instance of the {@link ActionQuadExport} from this module, which prepares the dataset via the
+     * given GraphQL action.  Where a dataset has several GraphQL endpoints the action of the first is used.
+     * </p>
+     *
+     * @param graphQL GraphQL action for the same dataset, or {@code null} if it has no GraphQL endpoint
+     * @return Action processor
+     */
+    protected ActionProcessor createExportProcessor(ActionGraphQL graphQL) {
+        return new ActionQuadExport(graphQL);
+    }
+
     private String endpointName(DataAccessPoint dap, Endpoint endpoint) {
         if (endpoint.isUnnamed()) {
             return dap.getName();
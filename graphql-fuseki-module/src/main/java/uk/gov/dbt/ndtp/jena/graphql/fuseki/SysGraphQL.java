@@ -51,6 +51,14 @@ public class SysGraphQL {
             Operation.alloc(VocabGraphQL.OPERATION, "graphql",
                             "GraphQL Query using a configurable GraphQLExecutor");
 
+    /**
+     * The quad export operation that may be associated with Fuseki endpoints
+     */
+    public static final Operation
+            OP_EXPORT =
+            Operation.alloc(VocabGraphQL.EXPORT_OPERATION, "graphql-export",
+                            "Streaming export of the quads matching a GraphQL style quad filter");
+
     /**
      * Ensures that the GraphQL module is properly initialised
      */
@@ -64,6 +72,7 @@ public class SysGraphQL {
             ActionService graphQL = new ActionGraphQL(new DatasetExecutor(DatasetGraphFactory.empty()));
             OperationRegistry operationRegistry = OperationRegistry.get();
             operationRegistry.register(OP_GRAPHQL, graphQL);
+            operationRegistry.register(OP_EXPORT, new ActionQuadExport());
         } catch (IOException e) {
             Fuseki.configLog.warn("Failed to register Fuseki GraphQL Operation");
         }
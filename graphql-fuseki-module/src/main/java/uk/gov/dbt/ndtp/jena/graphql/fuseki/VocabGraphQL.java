@@ -41,6 +41,11 @@ public class VocabGraphQL {
      */
     public static final String OPERATION = NS + "graphql";
 
+    /**
+     * The URI used to identify the quad export operation when defining Fuseki endpoints in a configuration file
+     */
+    public static final String EXPORT_OPERATION = NS + "export";
+
     /**
      * Context symbol used to define the {@link GraphQLOverDatasetExecutor}
      * implementation to use for a GraphQL endpoint
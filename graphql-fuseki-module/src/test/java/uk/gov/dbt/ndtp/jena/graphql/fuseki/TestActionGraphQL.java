@@ -25,10 +25,13 @@ package uk.gov.dbt.ndtp.jena.graphql.fuseki;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import uk.gov.dbt.ndtp.jena.graphql.execution.DatasetExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.execution.PersistedOperations;
 import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import uk.gov.dbt.ndtp.jena.graphql.fuseki.ActionGraphQL;
@@ -36,15 +39,21 @@ import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
 import org.apache.jena.fuseki.server.DataService;
 import org.apache.jena.fuseki.servlets.ActionErrorException;
 import org.apache.jena.fuseki.servlets.HttpAction;
+import org.apache.jena.query.ARQ;
 import org.apache.jena.riot.WebContent;
 import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.util.Context;
+import org.apache.jena.web.HttpSC;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.slf4j.Logger;
 import org.testng.annotations.*;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
 
 import static org.apache.jena.fuseki.system.ActionCategory.ACTION;
 import static org.mockito.Mockito.*;
@@ -246,6 +255,109 @@ public class TestActionGraphQL {
         verify(LOGGER, never()).warn(eq("Failed to serialize GraphQL Results"), any(IOException.class));
     }
 
+    @Test
+    public void test_process_persistedOperationHashOnly_GET() throws IOException {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("GET");
+        when(MOCK_REQUEST.getParameter("extensions")).thenReturn(
+                "{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + PersistedOperations.hash(SAMPLE_QUERY)
+                        + "\"}}");
+        ServletOutputStream outputStream = mock(ServletOutputStream.class);
+        when(MOCK_RESPONSE.getOutputStream()).thenReturn(outputStream);
+
+        DataService mockDataService = mock(DataService.class);
+        when(mockDataService.getDataset()).thenReturn(DatasetGraphFactory.empty());
+        HttpAction action = getHttpAction();
+        action.setRequest(null, mockDataService);
+
+        // when
+        ACTION_GRAPH_QL.process(action);
+
+        // then
+        verify(MOCK_RESPONSE).setStatus(HttpSC.BAD_REQUEST_400);
+    }
+
+    @Test
+    public void test_process_batch_POST() throws IOException {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("POST");
+        GraphQLRequest valid = new GraphQLRequest();
+        valid.setQuery(SAMPLE_QUERY);
+        GraphQLRequest invalid = new GraphQLRequest();
+        invalid.setQuery("{ quads { nosuchfield } }");
+        String json = OBJECT_MAPPER.writeValueAsString(List.of(valid, invalid));
+        when(MOCK_REQUEST.getInputStream()).thenReturn(
+                new TestServletInputStream(new ByteArrayInputStream(json.getBytes())));
+        TestServletOutputStream outputStream = new TestServletOutputStream();
+        when(MOCK_RESPONSE.getOutputStream()).thenReturn(outputStream);
+
+        DataService mockDataService = mock(DataService.class);
+        when(mockDataService.getDataset()).thenReturn(DatasetGraphFactory.empty());
+        HttpAction action = getHttpAction();
+        action.setRequest(null, mockDataService);
+
+        // when
+        ACTION_GRAPH_QL.process(action);
+
+        // then
+        verify(MOCK_RESPONSE).setStatus(HttpSC.OK_200);
+        List<?> results = OBJECT_MAPPER.readValue(outputStream.output.toByteArray(), List.class);
+        assertEquals(results.size(), 2);
+        assertTrue(((Map<?, ?>) results.get(0)).containsKey("data"));
+        assertTrue(((Map<?, ?>) results.get(1)).containsKey("errors"));
+    }
+
+    @Test
+    public void test_process_emptyBatch_POST() throws IOException {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("POST");
+        when(MOCK_REQUEST.getInputStream()).thenReturn(
+                new TestServletInputStream(new ByteArrayInputStream("[]".getBytes())));
+
+        DataService mockDataService = mock(DataService.class);
+        when(mockDataService.getDataset()).thenReturn(DatasetGraphFactory.empty());
+        HttpAction action = getHttpAction();
+        action.setRequest(null, mockDataService);
+
+        // when
+        // then
+        assertThrows(ActionErrorException.class, () -> ACTION_GRAPH_QL.process(action));
+    }
+
+    @DataProvider(name = "queryTimeouts")
+    private static Object[][] queryTimeouts() {
+        return new Object[][] {
+                { null, null, null },
+                { "1000", null, 1000L },
+                { 1000L, null, 1000L },
+                { "500,2000", null, 2000L },
+                { "500,-1", null, 500L },
+                { "-1", null, null },
+                { "rubbish", null, null },
+                { "1000", 250, 250L },
+                { "1000", 5000, 1000L },
+                { null, 5000, 5000 }
+        };
+    }
+
+    @Test(dataProvider = "queryTimeouts")
+    public void test_applyQueryTimeout(Object queryTimeout, Object requested, Object expected) {
+        // given
+        Context context = new Context();
+        if (queryTimeout != null) {
+            context.set(ARQ.queryTimeout, queryTimeout);
+        }
+        GraphQLRequest request = new GraphQLRequest();
+        request.setQuery(SAMPLE_QUERY);
+        if (requested != null) {
+            request.setExtensions(Map.of(QueryDeadline.EXTENSION_TIMEOUT, requested));
+        }
+        // when
+        ActionGraphQL.applyQueryTimeout(context, request);
+        // then
+        assertEquals(request.getExtensions().get(QueryDeadline.EXTENSION_TIMEOUT), expected);
+    }
+
     private HttpAction getHttpAction() {
         return new HttpAction(1L, LOGGER, ACTION, MOCK_REQUEST, MOCK_RESPONSE);
     }
@@ -284,4 +396,24 @@ public class TestActionGraphQL {
             throw new UnsupportedOperationException("Test implementation not supported");
         }
     }
+
+    private static class TestServletOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) {
+            this.output.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Test implementation not supported");
+        }
+    }
 }
@@ -0,0 +1,280 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.fuseki;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.jena.fuseki.server.DataService;
+import org.apache.jena.fuseki.servlets.ActionErrorException;
+import org.apache.jena.fuseki.servlets.HttpAction;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.riot.WebContent;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.DatasetGraphFilteredView;
+import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.execution.GraphQLOverDatasetExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.QuadExportWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.jena.fuseki.system.ActionCategory.ACTION;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+public class TestActionQuadExport {
+
+    private static final ActionQuadExport ACTION_EXPORT = new ActionQuadExport();
+
+    private static final ServletContextHandler SERVLET_CONTEXT_HANDLER = new ServletContextHandler();
+    private static final ServletContext SERVLET_CONTEXT = SERVLET_CONTEXT_HANDLER.getServletContext();
+    private static final HttpServletRequest MOCK_REQUEST = mock(HttpServletRequest.class);
+    private static final HttpServletResponse MOCK_RESPONSE = mock(HttpServletResponse.class);
+    private static final Logger LOGGER = mock(Logger.class);
+    private static final DatasetGraph DATASET = DatasetGraphFactory.createTxnMem();
+
+    static {
+        for (int i = 0; i < 3; i++) {
+            DATASET.add(NodeFactory.createURI("https://example.org/g"), NodeFactory.createURI("https://example.org/" + i),
+                        NodeFactory.createURI("https://example.org/p"), NodeFactory.createLiteralString("o" + i));
+        }
+    }
+
+    @BeforeMethod
+    public void setupTest() {
+        when(MOCK_REQUEST.getServletContext()).thenReturn(SERVLET_CONTEXT);
+    }
+
+    @AfterMethod
+    public void teardown() {
+        reset(MOCK_REQUEST, MOCK_RESPONSE, LOGGER);
+    }
+
+    private HttpAction getHttpAction() {
+        HttpAction action = new HttpAction(1L, LOGGER, ACTION, MOCK_REQUEST, MOCK_RESPONSE);
+        DataService mockDataService = mock(DataService.class);
+        when(mockDataService.getDataset()).thenReturn(DATASET);
+        action.setRequest(null, mockDataService);
+        return action;
+    }
+
+    @Test
+    public void test_validate_badPostRequest_wrongContentType() {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("POST");
+        when(MOCK_REQUEST.getContentType()).thenReturn(WebContent.contentTypeHTMLForm);
+        // when
+        // then
+        expectThrows(ActionErrorException.class, () -> ACTION_EXPORT.process(getHttpAction()));
+    }
+
+    @Test
+    public void test_process_badFilter() {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("GET");
+        when(MOCK_REQUEST.getParameter(QuadExportWriter.PARAMETER_FILTER)).thenReturn("RUBBISH");
+        // when
+        // then
+        expectThrows(ActionErrorException.class, () -> ACTION_EXPORT.process(getHttpAction()));
+    }
+
+    @Test
+    public void test_process_invalidFilter() {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("GET");
+        when(MOCK_REQUEST.getParameter(QuadExportWriter.PARAMETER_FILTER)).thenReturn("{\"subject\":\"RUBBISH\"}");
+        // when
+        // then
+        expectThrows(ActionErrorException.class, () -> ACTION_EXPORT.process(getHttpAction()));
+    }
+
+    @Test
+    public void test_process_noFilterOrLimit() {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("GET");
+        // when
+        // then
+        expectThrows(ActionErrorException.class, () -> ACTION_EXPORT.process(getHttpAction()));
+    }
+
+    @Test
+    public void test_process_invalidLimit() {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("GET");
+        when(MOCK_REQUEST.getParameter(QuadExportWriter.PARAMETER_LIMIT)).thenReturn("0");
+        // when
+        // then
+        expectThrows(ActionErrorException.class, () -> ACTION_EXPORT.process(getHttpAction()));
+    }
+
+    @Test
+    public void test_process_limit() throws IOException {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("GET");
+        when(MOCK_REQUEST.getParameter(QuadExportWriter.PARAMETER_LIMIT)).thenReturn("2");
+        TestServletOutputStream outputStream = new TestServletOutputStream();
+        when(MOCK_RESPONSE.getOutputStream()).thenReturn(outputStream);
+        // when
+        ACTION_EXPORT.process(getHttpAction());
+        // then
+        assertEquals(outputStream.output.toString(StandardCharsets.UTF_8).lines().count(), 2);
+    }
+
+    @Test
+    public void test_process_preparedAsForGraphQL() throws IOException {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("GET");
+        when(MOCK_REQUEST.getParameter(QuadExportWriter.PARAMETER_LIMIT)).thenReturn("10");
+        TestServletOutputStream outputStream = new TestServletOutputStream();
+        when(MOCK_RESPONSE.getOutputStream()).thenReturn(outputStream);
+        List<GraphQLRequest> prepared = new ArrayList<>();
+        ActionGraphQL graphQL = new ActionGraphQL(mock(GraphQLOverDatasetExecutor.class)) {
+            @Override
+            protected DatasetGraph prepare(HttpAction action, GraphQLRequest request, DatasetGraph dsg) {
+                // Hide all but the first subject, as an access control layer might
+                prepared.add(request);
+                return new DatasetGraphFilteredView(dsg, q -> q.getSubject().getURI().endsWith("/0"),
+                                                    List.of(NodeFactory.createURI("https://example.org/g")));
+            }
+        };
+        // when
+        new ActionQuadExport(graphQL).process(getHttpAction());
+        // then
+        assertEquals(prepared.size(), 1);
+        assertNull(prepared.get(0).getQuery());
+        assertEquals(outputStream.output.toString(StandardCharsets.UTF_8).lines().count(), 1);
+    }
+
+    @Test
+    public void test_process_happyPath_GET() throws IOException {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("GET");
+        when(MOCK_REQUEST.getParameter(QuadExportWriter.PARAMETER_FILTER)).thenReturn(
+                "{\"predicate\":{\"kind\":\"URI\",\"value\":\"https://example.org/p\"}}");
+        TestServletOutputStream outputStream = new TestServletOutputStream();
+        when(MOCK_RESPONSE.getOutputStream()).thenReturn(outputStream);
+        // when
+        ACTION_EXPORT.process(getHttpAction());
+        // then
+        verify(MOCK_RESPONSE).setHeader("Content-Type", QuadExportWriter.CONTENT_TYPE_NDJSON);
+        assertEquals(outputStream.output.toString(StandardCharsets.UTF_8).lines().count(), 3);
+    }
+
+    @Test
+    public void test_process_happyPath_POST() throws IOException {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("POST");
+        when(MOCK_REQUEST.getHeader("Accept")).thenReturn(QuadExportWriter.CONTENT_TYPE_NQUADS);
+        String filter = "{\"subject\":{\"kind\":\"URI\",\"value\":\"https://example.org/1\"}}";
+        when(MOCK_REQUEST.getInputStream()).thenReturn(
+                new TestServletInputStream(new ByteArrayInputStream(filter.getBytes(StandardCharsets.UTF_8))));
+        TestServletOutputStream outputStream = new TestServletOutputStream();
+        when(MOCK_RESPONSE.getOutputStream()).thenReturn(outputStream);
+        // when
+        ACTION_EXPORT.process(getHttpAction());
+        // then
+        verify(MOCK_RESPONSE).setHeader("Content-Type", QuadExportWriter.CONTENT_TYPE_NQUADS);
+        assertEquals(outputStream.output.toString(StandardCharsets.UTF_8).trim(),
+                     "<https://example.org/1> <https://example.org/p> \"o1\" <https://example.org/g> .");
+    }
+
+    @Test
+    public void test_process_invalidOutputStream_noExceptionThrown() throws IOException {
+        // given
+        when(MOCK_REQUEST.getMethod()).thenReturn("GET");
+        when(MOCK_REQUEST.getParameter(QuadExportWriter.PARAMETER_LIMIT)).thenReturn("10");
+        ServletOutputStream outputStream = mock(ServletOutputStream.class);
+        doThrow(IOException.class).when(outputStream).close();
+        when(MOCK_RESPONSE.getOutputStream()).thenReturn(outputStream);
+        // when
+        ACTION_EXPORT.process(getHttpAction());
+        // then
+        verify(LOGGER).warn(eq("Failed to export quads"), any(IOException.class));
+    }
+
+    private static class TestServletInputStream extends ServletInputStream {
+
+        private final InputStream inputStream;
+
+        public TestServletInputStream(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return this.inputStream.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return false;
+        }
+
+        @Override
+        public boolean isReady() {
+            return false;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Test implementation not supported");
+        }
+    }
+
+    private static class TestServletOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) {
+            this.output.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Test implementation not supported");
+        }
+    }
+}
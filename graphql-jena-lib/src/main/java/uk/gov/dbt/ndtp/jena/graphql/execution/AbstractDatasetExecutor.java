@@ -23,26 +23,55 @@
 
 package uk.gov.dbt.ndtp.jena.graphql.execution;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import graphql.*;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
-import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.language.OperationTypeDefinition;
+import graphql.language.SchemaDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
 import graphql.schema.idl.TypeDefinitionRegistry;
+import uk.gov.dbt.ndtp.jena.graphql.execution.metrics.ExecutionMetrics;
+import uk.gov.dbt.ndtp.jena.graphql.execution.metrics.JmxExecutionMetrics;
+import uk.gov.dbt.ndtp.jena.graphql.execution.metrics.MetricsInstrumentation;
 import uk.gov.dbt.ndtp.jena.graphql.fetchers.NodeFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.QuadNodeFetcher;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+import org.apache.jena.query.ReadWrite;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.system.Txn;
+import org.dataloader.DataLoaderRegistry;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Abstract GraphQL Executor that operates over a Jena {@link DatasetGraph}
@@ -50,10 +79,22 @@ import java.util.concurrent.CompletableFuture;
 public abstract class AbstractDatasetExecutor implements GraphQLExecutor,
     GraphQLOverDatasetExecutor {
 
+    /**
+     * The default maximum number of requests permitted in a single batch
+     */
+    public static final int DEFAULT_MAXIMUM_BATCH_SIZE = 100;
+
+    private static final String MUTATION_OPERATION = "mutation";
+    private static final String DEFAULT_MUTATION_TYPE = "Mutation";
+
     /**
      * The Dataset over which queries are executed by default
      */
     protected final DatasetGraph dsg;
+    /**
+     * Whether the mutations of the schema, if it has any, may be executed
+     */
+    protected final boolean mutationsEnabled;
     /**
      * The GraphQL schema used for the queries
      */
@@ -62,39 +103,139 @@ public abstract class AbstractDatasetExecutor implements GraphQLExecutor,
      * The configured GraphQL instance for executing the queries
      */
     protected final GraphQL graphQL;
+    /**
+     * The cache of parsed and validated query documents
+     */
+    protected final PreparsedDocumentCache documentCache;
+    /**
+     * The executor on which asynchronous executions run
+     */
+    protected final Executor asyncExecutor;
+    /**
+     * The cost model used to reject overly expensive queries
+     */
+    protected final QueryCostModel costModel;
+    /**
+     * The default timeout for executions, {@code null} if executions have no timeout by default
+     */
+    protected final Duration defaultTimeout;
+    /**
+     * The sink to which execution metrics are recorded
+     */
+    protected final ExecutionMetrics metrics;
+    /**
+     * The registry of persisted operations
+     */
+    protected final PersistedOperations persistedOperations;
+    /**
+     * The cache of complete responses
+     */
+    protected final ResponseCache responseCache;
+    /**
+     * The maximum number of requests permitted in a single batch
+     */
+    protected final int maximumBatchSize;
+    /**
+     * The number of threads across which the requests in a single batch are executed
+     */
+    protected final int batchParallelism;
 
     /**
-     * Creates a new execution
+     * Creates a new execution that is read-only, i.e. the mutations of the schema, if it has any, cannot be executed
      *
      * @param dsg Default Dataset Graph over which queries will execute
      * @throws IOException Thrown if there is a problem reading in the underlying GraphQL schema
      */
     public AbstractDatasetExecutor(DatasetGraph dsg) throws IOException {
+        this(dsg, false);
+    }
+
+    /**
+     * Creates a new execution
+     * <p>
+     * Unless mutations are enabled the mutation type, if any, is removed from the schema, so that any mutation is
+     * rejected with an error and the executor never modifies the dataset.
+     * </p>
+     *
+     * @param dsg              Default Dataset Graph over which queries will execute
+     * @param mutationsEnabled Whether the mutations of the schema may be executed
+     * @throws IOException Thrown if there is a problem reading in the underlying GraphQL schema
+     */
+    protected AbstractDatasetExecutor(DatasetGraph dsg, boolean mutationsEnabled) throws IOException {
         this.dsg = dsg;
         Objects.requireNonNull(dsg, "DatasetGraph to execute over cannot be null");
+        this.mutationsEnabled = mutationsEnabled;
 
         TypeDefinitionRegistry rawSchema = this.loadRawSchema();
+        if (!this.mutationsEnabled) {
+            removeMutations(rawSchema);
+        }
+        if (rawSchema.getDirectiveDefinition(Directives.DeferDirective.getName()).isEmpty()) {
+            // Declare the @defer directive so queries may use it to request incremental delivery
+            rawSchema.add(Directives.DEFER_DIRECTIVE_DEFINITION);
+        }
         RuntimeWiring wiring = buildCoreRuntimeWiring(buildRuntimeWiring()).build();
         SchemaGenerator generator = new SchemaGenerator();
         this.schema = generator.makeExecutableSchema(rawSchema, wiring);
 
-        // Add Query Cache here
-        // TODO Eventually should make the cache size configurable here
-        Cache<String, CompletableFuture<PreparsedDocumentEntry>> cache =
-                Caffeine.newBuilder().maximumSize(1_000).build();
-        PreparsedDocumentProvider preparsedCache =
-                (executionInput, computeFunction) -> cache.get(executionInput.getQuery(),
-                                                               key -> CompletableFuture.supplyAsync(
-                                                                       () -> computeFunction.apply(executionInput)));
+        this.documentCache = Objects.requireNonNull(createDocumentCache(), "Document cache cannot be null");
+        this.asyncExecutor = Objects.requireNonNull(createAsyncExecutor(), "Async executor cannot be null");
+        this.costModel = Objects.requireNonNull(createCostModel(), "Cost model cannot be null");
+        this.defaultTimeout = getDefaultTimeout();
+        if (this.defaultTimeout != null && (this.defaultTimeout.isNegative() || this.defaultTimeout.isZero())) {
+            throw new IllegalArgumentException("Default timeout must be positive");
+        }
+        this.metrics = Objects.requireNonNull(createMetrics(), "Metrics sink cannot be null");
+        this.persistedOperations =
+                Objects.requireNonNull(createPersistedOperations(), "Persisted operations cannot be null");
+        this.persistedOperations.prepare(this.schema);
+        this.responseCache = Objects.requireNonNull(createResponseCache(), "Response cache cannot be null");
+        this.maximumBatchSize = getMaximumBatchSize();
+        if (this.maximumBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be positive");
+        }
+        this.batchParallelism = getBatchParallelism();
+        if (this.batchParallelism < 1) {
+            throw new IllegalArgumentException("Batch parallelism must be positive");
+        }
 
         //@formatter:off
         this.graphQL
                 = GraphQL.newGraphQL(this.schema)
-                         .preparsedDocumentProvider(preparsedCache)
+                         .preparsedDocumentProvider(PersistedOperations.documentProvider(this.documentCache))
+                         .instrumentation(new ChainedInstrumentation(new MetricsInstrumentation(this.metrics),
+                                                                     new QueryDeadlineInstrumentation(),
+                                                                     new QueryCostInstrumentation(this.costModel)))
                          .build();
         //@formatter:on
     }
 
+    /**
+     * Removes the mutation type, if any, from a raw schema
+     *
+     * @param rawSchema Raw schema
+     */
+    private static void removeMutations(TypeDefinitionRegistry rawSchema) {
+        String mutationType = DEFAULT_MUTATION_TYPE;
+        SchemaDefinition definition = rawSchema.schemaDefinition().orElse(null);
+        if (definition != null) {
+            OperationTypeDefinition mutation = definition.getOperationTypeDefinitions()
+                                                         .stream()
+                                                         .filter(o -> MUTATION_OPERATION.equals(o.getName()))
+                                                         .findFirst()
+                                                         .orElse(null);
+            if (mutation == null) {
+                return;
+            }
+            mutationType = mutation.getTypeName().getName();
+            rawSchema.remove(definition);
+            rawSchema.add(definition.transform(b -> b.operationTypeDefinitions(
+                    definition.getOperationTypeDefinitions().stream().filter(o -> o != mutation).toList())));
+        }
+        rawSchema.getType(mutationType).ifPresent(rawSchema::remove);
+        rawSchema.objectTypeExtensions().getOrDefault(mutationType, List.of()).forEach(rawSchema::remove);
+    }
+
     /**
      * Loads in the raw GraphQL schema that this execution supports
      *
@@ -121,7 +262,15 @@ public abstract class AbstractDatasetExecutor implements GraphQLExecutor,
             NodeFetcher nodeFetcher = new NodeFetcher();
             //@formatter:off
             return builder.type(IANodeSchema.QUAD_TYPE,
-                                t -> t.defaultDataFetcher(nodeFetcher))
+                                t -> t.defaultDataFetcher(nodeFetcher)
+                                      .dataFetcher(IANodeSchema.SUBJECT_FIELD,
+                                                   QuadNodeFetcher.forField(IANodeSchema.SUBJECT_FIELD))
+                                      .dataFetcher(IANodeSchema.PREDICATE_FIELD,
+                                                   QuadNodeFetcher.forField(IANodeSchema.PREDICATE_FIELD))
+                                      .dataFetcher(IANodeSchema.OBJECT_FIELD,
+                                                   QuadNodeFetcher.forField(IANodeSchema.OBJECT_FIELD))
+                                      .dataFetcher(IANodeSchema.GRAPH_FIELD,
+                                                   QuadNodeFetcher.forField(IANodeSchema.GRAPH_FIELD)))
                           .type(IANodeSchema.TRIPLE_TYPE,
                                 t -> t.defaultDataFetcher(nodeFetcher));
             //@formatter:on
@@ -130,6 +279,206 @@ public abstract class AbstractDatasetExecutor implements GraphQLExecutor,
         }
     }
 
+    /**
+     * Creates the cache used to hold parsed and validated query documents
+     * <p>
+     * The default cache holds up to {@value PreparsedDocumentCache#DEFAULT_MAXIMUM_SIZE} documents, derived
+     * implementations may override this to size the cache differently e.g. by weight via
+     * {@link PreparsedDocumentCache#withMaximumWeight(long)}.
+     * </p>
+     *
+     * @return Document cache
+     */
+    protected PreparsedDocumentCache createDocumentCache() {
+        return PreparsedDocumentCache.withMaximumSize(PreparsedDocumentCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates the executor on which asynchronous executions, i.e. the {@code executeAsync()} methods, run
+     * <p>
+     * Each asynchronous execution holds its read transaction on a thread of this executor for its entire duration.
+     * The default is an executor shared by all instances which uses a virtual thread per execution when running on a
+     * JVM that supports them, falling back to a cached pool of daemon threads otherwise.  Derived implementations may
+     * override this to bound the concurrency of executions.
+     * </p>
+     *
+     * @return Async executor
+     */
+    protected Executor createAsyncExecutor() {
+        return DefaultAsyncExecutor.INSTANCE;
+    }
+
+    /**
+     * Creates the cost model used to calculate the cost of queries, and reject those whose cost exceeds the maximum
+     * <p>
+     * The default model gives every field the same weight, and estimates every list to have the same size, derived
+     * implementations <strong>SHOULD</strong> override this to give a model that reflects the relative costs of the
+     * fields in their schema.  Use {@link QueryCostModel#unlimited()} to disable rejection of queries entirely.
+     * </p>
+     *
+     * @return Cost model
+     */
+    protected QueryCostModel createCostModel() {
+        return QueryCostModel.newModel().build();
+    }
+
+    /**
+     * Gets the default timeout for executions
+     * <p>
+     * An execution that exceeds its timeout is abandoned, releasing its read transaction, and returns a single
+     * {@link QueryTimeoutException} error.  A request may ask for a shorter timeout via the
+     * {@value QueryDeadline#EXTENSION_TIMEOUT} key of its {@code extensions}, but never a longer one.  The default is
+     * that executions have no timeout, derived implementations may override this to supply one.
+     * </p>
+     *
+     * @return Default timeout, or {@code null} for no timeout
+     */
+    protected Duration getDefaultTimeout() {
+        return null;
+    }
+
+    /**
+     * Creates the sink to which metrics about executions, i.e. the latency and errors of each operation, and the
+     * latency, list sizes and errors of each non-trivial field, are recorded
+     * <p>
+     * The default publishes the metrics via JMX, shared between all executors of the same class.  Derived
+     * implementations may override this to supply a sink that publishes metrics elsewhere, or
+     * {@link ExecutionMetrics#NONE} to disable metrics.
+     * </p>
+     *
+     * @return Metrics sink
+     */
+    protected ExecutionMetrics createMetrics() {
+        return JmxExecutionMetrics.forName(getClass().getName());
+    }
+
+    /**
+     * Creates the registry of persisted operations that clients may execute by hash via the
+     * {@value PersistedOperations#EXTENSION_PERSISTED_QUERY} key of the {@code extensions} of a request
+     * <p>
+     * The operations registered up front are parsed and validated against the schema once this executor is created, so
+     * executing them skips parsing and validation entirely.  The default registry has no operations registered up
+     * front, but permits clients to automatically register up to {@value PersistedOperations#DEFAULT_MAXIMUM_AUTOMATIC}
+     * operations.  Derived implementations may override this to load operations, e.g. via
+     * {@link PersistedOperations.Builder#directory(java.nio.file.Path)}, and optionally only permit those operations to
+     * be executed.  A fresh registry <strong>MUST</strong> be returned for each executor.
+     * </p>
+     *
+     * @return Persisted operations
+     */
+    protected PersistedOperations createPersistedOperations() {
+        return PersistedOperations.automatic();
+    }
+
+    /**
+     * Creates the cache used to hold complete responses
+     * <p>
+     * Responses are only cached for datasets whose version is known, per {@link #getDatasetVersion(DatasetGraph)}, so
+     * that a cached response is never returned once the data may have changed.  By default responses are not cached,
+     * derived implementations may override this to enable caching, e.g. returning
+     * {@code ResponseCache.withMaximumWeight(ResponseCache.DEFAULT_MAXIMUM_WEIGHT)}, but <strong>MUST NOT</strong> do so
+     * if any of their data fetchers read data from outside of the dataset, since the version of the dataset does not
+     * reflect changes to such data.
+     * </p>
+     *
+     * @return Response cache
+     */
+    protected ResponseCache createResponseCache() {
+        return ResponseCache.none();
+    }
+
+    /**
+     * Gets the current version of a dataset, which <strong>MUST</strong> change whenever the data within it may have
+     * changed
+     * <p>
+     * This is called prior to beginning the read transaction for an execution, and the response for that execution is
+     * cached against the returned version, so the version <strong>MUST NOT</strong> change until after a change to
+     * the data is visible to new read transactions.  The default supports datasets wrapped in a
+     * {@link VersionedDatasetGraph}, derived implementations may override this to support other datasets e.g. using
+     * the data version of a TDB2 dataset.
+     * </p>
+     *
+     * @param dsg Dataset
+     * @return Version, or {@value VersionedDatasetGraph#UNVERSIONED} if the version is unknown, in which case the
+     * response is not cached
+     */
+    protected long getDatasetVersion(DatasetGraph dsg) {
+        return VersionedDatasetGraph.versionOf(dsg);
+    }
+
+    /**
+     * Gets the maximum number of requests permitted in a single batch
+     * <p>
+     * The default is {@value #DEFAULT_MAXIMUM_BATCH_SIZE}, derived implementations may override this to permit larger,
+     * or smaller, batches.  Each request in a batch is still subject to the cost model and timeout as normal.
+     * </p>
+     *
+     * @return Maximum batch size
+     */
+    protected int getMaximumBatchSize() {
+        return DEFAULT_MAXIMUM_BATCH_SIZE;
+    }
+
+    /**
+     * Gets the number of threads across which the requests in a single batch are executed
+     * <p>
+     * The default is {@code 1}, i.e. the requests in a batch are executed one after another within a single read
+     * transaction, so every request sees the same snapshot of the data.  Jena transactions are bound to a thread, so
+     * when this is greater than {@code 1} the requests are shared out between that many threads, each executing its
+     * share within its own read transaction, thus requests executed on different threads may see different snapshots
+     * if the data changes while the batch is executing.
+     * </p>
+     *
+     * @return Batch parallelism
+     */
+    protected int getBatchParallelism() {
+        return 1;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    /**
+     * Gets the statistics for the response cache of this executor
+     *
+     * @return Response cache statistics
+     */
+    public CacheStats getResponseCacheStats() {
+        return this.responseCache.stats();
+    }
+
+    /**
+     * Gets the statistics for the document cache of this executor
+     *
+     * @return Document cache statistics
+     */
+    public CacheStats getDocumentCacheStats() {
+        return this.documentCache.stats();
+    }
+
+    /**
+     * Pre-warms the document cache by parsing and validating the given query, ahead of it being executed
+     * <p>
+     * The resulting document is cached regardless of whether it is valid, so subsequent executions of an invalid query
+     * can fail fast.
+     * </p>
+     *
+     * @param query         Query
+     * @param operationName Operation name
+     * @return Parsing and validation results
+     */
+    public ParseAndValidateResult warmDocumentCache(String query, String operationName) {
+        ExecutionInput input = ExecutionInput.newExecutionInput(query).operationName(operationName).build();
+        ParseAndValidateResult result = ParseAndValidate.parseAndValidate(this.schema, input);
+        PreparsedDocumentEntry entry =
+                result.isFailure() ? new PreparsedDocumentEntry(result.getErrors()) :
+                new PreparsedDocumentEntry(result.getDocument());
+        this.documentCache.put(query, operationName, entry);
+        return result;
+    }
+
     /**
      * Gets whether the schema used for this execution extends our {@link IANodeSchema}, if {@code true} then the runtime
      * wiring built for executing queries will automatically add support for the {@code Quad} and {@code Triple} types
@@ -194,16 +543,486 @@ public abstract class AbstractDatasetExecutor implements GraphQLExecutor,
     public final ExecutionResult execute(DatasetGraph dsg, String query, String operationName,
                                          Map<String, Object> variables, Map<String, Object> extensions) {
         Objects.requireNonNull(dsg, "DatasetGraph to execute over cannot be null");
-        ExecutionInput input = ExecutionInput.newExecutionInput(query)
-                                             .localContext(createLocalContext(dsg, extensions))
-                                             .operationName(operationName)
-                                             .variables(variables)
-                                             .extensions(extensions)
-                                             .build();
+        return execute(dsg, query, operationName, variables, extensions, createDeadline(extensions), null);
+    }
+
+    /**
+     * Executes a GraphQL request against a specific {@link DatasetGraph} instance, delivering its results to the given
+     * listener as they become available
+     * <p>
+     * Unlike the other {@code execute()} overloads this supports incremental delivery, if the query uses the
+     * {@code @defer} directive then the initial result is delivered to the listener as soon as it is available, and
+     * the deferred fields are then executed and delivered as subsequent results.  The read transaction for the
+     * execution is held until all the results have been delivered.
+     * </p>
+     *
+     * @param dsg      Dataset Graph
+     * @param request  GraphQL Request
+     * @param listener Listener to deliver the results to
+     * @return Initial GraphQL Results, returned once all results have been delivered
+     */
+    @Override
+    public final ExecutionResult execute(DatasetGraph dsg, GraphQLRequest request,
+                                         IncrementalResultListener listener) {
+        Objects.requireNonNull(dsg, "DatasetGraph to execute over cannot be null");
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        return execute(dsg, request.getQuery(), request.getOperationName(), request.getVariables(),
+                       request.getExtensions(), createDeadline(request.getExtensions()), listener);
+    }
+
+    @Override
+    public final List<ExecutionResult> executeBatch(List<GraphQLRequest> requests) {
+        return executeBatch(this.dsg, requests);
+    }
+
+    /**
+     * Executes a batch of GraphQL requests against a specific {@link DatasetGraph} instance
+     * <p>
+     * The requests are executed within a single read transaction, so every request sees the same snapshot of the data,
+     * unless {@link #getBatchParallelism()} has been overridden, see that method for details.  Each request is
+     * otherwise executed exactly as if it had been executed by itself, so has its own timeout and cost limit, and its
+     * own errors in its result.  Any {@code @defer} directives are ignored.
+     * </p>
+     *
+     * @param dsg      Dataset Graph
+     * @param requests GraphQL Requests
+     * @return GraphQL Results, in the same order as the requests
+     * @throws IllegalArgumentException Thrown if the batch is empty, or larger than {@link #getMaximumBatchSize()}
+     */
+    @Override
+    public final List<ExecutionResult> executeBatch(DatasetGraph dsg, List<GraphQLRequest> requests) {
+        Objects.requireNonNull(dsg, "DatasetGraph to execute over cannot be null");
+        checkBatch(requests);
+        return executeBatch(dsg, requests, createDeadlines(requests));
+    }
+
+    /**
+     * Executes a batch of GraphQL requests asynchronously
+     * <p>
+     * As for {@link #executeBatch(DatasetGraph, List)} except that the execution takes place on a thread of the
+     * executor supplied by {@link #createAsyncExecutor()}.  Cancelling the returned future cancels the execution of
+     * every request in the batch.
+     * </p>
+     *
+     * @param requests GraphQL Requests
+     * @return Future that completes with the GraphQL Results, in the same order as the requests
+     * @throws IllegalArgumentException Thrown if the batch is empty, or larger than {@link #getMaximumBatchSize()}
+     */
+    @Override
+    public final CompletableFuture<List<ExecutionResult>> executeBatchAsync(List<GraphQLRequest> requests) {
+        checkBatch(requests);
+        List<QueryDeadline> deadlines = createDeadlines(requests);
+        CompletableFuture<List<ExecutionResult>> future =
+                CompletableFuture.supplyAsync(() -> executeBatch(this.dsg, requests, deadlines), this.asyncExecutor);
+        future.whenComplete((results, error) -> {
+            if (error instanceof CancellationException) {
+                deadlines.forEach(QueryDeadline::cancel);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Checks that a batch of requests is neither empty nor too large
+     *
+     * @param requests Requests
+     */
+    private void checkBatch(List<GraphQLRequest> requests) {
+        Objects.requireNonNull(requests, "Requests cannot be null");
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("A batch MUST contain at least one GraphQL Request");
+        }
+        if (requests.size() > this.maximumBatchSize) {
+            throw new IllegalArgumentException(
+                    "A batch of " + requests.size() + " GraphQL Requests exceeds the maximum batch size of "
+                            + this.maximumBatchSize);
+        }
+    }
+
+    private List<QueryDeadline> createDeadlines(List<GraphQLRequest> requests) {
+        return requests.stream().map(request -> createDeadline(request.getExtensions())).toList();
+    }
+
+    private List<ExecutionResult> executeBatch(DatasetGraph dsg, List<GraphQLRequest> requests,
+                                               List<QueryDeadline> deadlines) {
+        ExecutionResult[] results = new ExecutionResult[requests.size()];
+        int threads = Math.min(this.batchParallelism, requests.size());
+        if (threads == 1) {
+            executeBatch(dsg, requests, deadlines, results, 0, 1);
+            return Arrays.asList(results);
+        }
+
+        // Share the requests out between the threads, with the calling thread taking the first share, each executes
+        // its share within its own read transaction
+        CompletableFuture<?>[] shares = new CompletableFuture<?>[threads - 1];
+        for (int i = 1; i < threads; i++) {
+            int first = i;
+            shares[i - 1] = CompletableFuture.runAsync(
+                    () -> executeBatch(dsg, requests, deadlines, results, first, threads), this.asyncExecutor);
+        }
+        executeBatch(dsg, requests, deadlines, results, 0, threads);
+        try {
+            CompletableFuture.allOf(shares).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Executes a share of a batch of requests within a single read transaction
+     *
+     * @param dsg       Dataset Graph
+     * @param requests  Requests
+     * @param deadlines Deadlines for the requests
+     * @param results   Array to which the results are written
+     * @param first     Index of the first request in the share
+     * @param step      Distance between the indices of consecutive requests in the share
+     */
+    private void executeBatch(DatasetGraph dsg, List<GraphQLRequest> requests, List<QueryDeadline> deadlines,
+                              ExecutionResult[] results, int first, int step) {
+        Txn.executeRead(dsg, () -> {
+            for (int i = first; i < requests.size(); i += step) {
+                GraphQLRequest request = requests.get(i);
+                results[i] = execute(dsg, request.getQuery(), request.getOperationName(),
+                                     Objects.requireNonNullElse(request.getVariables(), Collections.emptyMap()),
+                                     Objects.requireNonNullElse(request.getExtensions(), Collections.emptyMap()),
+                                     deadlines.get(i), null);
+            }
+        });
+    }
+
+    private ExecutionResult execute(DatasetGraph dsg, String query, String operationName,
+                                    Map<String, Object> variables, Map<String, Object> extensions,
+                                    QueryDeadline deadline, IncrementalResultListener listener) {
+        PersistedOperations.Resolved persisted;
+        try {
+            persisted = this.persistedOperations.resolve(query, extensions);
+        } catch (PersistedOperationException e) {
+            ExecutionResult result = e.toExecutionResult();
+            if (listener != null) {
+                listener.onInitialResult(result);
+            }
+            return result;
+        }
+        if (persisted != null) {
+            // Hash only requests carry no query of their own, so the resolved query is used from here on, including in
+            // the response cache key which otherwise could not distinguish between different persisted operations
+            query = persisted.query();
+        }
+
+        // Mutations must run in a write transaction, and since they change the data are never cached
+        boolean mutation = isMutation(query, operationName, persisted);
+        if (mutation && dsg.isInTransaction() && dsg.transactionMode() != ReadWrite.WRITE) {
+            ExecutionResult result = new AbortExecutionException(
+                    "Mutations cannot be executed within a read transaction, e.g. as part of a batch").toExecutionResult();
+            if (listener != null) {
+                listener.onInitialResult(result);
+            }
+            return result;
+        }
+
+        // Responses delivered incrementally are never cached
+        ResponseCache.ResponseKey cacheKey =
+                listener == null && !mutation && this.responseCache.isEnabled() ?
+                this.responseCache.key(dsg, getDatasetVersion(dsg), query, operationName, variables, extensions) :
+                null;
+        ExecutionResult cached = this.responseCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        Object localContext = createLocalContext(dsg, extensions);
+        Map<Object, Object> context = new HashMap<>();
+        context.put(QueryDeadline.class, deadline);
+        if (persisted != null) {
+            context.put(PersistedOperations.Resolved.class, persisted);
+        }
+        if (listener != null && !mutation) {
+            // Incremental delivery is only enabled when there is a listener to deliver the deferred results to,
+            // otherwise any @defer directives are ignored and the complete result is returned.  Deferred results are
+            // executed as they are delivered, which for a mutation would be after its write transaction had ended, so
+            // mutations are always delivered complete
+            context.put(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, true);
+        }
+        populateContext(dsg, context);
+        ExecutionInput.Builder builder = ExecutionInput.newExecutionInput(Objects.requireNonNullElse(query, ""))
+                                                       .localContext(localContext)
+                                                       .operationName(operationName)
+                                                       .variables(variables)
+                                                       .extensions(extensions)
+                                                       .graphQLContext(context);
+        DataLoaderRegistry registry = getDataLoaderRegistry(localContext);
+        if (registry != null) {
+            builder.dataLoaderRegistry(registry);
+        }
+        ExecutionInput input = builder.build();
 
         // Ensure we execute the GraphQL query inside a read transaction on the Dataset.  This gives proper transaction
         // isolation for the entire query which could include many requests against the dataset
-        return Txn.calculateRead(dsg, () -> this.graphQL.execute(input));
+        if (mutation) {
+            return executeMutation(dsg, input, listener);
+        }
+        ExecutionResult result = Txn.calculateRead(dsg, () -> {
+            ExecutionResult executed = this.graphQL.execute(input);
+            if (listener != null) {
+                deliver(executed, listener);
+            }
+            return executed;
+        });
+        this.responseCache.put(cacheKey, result);
+        return result;
+    }
+
+    /**
+     * Executes a mutation inside a single write transaction, so all the changes made by the mutation are applied
+     * atomically
+     * <p>
+     * If the mutation produces any errors then the transaction is aborted, unless the caller is already within a write
+     * transaction.  In that case the mutation runs within the caller's transaction, its errors are returned without
+     * aborting that transaction, and the caller decides whether to commit or abort any changes the mutation made.
+     * </p>
+     *
+     * @param dsg      Dataset Graph
+     * @param input    Execution input
+     * @param listener Listener for incremental results, may be {@code null}
+     * @return Execution result
+     */
+    private ExecutionResult executeMutation(DatasetGraph dsg, ExecutionInput input,
+                                            IncrementalResultListener listener) {
+        ExecutionResult result;
+        if (dsg.isInTransaction()) {
+            // Already within the caller's write transaction, throwing out of it would abort the caller's transaction,
+            // so the errors are simply returned and the caller decides whether to commit or abort
+            result = this.graphQL.execute(input);
+        } else {
+            result = executeInWriteTransaction(dsg, input);
+        }
+        if (listener != null) {
+            listener.onInitialResult(result);
+        }
+        return result;
+    }
+
+    /**
+     * Executes a mutation inside a new write transaction, aborting the transaction if the mutation produces any errors
+     *
+     * @param dsg   Dataset Graph
+     * @param input Execution input
+     * @return Execution result
+     */
+    private ExecutionResult executeInWriteTransaction(DatasetGraph dsg, ExecutionInput input) {
+        try {
+            return Txn.calculateWrite(dsg, () -> {
+                ExecutionResult executed = this.graphQL.execute(input);
+                if (!executed.getErrors().isEmpty()) {
+                    throw new MutationFailedException(executed);
+                }
+                return executed;
+            });
+        } catch (MutationFailedException e) {
+            return e.result;
+        }
+    }
+
+    @Override
+    public boolean isMutation(String query, String operationName, Map<String, Object> extensions) {
+        if (this.schema.getMutationType() == null) {
+            return false;
+        }
+        PersistedOperations.Resolved persisted;
+        try {
+            persisted = this.persistedOperations.resolve(query,
+                                                         Objects.requireNonNullElse(extensions, Collections.emptyMap()));
+        } catch (PersistedOperationException e) {
+            // Execution will report the error
+            return false;
+        }
+        return isMutation(persisted != null ? persisted.query() : query, operationName, persisted);
+    }
+
+    /**
+     * Determines whether the operation to be executed is a mutation
+     * <p>
+     * Where the document for the query has already been parsed, and cached, that is used, otherwise the query is parsed
+     * just sufficiently to find the type of the operation.  The cache is consulted without affecting its statistics,
+     * and without adding to it, so that it reflects only the actual executions.
+     * </p>
+     *
+     * @param query         Query
+     * @param operationName Operation name
+     * @param persisted     Persisted operation, if any
+     * @return True if the operation is a mutation, false otherwise
+     */
+    private boolean isMutation(String query, String operationName, PersistedOperations.Resolved persisted) {
+        if (this.schema.getMutationType() == null || query == null) {
+            return false;
+        }
+        PreparsedDocumentEntry entry =
+                persisted != null && persisted.document() != null ? persisted.document() :
+                this.documentCache.peek(query, operationName);
+        Document document;
+        if (entry != null) {
+            document = entry.getDocument();
+        } else {
+            try {
+                document = Parser.parse(query);
+            } catch (InvalidSyntaxException e) {
+                // Execution will report the syntax error
+                return false;
+            }
+        }
+        if (document == null) {
+            return false;
+        }
+        for (OperationDefinition operation : document.getDefinitionsOfType(OperationDefinition.class)) {
+            if (operationName == null || operationName.equals(operation.getName())) {
+                return operation.getOperation() == OperationDefinition.Operation.MUTATION;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Delivers the results of an execution to a listener
+     * <p>
+     * Deferred fields are only executed once the publisher of the subsequent results is subscribed to, so this happens
+     * on the calling thread, within the read transaction for the execution.
+     * </p>
+     *
+     * @param result   Initial result
+     * @param listener Listener
+     */
+    private static void deliver(ExecutionResult result, IncrementalResultListener listener) {
+        listener.onInitialResult(result);
+        if (!(result instanceof IncrementalExecutionResult incremental) || !incremental.hasNext()) {
+            return;
+        }
+
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        Publisher<DelayedIncrementalPartialResult> publisher = incremental.getIncrementalItemPublisher();
+        publisher.subscribe(new Subscriber<>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(DelayedIncrementalPartialResult partial) {
+                try {
+                    listener.onSubsequentResult(partial);
+                } catch (RuntimeException e) {
+                    this.subscription.cancel();
+                    completed.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                completed.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.complete(null);
+            }
+        });
+        try {
+            completed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public final CompletableFuture<ExecutionResult> executeAsync(String query, String operationName,
+                                                                 Map<String, Object> variables,
+                                                                 Map<String, Object> extensions) {
+        return executeAsync(this.dsg, query, operationName, variables, extensions);
+    }
+
+    /**
+     * Executes a GraphQL request asynchronously against a specific {@link DatasetGraph} instance
+     * <p>
+     * The execution, including the read transaction on the dataset, takes place entirely on a thread of the executor
+     * supplied by {@link #createAsyncExecutor()}, thus the calling thread is never blocked.  The deadline for the
+     * execution starts when this method is called, so includes any time spent waiting for a thread.  Cancelling the
+     * returned future cancels the execution, which is then abandoned at the next check of its {@link QueryDeadline}.
+     * </p>
+     *
+     * @param dsg           DatasetGraph
+     * @param query         GraphQL Query
+     * @param operationName Operation name
+     * @param variables     Variables
+     * @param extensions    Extensions
+     * @return Future that completes with the GraphQL Results
+     */
+    @Override
+    public final CompletableFuture<ExecutionResult> executeAsync(DatasetGraph dsg, String query, String operationName,
+                                                                 Map<String, Object> variables,
+                                                                 Map<String, Object> extensions) {
+        Objects.requireNonNull(dsg, "DatasetGraph to execute over cannot be null");
+        return executeAsync(dsg, query, operationName, variables, extensions, null);
+    }
+
+    /**
+     * Executes a GraphQL request asynchronously, delivering its results to the given listener as they become
+     * available
+     * <p>
+     * As for {@link #executeAsync(DatasetGraph, String, String, Map, Map)} the execution takes place entirely on a
+     * thread of the async executor, and as for {@link #execute(DatasetGraph, GraphQLRequest, IncrementalResultListener)}
+     * any deferred fields are delivered as subsequent results, thus the listener is called on that thread.
+     * </p>
+     *
+     * @param query         GraphQL Query
+     * @param operationName Operation name
+     * @param variables     Variables
+     * @param extensions    Extensions
+     * @param listener      Listener to deliver the results to
+     * @return Future that completes with the initial GraphQL Results once all results have been delivered
+     */
+    @Override
+    public final CompletableFuture<ExecutionResult> executeAsync(String query, String operationName,
+                                                                 Map<String, Object> variables,
+                                                                 Map<String, Object> extensions,
+                                                                 IncrementalResultListener listener) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        return executeAsync(this.dsg, query, operationName, variables, extensions, listener);
+    }
+
+    private CompletableFuture<ExecutionResult> executeAsync(DatasetGraph dsg, String query, String operationName,
+                                                            Map<String, Object> variables,
+                                                            Map<String, Object> extensions,
+                                                            IncrementalResultListener listener) {
+        QueryDeadline deadline = createDeadline(extensions);
+        CompletableFuture<ExecutionResult> future = CompletableFuture.supplyAsync(
+                () -> execute(dsg, query, operationName, variables, extensions, deadline, listener),
+                this.asyncExecutor);
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                deadline.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Creates the deadline for an execution
+     *
+     * @param extensions Extensions for the request, which may contain a timeout hint
+     * @return Deadline
+     */
+    private QueryDeadline createDeadline(Map<String, Object> extensions) {
+        return QueryDeadline.after(QueryDeadline.selectTimeout(this.defaultTimeout, extensions));
     }
 
     /**
@@ -221,6 +1040,38 @@ public abstract class AbstractDatasetExecutor implements GraphQLExecutor,
         return dsg;
     }
 
+    /**
+     * Gets the {@link DataLoaderRegistry} for an execution, if any
+     * <p>
+     * By default no registry is used, derived implementations whose data fetchers batch their lookups via
+     * {@link org.dataloader.DataLoader}'s should override this to return the registry for the execution.  Since data
+     * loaders cache their results, and those results are only valid within the read transaction for a single execution,
+     * a fresh registry <strong>MUST</strong> be used for each execution, typically one that is created as part of the
+     * {@link #createLocalContext(DatasetGraph, Map)} call.
+     * </p>
+     *
+     * @param localContext The local context object for the execution
+     * @return Data Loader registry, or {@code null} if none is needed
+     */
+    protected DataLoaderRegistry getDataLoaderRegistry(Object localContext) {
+        return null;
+    }
+
+    /**
+     * Adds any additional state for an execution to its GraphQL context, from which data fetchers may retrieve it
+     * <p>
+     * This is called prior to beginning the read transaction for the execution.  By default nothing is added, derived
+     * implementations may override this to make state that is resolved once per execution available to their data
+     * fetchers.
+     * </p>
+     *
+     * @param dsg     The Dataset Graph the query will operate over
+     * @param context The GraphQL context for the execution
+     */
+    protected void populateContext(DatasetGraph dsg, Map<Object, Object> context) {
+        // No additional state by default
+    }
+
 
     /**
      * Validate the given Graph QL query
@@ -243,4 +1094,42 @@ public abstract class AbstractDatasetExecutor implements GraphQLExecutor,
                               .build();
         return ParseAndValidate.parseAndValidate(schema, input);
     }
+
+    /**
+     * Thrown to abort the write transaction of a mutation that produced errors, carrying its result
+     */
+    private static final class MutationFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ExecutionResult result;
+
+        private MutationFailedException(ExecutionResult result) {
+            super(null, null, false, false);
+            this.result = result;
+        }
+    }
+
+    /**
+     * Holder for the default async executor so that it is only created if actually used
+     */
+    private static final class DefaultAsyncExecutor {
+        static final ExecutorService INSTANCE = create();
+
+        private static ExecutorService create() {
+            try {
+                // Virtual threads are only available from Java 21 onwards
+                return (ExecutorService) MethodHandles.publicLookup()
+                                                      .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                                                                  MethodType.methodType(ExecutorService.class))
+                                                      .invoke();
+            } catch (Throwable e) {
+                AtomicInteger counter = new AtomicInteger();
+                return Executors.newCachedThreadPool(r -> {
+                    Thread t = new Thread(r, "graphql-async-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+        }
+    }
 }
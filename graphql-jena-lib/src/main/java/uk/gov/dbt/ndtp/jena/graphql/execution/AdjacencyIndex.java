@@ -0,0 +1,724 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.util.NodeCmp;
+import org.apache.jena.system.Txn;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.EdgeDirection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiPredicate;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, in-memory, index of the adjacency of the nodes in a dataset, used to answer traversal queries without
+ * scanning the dataset's own indexes
+ * <p>
+ * Nodes, and separately predicates, are dictionary encoded as {@code int} identifiers.  For each direction the edges
+ * are held in compressed sparse row form, the edges of each node are stored contiguously in a single array of target
+ * node identifiers, partitioned by predicate, so finding the edges of a node, optionally restricted to a single
+ * predicate, is a couple of array lookups plus a binary search over that node's predicates.  Identifiers are assigned
+ * in the order of the terms, per {@link NodeCmp#compareRDFTerms(Node, Node)}, so the edges of a node are held in
+ * order of predicate then target, which is the order in which traversals visit edges however they find them.
+ * Identifiers are only decoded back into {@link Node}'s for the edges that are actually emitted.  Excluding the
+ * dictionaries each edge costs roughly 8 bytes across both directions, so the index for a dataset of hundreds of
+ * millions of edges fits in a few GB of memory.  Building an index transiently needs more, see
+ * {@link #build(DatasetGraph)}.
+ * </p>
+ * <p>
+ * Changes to the dataset are applied to an index via {@link #apply(long, VersionedDatasetGraph.Changes)}, which yields
+ * a new index sharing the arrays of the original plus an overlay of the change in the count of each changed edge, so a
+ * change costs in proportion to its size rather than to the size of the dataset.  An overlay is merged with the arrays
+ * as edges are visited so the order of edges is unaffected, however it costs more memory per edge than the arrays, so
+ * once an overlay grows large the index should be rebuilt, see {@link #getChangedEdgeCount()}.
+ * </p>
+ * <p>
+ * Each quad in the dataset is indexed as an edge, so edges present in several graphs are present several times,
+ * exactly as they would be when scanning the dataset with {@link Node#ANY} as the graph.  An index is a snapshot of the
+ * dataset as of its {@link #getVersion()}, see {@link AdjacencyIndexManager} for keeping an index current as the
+ * dataset changes.
+ * </p>
+ */
+public final class AdjacencyIndex {
+
+    private static final Comparator<Edge> EDGE_ORDER =
+            Comparator.comparing(Edge::predicate, NodeCmp::compareRDFTerms)
+                      .thenComparing(Edge::target, NodeCmp::compareRDFTerms);
+
+    private final long version;
+    private final Dictionary nodes;
+    private final Dictionary predicates;
+    private final Adjacency outgoing;
+    private final Adjacency incoming;
+    private final int edgeCount;
+    private final Overlay outgoingChanges;
+    private final Overlay incomingChanges;
+
+    private AdjacencyIndex(long version, Dictionary nodes, Dictionary predicates, Adjacency outgoing,
+                           Adjacency incoming, int edgeCount) {
+        this(version, nodes.trim(), predicates.trim(), outgoing, incoming, edgeCount, Overlay.EMPTY, Overlay.EMPTY);
+    }
+
+    private AdjacencyIndex(long version, Dictionary nodes, Dictionary predicates, Adjacency outgoing,
+                           Adjacency incoming, int edgeCount, Overlay outgoingChanges, Overlay incomingChanges) {
+        this.version = version;
+        this.nodes = nodes;
+        this.predicates = predicates;
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+        this.edgeCount = edgeCount;
+        this.outgoingChanges = outgoingChanges;
+        this.incomingChanges = incomingChanges;
+    }
+
+    /**
+     * Gets the index, if any, that applies to the execution that a data fetcher is running as part of
+     * <p>
+     * Where the execution has an {@link AdjacencyIndexManager} this <strong>MUST</strong> be called from within the
+     * read transaction in which the index will be used, see {@link AdjacencyIndexManager#current()}.
+     * </p>
+     *
+     * @param environment Data fetching environment
+     * @return Adjacency index, or {@code null} if no index applies to the execution
+     */
+    public static AdjacencyIndex of(DataFetchingEnvironment environment) {
+        GraphQLContext context = environment != null ? environment.getGraphQlContext() : null;
+        if (context == null) {
+            return null;
+        }
+        AdjacencyIndex index = context.get(AdjacencyIndex.class);
+        if (index != null) {
+            return index;
+        }
+        AdjacencyIndexManager manager = context.get(AdjacencyIndexManager.class);
+        return manager != null ? manager.current() : null;
+    }
+
+    /**
+     * Builds an index over the current contents of a dataset
+     * <p>
+     * The index is built within a read transaction on the dataset, and is labelled with the version of the dataset seen
+     * by that transaction, per {@link VersionedDatasetGraph#transactionVersionOf(DatasetGraph)}, which is
+     * {@value VersionedDatasetGraph#UNVERSIONED} if the dataset is not versioned, or a commit was in progress as the
+     * transaction began.
+     * </p>
+     * <p>
+     * Building needs at most around 36 bytes per edge at its peak, plus the dictionaries, i.e. roughly four and a half
+     * times the memory of the built index excluding its dictionaries.  That peak occurs when the subject, predicate and
+     * object identifiers of every edge, collected while scanning the dataset into growable lists, are copied into
+     * arrays of the exact size, thereafter at most 28 bytes per edge are needed while the two directions are arranged
+     * into compressed sparse row form one after the other.
+     * </p>
+     *
+     * @param dsg Dataset
+     * @return Adjacency index
+     */
+    public static AdjacencyIndex build(DatasetGraph dsg) {
+        return Txn.calculateRead(dsg, () -> {
+            long version = VersionedDatasetGraph.transactionVersionOf(dsg);
+            Dictionary nodes = new Dictionary();
+            Dictionary predicates = new Dictionary();
+            int[][] edges = encode(dsg, nodes, predicates);
+
+            int nodeCount = nodes.size();
+            int[] s = edges[0];
+            int[] p = edges[1];
+            int[] o = edges[2];
+            int[] nodeIds = nodes.sortByTerm();
+            int[] predicateIds = predicates.sortByTerm();
+            for (int i = 0; i < s.length; i++) {
+                s[i] = nodeIds[s[i]];
+                p[i] = predicateIds[p[i]];
+                o[i] = nodeIds[o[i]];
+            }
+            return new AdjacencyIndex(version, nodes, predicates, Adjacency.of(nodeCount, s, p, o),
+                                      Adjacency.of(nodeCount, o, p, s), s.length);
+        });
+    }
+
+    /**
+     * Encodes every quad in a dataset as the subject, predicate and object identifiers of an edge
+     * <p>
+     * The growable lists used while scanning are only reachable from this method, so they may be reclaimed as soon as
+     * the arrays of exact size have been returned.
+     * </p>
+     *
+     * @param dsg        Dataset
+     * @param nodes      Node dictionary
+     * @param predicates Predicate dictionary
+     * @return Subject, predicate and object identifiers, in that order
+     */
+    private static int[][] encode(DatasetGraph dsg, Dictionary nodes, Dictionary predicates) {
+        IntList subjects = new IntList();
+        IntList edgePredicates = new IntList();
+        IntList objects = new IntList();
+        try (Stream<Quad> quads = dsg.stream()) {
+            quads.forEach(q -> {
+                subjects.add(nodes.encode(q.getSubject()));
+                edgePredicates.add(predicates.encode(q.getPredicate()));
+                objects.add(nodes.encode(q.getObject()));
+            });
+        }
+        return new int[][] { subjects.toArray(), edgePredicates.toArray(), objects.toArray() };
+    }
+
+    /**
+     * Applies the changes that produced a new version of the dataset to this index
+     * <p>
+     * The changes <strong>MUST</strong> be those made since the version of this index, i.e. this index's version
+     * <strong>MUST</strong> be one less than the given version, and the changes <strong>MUST</strong> be exact, per
+     * {@link VersionedDatasetGraph.Changes}, otherwise the returned index will not match the dataset.
+     * </p>
+     *
+     * @param version Version of the dataset the changes produced
+     * @param changes Changes
+     * @return New index for the given version, this index is unchanged
+     */
+    public AdjacencyIndex apply(long version, VersionedDatasetGraph.Changes changes) {
+        return new AdjacencyIndex(version, this.nodes, this.predicates, this.outgoing, this.incoming,
+                                  this.edgeCount + changes.added().size() - changes.deleted().size(),
+                                  this.outgoingChanges.apply(changes, EdgeDirection.OUT),
+                                  this.incomingChanges.apply(changes, EdgeDirection.IN));
+    }
+
+    /**
+     * Gets the version of the dataset this index was built from
+     *
+     * @return Version, or {@value VersionedDatasetGraph#UNVERSIONED} if the dataset is not versioned
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Gets the number of distinct edges, i.e. subject, predicate and object combinations, whose count has changed since
+     * the index was built
+     *
+     * @return Changed edge count
+     */
+    public int getChangedEdgeCount() {
+        return this.outgoingChanges.size;
+    }
+
+    /**
+     * Gets the number of distinct subject and object nodes in the index as it was built, excluding any nodes
+     * introduced by changes applied since
+     *
+     * @return Node count
+     */
+    public int getNodeCount() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Gets the number of edges in the index
+     *
+     * @return Edge count
+     */
+    public int getEdgeCount() {
+        return this.edgeCount;
+    }
+
+    /**
+     * Finds the nodes that are the subject of at least one edge
+     *
+     * @param filter Node filter, {@link Node#ANY} to find all such nodes
+     * @return Subject nodes
+     */
+    public List<Node> subjects(Node filter) {
+        if (filter != null && !Node.ANY.equals(filter)) {
+            return degree(filter, EdgeDirection.OUT) > 0 ? List.of(filter) : List.of();
+        }
+        List<Node> subjects = new ArrayList<>();
+        boolean changed = !this.outgoingChanges.nodes.isEmpty();
+        for (int id = 0; id < this.nodes.size(); id++) {
+            if (changed ? degree(this.nodes.decode(id), EdgeDirection.OUT) > 0 : this.outgoing.hasEdges(id)) {
+                subjects.add(this.nodes.decode(id));
+            }
+        }
+        if (changed) {
+            // Nodes introduced by changes are not in the dictionary so are not ordered with those that are
+            int introduced = subjects.size();
+            this.outgoingChanges.nodes.forEach((node, changes) -> {
+                if (changes.degree > 0 && this.nodes.find(node) < 0) {
+                    subjects.add(node);
+                }
+            });
+            if (subjects.size() > introduced) {
+                subjects.sort(NodeCmp::compareRDFTerms);
+            }
+        }
+        return subjects;
+    }
+
+    /**
+     * Gets the degree of a node, i.e. the number of edges it has in a direction
+     *
+     * @param node      Node
+     * @param direction Direction of the edges
+     * @return Degree
+     */
+    public int degree(Node node, EdgeDirection direction) {
+        NodeChanges changes = (direction == EdgeDirection.OUT ? this.outgoingChanges : this.incomingChanges).nodes.get(
+                node);
+        int degree = changes != null ? changes.degree : 0;
+        int id = this.nodes.find(node);
+        if (id < 0) {
+            return degree;
+        }
+        Adjacency adjacency = direction == EdgeDirection.OUT ? this.outgoing : this.incoming;
+        return degree + adjacency.segmentOffsets[adjacency.nodeSegments[id + 1]]
+               - adjacency.segmentOffsets[adjacency.nodeSegments[id]];
+    }
+
+    /**
+     * Visits the edges of a node
+     * <p>
+     * Edges are visited in order of predicate then target, per {@link NodeCmp#compareRDFTerms(Node, Node)}, with an
+     * edge present in several graphs visited once per graph.  For {@link EdgeDirection#OUT} the action receives the
+     * predicate and object of each edge whose subject is the node, for {@link EdgeDirection#IN} the predicate and
+     * subject of each edge whose object is the node.  Visiting stops as soon as the action returns {@code false}.
+     * </p>
+     *
+     * @param node      Node
+     * @param predicate Predicate, {@link Node#ANY} to visit edges with any predicate
+     * @param direction Direction of the edges
+     * @param action    Action to take for each edge, given the predicate and target of the edge, returning whether to
+     *                  continue visiting edges
+     */
+    public void forEachEdge(Node node, Node predicate, EdgeDirection direction, BiPredicate<Node, Node> action) {
+        Node predicateFilter = predicate != null && !Node.ANY.equals(predicate) ? predicate : null;
+        NodeChanges changes = (direction == EdgeDirection.OUT ? this.outgoingChanges : this.incomingChanges).nodes.get(
+                node);
+        Iterator<Map.Entry<Edge, Integer>> changed =
+                changes != null ? changes.edges(predicateFilter) : Collections.emptyIterator();
+        Map.Entry<Edge, Integer> next = changed.hasNext() ? changed.next() : null;
+
+        Adjacency adjacency = direction == EdgeDirection.OUT ? this.outgoing : this.incoming;
+        int id = this.nodes.find(node);
+        int first = id >= 0 ? adjacency.nodeSegments[id] : 0;
+        int last = id >= 0 ? adjacency.nodeSegments[id + 1] : 0;
+        if (predicateFilter != null && first < last) {
+            int predicateId = this.predicates.find(predicateFilter);
+            int segment = predicateId >= 0 ?
+                          Arrays.binarySearch(adjacency.segmentPredicates, first, last, predicateId) : -1;
+            first = Math.max(segment, 0);
+            last = segment >= 0 ? segment + 1 : 0;
+        }
+        for (int segment = first; segment < last; segment++) {
+            Node p = this.predicates.decode(adjacency.segmentPredicates[segment]);
+            int end = adjacency.segmentOffsets[segment + 1];
+            for (int edge = adjacency.segmentOffsets[segment]; edge < end; ) {
+                // An edge present in several graphs occurs several times in a row, and its count may have changed
+                int target = adjacency.targets[edge];
+                int count = 1;
+                while (edge + count < end && adjacency.targets[edge + count] == target) {
+                    count++;
+                }
+                edge += count;
+
+                Node t = this.nodes.decode(target);
+                if (next != null) {
+                    // Interleave any changed edges that sort before this edge
+                    Edge current = new Edge(p, t);
+                    int cmp;
+                    while (next != null && (cmp = EDGE_ORDER.compare(next.getKey(), current)) <= 0) {
+                        if (cmp == 0) {
+                            count += next.getValue();
+                        } else if (!visit(next.getKey().predicate(), next.getKey().target(), next.getValue(),
+                                          action)) {
+                            return;
+                        }
+                        next = changed.hasNext() ? changed.next() : null;
+                    }
+                }
+                if (!visit(p, t, count, action)) {
+                    return;
+                }
+            }
+        }
+        while (next != null) {
+            if (!visit(next.getKey().predicate(), next.getKey().target(), next.getValue(), action)) {
+                return;
+            }
+            next = changed.hasNext() ? changed.next() : null;
+        }
+    }
+
+    private static boolean visit(Node predicate, Node target, int count, BiPredicate<Node, Node> action) {
+        for (int i = 0; i < count; i++) {
+            if (!action.test(predicate, target)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An edge of a node
+     *
+     * @param predicate Predicate
+     * @param target    Target node
+     */
+    private record Edge(Node predicate, Node target) {
+    }
+
+    /**
+     * The changes to the edges in one direction since an index was built
+     * <p>
+     * An overlay is never modified once it is part of an index, applying changes copies the map of changed nodes and
+     * the changes of just those nodes that the changes touch.
+     * </p>
+     *
+     * @param nodes Changes for each node whose edges have changed
+     * @param size  Number of distinct changed edges
+     */
+    private record Overlay(Map<Node, NodeChanges> nodes, int size) {
+
+        static final Overlay EMPTY = new Overlay(Map.of(), 0);
+
+        Overlay apply(VersionedDatasetGraph.Changes changes, EdgeDirection direction) {
+            if (changes.added().isEmpty() && changes.deleted().isEmpty()) {
+                return this;
+            }
+            Map<Node, NodeChanges> copied = new HashMap<>();
+            int changedSize = this.size + apply(changes.added(), 1, direction, copied)
+                              + apply(changes.deleted(), -1, direction, copied);
+            Map<Node, NodeChanges> changedNodes = new HashMap<>(this.nodes);
+            copied.forEach((node, nodeChanges) -> {
+                if (nodeChanges.edges.isEmpty()) {
+                    changedNodes.remove(node);
+                } else {
+                    changedNodes.put(node, nodeChanges);
+                }
+            });
+            return new Overlay(changedNodes, changedSize);
+        }
+
+        private int apply(List<Quad> quads, int delta, EdgeDirection direction, Map<Node, NodeChanges> copied) {
+            boolean outgoing = direction == EdgeDirection.OUT;
+            int changedSize = 0;
+            for (Quad quad : quads) {
+                Node from = outgoing ? quad.getSubject() : quad.getObject();
+                Edge edge = new Edge(quad.getPredicate(), outgoing ? quad.getObject() : quad.getSubject());
+                changedSize += copied.computeIfAbsent(from, n -> NodeChanges.copyOf(this.nodes.get(n)))
+                                     .change(edge, delta);
+            }
+            return changedSize;
+        }
+    }
+
+    /**
+     * The changes to the edges of a single node, as the change in the count of each changed edge, in edge order
+     */
+    private static final class NodeChanges {
+        private final TreeMap<Edge, Integer> edges;
+        private int degree;
+
+        private NodeChanges(TreeMap<Edge, Integer> edges, int degree) {
+            this.edges = edges;
+            this.degree = degree;
+        }
+
+        static NodeChanges copyOf(NodeChanges changes) {
+            return changes != null ? new NodeChanges(new TreeMap<>(changes.edges), changes.degree) :
+                   new NodeChanges(new TreeMap<>(EDGE_ORDER), 0);
+        }
+
+        /**
+         * Changes the count of an edge
+         *
+         * @param edge  Edge
+         * @param delta Change in count
+         * @return Change in the number of distinct changed edges
+         */
+        int change(Edge edge, int delta) {
+            this.degree += delta;
+            Integer before = this.edges.get(edge);
+            int after = (before != null ? before : 0) + delta;
+            if (after == 0) {
+                this.edges.remove(edge);
+                return before != null ? -1 : 0;
+            }
+            this.edges.put(edge, after);
+            return before != null ? 0 : 1;
+        }
+
+        Iterator<Map.Entry<Edge, Integer>> edges(Node predicate) {
+            return predicate == null ? this.edges.entrySet().iterator() :
+                   this.edges.entrySet().stream().filter(e -> e.getKey().predicate().equals(predicate)).iterator();
+        }
+    }
+
+    /**
+     * The edges in one direction in compressed sparse row form
+     * <p>
+     * The edges of node {@code n} occupy segments {@code nodeSegments[n]} (inclusive) to {@code nodeSegments[n + 1]}
+     * (exclusive), each segment holds the edges for a single predicate, sorted by predicate identifier, and the targets,
+     * sorted by node identifier, of segment {@code s} occupy {@code targets[segmentOffsets[s]]} (inclusive) to
+     * {@code targets[segmentOffsets[s + 1]]} (exclusive).
+     * </p>
+     *
+     * @param nodeSegments      Offsets of the first segment for each node
+     * @param segmentPredicates Predicate of each segment
+     * @param segmentOffsets    Offsets of the first target for each segment
+     * @param targets           Target node of each edge
+     */
+    private record Adjacency(int[] nodeSegments, int[] segmentPredicates, int[] segmentOffsets, int[] targets) {
+
+        static Adjacency of(int nodeCount, int[] from, int[] predicates, int[] to) {
+            // Bucket the edges by their from node, with each edge encoded as its predicate and target so that sorting
+            // a bucket groups it by predicate
+            int[] offsets = new int[nodeCount + 1];
+            for (int node : from) {
+                offsets[node + 1]++;
+            }
+            for (int n = 0; n < nodeCount; n++) {
+                offsets[n + 1] += offsets[n];
+            }
+            int[] next = Arrays.copyOf(offsets, nodeCount);
+            long[] edges = new long[from.length];
+            for (int i = 0; i < from.length; i++) {
+                edges[next[from[i]]++] = ((long) predicates[i] << 32) | to[i];
+            }
+
+            int[] nodeSegments = new int[nodeCount + 1];
+            IntList segmentPredicates = new IntList();
+            IntList segmentOffsets = new IntList();
+            int[] targets = new int[from.length];
+            for (int n = 0; n < nodeCount; n++) {
+                Arrays.sort(edges, offsets[n], offsets[n + 1]);
+                nodeSegments[n] = segmentPredicates.size();
+                int previous = -1;
+                for (int i = offsets[n]; i < offsets[n + 1]; i++) {
+                    int predicate = (int) (edges[i] >>> 32);
+                    if (predicate != previous) {
+                        segmentPredicates.add(predicate);
+                        segmentOffsets.add(i);
+                        previous = predicate;
+                    }
+                    targets[i] = (int) edges[i];
+                }
+            }
+            nodeSegments[nodeCount] = segmentPredicates.size();
+            segmentOffsets.add(from.length);
+            return new Adjacency(nodeSegments, segmentPredicates.toArray(), segmentOffsets.toArray(), targets);
+        }
+
+        boolean hasEdges(int node) {
+            return this.nodeSegments[node + 1] > this.nodeSegments[node];
+        }
+    }
+
+    /**
+     * A dictionary assigning sequential identifiers to nodes
+     * <p>
+     * This is an open addressing hash table of identifiers, probed linearly and kept at most half full, alongside an
+     * array of the nodes indexed by identifier.  Thus each node costs 4 bytes for its array slot plus 8 to 16 bytes of
+     * table, rather than the boxed keys, values and entries of a {@link java.util.HashMap}.
+     * </p>
+     */
+    private static final class Dictionary {
+        private Node[] values = new Node[16];
+        private int[] table = new int[32];
+        private int size;
+
+        private static int hash(Node node) {
+            int h = node.hashCode() * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        /**
+         * Finds the identifier of a node
+         *
+         * @param node Node
+         * @return Identifier, or {@code -1} if the node is not in the dictionary
+         */
+        int find(Node node) {
+            int mask = this.table.length - 1;
+            for (int slot = hash(node) & mask; ; slot = (slot + 1) & mask) {
+                // Slots hold identifiers offset by one so that zero marks an empty slot
+                int entry = this.table[slot];
+                if (entry == 0) {
+                    return -1;
+                } else if (this.values[entry - 1].equals(node)) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        /**
+         * Encodes a node, assigning it the next identifier if not already in the dictionary
+         *
+         * @param node Node
+         * @return Identifier
+         */
+        int encode(Node node) {
+            int mask = this.table.length - 1;
+            int slot = hash(node) & mask;
+            for (int entry = this.table[slot]; entry != 0; entry = this.table[slot]) {
+                if (this.values[entry - 1].equals(node)) {
+                    return entry - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            int id = this.size++;
+            this.values[id] = node;
+            this.table[slot] = id + 1;
+            if (this.size * 2 > this.table.length) {
+                rehash(this.table.length * 2);
+            }
+            return id;
+        }
+
+        private void rehash(int capacity) {
+            int[] rehashed = new int[capacity];
+            int mask = rehashed.length - 1;
+            for (int id = 0; id < this.size; id++) {
+                int slot = hash(this.values[id]) & mask;
+                while (rehashed[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                rehashed[slot] = id + 1;
+            }
+            this.table = rehashed;
+        }
+
+        Node decode(int id) {
+            return this.values[id];
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        /**
+         * Renumbers the nodes so that the order of their identifiers is the order of the nodes, per
+         * {@link NodeCmp#compareRDFTerms(Node, Node)}
+         *
+         * @return Mapping from each node's previous identifier to its new identifier
+         */
+        int[] sortByTerm() {
+            int[] order = new int[this.size];
+            for (int id = 0; id < this.size; id++) {
+                order[id] = id;
+            }
+            Node[] unsorted = this.values;
+            sort(order, (a, b) -> NodeCmp.compareRDFTerms(unsorted[a], unsorted[b]));
+            int[] renumbered = new int[this.size];
+            Node[] sorted = new Node[unsorted.length];
+            for (int id = 0; id < this.size; id++) {
+                renumbered[order[id]] = id;
+                sorted[id] = unsorted[order[id]];
+            }
+            this.values = sorted;
+            rehash(this.table.length);
+            return renumbered;
+        }
+
+        /**
+         * Trims the node array to the number of nodes, once no further nodes will be added
+         *
+         * @return This dictionary
+         */
+        Dictionary trim() {
+            this.values = Arrays.copyOf(this.values, this.size);
+            return this;
+        }
+    }
+
+    /**
+     * A growable list of {@code int}'s
+     */
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(this.values, this.size);
+        }
+    }
+
+    /**
+     * Sorts an array of identifiers with a comparator, via a bottom up merge sort since the JDK offers no comparator
+     * based sort of primitive arrays and boxing every identifier would double the memory needed to build an index
+     *
+     * @param ids        Identifiers
+     * @param comparator Comparator
+     */
+    static void sort(int[] ids, IntBinaryOperator comparator) {
+        int[] from = ids;
+        int[] to = new int[ids.length];
+        for (int width = 1; width < ids.length; width *= 2) {
+            for (int start = 0; start < ids.length; start += 2 * width) {
+                int middle = Math.min(start + width, ids.length);
+                int end = Math.min(start + 2 * width, ids.length);
+                int left = start;
+                int right = middle;
+                for (int i = start; i < end; i++) {
+                    if (left < middle && (right >= end || comparator.applyAsInt(from[left], from[right]) <= 0)) {
+                        to[i] = from[left++];
+                    } else {
+                        to[i] = from[right++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != ids) {
+            System.arraycopy(from, 0, ids, 0, ids.length);
+        }
+    }
+}
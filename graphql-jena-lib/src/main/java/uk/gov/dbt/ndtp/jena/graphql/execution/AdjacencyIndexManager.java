@@ -0,0 +1,259 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import org.apache.jena.sparql.core.DatasetGraph;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Manages an {@link AdjacencyIndex} over a dataset, keeping it current as the dataset changes
+ * <p>
+ * The dataset <strong>MUST</strong> be a {@link VersionedDatasetGraph}, or wrap one, since the manager listens to it
+ * for the changes made by each commit, see {@link VersionedDatasetGraph.ChangeListener}.  The initial index is built
+ * when the manager is created, thereafter the changes for each new version of the dataset are applied to the index
+ * incrementally, in version order, via {@link AdjacencyIndex#apply(long, VersionedDatasetGraph.Changes)}.  The index is
+ * only rebuilt from scratch when the changes for a version are unknown, or once the changes accumulated by the index
+ * exceed {@link #rebuildThreshold(AdjacencyIndex)}.
+ * </p>
+ * <p>
+ * Builds and updates happen in the background, via the executor given when the manager was created.  A build needs
+ * several times the memory of the index it builds, see {@link AdjacencyIndex#build(DatasetGraph)}, and the previous
+ * index remains reachable until the new one replaces it, so the heap <strong>MUST</strong> have room for both.  While
+ * no index matching the version of the dataset that the caller's transaction sees is available {@link #current()}
+ * returns {@code null}, at which point callers <strong>MUST</strong> fall back to scanning the dataset directly.  Thus
+ * an index never produces results that differ from those a scan of the dataset would.
+ * </p>
+ */
+public class AdjacencyIndexManager {
+
+    /**
+     * The minimum number of changed edges an index may accumulate before it is rebuilt
+     */
+    public static final int MINIMUM_REBUILD_THRESHOLD = 10_000;
+
+    /**
+     * How many times a build is attempted when commits in progress prevent knowing the version of the data it built
+     */
+    private static final int BUILD_ATTEMPTS = 10;
+
+    private final DatasetGraph dsg;
+    private final Executor executor;
+    private final AtomicBoolean building = new AtomicBoolean(false);
+    private final ConcurrentSkipListMap<Long, Optional<VersionedDatasetGraph.Changes>> changes =
+            new ConcurrentSkipListMap<>();
+    private volatile AdjacencyIndex index;
+
+    /**
+     * How long the background thread of the default executor is kept alive while idle
+     */
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Creates a new manager that builds and updates indexes on a background thread
+     * <p>
+     * All builds and updates for the manager run on a single daemon thread, which exits after being idle for a minute,
+     * so they never compete with each other for memory, nor leave threads behind once the dataset is quiet.
+     * </p>
+     *
+     * @param dsg Dataset
+     */
+    public AdjacencyIndexManager(DatasetGraph dsg) {
+        this(dsg, createDefaultExecutor());
+    }
+
+    /**
+     * Creates a new manager that builds and updates indexes via the given executor
+     *
+     * @param dsg      Dataset
+     * @param executor Executor used to build and update indexes
+     */
+    public AdjacencyIndexManager(DatasetGraph dsg, Executor executor) {
+        this.dsg = Objects.requireNonNull(dsg, "Dataset cannot be null");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        VersionedDatasetGraph versioned = VersionedDatasetGraph.find(dsg);
+        if (versioned == null) {
+            throw new IllegalArgumentException(
+                    "An adjacency index requires a versioned dataset, wrap it in a VersionedDatasetGraph");
+        }
+        // Listen before the initial build so that no version after the one it builds can be missed
+        versioned.addChangeListener((version, changes) -> {
+            this.changes.put(version, Optional.ofNullable(changes));
+            scheduleBuild();
+        });
+        scheduleBuild();
+    }
+
+    private static Executor createDefaultExecutor() {
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(1, 1, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "adjacency-index-builder");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Gets the index for the version of the dataset seen by the calling thread's transaction, scheduling an update if
+     * the index is out of date
+     * <p>
+     * This <strong>MUST</strong> be called from within the read transaction in which the index will be used, since the
+     * version is checked against that transaction's version, see
+     * {@link VersionedDatasetGraph#getTransactionVersion()}, and the returned index <strong>MUST</strong> only be used
+     * within that transaction.
+     * </p>
+     *
+     * @return Current index, or {@code null} if not in a read transaction, or there is no index for the version of the
+     * dataset that the transaction sees
+     */
+    public AdjacencyIndex current() {
+        AdjacencyIndex current = this.index;
+        long version = VersionedDatasetGraph.transactionVersionOf(this.dsg);
+        if (current != null && version != VersionedDatasetGraph.UNVERSIONED && current.getVersion() == version) {
+            return current;
+        }
+        if (current == null || current.getVersion() < VersionedDatasetGraph.versionOf(this.dsg)) {
+            scheduleBuild();
+        }
+        return null;
+    }
+
+    /**
+     * Rebuilds the index immediately, on the calling thread
+     *
+     * @return Rebuilt index, whose version is {@value VersionedDatasetGraph#UNVERSIONED}, and which does not replace
+     * the current index, if commits in progress repeatedly prevented knowing the version of the data it was built from
+     */
+    public synchronized AdjacencyIndex rebuild() {
+        AdjacencyIndex rebuilt = AdjacencyIndex.build(this.dsg);
+        for (int attempt = 1;
+             rebuilt.getVersion() == VersionedDatasetGraph.UNVERSIONED && attempt < BUILD_ATTEMPTS; attempt++) {
+            Thread.yield();
+            rebuilt = AdjacencyIndex.build(this.dsg);
+        }
+        if (rebuilt.getVersion() != VersionedDatasetGraph.UNVERSIONED) {
+            this.index = rebuilt;
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Gets whether a build, or update, of the index is currently in progress
+     *
+     * @return True if building, false otherwise
+     */
+    public boolean isBuilding() {
+        return this.building.get();
+    }
+
+    /**
+     * Gets how many changed edges an index may accumulate before it is rebuilt rather than updated further
+     * <p>
+     * The changes applied to an index cost more memory, and more time to visit, per edge than the edges it was built
+     * with, so the default allows them to grow to a tenth of the edges of the index, or
+     * {@value #MINIMUM_REBUILD_THRESHOLD} if greater, so rebuilds are amortised over many changes.
+     * </p>
+     *
+     * @param index Index
+     * @return Rebuild threshold
+     */
+    protected int rebuildThreshold(AdjacencyIndex index) {
+        return Math.max(MINIMUM_REBUILD_THRESHOLD, index.getEdgeCount() / 10);
+    }
+
+    /**
+     * Brings the index up to date, applying the changes for each version after the current index, in version order,
+     * for as long as the changes for the next version are available
+     */
+    private synchronized void update() {
+        AdjacencyIndex current = this.index;
+        if (current == null) {
+            current = rebuild();
+            if (current.getVersion() == VersionedDatasetGraph.UNVERSIONED) {
+                return;
+            }
+        }
+        while (true) {
+            this.changes.headMap(current.getVersion(), true).clear();
+            Map.Entry<Long, Optional<VersionedDatasetGraph.Changes>> next = this.changes.firstEntry();
+            if (next == null || next.getKey() != current.getVersion() + 1) {
+                // Either up to date, or the changes for the next version have yet to be notified
+                return;
+            }
+            this.changes.remove(next.getKey());
+            VersionedDatasetGraph.Changes changed = next.getValue().orElse(null);
+            if (changed == null || current.getChangedEdgeCount() + changed.added().size() + changed.deleted().size()
+                                   > rebuildThreshold(current)) {
+                AdjacencyIndex rebuilt = rebuild();
+                if (rebuilt.getVersion() == VersionedDatasetGraph.UNVERSIONED) {
+                    return;
+                }
+                current = rebuilt;
+            } else {
+                current = current.apply(next.getKey(), changed);
+                this.index = current;
+            }
+        }
+    }
+
+    private boolean isUpdatable() {
+        AdjacencyIndex current = this.index;
+        Map.Entry<Long, ?> next = this.changes.firstEntry();
+        return current != null && next != null && next.getKey() <= current.getVersion() + 1;
+    }
+
+    private void scheduleBuild() {
+        // At most one build, or update, at a time, changes notified meanwhile are picked up by the running update, or
+        // failing that by the check once it completes
+        if (!this.building.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.executor.execute(() -> {
+                try {
+                    update();
+                } finally {
+                    this.building.set(false);
+                }
+                if (isUpdatable()) {
+                    scheduleBuild();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.building.set(false);
+        }
+    }
+}
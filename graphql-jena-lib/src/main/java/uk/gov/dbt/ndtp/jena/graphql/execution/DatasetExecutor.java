@@ -27,6 +27,14 @@ import graphql.schema.idl.NaturalEnumValuesProvider;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.NodeKind;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.QuadPosition;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.AddQuadsFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.DeletePatternFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.DeleteQuadsFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.DistinctNodesFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.MatchFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.QuadsConnectionFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.QuadsCountFetcher;
 import uk.gov.dbt.ndtp.jena.graphql.fetchers.QuadsFetcher;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.GraphQLJenaSchemas;
@@ -36,6 +44,11 @@ import java.io.IOException;
 
 /**
  * Provides the ability to execute GraphQL queries using our simple Dataset schema
+ * <p>
+ * The schema also has mutations for adding and deleting quads, each mutation operation is executed within a single
+ * write transaction on the dataset so its changes are applied atomically.  Mutations are only available if explicitly
+ * enabled when the executor is created, otherwise the executor is read-only.
+ * </p>
  */
 public class DatasetExecutor extends AbstractDatasetExecutor {
 
@@ -47,7 +60,20 @@ public class DatasetExecutor extends AbstractDatasetExecutor {
      * @throws IOException Thrown if the schema cannot be loaded
      */
     public DatasetExecutor(DatasetGraph dsg) throws IOException {
-        super(dsg);
+        this(dsg, false);
+    }
+
+    /**
+     * Creates a new execution engine using the Dataset schema and the given {@link DatasetGraph} as the underlying data
+     * source
+     *
+     * @param dsg              Dataset Graph
+     * @param mutationsEnabled Whether mutations that modify the dataset may be executed, if false the executor is
+     *                         read-only
+     * @throws IOException Thrown if the schema cannot be loaded
+     */
+    public DatasetExecutor(DatasetGraph dsg, boolean mutationsEnabled) throws IOException {
+        super(dsg, mutationsEnabled);
     }
 
     @Override
@@ -59,10 +85,51 @@ public class DatasetExecutor extends AbstractDatasetExecutor {
     protected RuntimeWiring.Builder buildRuntimeWiring() {
         //@formatter:off
         NaturalEnumValuesProvider<NodeKind> nodeKinds = new NaturalEnumValuesProvider<>(NodeKind.class);
-        return RuntimeWiring.newRuntimeWiring()
+        NaturalEnumValuesProvider<QuadPosition> positions = new NaturalEnumValuesProvider<>(QuadPosition.class);
+        RuntimeWiring.Builder builder
+                = RuntimeWiring.newRuntimeWiring()
                                .type(DatasetSchema.QUADS_QUERY_TYPE,
-                                     t -> t.dataFetcher(DatasetSchema.QUADS_FIELD, new QuadsFetcher()).enumValues(nodeKinds));
+                                     t -> t.dataFetcher(DatasetSchema.QUADS_FIELD, new QuadsFetcher())
+                                           .dataFetcher(DatasetSchema.QUADS_CONNECTION_FIELD, new QuadsConnectionFetcher())
+                                           .dataFetcher(DatasetSchema.COUNT_FIELD, new QuadsCountFetcher())
+                                           .dataFetcher(DatasetSchema.DISTINCT_FIELD, new DistinctNodesFetcher())
+                                           .dataFetcher(DatasetSchema.MATCH_FIELD, new MatchFetcher())
+                                           .enumValues(nodeKinds))
+                               .type(DatasetSchema.QUAD_POSITION_TYPE, t -> t.enumValues(positions));
+        if (this.mutationsEnabled) {
+            builder.type(DatasetSchema.QUADS_MUTATION_TYPE,
+                         t -> t.dataFetcher(DatasetSchema.ADD_QUADS_FIELD, new AddQuadsFetcher())
+                               .dataFetcher(DatasetSchema.DELETE_QUADS_FIELD, new DeleteQuadsFetcher())
+                               .dataFetcher(DatasetSchema.DELETE_PATTERN_FIELD, new DeletePatternFetcher()));
+        }
         //@formatter:on
+        return builder;
     }
 
+    @Override
+    protected QueryCostModel createCostModel() {
+        // Each quads field is a potentially large scan of the dataset, whereas a quads connection is bounded by its page
+        // size.  Counts and distinct nodes also scan but return little, or nothing, that can be further selected upon.
+        // A match is a join of several scans so is weighted more heavily, bounded by its limit.  Deleting by pattern
+        // scans like a count, while adding and deleting specific quads is a lookup per quad
+        //@formatter:off
+        return QueryCostModel.newModel()
+                             .fieldWeight(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.QUADS_FIELD, 10)
+                             .listSize(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.QUADS_FIELD, 100)
+                             .fieldWeight(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.QUADS_CONNECTION_FIELD, 10)
+                             .listSize(DatasetSchema.QUAD_CONNECTION_TYPE, DatasetSchema.EDGES_FIELD,
+                                       QuadsConnectionFetcher.DEFAULT_PAGE_SIZE)
+                             .fieldWeight(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.COUNT_FIELD, 10)
+                             .fieldWeight(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.DISTINCT_FIELD, 10)
+                             .listSizeArgument(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.DISTINCT_FIELD,
+                                               DatasetSchema.LIMIT_ARGUMENT)
+                             .fieldWeight(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.MATCH_FIELD, 50)
+                             .listSize(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.MATCH_FIELD,
+                                       MatchFetcher.DEFAULT_LIMIT)
+                             .listSizeArgument(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.MATCH_FIELD,
+                                               DatasetSchema.LIMIT_ARGUMENT)
+                             .fieldWeight(DatasetSchema.QUADS_MUTATION_TYPE, DatasetSchema.DELETE_PATTERN_FIELD, 10)
+                             .build();
+        //@formatter:on
+    }
 }
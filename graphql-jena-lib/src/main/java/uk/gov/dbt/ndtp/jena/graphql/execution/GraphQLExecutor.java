@@ -27,7 +27,12 @@ import graphql.ExecutionResult;
 import graphql.ParseAndValidateResult;
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Provides the ability to execute GraphQL queries
@@ -70,6 +75,144 @@ public interface GraphQLExecutor {
      */
     ExecutionResult execute(GraphQLRequest request);
 
+    /**
+     * Executes the provided query asynchronously
+     *
+     * @param query Query
+     * @return Future that completes with the execution result
+     */
+    default CompletableFuture<ExecutionResult> executeAsync(String query) {
+        return executeAsync(query, Collections.emptyMap());
+    }
+
+    /**
+     * Executes the provided query asynchronously
+     *
+     * @param query     Query
+     * @param variables Variables to make available to the query
+     * @return Future that completes with the execution result
+     */
+    default CompletableFuture<ExecutionResult> executeAsync(String query, Map<String, Object> variables) {
+        return executeAsync(query, null, variables, Collections.emptyMap());
+    }
+
+    /**
+     * Executes the provided query asynchronously
+     * <p>
+     * The default implementation simply runs the blocking {@link #execute(String, String, Map, Map)} method on the
+     * common fork join pool, implementations <strong>SHOULD</strong> override this to use a more appropriate executor.
+     * </p>
+     *
+     * @param query         Query
+     * @param operationName Operation name indicating an operation within the query document to execute
+     * @param variables     Variables to make available to the query
+     * @param extensions    Vendor extensions to make available to the query
+     * @return Future that completes with the execution result
+     */
+    default CompletableFuture<ExecutionResult> executeAsync(String query, String operationName,
+                                                            Map<String, Object> variables,
+                                                            Map<String, Object> extensions) {
+        return CompletableFuture.supplyAsync(() -> execute(query, operationName, variables, extensions));
+    }
+
+    /**
+     * Executes the provided request asynchronously
+     *
+     * @param request Request
+     * @return Future that completes with the execution result
+     */
+    default CompletableFuture<ExecutionResult> executeAsync(GraphQLRequest request) {
+        return executeAsync(request.getQuery(), request.getOperationName(), request.getVariables(),
+                            request.getExtensions());
+    }
+
+    /**
+     * Executes the provided query asynchronously, delivering its results to the given listener as they become
+     * available
+     * <p>
+     * Implementations that support incremental delivery deliver the initial result as soon as it is available, followed
+     * by the results of any fields deferred via the {@code @defer} directive, see {@link IncrementalResultListener}.
+     * The default implementation does not support incremental delivery so the complete result is delivered as the
+     * initial result once execution completes.
+     * </p>
+     *
+     * @param query         Query
+     * @param operationName Operation name indicating an operation within the query document to execute
+     * @param variables     Variables to make available to the query
+     * @param extensions    Vendor extensions to make available to the query
+     * @param listener      Listener to deliver the results to
+     * @return Future that completes with the initial execution result once all results have been delivered
+     */
+    default CompletableFuture<ExecutionResult> executeAsync(String query, String operationName,
+                                                            Map<String, Object> variables,
+                                                            Map<String, Object> extensions,
+                                                            IncrementalResultListener listener) {
+        return executeAsync(query, operationName, variables, extensions).thenApply(result -> {
+            listener.onInitialResult(result);
+            return result;
+        });
+    }
+
+    /**
+     * Executes a batch of requests
+     * <p>
+     * The default implementation simply executes each request in turn, implementations <strong>SHOULD</strong>
+     * override this to execute the whole batch against a consistent view of the data.
+     * </p>
+     *
+     * @param requests Requests
+     * @return Execution results, in the same order as the requests
+     */
+    default List<ExecutionResult> executeBatch(List<GraphQLRequest> requests) {
+        return requests.stream().map(this::execute).toList();
+    }
+
+    /**
+     * Executes a batch of requests asynchronously
+     * <p>
+     * The default implementation simply runs the blocking {@link #executeBatch(List)} method on the common fork join
+     * pool, implementations <strong>SHOULD</strong> override this to use a more appropriate executor.
+     * </p>
+     *
+     * @param requests Requests
+     * @return Future that completes with the execution results, in the same order as the requests
+     */
+    default CompletableFuture<List<ExecutionResult>> executeBatchAsync(List<GraphQLRequest> requests) {
+        return CompletableFuture.supplyAsync(() -> executeBatch(requests));
+    }
+
+    /**
+     * Determines whether a request is for a mutation, i.e. an operation that changes the data
+     * <p>
+     * HTTP servers use this to refuse mutations conveyed by {@code GET} requests, as the GraphQL over HTTP
+     * specification requires.  The default implementation returns {@code false} since executors are read-only unless
+     * their schema declares a mutation type.
+     * </p>
+     *
+     * @param query         Query
+     * @param operationName Operation name indicating an operation within the query document to execute
+     * @param extensions    Vendor extensions to make available to the query
+     * @return True if the request is for a mutation, false otherwise
+     */
+    default boolean isMutation(String query, String operationName, Map<String, Object> extensions) {
+        return false;
+    }
+
+    /**
+     * Gets the executor on which this executor runs asynchronous executions
+     * <p>
+     * Callers may also use this to run work on behalf of an execution that may block waiting for its results, e.g.
+     * writing incrementally delivered results, rather than blocking a thread of a shared pool.  The default
+     * implementation returns the common fork join pool, matching the default asynchronous methods, implementations that
+     * override those <strong>SHOULD</strong> override this to return the executor they use.
+     * </p>
+     *
+     * @return Async executor
+     */
+    default Executor getAsyncExecutor() {
+        return ForkJoinPool.commonPool();
+    }
+
     /**
      * Validates the provided request
      * @param query Query
@@ -25,7 +25,9 @@ package uk.gov.dbt.ndtp.jena.graphql.execution;
 
 import graphql.ExecutionResult;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
 import org.apache.jena.sparql.core.DatasetGraph;
@@ -55,4 +57,73 @@ public interface GraphQLOverDatasetExecutor {
      */
     ExecutionResult execute(DatasetGraph dsg, String query, String operationName, Map<String, Object> variables,
                             Map<String, Object> extensions);
+
+    /**
+     * Executes a GraphQL request against a specific {@link DatasetGraph} instance, delivering its results to the given
+     * listener as they become available
+     * <p>
+     * Implementations that support incremental delivery deliver the initial result as soon as it is available, followed
+     * by the results of any fields deferred via the {@code @defer} directive, see {@link IncrementalResultListener}.
+     * The default implementation does not support incremental delivery so the complete result is delivered as the
+     * initial result once execution completes.
+     * </p>
+     *
+     * @param dsg      Dataset Graph
+     * @param request  GraphQL Request
+     * @param listener Listener to deliver the results to
+     * @return Initial GraphQL Results, returned once all results have been delivered
+     */
+    default ExecutionResult execute(DatasetGraph dsg, GraphQLRequest request, IncrementalResultListener listener) {
+        ExecutionResult result = execute(dsg, request);
+        listener.onInitialResult(result);
+        return result;
+    }
+
+    /**
+     * Executes a batch of requests over the given {@link DatasetGraph}
+     * <p>
+     * The default implementation simply executes each request in turn, implementations <strong>SHOULD</strong>
+     * override this to execute the whole batch against a consistent view of the data.
+     * </p>
+     *
+     * @param dsg      Dataset Graph to query
+     * @param requests GraphQL Requests
+     * @return Execution results, in the same order as the requests
+     */
+    default List<ExecutionResult> executeBatch(DatasetGraph dsg, List<GraphQLRequest> requests) {
+        return requests.stream().map(request -> execute(dsg, request)).toList();
+    }
+
+    /**
+     * Executes the provided query over the given {@link DatasetGraph} asynchronously
+     *
+     * @param dsg     Dataset Graph to query
+     * @param request GraphQL Request
+     * @return Future that completes with the execution result
+     */
+    default CompletableFuture<ExecutionResult> executeAsync(DatasetGraph dsg, GraphQLRequest request) {
+        return executeAsync(dsg, request.getQuery(), request.getOperationName(), request.getVariables(),
+                            request.getExtensions());
+    }
+
+    /**
+     * Executes the provided query over the given {@link DatasetGraph} asynchronously
+     * <p>
+     * The default implementation simply runs the blocking {@link #execute(DatasetGraph, String, String, Map, Map)}
+     * method on the common fork join pool, implementations <strong>SHOULD</strong> override this to use a more
+     * appropriate executor.
+     * </p>
+     *
+     * @param dsg           Dataset Graph to query
+     * @param query         Query
+     * @param operationName Operation name indicating an operation within the query document to execute
+     * @param variables     Variables to make available to the query
+     * @param extensions    Vendor extensions to make available to the query
+     * @return Future that completes with the execution result
+     */
+    default CompletableFuture<ExecutionResult> executeAsync(DatasetGraph dsg, String query, String operationName,
+                                                            Map<String, Object> variables,
+                                                            Map<String, Object> extensions) {
+        return CompletableFuture.supplyAsync(() -> execute(dsg, query, operationName, variables, extensions));
+    }
 }
@@ -0,0 +1,60 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+
+/**
+ * A listener that receives the results of an execution as they become available, which enables incremental delivery of
+ * the results of queries that use the {@code @defer} directive
+ * <p>
+ * When the query defers some of its fields then the initial result is an {@link IncrementalExecutionResult}, with its
+ * {@link IncrementalExecutionResult#hasNext()} set, and is followed by one, or more, subsequent results containing
+ * the deferred fields.  The last subsequent result has its {@link DelayedIncrementalPartialResult#hasNext()} unset.
+ * Otherwise the initial result is the complete result, and no subsequent results follow.
+ * </p>
+ * <p>
+ * All results are delivered on the thread executing the query, from within its read transaction, so listeners
+ * <strong>SHOULD</strong> deliver them onwards promptly, e.g. by writing them to a response, and <strong>MUST
+ * NOT</strong> retain them beyond the life of that response.
+ * </p>
+ */
+public interface IncrementalResultListener {
+
+    /**
+     * Called with the initial result of the execution
+     *
+     * @param result Initial result
+     */
+    void onInitialResult(ExecutionResult result);
+
+    /**
+     * Called with each subsequent result, containing the deferred fields, of an execution
+     *
+     * @param result Subsequent result
+     */
+    void onSubsequentResult(DelayedIncrementalPartialResult result);
+}
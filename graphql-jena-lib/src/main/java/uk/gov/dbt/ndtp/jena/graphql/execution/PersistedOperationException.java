@@ -0,0 +1,126 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.execution.AbortExecutionException;
+
+import java.util.Map;
+
+/**
+ * Exception thrown to abort a request that uses a persisted operation that cannot be executed, either because it is
+ * unknown, its hash does not match its query, or only persisted operations are permitted
+ * <p>
+ * The messages and codes for the error cases are those of the Automatic Persisted Queries protocol, so clients that
+ * support it know to retry with the full query where appropriate.
+ * </p>
+ */
+public class PersistedOperationException extends AbortExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Error code for an unknown persisted operation, the client may retry supplying the full query
+     */
+    public static final String CODE_NOT_FOUND = "PERSISTED_QUERY_NOT_FOUND";
+    /**
+     * Error code for a query whose hash does not match the hash supplied for it
+     */
+    public static final String CODE_HASH_MISMATCH = "PERSISTED_QUERY_HASH_MISMATCH";
+    /**
+     * Error code for a malformed {@code persistedQuery} extension
+     */
+    public static final String CODE_INVALID = "PERSISTED_QUERY_INVALID";
+    /**
+     * Error code for a query that is not a persisted operation when only persisted operations are permitted
+     */
+    public static final String CODE_NOT_PERSISTED = "PERSISTED_QUERY_REQUIRED";
+    /**
+     * Key for the error code in the {@code extensions} of the error
+     */
+    public static final String EXTENSION_CODE = "code";
+
+    /**
+     * The error code
+     */
+    private final String code;
+
+    private PersistedOperationException(String message, String code) {
+        super(message);
+        this.code = code;
+    }
+
+    /**
+     * Creates an exception for an unknown persisted operation
+     *
+     * @return Exception
+     */
+    public static PersistedOperationException notFound() {
+        return new PersistedOperationException("PersistedQueryNotFound", CODE_NOT_FOUND);
+    }
+
+    /**
+     * Creates an exception for a query whose hash does not match the hash supplied for it
+     *
+     * @param hash Supplied hash
+     * @return Exception
+     */
+    public static PersistedOperationException hashMismatch(String hash) {
+        return new PersistedOperationException("Provided sha256Hash " + hash + " does not match the query",
+                                               CODE_HASH_MISMATCH);
+    }
+
+    /**
+     * Creates an exception for a malformed {@code persistedQuery} extension
+     *
+     * @param reason Reason the extension is invalid
+     * @return Exception
+     */
+    public static PersistedOperationException invalid(String reason) {
+        return new PersistedOperationException("Invalid persistedQuery extension: " + reason, CODE_INVALID);
+    }
+
+    /**
+     * Creates an exception for a query that is not a persisted operation when only persisted operations are permitted
+     *
+     * @return Exception
+     */
+    public static PersistedOperationException notPersisted() {
+        return new PersistedOperationException("Only persisted operations may be executed", CODE_NOT_PERSISTED);
+    }
+
+    /**
+     * Gets the error code
+     *
+     * @return Error code
+     */
+    public String getCode() {
+        return this.code;
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+        return Map.of(EXTENSION_CODE, this.code);
+    }
+}
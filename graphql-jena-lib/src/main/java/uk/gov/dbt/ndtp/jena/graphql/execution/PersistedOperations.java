@@ -0,0 +1,420 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLSchema;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A registry of persisted operations, addressable by the SHA-256 hash of their query via the {@code persistedQuery}
+ * extension of the Automatic Persisted Queries (APQ) protocol
+ * <p>
+ * Operations may be registered up front, e.g. loaded from a directory at startup, in which case they are parsed and
+ * validated against the schema when the executor is created, so executing them never parses nor validates the query.
+ * Unless the registry is in persisted-only mode clients may also register further operations automatically, by
+ * sending the full query along with its hash, these are held in a bounded cache and thereafter only need the hash to
+ * be sent.  In persisted-only mode only the operations registered up front may be executed, whether they are
+ * requested by hash or by query.
+ * </p>
+ * <p>
+ * The hash of an operation is the lowercase hex encoded SHA-256 hash of the UTF-8 encoding of its exact query text.
+ * </p>
+ */
+public final class PersistedOperations {
+
+    /**
+     * Key for the persisted query in the {@code extensions} of a request
+     */
+    public static final String EXTENSION_PERSISTED_QUERY = "persistedQuery";
+    /**
+     * Key for the hash within the persisted query extension
+     */
+    public static final String SHA256_HASH = "sha256Hash";
+    /**
+     * Key for the protocol version within the persisted query extension
+     */
+    public static final String VERSION = "version";
+    /**
+     * The only supported version of the persisted query protocol
+     */
+    public static final int SUPPORTED_VERSION = 1;
+    /**
+     * The default maximum number of automatically registered operations
+     */
+    public static final long DEFAULT_MAXIMUM_AUTOMATIC = 1_000;
+    /**
+     * The file extensions of the files loaded as operations by {@link Builder#directory(Path)}
+     */
+    public static final List<String> FILE_EXTENSIONS = List.of(".graphql", ".gql");
+
+    private final Map<String, String> queries;
+    private final Map<String, String> sources;
+    private final boolean persistedOnly;
+    private final Cache<String, String> automatic;
+    private volatile Map<String, PreparsedDocumentEntry> documents = null;
+
+    private PersistedOperations(Builder builder) {
+        this.queries = Map.copyOf(builder.queries);
+        this.sources = Map.copyOf(builder.sources);
+        this.persistedOnly = builder.persistedOnly;
+        //@formatter:off
+        this.automatic = builder.persistedOnly || builder.maximumAutomatic == 0 ? null :
+                         Caffeine.newBuilder()
+                                 .maximumSize(builder.maximumAutomatic)
+                                 .executor(Runnable::run)
+                                 .<String, String>build();
+        //@formatter:on
+    }
+
+    /**
+     * Creates a new builder for a registry
+     *
+     * @return Builder
+     */
+    public static Builder newRegistry() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a registry with no operations registered up front, to which clients may automatically register up to
+     * {@value #DEFAULT_MAXIMUM_AUTOMATIC} operations
+     *
+     * @return Registry
+     */
+    public static PersistedOperations automatic() {
+        return newRegistry().build();
+    }
+
+    /**
+     * Calculates the hash of a query
+     *
+     * @param query Query
+     * @return Lowercase hex encoded SHA-256 hash
+     */
+    public static String hash(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets whether only the operations registered up front may be executed
+     *
+     * @return True if persisted-only, false otherwise
+     */
+    public boolean isPersistedOnly() {
+        return this.persistedOnly;
+    }
+
+    /**
+     * Gets the number of operations registered up front
+     *
+     * @return Number of operations
+     */
+    public int size() {
+        return this.queries.size();
+    }
+
+    /**
+     * Gets the query for an operation registered up front
+     *
+     * @param hash Hash
+     * @return Query, or {@code null} if no such operation
+     */
+    public String getQuery(String hash) {
+        return this.queries.get(StringUtils.lowerCase(hash));
+    }
+
+    /**
+     * Parses and validates all the operations registered up front against the schema of the executor that will execute
+     * them
+     * <p>
+     * This is called once when the executor is created, and fails if any operation is invalid, so that a bad
+     * operation is detected at startup rather than when a client first requests it.  Since the operations are
+     * validated against a single schema a registry <strong>MUST NOT</strong> be shared between executors.
+     * </p>
+     *
+     * @param schema Schema
+     * @throws IllegalStateException    Thrown if the registry has already been prepared
+     * @throws IllegalArgumentException Thrown if an operation is not valid for the schema
+     */
+    synchronized void prepare(GraphQLSchema schema) {
+        if (this.documents != null) {
+            throw new IllegalStateException("Persisted operations have already been prepared for an executor");
+        }
+        Map<String, PreparsedDocumentEntry> prepared = new HashMap<>();
+        for (Map.Entry<String, String> operation : this.queries.entrySet()) {
+            ParseAndValidateResult result =
+                    ParseAndValidate.parseAndValidate(schema, ExecutionInput.newExecutionInput(operation.getValue())
+                                                                            .build());
+            if (result.isFailure()) {
+                throw new IllegalArgumentException(
+                        "Persisted operation " + this.sources.get(operation.getKey()) + " is not valid: "
+                                + result.getErrors().get(0).getMessage());
+            }
+            prepared.put(operation.getKey(), new PreparsedDocumentEntry(result.getDocument()));
+        }
+        this.documents = Map.copyOf(prepared);
+    }
+
+    /**
+     * Resolves the persisted operation, if any, for a request
+     *
+     * @param query      Query supplied with the request, may be {@code null} or empty if only a hash was supplied
+     * @param extensions Extensions supplied with the request
+     * @return Resolved operation, or {@code null} if the request does not use a persisted operation and it need not
+     * @throws PersistedOperationException Thrown if the request cannot be satisfied by a persisted operation
+     */
+    Resolved resolve(String query, Map<String, Object> extensions) {
+        String hash = requestedHash(extensions);
+        boolean hasQuery = StringUtils.isNotEmpty(query);
+        if (hash == null) {
+            if (!this.persistedOnly || !hasQuery) {
+                return null;
+            }
+            // Clients may send the full query of a persisted operation without its hash
+            PreparsedDocumentEntry document = documents().get(hash(query));
+            if (document == null) {
+                throw PersistedOperationException.notPersisted();
+            }
+            return new Resolved(query, document);
+        }
+
+        if (hasQuery) {
+            if (!hash.equals(hash(query))) {
+                throw PersistedOperationException.hashMismatch(hash);
+            }
+            PreparsedDocumentEntry document = documents().get(hash);
+            if (document != null) {
+                return new Resolved(query, document);
+            } else if (this.persistedOnly) {
+                throw PersistedOperationException.notPersisted();
+            }
+            if (this.automatic != null) {
+                this.automatic.put(hash, query);
+            }
+            return new Resolved(query, null);
+        }
+
+        String persisted = this.queries.get(hash);
+        if (persisted != null) {
+            return new Resolved(persisted, documents().get(hash));
+        }
+        String registered = this.automatic != null ? this.automatic.getIfPresent(hash) : null;
+        if (registered == null) {
+            throw PersistedOperationException.notFound();
+        }
+        return new Resolved(registered, null);
+    }
+
+    private Map<String, PreparsedDocumentEntry> documents() {
+        Map<String, PreparsedDocumentEntry> prepared = this.documents;
+        if (prepared == null) {
+            throw new IllegalStateException("Persisted operations have not been prepared for an executor");
+        }
+        return prepared;
+    }
+
+    /**
+     * Gets the hash requested via the {@code persistedQuery} extension of a request
+     *
+     * @param extensions Extensions
+     * @return Lowercase hash, or {@code null} if the request has no persisted query extension
+     * @throws PersistedOperationException Thrown if the extension is malformed
+     */
+    private static String requestedHash(Map<String, Object> extensions) {
+        Object value = extensions != null ? extensions.get(EXTENSION_PERSISTED_QUERY) : null;
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> persistedQuery)) {
+            throw PersistedOperationException.invalid("must be an object");
+        }
+        Object version = persistedQuery.get(VERSION);
+        if (!(version instanceof Number number) || number.intValue() != SUPPORTED_VERSION) {
+            throw PersistedOperationException.invalid("only version " + SUPPORTED_VERSION + " is supported");
+        }
+        if (!(persistedQuery.get(SHA256_HASH) instanceof String hash) || StringUtils.isBlank(hash)) {
+            throw PersistedOperationException.invalid(SHA256_HASH + " must be a non-empty string");
+        }
+        return hash.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Creates a document provider that supplies the pre-parsed documents of resolved persisted operations, falling
+     * back to the given provider for all other requests
+     *
+     * @param fallback Fallback provider
+     * @return Document provider
+     */
+    static PreparsedDocumentProvider documentProvider(PreparsedDocumentProvider fallback) {
+        return new DocumentProvider(Objects.requireNonNull(fallback, "Fallback provider cannot be null"));
+    }
+
+    /**
+     * A persisted operation resolved for a request
+     *
+     * @param query    Query to execute
+     * @param document Pre-parsed and validated document for the query, {@code null} if the query must still be parsed
+     *                 and validated
+     */
+    record Resolved(String query, PreparsedDocumentEntry document) {
+    }
+
+    /**
+     * Document provider that supplies the document of the persisted operation in the GraphQL context of an execution,
+     * if any
+     */
+    private record DocumentProvider(PreparsedDocumentProvider fallback) implements PreparsedDocumentProvider {
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                          Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
+            Resolved resolved = executionInput.getGraphQLContext().get(Resolved.class);
+            if (resolved != null && resolved.document() != null) {
+                return CompletableFuture.completedFuture(resolved.document());
+            }
+            return this.fallback.getDocumentAsync(executionInput, computeFunction);
+        }
+    }
+
+    /**
+     * A builder for persisted operation registries
+     */
+    public static final class Builder {
+        private final Map<String, String> queries = new HashMap<>();
+        private final Map<String, String> sources = new HashMap<>();
+        private boolean persistedOnly = false;
+        private long maximumAutomatic = DEFAULT_MAXIMUM_AUTOMATIC;
+
+        private Builder() {
+        }
+
+        /**
+         * Registers an operation
+         *
+         * @param query Query
+         * @return Builder
+         */
+        public Builder operation(String query) {
+            return operation(query, "with hash " + hash(Objects.requireNonNull(query, "Query cannot be null")));
+        }
+
+        private Builder operation(String query, String source) {
+            if (StringUtils.isBlank(query)) {
+                throw new IllegalArgumentException("Persisted operation " + source + " has an empty query");
+            }
+            String hash = hash(query);
+            this.queries.put(hash, query);
+            this.sources.put(hash, source);
+            return this;
+        }
+
+        /**
+         * Registers every operation found in the files with a {@code .graphql} or {@code .gql} extension in the given
+         * directory, and its sub-directories
+         *
+         * @param directory Directory
+         * @return Builder
+         * @throws IOException Thrown if the directory, or a file within it, cannot be read
+         */
+        public Builder directory(Path directory) throws IOException {
+            if (!Files.isDirectory(Objects.requireNonNull(directory, "Directory cannot be null"))) {
+                throw new IOException(directory + " is not a directory");
+            }
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.filter(Files::isRegularFile)
+                                      .filter(Builder::isOperationFile)
+                                      .sorted()
+                                      .toList()) {
+                    operation(Files.readString(file, StandardCharsets.UTF_8), file.toString());
+                }
+            }
+            return this;
+        }
+
+        private static boolean isOperationFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            return FILE_EXTENSIONS.stream().anyMatch(name::endsWith);
+        }
+
+        /**
+         * Sets whether only the operations registered up front may be executed, if enabled clients may not register
+         * operations automatically nor execute any other query
+         *
+         * @param persistedOnly Whether only persisted operations may be executed
+         * @return Builder
+         */
+        public Builder persistedOnly(boolean persistedOnly) {
+            this.persistedOnly = persistedOnly;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of operations clients may register automatically, zero disables automatic
+         * registration
+         *
+         * @param maximum Maximum number of operations
+         * @return Builder
+         */
+        public Builder maximumAutomatic(long maximum) {
+            if (maximum < 0) {
+                throw new IllegalArgumentException("Maximum automatic operations cannot be negative");
+            }
+            this.maximumAutomatic = maximum;
+            return this;
+        }
+
+        /**
+         * Builds the registry
+         *
+         * @return Registry
+         */
+        public PersistedOperations build() {
+            return new PersistedOperations(this);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A cache of parsed and validated GraphQL documents
+ * <p>
+ * Documents are keyed on a normalised form of the query, where insignificant whitespace, commas and comments have been
+ * removed, plus the operation name.  This means that the same query sent by different clients with different
+ * formatting shares a single cache entry.  Cache misses, and any resulting evictions, are computed synchronously on
+ * the calling thread.
+ * </p>
+ * <p>
+ * The cache may be bounded either by the number of entries, or by the total weight of the entries where the weight of
+ * an entry is the length of its normalised query.
+ * </p>
+ */
+public class PreparsedDocumentCache implements PreparsedDocumentProvider {
+
+    /**
+     * The default maximum number of entries for a cache
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    private final Cache<DocumentKey, PreparsedDocumentEntry> cache;
+
+    /**
+     * Creates a new cache that holds at most the given number of documents
+     *
+     * @param maximumSize Maximum number of documents
+     * @return Document cache
+     */
+    public static PreparsedDocumentCache withMaximumSize(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size cannot be negative");
+        }
+        //@formatter:off
+        return new PreparsedDocumentCache(Caffeine.newBuilder()
+                                                  .maximumSize(maximumSize)
+                                                  .executor(Runnable::run)
+                                                  .recordStats()
+                                                  .build());
+        //@formatter:on
+    }
+
+    /**
+     * Creates a new cache that holds documents up to the given maximum weight, where the weight of a document is the
+     * number of characters in its normalised query
+     *
+     * @param maximumWeight Maximum total weight of the cached documents
+     * @return Document cache
+     */
+    public static PreparsedDocumentCache withMaximumWeight(long maximumWeight) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight cannot be negative");
+        }
+        //@formatter:off
+        return new PreparsedDocumentCache(Caffeine.newBuilder()
+                                                  .maximumWeight(maximumWeight)
+                                                  .<DocumentKey, PreparsedDocumentEntry>weigher((k, v) -> k.weight())
+                                                  .executor(Runnable::run)
+                                                  .recordStats()
+                                                  .build());
+        //@formatter:on
+    }
+
+    private PreparsedDocumentCache(Cache<DocumentKey, PreparsedDocumentEntry> cache) {
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
+        DocumentKey key = DocumentKey.of(executionInput.getQuery(), executionInput.getOperationName());
+        return CompletableFuture.completedFuture(this.cache.get(key, k -> computeFunction.apply(executionInput)));
+    }
+
+    /**
+     * Gets the cached document for a query (if any)
+     *
+     * @param query         Query
+     * @param operationName Operation name
+     * @return Cached document, or {@code null} if not cached
+     */
+    public PreparsedDocumentEntry getIfPresent(String query, String operationName) {
+        return this.cache.getIfPresent(DocumentKey.of(query, operationName));
+    }
+
+    /**
+     * Gets the cached document for a query (if any) without recording a hit or miss in the cache statistics
+     *
+     * @param query         Query
+     * @param operationName Operation name
+     * @return Cached document, or {@code null} if not cached
+     */
+    PreparsedDocumentEntry peek(String query, String operationName) {
+        return this.cache.asMap().get(DocumentKey.of(query, operationName));
+    }
+
+    /**
+     * Places a document into the cache, replacing any existing entry for the query
+     *
+     * @param query         Query
+     * @param operationName Operation name
+     * @param entry         Parsed and validated document
+     */
+    public void put(String query, String operationName, PreparsedDocumentEntry entry) {
+        Objects.requireNonNull(entry, "Document entry cannot be null");
+        this.cache.put(DocumentKey.of(query, operationName), entry);
+    }
+
+    /**
+     * Gets the statistics for the cache i.e. hits, misses, evictions and load times
+     *
+     * @return Cache statistics
+     */
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * Gets the approximate number of documents currently cached
+     *
+     * @return Estimated size
+     */
+    public long size() {
+        return this.cache.estimatedSize();
+    }
+
+    /**
+     * Removes all documents from the cache
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Normalises a GraphQL query string by removing comments, commas and insignificant whitespace
+     * <p>
+     * String values, including block strings, are preserved exactly since whitespace within those is significant.
+     * Where insignificant characters separate two tokens they are replaced with a single space, unless either token is
+     * a punctuator in which case they are removed entirely.
+     * </p>
+     *
+     * @param query Query
+     * @return Normalised query
+     */
+    public static String normalise(String query) {
+        if (query == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(query.length());
+        boolean pendingSpace = false;
+        int i = 0;
+        int length = query.length();
+        while (i < length) {
+            char c = query.charAt(i);
+            if (c == '#') {
+                // Comment runs to the end of the line
+                while (i < length && query.charAt(i) != '\n' && query.charAt(i) != '\r') {
+                    i++;
+                }
+                pendingSpace = true;
+            } else if (isIgnored(c)) {
+                pendingSpace = true;
+                i++;
+            } else {
+                if (pendingSpace && !builder.isEmpty() && !isPunctuator(builder.charAt(builder.length() - 1))
+                        && !isPunctuator(c)) {
+                    builder.append(' ');
+                }
+                pendingSpace = false;
+                if (c == '"') {
+                    i = copyString(query, i, builder);
+                } else {
+                    builder.append(c);
+                    i++;
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets whether a character is one that the GraphQL grammar ignores between tokens
+     *
+     * @param c Character
+     * @return True if ignored, false otherwise
+     */
+    private static boolean isIgnored(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == ',' || c == '\uFEFF';
+    }
+
+    /**
+     * Gets whether a character is a GraphQL punctuator that delimits tokens without needing whitespace
+     *
+     * @param c Character
+     * @return True if a punctuator, false otherwise
+     */
+    private static boolean isPunctuator(char c) {
+        return switch (c) {
+            case '{', '}', '(', ')', '[', ']', ':', '=', '@', '!', '$', '|', '&' -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Copies a string value, starting at the given offset, verbatim to the builder
+     *
+     * @param query   Query
+     * @param start   Offset of the opening quote
+     * @param builder Builder
+     * @return Offset immediately after the closing quote(s)
+     */
+    private static int copyString(String query, int start, StringBuilder builder) {
+        int length = query.length();
+        if (query.startsWith("\"\"\"", start)) {
+            int end = start + 3;
+            while (end < length && !query.startsWith("\"\"\"", end)) {
+                // Within block strings the only escape sequence is \"""
+                end += query.startsWith("\\\"\"\"", end) ? 4 : 1;
+            }
+            end = Math.min(end + 3, length);
+            builder.append(query, start, end);
+            return end;
+        }
+        int end = start + 1;
+        while (end < length) {
+            char c = query.charAt(end);
+            if (c == '\\') {
+                end += 2;
+            } else if (c == '"' || c == '\n' || c == '\r') {
+                end++;
+                break;
+            } else {
+                end++;
+            }
+        }
+        end = Math.min(end, length);
+        builder.append(query, start, end);
+        return end;
+    }
+
+    /**
+     * Key for cached documents
+     *
+     * @param query         Normalised query
+     * @param operationName Operation name
+     */
+    private record DocumentKey(String query, String operationName) {
+
+        static DocumentKey of(String query, String operationName) {
+            return new DocumentKey(normalise(query), operationName);
+        }
+
+        int weight() {
+            return Math.max(1, this.query.length());
+        }
+    }
+}
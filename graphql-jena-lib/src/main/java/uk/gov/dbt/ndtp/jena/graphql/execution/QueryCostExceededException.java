@@ -0,0 +1,82 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.execution.AbortExecutionException;
+
+import java.util.Map;
+
+/**
+ * Exception thrown to abort a query whose calculated cost exceeds the maximum permitted cost
+ */
+public class QueryCostExceededException extends AbortExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The calculated cost of the query
+     */
+    private final int cost;
+    /**
+     * The maximum permitted cost
+     */
+    private final int maximumCost;
+
+    /**
+     * Creates a new exception
+     *
+     * @param cost        Calculated cost of the query
+     * @param maximumCost Maximum permitted cost
+     */
+    public QueryCostExceededException(int cost, int maximumCost) {
+        super("Query cost of " + cost + " exceeds the maximum permitted cost of " + maximumCost
+                      + ", reduce the depth of the query and/or the number of list fields it selects");
+        this.cost = cost;
+        this.maximumCost = maximumCost;
+    }
+
+    /**
+     * Gets the calculated cost of the query
+     *
+     * @return Cost
+     */
+    public int getCost() {
+        return this.cost;
+    }
+
+    /**
+     * Gets the maximum permitted cost
+     *
+     * @return Maximum cost
+     */
+    public int getMaximumCost() {
+        return this.maximumCost;
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+        return Map.of(QueryCostInstrumentation.EXTENSION_COST, this.cost,
+                      QueryCostInstrumentation.EXTENSION_MAXIMUM_COST, this.maximumCost);
+    }
+}
@@ -0,0 +1,132 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.MissingRootTypeException;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.incremental.IncrementalExecutionResultImpl;
+import graphql.normalized.ExecutableNormalizedOperation;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A GraphQL instrumentation that calculates the cost of each query, per a {@link QueryCostModel}, and rejects queries
+ * that exceed the maximum permitted cost before any data is fetched
+ * <p>
+ * The calculated cost is added to the {@code extensions} of the result under the {@value #EXTENSION_QUERY_COST} key,
+ * regardless of whether the query was rejected.
+ * </p>
+ * <p>
+ * The cost is calculated once the operation to execute, and its variables, are known rather than during validation.
+ * This is because validation results are cached per query document, whereas the cost may depend upon the variables.
+ * </p>
+ */
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    /**
+     * Key for the cost information in the {@code extensions} of a result
+     */
+    public static final String EXTENSION_QUERY_COST = "queryCost";
+    /**
+     * Key for the calculated cost within the cost information
+     */
+    public static final String EXTENSION_COST = "cost";
+    /**
+     * Key for the maximum permitted cost within the cost information
+     */
+    public static final String EXTENSION_MAXIMUM_COST = "maximumCost";
+
+    private final QueryCostModel model;
+
+    /**
+     * Creates a new instrumentation
+     *
+     * @param model Cost model
+     */
+    public QueryCostInstrumentation(QueryCostModel model) {
+        this.model = Objects.requireNonNull(model, "Cost model cannot be null");
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new State();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        // The normalized operation is memoized on the context so is reused during execution
+        ExecutableNormalizedOperation operation;
+        try {
+            operation = context.getNormalizedQueryTree().get();
+        } catch (MissingRootTypeException e) {
+            // E.g. a mutation against a read-only schema, execution reports this as an error without executing anything
+            return super.beginExecuteOperation(parameters, state);
+        }
+        int cost = this.model.calculate(context.getGraphQLSchema(), operation);
+        ((State) state).cost = cost;
+        if (this.model.isExceeded(cost)) {
+            throw new QueryCostExceededException(cost, this.model.getMaximumCost());
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        Integer cost = ((State) state).cost;
+        if (cost == null) {
+            // Query failed to parse/validate so was never costed
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        Map<String, Object> queryCost = Map.of(EXTENSION_COST, cost, EXTENSION_MAXIMUM_COST,
+                                               this.model.getMaximumCost());
+        if (executionResult instanceof IncrementalExecutionResult incremental) {
+            // Transforming an incremental result loses its incremental fields, so must copy it explicitly
+            return CompletableFuture.completedFuture(IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                                                                                   .from(incremental)
+                                                                                   .addExtension(EXTENSION_QUERY_COST,
+                                                                                                 queryCost)
+                                                                                   .build());
+        }
+        return CompletableFuture.completedFuture(
+                executionResult.transform(b -> b.addExtension(EXTENSION_QUERY_COST, queryCost)));
+    }
+
+    private static final class State implements InstrumentationState {
+        private volatile Integer cost;
+    }
+}
@@ -0,0 +1,283 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.normalized.ExecutableNormalizedOperation;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A static cost model for GraphQL queries, used to reject pathologically expensive queries before they are executed
+ * <p>
+ * The cost of a field is its weight, plus the cost of its selected sub-fields.  Where a field returns a list the cost of
+ * its sub-fields is multiplied by an estimate of the size of that list, so the cost of nested list fields grows
+ * multiplicatively with their depth.  By default every field has a weight of {@value #DEFAULT_FIELD_WEIGHT} and every
+ * list is estimated to have {@value #DEFAULT_LIST_SIZE} items, both of which may be overridden per field.  A list size
+ * estimate may also be taken from an argument of the field, e.g. a {@code limit}, or a list of URIs to look up.
+ * </p>
+ */
+public final class QueryCostModel {
+
+    /**
+     * The default maximum cost of a query
+     */
+    public static final int DEFAULT_MAXIMUM_COST = 1_000_000;
+    /**
+     * The default weight of a field
+     */
+    public static final int DEFAULT_FIELD_WEIGHT = 1;
+    /**
+     * The default estimated size of a list
+     */
+    public static final int DEFAULT_LIST_SIZE = 10;
+
+    private final int maximumCost;
+    private final int defaultListSize;
+    private final Map<String, Integer> weights;
+    private final Map<String, Integer> listSizes;
+    private final Map<String, String> listSizeArguments;
+
+    private QueryCostModel(Builder builder) {
+        this.maximumCost = builder.maximumCost;
+        this.defaultListSize = builder.defaultListSize;
+        this.weights = Map.copyOf(builder.weights);
+        this.listSizes = Map.copyOf(builder.listSizes);
+        this.listSizeArguments = Map.copyOf(builder.listSizeArguments);
+    }
+
+    /**
+     * Creates a new builder for a cost model
+     *
+     * @return Builder
+     */
+    public static Builder newModel() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a cost model that never rejects a query, though costs are still calculated
+     *
+     * @return Unlimited cost model
+     */
+    public static QueryCostModel unlimited() {
+        return newModel().maximumCost(0).build();
+    }
+
+    /**
+     * Gets the maximum permitted cost of a query
+     *
+     * @return Maximum cost, a value of zero means there is no maximum
+     */
+    public int getMaximumCost() {
+        return this.maximumCost;
+    }
+
+    /**
+     * Gets whether the given cost exceeds the maximum permitted cost
+     *
+     * @param cost Cost
+     * @return True if exceeded, false otherwise
+     */
+    public boolean isExceeded(int cost) {
+        return this.maximumCost > 0 && cost > this.maximumCost;
+    }
+
+    /**
+     * Calculates the cost of an operation
+     *
+     * @param schema    Schema
+     * @param operation Normalized operation i.e. the tree of fields the operation selects, with any fragments expanded
+     *                  and variables resolved
+     * @return Cost, saturating at {@link Integer#MAX_VALUE}
+     */
+    public int calculate(GraphQLSchema schema, ExecutableNormalizedOperation operation) {
+        long cost = 0;
+        for (ExecutableNormalizedField field : operation.getTopLevelFields()) {
+            cost = saturate(cost + calculate(schema, field));
+        }
+        return (int) cost;
+    }
+
+    private long calculate(GraphQLSchema schema, ExecutableNormalizedField field) {
+        if (field.getName().startsWith("__")) {
+            // Introspection fields, including __typename, are cheap
+            return 0;
+        }
+        long childCost = 0;
+        for (ExecutableNormalizedField child : field.getChildren()) {
+            childCost = saturate(childCost + calculate(schema, child));
+        }
+
+        // A field may be selected on several possible object types, in which case use the most expensive
+        long cost = 0;
+        GraphQLFieldDefinition definition = field.getFieldDefinitions(schema).get(0);
+        boolean isList = GraphQLTypeUtil.unwrapNonNull(definition.getType()) instanceof GraphQLList;
+        for (String type : field.getObjectTypeNames()) {
+            String key = key(type, field.getName());
+            long fieldCost = this.weights.getOrDefault(key, DEFAULT_FIELD_WEIGHT);
+            if (isList) {
+                fieldCost += estimateListSize(key, field.getResolvedArguments()) * childCost;
+            } else {
+                fieldCost += childCost;
+            }
+            cost = Math.max(cost, saturate(fieldCost));
+        }
+        return cost;
+    }
+
+    /**
+     * Saturates a cost to the range of an int, deeply nested lists can easily exceed this range
+     *
+     * @param cost Cost
+     * @return Saturated cost
+     */
+    private static long saturate(long cost) {
+        return Math.min(cost, Integer.MAX_VALUE);
+    }
+
+    private long estimateListSize(String key, Map<String, Object> arguments) {
+        String argument = this.listSizeArguments.get(key);
+        if (argument != null && arguments != null) {
+            Object value = arguments.get(argument);
+            if (value instanceof Number n && n.intValue() > 0) {
+                return n.intValue();
+            } else if (value instanceof Collection<?> c && !c.isEmpty()) {
+                return c.size();
+            }
+        }
+        return this.listSizes.getOrDefault(key, this.defaultListSize);
+    }
+
+    private static String key(String type, String field) {
+        return type + "." + field;
+    }
+
+    /**
+     * A builder for cost models
+     */
+    public static final class Builder {
+        private int maximumCost = DEFAULT_MAXIMUM_COST;
+        private int defaultListSize = DEFAULT_LIST_SIZE;
+        private final Map<String, Integer> weights = new HashMap<>();
+        private final Map<String, Integer> listSizes = new HashMap<>();
+        private final Map<String, String> listSizeArguments = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum permitted cost of a query
+         *
+         * @param maximumCost Maximum cost, a value of zero means there is no maximum
+         * @return Builder
+         */
+        public Builder maximumCost(int maximumCost) {
+            if (maximumCost < 0) {
+                throw new IllegalArgumentException("Maximum cost cannot be negative");
+            }
+            this.maximumCost = maximumCost;
+            return this;
+        }
+
+        /**
+         * Sets the estimated size of lists for which no more specific estimate is available
+         *
+         * @param size List size
+         * @return Builder
+         */
+        public Builder defaultListSize(int size) {
+            this.defaultListSize = requirePositive(size, "Default list size");
+            return this;
+        }
+
+        /**
+         * Sets the weight of a field
+         *
+         * @param type   Type name
+         * @param field  Field name
+         * @param weight Weight
+         * @return Builder
+         */
+        public Builder fieldWeight(String type, String field, int weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Field weight cannot be negative");
+            }
+            this.weights.put(key(type, field), weight);
+            return this;
+        }
+
+        /**
+         * Sets the estimated list size for a list field
+         *
+         * @param type  Type name
+         * @param field Field name
+         * @param size  List size
+         * @return Builder
+         */
+        public Builder listSize(String type, String field, int size) {
+            this.listSizes.put(key(type, field), requirePositive(size, "List size"));
+            return this;
+        }
+
+        /**
+         * Sets an argument of a list field from which the list size is estimated, if the argument has a positive
+         * integer value that is used, if it has a list value then the size of that list is used.  If the argument is not
+         * present then the list size configured via {@link #listSize(String, String, int)}, or the default list size,
+         * is used.
+         *
+         * @param type     Type name
+         * @param field    Field name
+         * @param argument Argument name
+         * @return Builder
+         */
+        public Builder listSizeArgument(String type, String field, String argument) {
+            this.listSizeArguments.put(key(type, field), Objects.requireNonNull(argument, "Argument cannot be null"));
+            return this;
+        }
+
+        /**
+         * Builds the cost model
+         *
+         * @return Cost model
+         */
+        public QueryCostModel build() {
+            return new QueryCostModel(this);
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be greater than zero");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The deadline for a single GraphQL execution, after which the execution is abandoned
+ * <p>
+ * Deadlines are cooperative, an execution is only abandoned when something checks the deadline via {@link #check()}.
+ * The executor checks the deadline prior to calling each non-trivial data fetcher, while data fetchers that scan the
+ * dataset <strong>SHOULD</strong> wrap their scans via {@link #checked(Stream)} so that a runaway scan is stopped
+ * part way through and the read transaction for the execution is released promptly.
+ * </p>
+ * <p>
+ * A deadline may also be explicitly cancelled, e.g. because the client that made the request has gone away, in which
+ * case it is treated as having expired.
+ * </p>
+ */
+public final class QueryDeadline {
+
+    /**
+     * Key for the timeout hint, in milliseconds, in the {@code extensions} of a request
+     */
+    public static final String EXTENSION_TIMEOUT = "timeout";
+
+    /**
+     * How many items of a stream are consumed between checks of the deadline
+     */
+    static final int CHECK_INTERVAL = 1_024;
+
+    private final Duration timeout;
+    private final long expiresAt;
+    private volatile boolean cancelled = false;
+
+    private QueryDeadline(Duration timeout) {
+        this.timeout = timeout;
+        this.expiresAt = timeout != null ? System.nanoTime() + timeout.toNanos() : 0;
+    }
+
+    /**
+     * Creates a deadline that expires once the given timeout has elapsed
+     *
+     * @param timeout Timeout, {@code null} for no timeout
+     * @return Deadline
+     */
+    public static QueryDeadline after(Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        return new QueryDeadline(timeout);
+    }
+
+    /**
+     * Creates a deadline that never expires, though it may still be cancelled
+     *
+     * @return Deadline
+     */
+    public static QueryDeadline none() {
+        return new QueryDeadline(null);
+    }
+
+    /**
+     * Gets the deadline for the execution a data fetcher is running in
+     *
+     * @param environment Data fetching environment
+     * @return Deadline, or a deadline that never expires if the execution has no deadline
+     */
+    public static QueryDeadline of(DataFetchingEnvironment environment) {
+        return of(environment != null ? environment.getGraphQlContext() : null);
+    }
+
+    /**
+     * Gets the deadline from a GraphQL context
+     *
+     * @param context GraphQL Context
+     * @return Deadline, or a deadline that never expires if the context has no deadline
+     */
+    static QueryDeadline of(GraphQLContext context) {
+        QueryDeadline deadline = context != null ? context.get(QueryDeadline.class) : null;
+        return deadline != null ? deadline : none();
+    }
+
+    /**
+     * Selects the timeout for an execution given the default timeout, and the timeout hint (if any) from the
+     * extensions of the request
+     * <p>
+     * A request may ask for a shorter timeout than the default, but never a longer one.  A hint that is not a positive
+     * number of milliseconds is ignored.
+     * </p>
+     *
+     * @param defaultTimeout Default timeout, {@code null} for no timeout
+     * @param extensions     Request extensions
+     * @return Timeout, or {@code null} for no timeout
+     */
+    public static Duration selectTimeout(Duration defaultTimeout, Map<String, Object> extensions) {
+        Duration requested = parseTimeout(extensions != null ? extensions.get(EXTENSION_TIMEOUT) : null);
+        if (requested == null) {
+            return defaultTimeout;
+        } else if (defaultTimeout == null) {
+            return requested;
+        }
+        return requested.compareTo(defaultTimeout) < 0 ? requested : defaultTimeout;
+    }
+
+    private static Duration parseTimeout(Object value) {
+        long millis;
+        if (value instanceof Number n) {
+            millis = n.longValue();
+        } else if (value instanceof String s) {
+            try {
+                millis = Long.parseLong(s.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        return millis > 0 ? Duration.ofMillis(millis) : null;
+    }
+
+    /**
+     * Gets the timeout for this deadline
+     *
+     * @return Timeout, or {@code null} if there is no timeout
+     */
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Gets the time remaining until this deadline expires
+     * <p>
+     * This is intended for handing the deadline on to other components that enforce their own timeouts, e.g. ARQ query
+     * execution, note that such components will not observe a subsequent {@link #cancel()}.
+     * </p>
+     *
+     * @return Remaining time, which will be zero if already expired, or {@code null} if there is no timeout
+     */
+    public Duration getRemaining() {
+        if (this.cancelled) {
+            return Duration.ZERO;
+        }
+        if (this.timeout == null) {
+            return null;
+        }
+        return Duration.ofNanos(Math.max(0, this.expiresAt - System.nanoTime()));
+    }
+
+    /**
+     * Cancels the execution, causing it to be abandoned the next time the deadline is checked
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Gets whether the execution was cancelled
+     *
+     * @return True if cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Gets whether the deadline has expired, either because the timeout elapsed or it was cancelled
+     *
+     * @return True if expired, false otherwise
+     */
+    public boolean isExpired() {
+        return this.cancelled || (this.timeout != null && System.nanoTime() - this.expiresAt >= 0);
+    }
+
+    /**
+     * Checks the deadline, throwing an exception if it has expired
+     *
+     * @throws QueryTimeoutException Thrown if the deadline has expired
+     */
+    public void check() {
+        if (this.isExpired()) {
+            throw new QueryTimeoutException(this.timeout, this.cancelled);
+        }
+    }
+
+    /**
+     * Wraps a stream so that the deadline is periodically checked as the stream is consumed
+     *
+     * @param stream Stream
+     * @param <T>    Item type
+     * @return Checked stream
+     */
+    public <T> Stream<T> checked(Stream<T> stream) {
+        return stream.peek(new Checker<>());
+    }
+
+    /**
+     * Checks the deadline every {@value #CHECK_INTERVAL} items, checking on every item would add noticeable overhead to
+     * tight scans
+     *
+     * @param <T> Item type
+     */
+    private final class Checker<T> implements Consumer<T> {
+        private int count = 0;
+
+        @Override
+        public void accept(T item) {
+            if (++this.count == CHECK_INTERVAL) {
+                this.count = 0;
+                check();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExceptionWhileDataFetching;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQLError;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A GraphQL instrumentation that enforces the {@link QueryDeadline} of each execution
+ * <p>
+ * The deadline is checked before the operation starts, and before each non-trivial data fetcher is called.  Trivial
+ * data fetchers, i.e. those that merely read a property of their source object, are not checked since they are cheap
+ * and typically far more numerous.
+ * </p>
+ * <p>
+ * Once a deadline has expired every subsequent data fetcher would fail, so rather than returning a partial result
+ * with an error for every field that was abandoned the result of an expired execution is replaced with just a single
+ * {@link QueryTimeoutException} error.
+ * </p>
+ */
+public class QueryDeadlineInstrumentation extends SimplePerformantInstrumentation {
+
+    /**
+     * Creates a new instrumentation
+     */
+    public QueryDeadlineInstrumentation() {
+        // Stateless class, deadlines are carried in the GraphQL context of each execution
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        QueryDeadline.of(parameters.getExecutionContext().getGraphQLContext()).check();
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher,
+                                                InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher()) {
+            return dataFetcher;
+        }
+        return environment -> {
+            QueryDeadline.of(environment).check();
+            return dataFetcher.get(environment);
+        };
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        for (GraphQLError error : executionResult.getErrors()) {
+            QueryTimeoutException timeout = asTimeout(error);
+            if (timeout != null) {
+                //@formatter:off
+                return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+                                                                            .addError(timeout)
+                                                                            .extensions(executionResult.getExtensions())
+                                                                            .build());
+                //@formatter:on
+            }
+        }
+        return CompletableFuture.completedFuture(executionResult);
+    }
+
+    private static QueryTimeoutException asTimeout(GraphQLError error) {
+        if (error instanceof QueryTimeoutException timeout) {
+            return timeout;
+        } else if (error instanceof ExceptionWhileDataFetching fetchError
+                && fetchError.getException() instanceof QueryTimeoutException timeout) {
+            return timeout;
+        }
+        return null;
+    }
+}
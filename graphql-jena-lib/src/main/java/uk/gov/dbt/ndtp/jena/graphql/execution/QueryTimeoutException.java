@@ -0,0 +1,97 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.execution.AbortExecutionException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exception thrown to abandon an execution whose {@link QueryDeadline} has expired
+ */
+public class QueryTimeoutException extends AbortExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Key for the timeout, in milliseconds, in the {@code extensions} of the error
+     */
+    public static final String EXTENSION_TIMEOUT = "timeout";
+    /**
+     * Key for whether the execution was cancelled in the {@code extensions} of the error
+     */
+    public static final String EXTENSION_CANCELLED = "cancelled";
+
+    /**
+     * The timeout that elapsed, if any
+     */
+    private final Duration timeout;
+    /**
+     * Whether the execution was explicitly cancelled
+     */
+    private final boolean cancelled;
+
+    /**
+     * Creates a new exception
+     *
+     * @param timeout   Timeout that elapsed, may be {@code null} if the execution was cancelled
+     * @param cancelled Whether the execution was explicitly cancelled
+     */
+    public QueryTimeoutException(Duration timeout, boolean cancelled) {
+        super(cancelled ? "Query was cancelled before it completed" :
+              "Query exceeded its timeout of " + timeout.toMillis() + " milliseconds");
+        this.timeout = timeout;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Gets the timeout that elapsed
+     *
+     * @return Timeout, may be {@code null} if the execution was cancelled
+     */
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Gets whether the execution was explicitly cancelled, rather than exceeding its timeout
+     *
+     * @return True if cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+        Map<String, Object> extensions = new LinkedHashMap<>();
+        if (this.timeout != null) {
+            extensions.put(EXTENSION_TIMEOUT, this.timeout.toMillis());
+        }
+        extensions.put(EXTENSION_CANCELLED, this.cancelled);
+        return extensions;
+    }
+}
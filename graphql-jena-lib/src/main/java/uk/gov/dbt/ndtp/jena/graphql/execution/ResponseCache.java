@@ -0,0 +1,260 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import graphql.ExecutionResult;
+import org.apache.jena.sparql.core.DatasetGraph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A cache of complete GraphQL responses, keyed on the dataset, the version of that dataset, the normalised query, the
+ * operation name, the variables and the extensions of the request
+ * <p>
+ * Since the key includes the version of the dataset a cached response is never returned once the data may have
+ * changed, responses are only cached for datasets whose version is known, see {@link VersionedDatasetGraph}.  When a
+ * newer version of a dataset is first seen all responses cached for older versions of it are discarded.  Since the
+ * extensions are part of the key, responses are never shared between requests supplying different authentication
+ * tokens via them.
+ * </p>
+ * <p>
+ * Only responses without errors are cached.  The cache may be bounded either by the number of responses, or by the
+ * total weight of the responses where the weight of a response is the number of values in its data.
+ * </p>
+ */
+public class ResponseCache {
+
+    /**
+     * The default maximum total weight, i.e. number of values, of the cached responses
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 1_000_000;
+
+    private static final ResponseCache NONE = new ResponseCache(null);
+
+    private final Cache<ResponseKey, ExecutionResult> cache;
+    private final Map<DatasetGraph, Long> versions = new WeakHashMap<>();
+
+    /**
+     * Creates a new cache that holds at most the given number of responses
+     *
+     * @param maximumSize Maximum number of responses
+     * @return Response cache
+     */
+    public static ResponseCache withMaximumSize(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size cannot be negative");
+        }
+        //@formatter:off
+        return new ResponseCache(Caffeine.newBuilder()
+                                         .maximumSize(maximumSize)
+                                         .executor(Runnable::run)
+                                         .recordStats()
+                                         .build());
+        //@formatter:on
+    }
+
+    /**
+     * Creates a new cache that holds responses up to the given maximum weight, where the weight of a response is the
+     * number of values in its data
+     *
+     * @param maximumWeight Maximum total weight of the cached responses
+     * @return Response cache
+     */
+    public static ResponseCache withMaximumWeight(long maximumWeight) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight cannot be negative");
+        }
+        //@formatter:off
+        return new ResponseCache(Caffeine.newBuilder()
+                                         .maximumWeight(maximumWeight)
+                                         .<ResponseKey, ExecutionResult>weigher((k, v) -> weigh(v.getData()))
+                                         .executor(Runnable::run)
+                                         .recordStats()
+                                         .build());
+        //@formatter:on
+    }
+
+    /**
+     * Gets a cache that never caches any responses
+     *
+     * @return Disabled response cache
+     */
+    public static ResponseCache none() {
+        return NONE;
+    }
+
+    private ResponseCache(Cache<ResponseKey, ExecutionResult> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Gets whether this cache is enabled
+     *
+     * @return True if enabled, false if this cache never caches responses
+     */
+    public boolean isEnabled() {
+        return this.cache != null;
+    }
+
+    /**
+     * Creates the key for a request, if its response may be cached
+     *
+     * @param dsg           Dataset the request is executed over
+     * @param version       Version of the dataset, read prior to beginning the read transaction for the request
+     * @param query         Query, for a persisted operation this <strong>MUST</strong> be the resolved query
+     * @param operationName Operation name
+     * @param variables     Variables
+     * @param extensions    Extensions
+     * @return Key, or {@code null} if the response may not be cached
+     */
+    ResponseKey key(DatasetGraph dsg, long version, String query, String operationName, Map<String, Object> variables,
+                    Map<String, Object> extensions) {
+        if (this.cache == null || version == VersionedDatasetGraph.UNVERSIONED || query == null) {
+            return null;
+        }
+        observe(dsg, version);
+        Map<String, Object> keyExtensions = extensions != null ? new HashMap<>(extensions) : new HashMap<>();
+        // Neither the timeout nor the persisted query hash affect the response, the hash being redundant with the query
+        keyExtensions.remove(QueryDeadline.EXTENSION_TIMEOUT);
+        keyExtensions.remove(PersistedOperations.EXTENSION_PERSISTED_QUERY);
+        return new ResponseKey(dsg, version, PreparsedDocumentCache.normalise(query), operationName,
+                               variables != null ? new HashMap<>(variables) : Map.of(), keyExtensions);
+    }
+
+    /**
+     * Discards all responses cached for older versions of a dataset the first time a newer version is seen
+     *
+     * @param dsg     Dataset
+     * @param version Version
+     */
+    private void observe(DatasetGraph dsg, long version) {
+        Long previous;
+        synchronized (this.versions) {
+            previous = this.versions.get(dsg);
+            if (previous == null || previous < version) {
+                this.versions.put(dsg, version);
+            }
+        }
+        if (previous != null && previous < version) {
+            this.cache.asMap().keySet().removeIf(k -> k.dsg() == dsg && k.version() < version);
+        }
+    }
+
+    /**
+     * Gets the cached response for a request (if any)
+     *
+     * @param key Key
+     * @return Cached response, or {@code null} if not cached
+     */
+    ExecutionResult get(ResponseKey key) {
+        return key != null ? this.cache.getIfPresent(key) : null;
+    }
+
+    /**
+     * Caches the response for a request, if it has no errors
+     *
+     * @param key    Key
+     * @param result Response
+     */
+    void put(ResponseKey key, ExecutionResult result) {
+        if (key != null && result.getErrors().isEmpty()) {
+            this.cache.put(key, result);
+        }
+    }
+
+    /**
+     * Gets the statistics for the cache i.e. hits, misses and evictions
+     *
+     * @return Cache statistics
+     */
+    public CacheStats stats() {
+        return this.cache != null ? this.cache.stats() : CacheStats.empty();
+    }
+
+    /**
+     * Gets the approximate number of responses currently cached
+     *
+     * @return Estimated size
+     */
+    public long size() {
+        return this.cache != null ? this.cache.estimatedSize() : 0;
+    }
+
+    /**
+     * Removes all responses from the cache
+     */
+    public void invalidateAll() {
+        if (this.cache != null) {
+            this.cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Calculates the weight of response data i.e. the number of values within it
+     *
+     * @param data Data
+     * @return Weight
+     */
+    static int weigh(Object data) {
+        if (data instanceof Map<?, ?> map) {
+            int weight = 1;
+            for (Object value : map.values()) {
+                weight = saturatedAdd(weight, weigh(value));
+            }
+            return weight;
+        } else if (data instanceof Iterable<?> iterable) {
+            int weight = 1;
+            for (Object value : iterable) {
+                weight = saturatedAdd(weight, weigh(value));
+            }
+            return weight;
+        }
+        return 1;
+    }
+
+    private static int saturatedAdd(int a, int b) {
+        long sum = (long) a + b;
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    /**
+     * Key for cached responses
+     *
+     * @param dsg           Dataset, compared by identity
+     * @param version       Dataset version
+     * @param query         Normalised query
+     * @param operationName Operation name
+     * @param variables     Variables
+     * @param extensions    Extensions, excluding those that don't affect the response
+     */
+    record ResponseKey(DatasetGraph dsg, long version, String query, String operationName,
+                       Map<String, Object> variables, Map<String, Object> extensions) {
+    }
+}
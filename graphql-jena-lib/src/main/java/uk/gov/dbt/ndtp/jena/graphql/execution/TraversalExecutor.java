@@ -27,19 +27,40 @@ import graphql.schema.idl.NaturalEnumValuesProvider;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import uk.gov.dbt.ndtp.jena.graphql.fetchers.TraversalEdgesFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.TraversalExpandFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.TraversalPathsFetcher;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.EdgeDirection;
 import uk.gov.dbt.ndtp.jena.graphql.fetchers.TraversalStartsFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.TraversalTruncatedFetcher;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.GraphQLJenaSchemas;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.TraversalSchema;
 import org.apache.jena.sparql.core.DatasetGraph;
+import org.dataloader.DataLoaderRegistry;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * A GraphQL executor using our {@link TraversalSchema}
  */
 public class TraversalExecutor extends AbstractDatasetExecutor {
 
+    /**
+     * Fetcher for the edges of traversal nodes, which batches the nodes at each level of the query via a data loader
+     */
+    private static final TraversalEdgesFetcher EDGES_FETCHER = new TraversalEdgesFetcher();
+
+    /**
+     * Manager of the adjacency index over the dataset, {@code null} if not using an index
+     */
+    private final AdjacencyIndexManager adjacencyIndex;
+
+    /**
+     * Maximum number of edges visited for any single node
+     */
+    private final int maximumDegree;
+
     /**
      * Creates a new executor over the given {@link DatasetGraph}
      *
@@ -47,7 +68,79 @@ public class TraversalExecutor extends AbstractDatasetExecutor {
      * @throws IOException Thrown if the schema cannot be loaded
      */
     public TraversalExecutor(DatasetGraph dsg) throws IOException {
+        this(dsg, false);
+    }
+
+    /**
+     * Creates a new executor over the given {@link DatasetGraph}, optionally maintaining an in-memory
+     * {@link AdjacencyIndex} over it
+     * <p>
+     * When an index is used the incoming/outgoing edges of nodes, and the starting nodes of a traversal, are found via
+     * the index whenever it is current for the version of the dataset, and by scanning the dataset otherwise.  An index
+     * requires that the dataset is a {@link VersionedDatasetGraph}, and is only used for queries over that dataset.
+     * </p>
+     *
+     * @param dsg            Dataset graph
+     * @param adjacencyIndex Whether to maintain an adjacency index over the dataset
+     * @throws IOException Thrown if the schema cannot be loaded
+     */
+    public TraversalExecutor(DatasetGraph dsg, boolean adjacencyIndex) throws IOException {
+        this(dsg, adjacencyIndex, TraversalEdgesFetcher.DEFAULT_MAXIMUM_DEGREE);
+    }
+
+    /**
+     * Creates a new executor over the given {@link DatasetGraph}, optionally maintaining an in-memory
+     * {@link AdjacencyIndex} over it, and visiting at most the given number of edges for any single node
+     * <p>
+     * The maximum degree guards against the traversal of nodes with a very large number of edges, e.g. ontology
+     * classes, the edges of such nodes are truncated to the maximum degree, which the {@code truncated} field of a
+     * traversal node reports.
+     * </p>
+     *
+     * @param dsg            Dataset graph
+     * @param adjacencyIndex Whether to maintain an adjacency index over the dataset
+     * @param maximumDegree  Maximum number of edges visited for any single node
+     * @throws IOException Thrown if the schema cannot be loaded
+     */
+    public TraversalExecutor(DatasetGraph dsg, boolean adjacencyIndex, int maximumDegree) throws IOException {
         super(dsg);
+        if (maximumDegree < 1) {
+            throw new IllegalArgumentException("Maximum degree must be positive");
+        }
+        this.maximumDegree = maximumDegree;
+        this.adjacencyIndex = adjacencyIndex ? Objects.requireNonNull(createAdjacencyIndexManager(),
+                                                                      "Adjacency index manager cannot be null") : null;
+    }
+
+    /**
+     * Creates the manager of the adjacency index over the dataset, only called if an index has been requested
+     * <p>
+     * The default manager builds, and rebuilds, the index on a background thread, derived implementations may override
+     * this to supply a differently configured manager.
+     * </p>
+     *
+     * @return Adjacency index manager
+     */
+    protected AdjacencyIndexManager createAdjacencyIndexManager() {
+        return new AdjacencyIndexManager(this.dsg);
+    }
+
+    /**
+     * Gets the manager of the adjacency index over the dataset
+     *
+     * @return Adjacency index manager, or {@code null} if not using an index
+     */
+    public AdjacencyIndexManager getAdjacencyIndexManager() {
+        return this.adjacencyIndex;
+    }
+
+    /**
+     * Gets the maximum number of edges visited for any single node
+     *
+     * @return Maximum degree
+     */
+    public int getMaximumDegree() {
+        return this.maximumDegree;
     }
 
     @Override
@@ -59,15 +152,65 @@ public class TraversalExecutor extends AbstractDatasetExecutor {
     protected RuntimeWiring.Builder buildRuntimeWiring() {
         NaturalEnumValuesProvider<EdgeDirection> edgeDirections = new NaturalEnumValuesProvider<>(
             EdgeDirection.class);
-        TraversalEdgesFetcher edgesFetcher = new TraversalEdgesFetcher();
         //@formatter:off
         return RuntimeWiring.newRuntimeWiring()
                 .type(TraversalSchema.TRAVERSAL_QUERY_TYPE,
                       t -> t.dataFetcher(TraversalSchema.NODES_FIELD, new TraversalStartsFetcher())
+                            .dataFetcher(TraversalSchema.PATHS_FIELD, new TraversalPathsFetcher())
                             .enumValues(edgeDirections))
                 .type(TraversalSchema.TRAVERSAL_NODE_TYPE,
-                      t -> t.dataFetcher(TraversalSchema.INCOMING_FIELD, edgesFetcher)
-                            .dataFetcher(TraversalSchema.OUTGOING_FIELD, edgesFetcher));
+                      t -> t.dataFetcher(TraversalSchema.INCOMING_FIELD, EDGES_FETCHER)
+                            .dataFetcher(TraversalSchema.OUTGOING_FIELD, EDGES_FETCHER)
+                            .dataFetcher(TraversalSchema.TRUNCATED_FIELD, new TraversalTruncatedFetcher())
+                            .dataFetcher(TraversalSchema.EXPAND_FIELD, new TraversalExpandFetcher()));
         //@formatter:on
     }
+
+    @Override
+    protected QueryCostModel createCostModel() {
+        // Starting nodes are either the given starts, or potentially every node in the dataset if none are given, and
+        // each edges field is a further lookup against the dataset whose cost compounds with every level of nesting,
+        // unless limited to a given number of edges.  An expansion, or a search for paths, covers many levels, but
+        // visits each node at most once
+        //@formatter:off
+        return QueryCostModel.newModel()
+                             .fieldWeight(TraversalSchema.TRAVERSAL_QUERY_TYPE, TraversalSchema.NODES_FIELD, 10)
+                             .listSizeArgument(TraversalSchema.TRAVERSAL_QUERY_TYPE, TraversalSchema.NODES_FIELD,
+                                               TraversalSchema.STARTS_ARGUMENT)
+                             .listSize(TraversalSchema.TRAVERSAL_QUERY_TYPE, TraversalSchema.NODES_FIELD, 100)
+                             .fieldWeight(TraversalSchema.TRAVERSAL_QUERY_TYPE, TraversalSchema.PATHS_FIELD, 50)
+                             .listSizeArgument(TraversalSchema.TRAVERSAL_QUERY_TYPE, TraversalSchema.PATHS_FIELD,
+                                               TraversalSchema.LIMIT_ARGUMENT)
+                             .fieldWeight(TraversalSchema.TRAVERSAL_NODE_TYPE, TraversalSchema.OUTGOING_FIELD, 5)
+                             .fieldWeight(TraversalSchema.TRAVERSAL_NODE_TYPE, TraversalSchema.INCOMING_FIELD, 5)
+                             .listSizeArgument(TraversalSchema.TRAVERSAL_NODE_TYPE, TraversalSchema.OUTGOING_FIELD,
+                                               TraversalSchema.LIMIT_ARGUMENT)
+                             .listSizeArgument(TraversalSchema.TRAVERSAL_NODE_TYPE, TraversalSchema.INCOMING_FIELD,
+                                               TraversalSchema.LIMIT_ARGUMENT)
+                             .fieldWeight(TraversalSchema.TRAVERSAL_NODE_TYPE, TraversalSchema.TRUNCATED_FIELD, 5)
+                             .fieldWeight(TraversalSchema.TRAVERSAL_NODE_TYPE, TraversalSchema.EXPAND_FIELD, 50)
+                             .build();
+        //@formatter:on
+    }
+
+    @Override
+    protected DataLoaderRegistry getDataLoaderRegistry(Object localContext) {
+        // Data loaders cache their results so need to be created afresh for each execution
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(TraversalEdgesFetcher.DATA_LOADER_NAME,
+                          EDGES_FETCHER.createDataLoader((DatasetGraph) localContext));
+        return registry;
+    }
+
+    @Override
+    protected void populateContext(DatasetGraph dsg, Map<Object, Object> context) {
+        context.put(TraversalEdgesFetcher.MAXIMUM_DEGREE_CONTEXT_KEY, this.maximumDegree);
+
+        // Whether the index matches the data can only be known within the transaction for the execution, so the
+        // manager is made available and the fetchers ask it for the index, see AdjacencyIndex.of(), and it is never
+        // used for any other dataset than our own
+        if (this.adjacencyIndex != null && dsg == this.dsg) {
+            context.put(AdjacencyIndexManager.class, this.adjacencyIndex);
+        }
+    }
 }
@@ -0,0 +1,515 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.query.TxnType;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphWrapper;
+import org.apache.jena.sparql.core.GraphView;
+import org.apache.jena.sparql.core.Quad;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A wrapper around a {@link DatasetGraph} that tracks a version for the dataset, which changes whenever the data may
+ * have changed
+ * <p>
+ * The version is incremented each time a write transaction commits, or a change is made outside of a transaction via
+ * this wrapper.  Graphs obtained from this wrapper are views over it, so changes made via those graphs are also
+ * detected, however changes made directly to the wrapped dataset are not, so all changes <strong>SHOULD</strong> be
+ * made in write transactions on this wrapper.
+ * </p>
+ * <p>
+ * The version is only incremented once a commit has completed, thus a version read before beginning a read transaction
+ * is never newer than the data that transaction sees, which is what allows results to be safely cached against the
+ * version, see {@link ResponseCache}.  Where the exact version a read transaction sees is needed, e.g. to decide
+ * whether an {@link AdjacencyIndex} matches the data, use {@link #getTransactionVersion()} from within the
+ * transaction.
+ * </p>
+ * <p>
+ * Listeners registered via {@link #addChangeListener(ChangeListener)} are notified of each new version along with the
+ * quads added and deleted by the write transaction that produced it, so derived data structures can be maintained
+ * incrementally rather than rebuilt.
+ * </p>
+ */
+public class VersionedDatasetGraph extends DatasetGraphWrapper {
+
+    /**
+     * Version returned for a dataset whose version is unknown
+     */
+    public static final long UNVERSIONED = -1;
+
+    /**
+     * The maximum number of added and deleted quads recorded for a single transaction, beyond which listeners are told
+     * that the changes made by the transaction are unknown, which bounds the memory used to record changes
+     */
+    public static final int MAXIMUM_RECORDED_CHANGES = 100_000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VersionedDatasetGraph.class);
+
+    private final AtomicLong version = new AtomicLong();
+    // Counts of the commits that have started, and finished, each commit is numbered by the started count and becomes
+    // that version of the dataset once finished
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong finished = new AtomicLong();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<TransactionState> transaction = new ThreadLocal<>();
+
+    /**
+     * Creates a new versioned dataset
+     *
+     * @param dsg Dataset to wrap
+     */
+    public VersionedDatasetGraph(DatasetGraph dsg) {
+        super(dsg);
+    }
+
+    /**
+     * Finds the versioned dataset, if any, that a dataset is or wraps
+     *
+     * @param dsg Dataset
+     * @return Versioned dataset, or {@code null} if the dataset is not versioned
+     */
+    public static VersionedDatasetGraph find(DatasetGraph dsg) {
+        DatasetGraph current = dsg;
+        while (current instanceof DatasetGraphWrapper wrapper) {
+            if (current instanceof VersionedDatasetGraph versioned) {
+                return versioned;
+            }
+            current = wrapper.getWrapped();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the version of a dataset, unwrapping it as necessary to find a {@link VersionedDatasetGraph}
+     *
+     * @param dsg Dataset
+     * @return Version, or {@value #UNVERSIONED} if the dataset is not versioned
+     */
+    public static long versionOf(DatasetGraph dsg) {
+        VersionedDatasetGraph versioned = find(dsg);
+        return versioned != null ? versioned.getVersion() : UNVERSIONED;
+    }
+
+    /**
+     * Gets the version of a dataset seen by the calling thread's transaction, unwrapping it as necessary to find a
+     * {@link VersionedDatasetGraph}
+     *
+     * @param dsg Dataset
+     * @return Version, or {@value #UNVERSIONED} if the dataset is not versioned, or the version of the transaction is
+     * unknown, see {@link #getTransactionVersion()}
+     */
+    public static long transactionVersionOf(DatasetGraph dsg) {
+        VersionedDatasetGraph versioned = find(dsg);
+        return versioned != null ? versioned.getTransactionVersion() : UNVERSIONED;
+    }
+
+    /**
+     * Gets the current version of the dataset
+     *
+     * @return Version
+     */
+    public long getVersion() {
+        return this.version.get();
+    }
+
+    /**
+     * Gets the version of the dataset seen by the calling thread's transaction
+     * <p>
+     * This is exactly the version of the data that the transaction sees, however it is only known for read transactions
+     * that began on this wrapper while no commit was in progress.  Write transactions, including read transactions that
+     * have been promoted, may change the data so never have a known version.
+     * </p>
+     *
+     * @return Version, or {@value #UNVERSIONED} if not in a transaction, or the version of the transaction is unknown
+     */
+    public long getTransactionVersion() {
+        TransactionState state = this.transaction.get();
+        return state != null && isInTransaction() ? state.version : UNVERSIONED;
+    }
+
+    /**
+     * Adds a listener to be notified of changes to the dataset
+     *
+     * @param listener Listener
+     */
+    public void addChangeListener(ChangeListener listener) {
+        this.listeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    /**
+     * Removes a previously added listener
+     *
+     * @param listener Listener
+     */
+    public void removeChangeListener(ChangeListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    @Override
+    public void begin() {
+        begin(super::begin);
+    }
+
+    @Override
+    public void begin(TxnType type) {
+        begin(() -> super.begin(type));
+    }
+
+    @Override
+    public void begin(ReadWrite readWrite) {
+        begin(() -> super.begin(readWrite));
+    }
+
+    private void begin(Runnable begin) {
+        // The version is only known if no commit was in progress when the transaction began, i.e. every commit that had
+        // started had finished, and none started while beginning
+        long finished = this.finished.get();
+        long started = this.started.get();
+        long version = this.version.get();
+        begin.run();
+        boolean known = started == finished && this.started.get() == started;
+
+        TxnType type = transactionType();
+        TransactionState state = new TransactionState();
+        state.version = known && type != TxnType.WRITE ? version : UNVERSIONED;
+        if (type != TxnType.READ && !this.listeners.isEmpty()) {
+            state.recorder = new ChangeRecorder();
+        }
+        this.transaction.set(state);
+    }
+
+    @Override
+    public boolean promote() {
+        return promoted(super.promote());
+    }
+
+    @Override
+    public boolean promote(Promote mode) {
+        return promoted(super.promote(mode));
+    }
+
+    private boolean promoted(boolean promoted) {
+        TransactionState state = this.transaction.get();
+        if (promoted && state != null) {
+            state.version = UNVERSIONED;
+        }
+        return promoted;
+    }
+
+    @Override
+    public void commit() {
+        if (!isInTransaction() || transactionMode() != ReadWrite.WRITE) {
+            super.commit();
+            return;
+        }
+        // Writers are serialised until their commit completes so commits are numbered in the order they happen
+        TransactionState state = this.transaction.get();
+        ChangeRecorder recorder = state != null ? state.recorder : null;
+        long sequence = this.started.incrementAndGet();
+        boolean committed = false;
+        try {
+            super.commit();
+            committed = true;
+        } finally {
+            if (state != null) {
+                state.recorder = null;
+            }
+            finish(sequence, committed && recorder != null ? recorder.changes() : null);
+        }
+    }
+
+    @Override
+    public void abort() {
+        TransactionState state = this.transaction.get();
+        if (state != null) {
+            state.recorder = null;
+        }
+        super.abort();
+    }
+
+    @Override
+    public void end() {
+        try {
+            super.end();
+        } finally {
+            this.transaction.remove();
+        }
+    }
+
+    /**
+     * Applies a change made outside of a transaction, which becomes a new version in its own right
+     *
+     * @param change Change
+     */
+    private void change(Runnable change) {
+        long sequence = this.started.incrementAndGet();
+        try {
+            change.run();
+        } finally {
+            // Changes are not recorded outside of a transaction
+            finish(sequence, null);
+        }
+    }
+
+    private void finish(long sequence, Changes changes) {
+        this.version.accumulateAndGet(sequence, Math::max);
+        this.finished.incrementAndGet();
+        for (ChangeListener listener : this.listeners) {
+            try {
+                listener.changed(sequence, changes);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Change listener failed to handle version {}", sequence, e);
+            }
+        }
+    }
+
+    private ChangeRecorder recorder() {
+        TransactionState state = this.transaction.get();
+        return state != null ? state.recorder : null;
+    }
+
+    @Override
+    public Graph getDefaultGraph() {
+        return GraphView.createDefaultGraph(this);
+    }
+
+    @Override
+    public Graph getUnionGraph() {
+        return GraphView.createUnionGraph(this);
+    }
+
+    @Override
+    public Graph getGraph(Node graphNode) {
+        if (Quad.isDefaultGraph(graphNode)) {
+            return getDefaultGraph();
+        } else if (Quad.isUnionGraph(graphNode)) {
+            return getUnionGraph();
+        }
+        return GraphView.createNamedGraph(this, graphNode);
+    }
+
+    @Override
+    public void addGraph(Node graphName, Graph graph) {
+        unknown(() -> super.addGraph(graphName, graph));
+    }
+
+    @Override
+    public void removeGraph(Node graphName) {
+        unknown(() -> super.removeGraph(graphName));
+    }
+
+    @Override
+    public void clear() {
+        unknown(super::clear);
+    }
+
+    private void unknown(Runnable change) {
+        if (!isInTransaction()) {
+            change(change);
+            return;
+        }
+        ChangeRecorder recorder = recorder();
+        if (recorder != null) {
+            recorder.unknown();
+        }
+        change.run();
+    }
+
+    @Override
+    public void add(Quad quad) {
+        add(quad, () -> super.add(quad));
+    }
+
+    @Override
+    public void add(Node g, Node s, Node p, Node o) {
+        add(new Quad(g, s, p, o), () -> super.add(g, s, p, o));
+    }
+
+    private void add(Quad quad, Runnable add) {
+        if (!isInTransaction()) {
+            change(add);
+            return;
+        }
+        // Only quads that are not already present are changes
+        ChangeRecorder recorder = recorder();
+        boolean record = recorder != null && !recorder.isUnknown() && !super.contains(quad);
+        add.run();
+        if (record) {
+            recorder.added(quad);
+        }
+    }
+
+    @Override
+    public void delete(Quad quad) {
+        delete(quad, () -> super.delete(quad));
+    }
+
+    @Override
+    public void delete(Node g, Node s, Node p, Node o) {
+        delete(new Quad(g, s, p, o), () -> super.delete(g, s, p, o));
+    }
+
+    private void delete(Quad quad, Runnable delete) {
+        if (!isInTransaction()) {
+            change(delete);
+            return;
+        }
+        // Only quads that are present are changes
+        ChangeRecorder recorder = recorder();
+        boolean record = recorder != null && !recorder.isUnknown() && super.contains(quad);
+        delete.run();
+        if (record) {
+            recorder.deleted(quad);
+        }
+    }
+
+    @Override
+    public void deleteAny(Node g, Node s, Node p, Node o) {
+        if (!isInTransaction()) {
+            change(() -> super.deleteAny(g, s, p, o));
+            return;
+        }
+        ChangeRecorder recorder = recorder();
+        if (recorder != null && Quad.isUnionGraph(g)) {
+            // Deleting from the union graph deletes a triple from every graph containing it, which finding the
+            // matches within the union graph does not reveal
+            recorder.unknown();
+        } else if (recorder != null) {
+            // The matching quads must be found before they are deleted
+            Iterator<Quad> matches = super.find(g, s, p, o);
+            try {
+                while (matches.hasNext() && !recorder.isUnknown()) {
+                    recorder.deleted(matches.next());
+                }
+            } finally {
+                Iter.close(matches);
+            }
+        }
+        super.deleteAny(g, s, p, o);
+    }
+
+    /**
+     * A listener that is notified of each new version of a {@link VersionedDatasetGraph}
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+
+        /**
+         * Called once a new version of the dataset is visible to new transactions
+         * <p>
+         * Every version is notified exactly once, on the thread that made the changes, however notifications for
+         * consecutive versions may arrive concurrently and out of order, so listeners that apply changes
+         * <strong>MUST</strong> order them by version themselves.
+         * </p>
+         *
+         * @param version Version of the dataset that includes the changes
+         * @param changes Changes made since the previous version, or {@code null} if the changes are not known, e.g.
+         *                because they were made outside of a transaction, or were too numerous to record, in which
+         *                case listeners <strong>MUST</strong> assume that anything may have changed
+         */
+        void changed(long version, Changes changes);
+    }
+
+    /**
+     * The changes made to the dataset by a single write transaction
+     * <p>
+     * Each added quad was not present in the dataset at the point within the transaction at which it was added, and
+     * each deleted quad was present at the point at which it was deleted.  So a quad that was deleted then added again,
+     * or added then deleted, within the transaction appears in both lists, possibly more than once if that happened
+     * repeatedly, and neither list alone says whether a quad was present prior to the transaction.  Counting each added
+     * quad as one more, and each deleted quad as one less, occurrence of that quad, and applying those counts to the
+     * previous version of any data derived from the dataset, in any order, yields the new version.
+     * </p>
+     *
+     * @param added   Added quads
+     * @param deleted Deleted quads
+     */
+    public record Changes(List<Quad> added, List<Quad> deleted) {
+    }
+
+    /**
+     * The state of the calling thread's transaction
+     */
+    private static final class TransactionState {
+        private long version;
+        private ChangeRecorder recorder;
+    }
+
+    /**
+     * Records the changes made by a transaction, up to {@link #MAXIMUM_RECORDED_CHANGES} quads
+     */
+    private static final class ChangeRecorder {
+        private List<Quad> added = new ArrayList<>();
+        private List<Quad> deleted = new ArrayList<>();
+
+        void added(Quad quad) {
+            if (!isUnknown() && hasCapacity()) {
+                this.added.add(quad);
+            }
+        }
+
+        void deleted(Quad quad) {
+            if (!isUnknown() && hasCapacity()) {
+                this.deleted.add(quad);
+            }
+        }
+
+        private boolean hasCapacity() {
+            if (this.added.size() + this.deleted.size() < MAXIMUM_RECORDED_CHANGES) {
+                return true;
+            }
+            unknown();
+            return false;
+        }
+
+        void unknown() {
+            this.added = null;
+            this.deleted = null;
+        }
+
+        boolean isUnknown() {
+            return this.added == null;
+        }
+
+        Changes changes() {
+            return isUnknown() ? null :
+                   new Changes(Collections.unmodifiableList(this.added), Collections.unmodifiableList(this.deleted));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A metrics sink that aggregates metrics in memory, per operation name and per field
+ * <p>
+ * Since operation names are chosen by clients the number of distinct operations tracked is bounded, once the bound is
+ * reached any further operations are aggregated together under {@value #OTHER_OPERATIONS}.  Fields need no such bound
+ * as they are limited by the schema.
+ * </p>
+ */
+public class AggregatingExecutionMetrics implements ExecutionMetrics {
+
+    /**
+     * The default maximum number of distinct operation names tracked
+     */
+    public static final int DEFAULT_MAXIMUM_OPERATIONS = 1_000;
+    /**
+     * Name under which anonymous operations are aggregated
+     */
+    public static final String ANONYMOUS_OPERATION = "(anonymous)";
+    /**
+     * Name under which operations are aggregated once the maximum number of distinct operations is reached
+     */
+    public static final String OTHER_OPERATIONS = "(other)";
+    /**
+     * Kind of statistics for operations
+     */
+    public static final String KIND_OPERATION = "Operation";
+    /**
+     * Kind of statistics for fields
+     */
+    public static final String KIND_FIELD = "Field";
+
+    private final int maximumOperations;
+    private final ConcurrentMap<String, ExecutionStatistics> operations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, ExecutionStatistics>> fields =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new sink that tracks up to {@value #DEFAULT_MAXIMUM_OPERATIONS} distinct operations
+     */
+    public AggregatingExecutionMetrics() {
+        this(DEFAULT_MAXIMUM_OPERATIONS);
+    }
+
+    /**
+     * Creates a new sink
+     *
+     * @param maximumOperations Maximum number of distinct operation names to track
+     */
+    public AggregatingExecutionMetrics(int maximumOperations) {
+        if (maximumOperations < 1) {
+            throw new IllegalArgumentException("Maximum operations must be at least 1");
+        }
+        this.maximumOperations = maximumOperations;
+    }
+
+    @Override
+    public void recordOperation(String operationName, long durationNanos, int errors) {
+        String name = operationName != null ? operationName : ANONYMOUS_OPERATION;
+        ExecutionStatistics statistics = this.operations.get(name);
+        if (statistics == null) {
+            if (this.operations.size() >= this.maximumOperations) {
+                name = OTHER_OPERATIONS;
+            }
+            statistics = this.operations.computeIfAbsent(name, n -> created(KIND_OPERATION, n));
+        }
+        statistics.record(durationNanos, NOT_A_LIST, errors);
+    }
+
+    @Override
+    public void recordField(String typeName, String fieldName, long durationNanos, int listSize, boolean error) {
+        ConcurrentMap<String, ExecutionStatistics> typeFields = this.fields.get(typeName);
+        if (typeFields == null) {
+            typeFields = this.fields.computeIfAbsent(typeName, t -> new ConcurrentHashMap<>());
+        }
+        ExecutionStatistics statistics = typeFields.get(fieldName);
+        if (statistics == null) {
+            statistics = typeFields.computeIfAbsent(fieldName, f -> created(KIND_FIELD, typeName + "." + f));
+        }
+        statistics.record(durationNanos, listSize, error ? 1 : 0);
+    }
+
+    private ExecutionStatistics created(String kind, String name) {
+        ExecutionStatistics statistics = new ExecutionStatistics();
+        onCreated(kind, name, statistics);
+        return statistics;
+    }
+
+    /**
+     * Called whenever statistics are first created for an operation/field, allowing derived implementations to
+     * publish them elsewhere
+     *
+     * @param kind       Kind of statistics, either {@value #KIND_OPERATION} or {@value #KIND_FIELD}
+     * @param name       Operation name, or field coordinates i.e. {@code Type.field}
+     * @param statistics Statistics
+     */
+    protected void onCreated(String kind, String name, ExecutionStatistics statistics) {
+        // No-op by default
+    }
+
+    /**
+     * Gets the statistics for an operation
+     *
+     * @param operationName Operation name, {@code null} for anonymous operations
+     * @return Statistics, or {@code null} if the operation has not been executed
+     */
+    public ExecutionStatistics getOperationStatistics(String operationName) {
+        return this.operations.get(operationName != null ? operationName : ANONYMOUS_OPERATION);
+    }
+
+    /**
+     * Gets the statistics for a field
+     *
+     * @param typeName  Name of the object type the field belongs to
+     * @param fieldName Field name
+     * @return Statistics, or {@code null} if the field has not been fetched
+     */
+    public ExecutionStatistics getFieldStatistics(String typeName, String fieldName) {
+        ConcurrentMap<String, ExecutionStatistics> typeFields = this.fields.get(typeName);
+        return typeFields != null ? typeFields.get(fieldName) : null;
+    }
+
+    /**
+     * Gets the statistics for all the fields fetched so far, keyed by their coordinates i.e. {@code Type.field}
+     *
+     * @return Field statistics
+     */
+    public Map<String, ExecutionStatistics> getAllFieldStatistics() {
+        Map<String, ExecutionStatistics> all = new TreeMap<>();
+        this.fields.forEach((type, typeFields) -> typeFields.forEach((field, s) -> all.put(type + "." + field, s)));
+        return all;
+    }
+}
@@ -0,0 +1,74 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution.metrics;
+
+/**
+ * A sink for metrics about GraphQL executions
+ * <p>
+ * Implementations <strong>MUST</strong> be thread safe, and <strong>SHOULD</strong> be cheap to call since they are
+ * called for every non-trivial field fetched during every execution.
+ * </p>
+ */
+public interface ExecutionMetrics {
+
+    /**
+     * Value passed as the list size when a fetched value is not a list
+     */
+    int NOT_A_LIST = -1;
+
+    /**
+     * A sink that discards all metrics
+     */
+    ExecutionMetrics NONE = new ExecutionMetrics() {
+        @Override
+        public void recordOperation(String operationName, long durationNanos, int errors) {
+            // Discarded
+        }
+
+        @Override
+        public void recordField(String typeName, String fieldName, long durationNanos, int listSize, boolean error) {
+            // Discarded
+        }
+    };
+
+    /**
+     * Records the execution of an operation
+     *
+     * @param operationName Operation name, {@code null} for an anonymous operation
+     * @param durationNanos Duration of the execution in nanoseconds, including parsing and validation
+     * @param errors        Number of errors in the result
+     */
+    void recordOperation(String operationName, long durationNanos, int errors);
+
+    /**
+     * Records the fetching of a field
+     *
+     * @param typeName      Name of the object type the field belongs to
+     * @param fieldName     Field name
+     * @param durationNanos Duration of the fetch in nanoseconds
+     * @param listSize      Number of items fetched, or {@link #NOT_A_LIST} if the fetched value was not a list
+     * @param error         Whether the fetch failed
+     */
+    void recordField(String typeName, String fieldName, long durationNanos, int listSize, boolean error);
+}
@@ -0,0 +1,138 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics for a single operation, or field, aggregated across all executions
+ */
+public final class ExecutionStatistics implements ExecutionStatisticsMXBean {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Histogram latencies = new Histogram();
+    private final Histogram listSizes = new Histogram();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Creates new empty statistics
+     */
+    public ExecutionStatistics() {
+        // Nothing recorded yet
+    }
+
+    /**
+     * Records an execution/fetch
+     *
+     * @param durationNanos Duration in nanoseconds
+     * @param listSize      List size, or {@link ExecutionMetrics#NOT_A_LIST} if not applicable
+     * @param errors        Number of errors
+     */
+    public void record(long durationNanos, int listSize, int errors) {
+        this.latencies.record(durationNanos);
+        if (listSize != ExecutionMetrics.NOT_A_LIST) {
+            this.listSizes.record(listSize);
+        }
+        if (errors > 0) {
+            this.errors.increment();
+        }
+    }
+
+    /**
+     * Gets the histogram of latencies, in nanoseconds
+     *
+     * @return Latency histogram
+     */
+    public Histogram getLatencies() {
+        return this.latencies;
+    }
+
+    /**
+     * Gets the histogram of list sizes
+     *
+     * @return List size histogram
+     */
+    public Histogram getListSizes() {
+        return this.listSizes;
+    }
+
+    @Override
+    public long getCount() {
+        return this.latencies.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return this.errors.sum();
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        return this.latencies.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP50LatencyMillis() {
+        return this.latencies.getPercentile(0.5) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP95LatencyMillis() {
+        return this.latencies.getPercentile(0.95) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99LatencyMillis() {
+        return this.latencies.getPercentile(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxLatencyMillis() {
+        return this.latencies.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMeanListSize() {
+        return this.listSizes.getMean();
+    }
+
+    @Override
+    public long getP99ListSize() {
+        return this.listSizes.getPercentile(0.99);
+    }
+
+    @Override
+    public long getMaxListSize() {
+        return this.listSizes.getMax();
+    }
+
+    @Override
+    public void reset() {
+        this.latencies.reset();
+        this.listSizes.reset();
+        this.errors.reset();
+    }
+}
@@ -0,0 +1,105 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution.metrics;
+
+/**
+ * Management interface exposing the statistics for an operation, or a field, via JMX
+ */
+public interface ExecutionStatisticsMXBean {
+
+    /**
+     * Gets the number of executions/fetches
+     *
+     * @return Count
+     */
+    long getCount();
+
+    /**
+     * Gets the number of executions/fetches that produced errors
+     *
+     * @return Error count
+     */
+    long getErrorCount();
+
+    /**
+     * Gets the mean latency
+     *
+     * @return Mean latency in milliseconds
+     */
+    double getMeanLatencyMillis();
+
+    /**
+     * Gets the estimated median latency
+     *
+     * @return Median latency in milliseconds
+     */
+    double getP50LatencyMillis();
+
+    /**
+     * Gets the estimated 95th percentile latency
+     *
+     * @return 95th percentile latency in milliseconds
+     */
+    double getP95LatencyMillis();
+
+    /**
+     * Gets the estimated 99th percentile latency
+     *
+     * @return 99th percentile latency in milliseconds
+     */
+    double getP99LatencyMillis();
+
+    /**
+     * Gets the maximum latency
+     *
+     * @return Maximum latency in milliseconds
+     */
+    double getMaxLatencyMillis();
+
+    /**
+     * Gets the mean size of the lists fetched, only applicable to fields that return lists
+     *
+     * @return Mean list size
+     */
+    double getMeanListSize();
+
+    /**
+     * Gets the estimated 99th percentile size of the lists fetched, only applicable to fields that return lists
+     *
+     * @return 99th percentile list size
+     */
+    long getP99ListSize();
+
+    /**
+     * Gets the maximum size of the lists fetched, only applicable to fields that return lists
+     *
+     * @return Maximum list size
+     */
+    long getMaxListSize();
+
+    /**
+     * Resets the statistics
+     */
+    void reset();
+}
@@ -0,0 +1,150 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of non-negative values using exponentially sized buckets
+ * <p>
+ * Bucket {@code 0} holds the value zero, while bucket {@code n} holds values in the range {@code [2^(n-1), 2^n)}.  This
+ * means that percentiles are only accurate to within a factor of two, which is sufficient for spotting which fields
+ * are slow while keeping recording to a handful of uncontended increments.
+ * </p>
+ */
+public final class Histogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a new empty histogram
+     */
+    public Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value, negative values are treated as zero
+     *
+     * @param value Value
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        this.buckets[BUCKETS - Long.numberOfLeadingZeros(v)].increment();
+        this.count.increment();
+        this.sum.add(v);
+        this.max.accumulate(v);
+    }
+
+    /**
+     * Gets the number of values recorded
+     *
+     * @return Count
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Gets the sum of the values recorded
+     *
+     * @return Sum
+     */
+    public long getSum() {
+        return this.sum.sum();
+    }
+
+    /**
+     * Gets the maximum value recorded
+     *
+     * @return Maximum, or zero if no values recorded
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Gets the mean of the values recorded
+     *
+     * @return Mean, or zero if no values recorded
+     */
+    public double getMean() {
+        long n = this.getCount();
+        return n == 0 ? 0 : (double) this.getSum() / n;
+    }
+
+    /**
+     * Gets an estimate of a percentile of the values recorded, this is the upper bound of the bucket containing the
+     * percentile so may overestimate by up to a factor of two
+     *
+     * @param percentile Percentile, in the range 0 to 1
+     * @return Estimated percentile, or zero if no values recorded
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be in the range 0 to 1");
+        }
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return i == 0 ? 0 : Math.min((1L << i) - 1, this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    /**
+     * Resets the histogram, discarding all values recorded
+     * <p>
+     * Values recorded concurrently with a reset may be partially discarded.
+     * </p>
+     */
+    public void reset() {
+        for (LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.reset();
+    }
+}
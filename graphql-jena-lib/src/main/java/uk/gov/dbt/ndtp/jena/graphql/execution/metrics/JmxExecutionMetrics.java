@@ -0,0 +1,110 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A metrics sink that aggregates metrics in memory and publishes the statistics for each operation, and field, as an
+ * MXBean on the platform MBean server
+ * <p>
+ * Statistics are published under the {@value #DOMAIN} domain with object names of the form
+ * {@code type=<Operation|Field>,executor=<executor>,name=<name>}.  Sinks are shared by name, so that multiple executor
+ * instances of the same type contribute to the same statistics rather than competing to publish them.
+ * </p>
+ */
+public final class JmxExecutionMetrics extends AggregatingExecutionMetrics {
+
+    /**
+     * JMX domain under which statistics are published
+     */
+    public static final String DOMAIN = "uk.gov.dbt.ndtp.jena.graphql";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmxExecutionMetrics.class);
+    private static final ConcurrentMap<String, JmxExecutionMetrics> SINKS = new ConcurrentHashMap<>();
+
+    private final String executorName;
+    private final MBeanServer server;
+
+    private JmxExecutionMetrics(String executorName) {
+        this.executorName = executorName;
+        this.server = ManagementFactory.getPlatformMBeanServer();
+    }
+
+    /**
+     * Gets the sink for the given executor name, creating it if necessary
+     *
+     * @param executorName Executor name
+     * @return Metrics sink
+     */
+    public static JmxExecutionMetrics forName(String executorName) {
+        Objects.requireNonNull(executorName, "Executor name cannot be null");
+        return SINKS.computeIfAbsent(executorName, JmxExecutionMetrics::new);
+    }
+
+    /**
+     * Gets the executor name for this sink
+     *
+     * @return Executor name
+     */
+    public String getExecutorName() {
+        return this.executorName;
+    }
+
+    /**
+     * Gets the object name under which statistics are published
+     *
+     * @param kind Kind of statistics
+     * @param name Operation name, or field coordinates
+     * @return Object name
+     * @throws MalformedObjectNameException Thrown if the object name is invalid
+     */
+    public ObjectName getObjectName(String kind, String name) throws MalformedObjectNameException {
+        return new ObjectName(DOMAIN + ":type=" + kind + ",executor=" + ObjectName.quote(this.executorName) + ",name="
+                              + ObjectName.quote(name));
+    }
+
+    @Override
+    protected void onCreated(String kind, String name, ExecutionStatistics statistics) {
+        try {
+            ObjectName objectName = getObjectName(kind, name);
+            if (!this.server.isRegistered(objectName)) {
+                this.server.registerMBean(statistics, objectName);
+            }
+        } catch (JMException e) {
+            // Failing to publish metrics must never fail a query
+            LOGGER.warn("Failed to publish GraphQL metrics for {} {} via JMX: {}", kind, name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution.metrics;
+
+import graphql.ExecutionResult;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A GraphQL instrumentation that records the latency, and errors, of each operation, and the latency, list sizes and
+ * errors of each field fetched, to an {@link ExecutionMetrics} sink
+ * <p>
+ * Only non-trivial data fetchers are recorded, i.e. those that do more than read a property of their source object,
+ * which keeps the overhead to a couple of clock reads per field that actually does work.  For data fetchers that batch
+ * their lookups via a {@link org.dataloader.DataLoader} the latency includes the time spent waiting for the batch to
+ * be dispatched.
+ * </p>
+ */
+public class MetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    private final ExecutionMetrics metrics;
+
+    /**
+     * Creates a new instrumentation
+     *
+     * @param metrics Metrics sink
+     */
+    public MetricsInstrumentation(ExecutionMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "Metrics sink cannot be null");
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new State();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> {
+            // Prefer the name from the operation definition, the request need not name the operation to execute
+            String operationName = ((State) state).operationName;
+            this.metrics.recordOperation(operationName != null ? operationName : parameters.getOperation(),
+                                         System.nanoTime() - start,
+                                         error != null || result == null ? 1 : result.getErrors().size());
+        });
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ((State) state).operationName = parameters.getExecutionContext().getOperationDefinition().getName();
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters,
+                                                          InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher()) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((value, error) -> {
+            long duration = System.nanoTime() - start;
+            Object data = value;
+            boolean failed = error != null;
+            if (value instanceof DataFetcherResult<?> result) {
+                data = result.getData();
+                failed = failed || result.hasErrors();
+            }
+            this.metrics.recordField(parameters.getExecutionStepInfo().getObjectType().getName(),
+                                     parameters.getField().getName(), duration, listSize(data), failed);
+        });
+    }
+
+    private static final class State implements InstrumentationState {
+        private volatile String operationName;
+    }
+
+    static int listSize(Object data) {
+        if (data instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (data instanceof Object[] array) {
+            return array.length;
+        }
+        return ExecutionMetrics.NOT_A_LIST;
+    }
+}
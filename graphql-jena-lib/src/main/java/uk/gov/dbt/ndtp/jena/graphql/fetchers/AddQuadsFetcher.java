@@ -0,0 +1,135 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+import uk.gov.dbt.ndtp.jena.graphql.utils.NodeFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A GraphQL Data Fetcher that adds quads to the dataset, returning the number of quads added
+ * <p>
+ * All the supplied quads are parsed, and validated, before any is added, so an invalid quad means none are added.  The
+ * quads are then added within the write transaction of the whole mutation, which the executor, e.g. a
+ * {@link uk.gov.dbt.ndtp.jena.graphql.execution.DatasetExecutor}, must already have begun.  Quads that
+ * are already present in the dataset are not counted, so the result is the number of quads actually added.
+ * </p>
+ */
+public class AddQuadsFetcher implements DataFetcher<Integer> {
+
+    /**
+     * Creates a new Add Quads Fetcher that adds quads to an underlying RDF dataset
+     */
+    public AddQuadsFetcher() {
+        // Stateless class
+    }
+
+    @Override
+    public Integer get(DataFetchingEnvironment environment) {
+        List<Quad> quads = parseQuads(environment.getArgument(DatasetSchema.QUADS_ARGUMENT));
+        DatasetGraph dsg = writableDataset(environment);
+
+        int added = 0;
+        for (Quad quad : quads) {
+            if (!dsg.contains(quad)) {
+                dsg.add(quad);
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Gets the dataset that a mutation field changes, which must already be within a write transaction
+     * <p>
+     * Mutation fetchers never begin, commit or abort a transaction themselves.  The transaction belongs to the executor,
+     * which commits it only if every field of the mutation succeeded, so a field that fails part way through cannot
+     * end the transaction early and leave later fields to commit on their own.
+     * </p>
+     *
+     * @param environment Data fetching environment
+     * @return Dataset
+     * @throws IllegalStateException Thrown if the dataset is not within a write transaction
+     */
+    static DatasetGraph writableDataset(DataFetchingEnvironment environment) {
+        DatasetGraph dsg = environment.getLocalContext();
+        if (!dsg.isInTransaction() || dsg.transactionMode() != ReadWrite.WRITE) {
+            throw new IllegalStateException("Mutations must be executed within a write transaction");
+        }
+        return dsg;
+    }
+
+    /**
+     * Parses a list of quad inputs into concrete quads
+     * <p>
+     * A quad input that omits its graph is in the default graph.
+     * </p>
+     *
+     * @param rawQuads Raw quad inputs
+     * @return Quads
+     * @throws IllegalArgumentException Thrown if any of the quad inputs is not a concrete quad
+     */
+    @SuppressWarnings("unchecked")
+    static List<Quad> parseQuads(List<Object> rawQuads) {
+        if (rawQuads == null) {
+            return List.of();
+        }
+        List<Quad> quads = new ArrayList<>(rawQuads.size());
+        for (Object rawQuad : rawQuads) {
+            Map<String, Object> input = (Map<String, Object>) rawQuad;
+            Node graph = input.get(IANodeSchema.GRAPH_FIELD) != null ?
+                         parseNode(input, IANodeSchema.GRAPH_FIELD) : Quad.defaultGraphIRI;
+            if (!graph.isURI() && !graph.isBlank()) {
+                throw new IllegalArgumentException("The graph of a quad must be a URI or a blank node");
+            }
+            //@formatter:off
+            quads.add(Quad.create(graph,
+                                  parseNode(input, IANodeSchema.SUBJECT_FIELD),
+                                  parseNode(input, IANodeSchema.PREDICATE_FIELD),
+                                  parseNode(input, IANodeSchema.OBJECT_FIELD)));
+            //@formatter:on
+        }
+        return quads;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Node parseNode(Map<String, Object> input, String field) {
+        Node node = NodeFilter.parse((Map<String, Object>) input.get(field));
+        if (!node.isConcrete()) {
+            throw new IllegalArgumentException("The " + field + " of a quad must be a concrete node, not a variable");
+        }
+        return node;
+    }
+}
@@ -0,0 +1,112 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadFilter;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A GraphQL Data Fetcher that deletes all the quads matching a filter from the dataset, returning the number of quads
+ * deleted
+ * <p>
+ * The filter takes the same arguments as the {@value DatasetSchema#QUADS_FIELD} field, however it must restrict at least
+ * one position, or have a literal filter, so that an accidental empty, or wildcard only, filter cannot delete the entire
+ * dataset.
+ * </p>
+ * <p>
+ * Without a literal filter each pattern of the filter is counted and then removed via
+ * {@link DatasetGraph#deleteAny(Node, Node, Node, Node)}, so the matching quads are never held in memory.  Otherwise the
+ * matches are deleted in batches of at most {@value #DELETE_BATCH_SIZE} quads, re-scanning the dataset after each batch,
+ * since deleting from a dataset while iterating over it is not generally supported.
+ * </p>
+ */
+public class DeletePatternFetcher implements DataFetcher<Integer> {
+
+    /**
+     * The maximum number of quads held in memory at once when deleting the matches of a filter with a literal filter
+     */
+    public static final int DELETE_BATCH_SIZE = 10_000;
+
+    /**
+     * Creates a new Delete Pattern Fetcher that deletes quads from an underlying RDF dataset
+     */
+    public DeletePatternFetcher() {
+        // Stateless class
+    }
+
+    @Override
+    public Integer get(DataFetchingEnvironment environment) {
+        QuadFilter filter = QuadFilter.parse(environment.getArguments());
+        if (filter.isUnrestricted()) {
+            throw new IllegalArgumentException(
+                    DatasetSchema.DELETE_PATTERN_FIELD + " requires a filter that restricts at least one position");
+        }
+        DatasetGraph dsg = AddQuadsFetcher.writableDataset(environment);
+        QueryDeadline deadline = QueryDeadline.of(environment);
+
+        long deleted = filter.hasLiteralFilter() ? deleteBatches(dsg, filter, deadline)
+                                                 : deletePatterns(dsg, filter, deadline);
+        return (int) Math.min(deleted, Integer.MAX_VALUE);
+    }
+
+    private static long deletePatterns(DatasetGraph dsg, QuadFilter filter, QueryDeadline deadline) {
+        long deleted = 0;
+        for (Quad pattern : (Iterable<Quad>) filter.patterns()::iterator) {
+            long count;
+            try (Stream<Quad> stream = deadline.checked(
+                    dsg.stream(pattern.getGraph(), pattern.getSubject(), pattern.getPredicate(),
+                               pattern.getObject()))) {
+                count = stream.count();
+            }
+            if (count > 0) {
+                dsg.deleteAny(pattern.getGraph(), pattern.getSubject(), pattern.getPredicate(), pattern.getObject());
+                deleted += count;
+            }
+        }
+        return deleted;
+    }
+
+    private static long deleteBatches(DatasetGraph dsg, QuadFilter filter, QueryDeadline deadline) {
+        long deleted = 0;
+        List<Quad> batch;
+        do {
+            try (Stream<Quad> stream = filter.find(dsg, deadline)) {
+                batch = stream.limit(DELETE_BATCH_SIZE).toList();
+            }
+            batch.forEach(dsg::delete);
+            deleted += batch.size();
+        } while (batch.size() == DELETE_BATCH_SIZE);
+        return deleted;
+    }
+}
@@ -0,0 +1,66 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+
+import java.util.List;
+
+/**
+ * A GraphQL Data Fetcher that deletes specific quads from the dataset, returning the number of quads deleted
+ * <p>
+ * As with {@link AddQuadsFetcher} all the supplied quads are validated before any is deleted, and they are deleted
+ * within the write transaction of the whole mutation.  Quads that are not present in the dataset are not counted.  To
+ * delete quads matching a filter, rather than specific quads, use the {@link DeletePatternFetcher}.
+ * </p>
+ */
+public class DeleteQuadsFetcher implements DataFetcher<Integer> {
+
+    /**
+     * Creates a new Delete Quads Fetcher that deletes quads from an underlying RDF dataset
+     */
+    public DeleteQuadsFetcher() {
+        // Stateless class
+    }
+
+    @Override
+    public Integer get(DataFetchingEnvironment environment) {
+        List<Quad> quads = AddQuadsFetcher.parseQuads(environment.getArgument(DatasetSchema.QUADS_ARGUMENT));
+        DatasetGraph dsg = AddQuadsFetcher.writableDataset(environment);
+
+        int deleted = 0;
+        for (Quad quad : quads) {
+            if (dsg.contains(quad)) {
+                dsg.delete(quad);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,104 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.system.Txn;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.QuadPosition;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadFilter;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A GraphQL Data Fetcher that fetches the distinct nodes in a given position of the quads matching a pattern
+ * <p>
+ * Nodes are deduplicated as the dataset is scanned, so only the distinct nodes are ever held in memory, and only those
+ * are wrapped for output.  The scan stops as soon as the {@value DatasetSchema#LIMIT_ARGUMENT}, or
+ * {@value #DEFAULT_LIMIT} if not given, distinct nodes have been found.
+ * </p>
+ */
+public class DistinctNodesFetcher implements DataFetcher<List<WrappedNode>> {
+
+    /**
+     * The default limit on the number of distinct nodes if the {@value DatasetSchema#LIMIT_ARGUMENT} argument is not
+     * given
+     */
+    public static final int DEFAULT_LIMIT = 1000;
+    /**
+     * The maximum permitted limit on the number of distinct nodes
+     */
+    public static final int MAXIMUM_LIMIT = 10_000;
+
+    /**
+     * Creates a new Distinct Nodes Fetcher that fetches distinct nodes from an underlying RDF dataset
+     */
+    public DistinctNodesFetcher() {
+        // Stateless class
+    }
+
+    @Override
+    public List<WrappedNode> get(DataFetchingEnvironment environment) {
+        QuadFilter filter = QuadFilter.parse(environment.getArguments());
+        QuadPosition position = parsePosition(environment.getArgument(DatasetSchema.POSITION_ARGUMENT));
+        long limit = QuadsCountFetcher.parseLimit(environment.getArgument(DatasetSchema.LIMIT_ARGUMENT), DEFAULT_LIMIT);
+        if (limit > MAXIMUM_LIMIT) {
+            throw new IllegalArgumentException(
+                    DatasetSchema.LIMIT_ARGUMENT + " must be in the range 0 to " + MAXIMUM_LIMIT);
+        }
+
+        DatasetGraph dsg = environment.getLocalContext();
+        QueryDeadline deadline = QueryDeadline.of(environment);
+
+        return Txn.calculateRead(dsg, () -> {
+            Set<Node> distinct = new LinkedHashSet<>();
+            try (Stream<Quad> stream = filter.find(dsg, deadline)) {
+                Iterator<Quad> quads = stream.iterator();
+                while (distinct.size() < limit && quads.hasNext()) {
+                    distinct.add(position.select(quads.next()));
+                }
+            }
+            return distinct.stream().map(WrappedNode::new).toList();
+        });
+    }
+
+    private static QuadPosition parsePosition(Object rawPosition) {
+        // Depending on the wiring we may receive either the enum value or its name
+        if (rawPosition instanceof QuadPosition position) {
+            return position;
+        }
+        return QuadPosition.valueOf(rawPosition.toString());
+    }
+}
@@ -0,0 +1,253 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryCancelledException;
+import org.apache.jena.query.SortCondition;
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.algebra.OpAsQuery;
+import org.apache.jena.sparql.algebra.op.OpBGP;
+import org.apache.jena.sparql.algebra.op.OpGraph;
+import org.apache.jena.sparql.algebra.op.OpOrder;
+import org.apache.jena.sparql.algebra.op.OpProject;
+import org.apache.jena.sparql.algebra.op.OpSequence;
+import org.apache.jena.sparql.algebra.op.OpSlice;
+import org.apache.jena.sparql.core.BasicPattern;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.exec.QueryExec;
+import org.apache.jena.sparql.exec.QueryExecBuilder;
+import org.apache.jena.sparql.exec.RowSet;
+import org.apache.jena.system.Txn;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
+import uk.gov.dbt.ndtp.jena.graphql.utils.NodeFilter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A GraphQL Data Fetcher that answers a basic graph pattern, i.e. a join of several quad patterns that share variables
+ * <p>
+ * The patterns are compiled into ARQ algebra, and then executed via ARQ, so the join benefits from ARQ's optimizer and
+ * any store specific optimisations e.g. TDB2's statistics based reordering of patterns.  Patterns are grouped by their
+ * graph, with those without a graph matching the default graph.  Each solution is returned as the list of bindings of
+ * the variables used in the patterns, in the order in which the variables first appear.
+ * </p>
+ */
+public class MatchFetcher implements DataFetcher<List<Map<String, Object>>> {
+
+    /**
+     * The default limit on the number of solutions if the {@value DatasetSchema#LIMIT_ARGUMENT} argument is not given
+     */
+    public static final int DEFAULT_LIMIT = 1000;
+    /**
+     * The maximum permitted limit on the number of solutions
+     */
+    public static final int MAXIMUM_LIMIT = 10_000;
+    /**
+     * The maximum permitted number of patterns
+     */
+    public static final int MAXIMUM_PATTERNS = 32;
+
+    /**
+     * Creates a new Match Fetcher that answers basic graph patterns against an underlying RDF dataset
+     */
+    public MatchFetcher() {
+        // Stateless class
+    }
+
+    @Override
+    public List<Map<String, Object>> get(DataFetchingEnvironment environment) {
+        List<Quad> patterns = parsePatterns(environment.getArgument(DatasetSchema.PATTERNS_ARGUMENT));
+        Set<Var> variables = new LinkedHashSet<>();
+        for (Quad pattern : patterns) {
+            addVariables(pattern.getGraph(), variables);
+            addVariables(pattern.getSubject(), variables);
+            addVariables(pattern.getPredicate(), variables);
+            addVariables(pattern.getObject(), variables);
+        }
+        List<SortCondition> orderBy = parseOrderBy(environment.getArgument(DatasetSchema.ORDER_BY_ARGUMENT), variables);
+        long limit = QuadsCountFetcher.parseLimit(environment.getArgument(DatasetSchema.LIMIT_ARGUMENT),
+                                                  DEFAULT_LIMIT);
+        if (limit > MAXIMUM_LIMIT) {
+            throw new IllegalArgumentException(
+                    DatasetSchema.LIMIT_ARGUMENT + " cannot be greater than " + MAXIMUM_LIMIT);
+        }
+
+        Query query = OpAsQuery.asQuery(compile(patterns, new ArrayList<>(variables), orderBy, limit));
+        DatasetGraph dsg = environment.getLocalContext();
+        QueryDeadline deadline = QueryDeadline.of(environment);
+
+        return Txn.calculateRead(dsg, () -> {
+            deadline.check();
+            QueryExecBuilder builder = QueryExec.dataset(dsg).query(query);
+            Duration remaining = deadline.getRemaining();
+            if (remaining != null) {
+                builder.timeout(Math.max(1, remaining.toMillis()), TimeUnit.MILLISECONDS);
+            }
+            try (QueryExec exec = builder.build()) {
+                RowSet rows = exec.select();
+                List<Map<String, Object>> solutions = new ArrayList<>();
+                while (rows.hasNext()) {
+                    deadline.check();
+                    solutions.add(toSolution(rows.next(), variables));
+                }
+                return solutions;
+            } catch (QueryCancelledException e) {
+                // ARQ enforced the deadline on our behalf
+                deadline.check();
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Compiles the patterns into ARQ algebra
+     * <p>
+     * Derived implementations may override this to apply additional transformations to the algebra before it is
+     * executed.
+     * </p>
+     *
+     * @param patterns  Quad patterns, those for the default graph have {@link Quad#defaultGraphNodeGenerated} as their
+     *                  graph
+     * @param variables Variables used in the patterns, in order of first appearance
+     * @param orderBy   Sort conditions, may be empty
+     * @param limit     Maximum number of solutions
+     * @return Algebra
+     */
+    protected Op compile(List<Quad> patterns, List<Var> variables, List<SortCondition> orderBy, long limit) {
+        Map<Node, BasicPattern> groups = new LinkedHashMap<>();
+        for (Quad pattern : patterns) {
+            groups.computeIfAbsent(pattern.getGraph(), g -> new BasicPattern()).add(pattern.asTriple());
+        }
+        OpSequence op = OpSequence.create();
+        groups.forEach((graph, bgp) -> op.add(
+                Quad.isDefaultGraph(graph) ? new OpBGP(bgp) : new OpGraph(graph, new OpBGP(bgp))));
+
+        Op compiled = op.size() == 1 ? op.get(0) : op;
+        if (!orderBy.isEmpty()) {
+            compiled = new OpOrder(compiled, orderBy);
+        }
+        compiled = new OpProject(compiled, variables);
+        return new OpSlice(compiled, Query.NOLIMIT, limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Quad> parsePatterns(List<Object> rawPatterns) {
+        if (rawPatterns == null || rawPatterns.isEmpty()) {
+            throw new IllegalArgumentException("At least one pattern must be given");
+        }
+        if (rawPatterns.size() > MAXIMUM_PATTERNS) {
+            throw new IllegalArgumentException("No more than " + MAXIMUM_PATTERNS + " patterns may be given");
+        }
+        List<Quad> patterns = new ArrayList<>();
+        for (Object rawPattern : rawPatterns) {
+            Map<String, Object> pattern = (Map<String, Object>) rawPattern;
+            Node graph = parsePatternNode(pattern.get(IANodeSchema.GRAPH_FIELD));
+            //@formatter:off
+            patterns.add(new Quad(graph != null ? graph : Quad.defaultGraphNodeGenerated,
+                                  parsePatternNode(pattern.get(IANodeSchema.SUBJECT_FIELD)),
+                                  parsePatternNode(pattern.get(IANodeSchema.PREDICATE_FIELD)),
+                                  parsePatternNode(pattern.get(IANodeSchema.OBJECT_FIELD))));
+            //@formatter:on
+        }
+        return patterns;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Node parsePatternNode(Object rawNode) {
+        if (rawNode == null) {
+            return null;
+        }
+        Map<String, Object> filter = (Map<String, Object>) rawNode;
+        if (Objects.equals(filter.get(IANodeSchema.KIND_FIELD), "VARIABLE")
+            && filter.get(IANodeSchema.VALUE_FIELD) == null) {
+            throw new IllegalArgumentException("A VARIABLE node in a pattern must have a value giving its name");
+        }
+        Node node = NodeFilter.parse(filter);
+        return node.isVariable() ? Var.alloc(node) : node;
+    }
+
+    private static void addVariables(Node node, Set<Var> variables) {
+        if (node.isVariable()) {
+            variables.add(Var.alloc(node));
+        } else if (node.isNodeTriple()) {
+            Triple triple = node.getTriple();
+            addVariables(triple.getSubject(), variables);
+            addVariables(triple.getPredicate(), variables);
+            addVariables(triple.getObject(), variables);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<SortCondition> parseOrderBy(List<Object> rawOrderBy, Set<Var> variables) {
+        if (rawOrderBy == null) {
+            return List.of();
+        }
+        List<SortCondition> conditions = new ArrayList<>();
+        for (Object rawCondition : rawOrderBy) {
+            Map<String, Object> condition = (Map<String, Object>) rawCondition;
+            Var var = Var.alloc((String) condition.get(DatasetSchema.VARIABLE_FIELD));
+            if (!variables.contains(var)) {
+                throw new IllegalArgumentException("Cannot order by variable " + var.getVarName()
+                                                   + " as it is not used in any pattern");
+            }
+            boolean descending = Boolean.TRUE.equals(condition.get(DatasetSchema.DESCENDING_FIELD));
+            conditions.add(new SortCondition(var, descending ? Query.ORDER_DESCENDING : Query.ORDER_ASCENDING));
+        }
+        return conditions;
+    }
+
+    private static Map<String, Object> toSolution(Binding binding, Set<Var> variables) {
+        List<Map<String, Object>> bindings = new ArrayList<>(variables.size());
+        for (Var var : variables) {
+            Node value = binding.get(var);
+            if (value != null) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put(DatasetSchema.VARIABLE_FIELD, var.getVarName());
+                entry.put(IANodeSchema.VALUE_FIELD, new WrappedNode(value));
+                bindings.add(entry);
+            }
+        }
+        return Map.of(DatasetSchema.BINDINGS_FIELD, bindings);
+    }
+}
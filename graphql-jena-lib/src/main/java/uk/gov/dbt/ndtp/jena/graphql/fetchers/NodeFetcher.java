@@ -66,6 +66,7 @@ public class NodeFetcher implements DataFetcher<WrappedNode> {
             case IANodeSchema.SUBJECT_FIELD -> wrap(parent.get(IANodeSchema.SUBJECT_FIELD));
             case IANodeSchema.PREDICATE_FIELD -> wrap(parent.get(IANodeSchema.PREDICATE_FIELD));
             case IANodeSchema.OBJECT_FIELD -> wrap(parent.get(IANodeSchema.OBJECT_FIELD));
+            case IANodeSchema.GRAPH_FIELD -> wrap(parent.get(IANodeSchema.GRAPH_FIELD));
             case DatasetSchema.QUADS_FIELD -> wrap(parent.get(DatasetSchema.QUADS_FIELD));
             default -> throw new IllegalArgumentException("Unrecognised field " + environment.getField().getName());
         };
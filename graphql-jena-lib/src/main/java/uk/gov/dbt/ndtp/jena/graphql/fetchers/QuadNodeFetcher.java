@@ -0,0 +1,91 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.TrivialDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.Quad;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A GraphQL {@link DataFetcher} that accesses a single fixed position of a {@link Quad}
+ * <p>
+ * Unlike {@link NodeFetcher}, which must inspect both its source and the name of the field being fetched for every
+ * value it fetches, an instance of this fetcher is wired to a specific field and calls the corresponding accessor
+ * method of the quad directly.  Since it merely reads a property of its source it is also a
+ * {@link TrivialDataFetcher}, so instrumentations such as query deadlines and metrics do not add per field overhead when
+ * fetching the nodes of each quad in a large result.
+ * </p>
+ * <p>
+ * Sources that are not quads, e.g. triples or maps produced by custom fetchers, are handled by falling back to the
+ * {@link NodeFetcher}.
+ * </p>
+ */
+public class QuadNodeFetcher implements TrivialDataFetcher<WrappedNode> {
+
+    private final Function<Quad, Node> accessor;
+    private final NodeFetcher fallback = new NodeFetcher();
+
+    /**
+     * Creates a new fetcher for the given quad accessor
+     *
+     * @param accessor Accessor that retrieves the relevant node from a quad
+     */
+    public QuadNodeFetcher(Function<Quad, Node> accessor) {
+        this.accessor = Objects.requireNonNull(accessor, "Accessor cannot be null");
+    }
+
+    /**
+     * Creates a new fetcher for the given field of the {@value IANodeSchema#QUAD_TYPE} type
+     *
+     * @param field Field name, one of {@value IANodeSchema#SUBJECT_FIELD}, {@value IANodeSchema#PREDICATE_FIELD},
+     *              {@value IANodeSchema#OBJECT_FIELD} or {@value IANodeSchema#GRAPH_FIELD}
+     * @return Fetcher
+     * @throws IllegalArgumentException Thrown if the field is not one of the fields of a quad
+     */
+    public static QuadNodeFetcher forField(String field) {
+        return switch (field) {
+            case IANodeSchema.SUBJECT_FIELD -> new QuadNodeFetcher(Quad::getSubject);
+            case IANodeSchema.PREDICATE_FIELD -> new QuadNodeFetcher(Quad::getPredicate);
+            case IANodeSchema.OBJECT_FIELD -> new QuadNodeFetcher(Quad::getObject);
+            case IANodeSchema.GRAPH_FIELD -> new QuadNodeFetcher(Quad::getGraph);
+            default -> throw new IllegalArgumentException("Cannot fetch field " + field + " for a Quad");
+        };
+    }
+
+    @Override
+    public WrappedNode get(DataFetchingEnvironment environment) {
+        if (environment.getSource() instanceof Quad quad) {
+            return new WrappedNode(this.accessor.apply(quad));
+        }
+        return this.fallback.get(environment);
+    }
+}
@@ -0,0 +1,253 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.system.Txn;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadCursor;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadFilter;
+import uk.gov.dbt.ndtp.jena.graphql.utils.TDB2IndexScan;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * A GraphQL Data Fetcher that fetches a single page of quads as a Relay style connection
+ * <p>
+ * Unlike {@link QuadsFetcher} this never materialises more than a single page of results, plus one quad of look ahead
+ * to determine whether there is a next page.  Each page is identified by an opaque cursor that encodes the last quad of
+ * the previous page, see {@link QuadCursor}, so the scan for the next page resumes from that quad's position in the
+ * underlying iteration order rather than counting off some number of results.
+ * </p>
+ * <p>
+ * For a TDB2 dataset the scan for the next page starts directly at the cursor quad's key in the chosen index, see
+ * {@link TDB2IndexScan}, so fetching a page costs the same however deep into the results it is.  Other datasets offer
+ * no means to start a scan part way through, so there the scan passes over, without materialising, every quad prior to
+ * the cursor, making the cost of a page linear in its depth.  Equally, if the cursor quad has since been removed, a
+ * TDB2 scan resumes at the key that followed it, whereas elsewhere its position is lost and the page resumes from the
+ * start of the filter pattern containing it.
+ * </p>
+ */
+public class QuadsConnectionFetcher implements DataFetcher<Map<String, Object>> {
+
+    /**
+     * The default page size used if the {@value DatasetSchema#FIRST_ARGUMENT} argument is not specified
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    /**
+     * The maximum permitted page size
+     */
+    public static final int MAXIMUM_PAGE_SIZE = 1000;
+
+    /**
+     * Creates a new Quads Connection Fetcher that fetches pages of quads from an underlying RDF dataset
+     */
+    public QuadsConnectionFetcher() {
+        // Stateless class
+    }
+
+    @Override
+    public Map<String, Object> get(DataFetchingEnvironment environment) {
+        QuadFilter filter = QuadFilter.parse(environment.getArguments());
+
+        Integer first = environment.getArgument(DatasetSchema.FIRST_ARGUMENT);
+        int pageSize = Objects.requireNonNullElse(first, DEFAULT_PAGE_SIZE);
+        if (pageSize < 0 || pageSize > MAXIMUM_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    DatasetSchema.FIRST_ARGUMENT + " must be in the range 0 to " + MAXIMUM_PAGE_SIZE);
+        }
+        String after = environment.getArgument(DatasetSchema.AFTER_ARGUMENT);
+        Quad afterQuad = after != null ? QuadCursor.decode(after) : null;
+        if (afterQuad != null && !filter.matches(afterQuad)) {
+            throw new IllegalArgumentException("Cursor " + after + " was not issued for this query");
+        }
+
+        // Only bother encoding a cursor for every edge when the query actually asks for them
+        boolean includesEdgeCursors
+                = environment.getSelectionSet().contains(DatasetSchema.EDGES_FIELD + "/" + DatasetSchema.CURSOR_FIELD);
+
+        DatasetGraph dsg = environment.getLocalContext();
+        QueryDeadline deadline = QueryDeadline.of(environment);
+
+        return Txn.calculateRead(dsg, () -> {
+            try (Stream<Quad> stream = scan(dsg, deadline, filter, afterQuad)) {
+                Iterator<Quad> quads = stream.iterator();
+                if (filter.hasLiteralFilter()) {
+                    quads = Iter.filter(quads, filter::matchesLiteral);
+                }
+
+                List<Map<String, Object>> edges = new ArrayList<>(Math.min(pageSize, DEFAULT_PAGE_SIZE));
+                Quad firstQuad = null;
+                Quad lastQuad = null;
+                while (edges.size() < pageSize && quads.hasNext()) {
+                    lastQuad = quads.next();
+                    if (firstQuad == null) {
+                        firstQuad = lastQuad;
+                    }
+                    Map<String, Object> edge = new LinkedHashMap<>();
+                    edge.put(DatasetSchema.NODE_FIELD, lastQuad);
+                    if (includesEdgeCursors) {
+                        edge.put(DatasetSchema.CURSOR_FIELD, QuadCursor.encode(lastQuad));
+                    }
+                    edges.add(edge);
+                }
+
+                Map<String, Object> pageInfo = new LinkedHashMap<>();
+                pageInfo.put(DatasetSchema.HAS_NEXT_PAGE_FIELD, quads.hasNext());
+                pageInfo.put(DatasetSchema.HAS_PREVIOUS_PAGE_FIELD, afterQuad != null);
+                pageInfo.put(DatasetSchema.START_CURSOR_FIELD, firstQuad != null ? QuadCursor.encode(firstQuad) : null);
+                pageInfo.put(DatasetSchema.END_CURSOR_FIELD, lastQuad != null ? QuadCursor.encode(lastQuad) : null);
+
+                Map<String, Object> connection = new LinkedHashMap<>();
+                connection.put(DatasetSchema.EDGES_FIELD, edges);
+                connection.put(DatasetSchema.PAGE_INFO_FIELD, pageInfo);
+                return connection;
+            }
+        });
+    }
+
+    /**
+     * Scans the dataset for quads matching the given filter
+     * <p>
+     * The patterns of a filter do not overlap, see {@link QuadFilter}, so when resuming from a cursor any patterns
+     * prior to the one containing the cursor quad are skipped entirely, and the pattern containing the cursor quad is
+     * resumed immediately after it, see {@link #resume(DatasetGraph, QueryDeadline, Quad, Quad)}.
+     * </p>
+     *
+     * @param dsg       Dataset
+     * @param deadline  Query deadline
+     * @param filter    Quad filter
+     * @param afterQuad Quad after which the page starts, or {@code null} for the first page
+     * @return Stream of matching quads
+     */
+    private Stream<Quad> scan(DatasetGraph dsg, QueryDeadline deadline, QuadFilter filter, Quad afterQuad) {
+        // NB - Any literal filter is applied after the scan, since the cursor quad must still be found in order to
+        //      resume from it
+        //@formatter:off
+        return deadline.checked(
+                filter.patterns()
+                      .dropWhile(p -> afterQuad != null && !contains(p, afterQuad))
+                      .flatMap(p -> {
+                          deadline.check();
+                          return afterQuad != null && contains(p, afterQuad)
+                                 ? resume(dsg, deadline, p, afterQuad)
+                                 : scan(dsg, p.getGraph(), p.getSubject(), p.getPredicate(), p.getObject(), null);
+                      }));
+        //@formatter:on
+    }
+
+    private static boolean contains(Quad pattern, Quad quad) {
+        return quad.matches(pattern.getGraph(), pattern.getSubject(), pattern.getPredicate(), pattern.getObject());
+    }
+
+    /**
+     * Scans the pattern containing the cursor quad, resuming immediately after the cursor quad
+     * <p>
+     * A seeking scan, see {@link #seeks(DatasetGraph, Quad)}, starts at the cursor quad's key, so only the cursor quad
+     * itself is skipped, and if the cursor quad has since been removed the page simply resumes at the next key.
+     * Otherwise the quads of the pattern are skipped up to and including the cursor quad.  If the cursor quad has since
+     * been removed then its position within such a scan cannot be recovered, so the page resumes from the start of the
+     * pattern instead, and may repeat quads already returned on earlier pages.
+     * </p>
+     *
+     * @param dsg       Dataset
+     * @param deadline  Query deadline
+     * @param pattern   Pattern containing the cursor quad
+     * @param afterQuad Cursor quad
+     * @return Stream of the matching quads following the cursor quad
+     */
+    private Stream<Quad> resume(DatasetGraph dsg, QueryDeadline deadline, Quad pattern, Quad afterQuad) {
+        Stream<Quad> stream = scan(dsg, pattern.getGraph(), pattern.getSubject(), pattern.getPredicate(),
+                                   pattern.getObject(), afterQuad);
+        if (seeks(dsg, pattern)) {
+            // NB - Each quad occurs once in a scan so only the first quad can be the cursor quad
+            return stream.dropWhile(afterQuad::equals);
+        }
+
+        Iterator<Quad> quads = deadline.checked(stream).iterator();
+        while (quads.hasNext()) {
+            if (afterQuad.equals(quads.next())) {
+                return Iter.asStream(quads).onClose(stream::close);
+            }
+        }
+        stream.close();
+        return scan(dsg, pattern.getGraph(), pattern.getSubject(), pattern.getPredicate(), pattern.getObject(), null);
+    }
+
+    /**
+     * Gets whether a scan of the given pattern, via {@link #scan(DatasetGraph, Node, Node, Node, Node, Quad)}, starts
+     * at the key of the {@code after} quad
+     * <p>
+     * The default implementation returns true for a TDB2 dataset that {@link TDB2IndexScan#supports(DatasetGraph)}
+     * unless the pattern is over the union graph.  Implementations that override
+     * {@link #scan(DatasetGraph, Node, Node, Node, Node, Quad)} to seek within some other storage
+     * <strong>SHOULD</strong> override this method accordingly.
+     * </p>
+     *
+     * @param dsg     Dataset
+     * @param pattern Pattern
+     * @return True if the scan starts at the key of the {@code after} quad, false if it scans the whole pattern
+     */
+    protected boolean seeks(DatasetGraph dsg, Quad pattern) {
+        return TDB2IndexScan.supports(dsg) && (pattern.getGraph() == null || !Quad.isUnionGraph(pattern.getGraph()));
+    }
+
+    /**
+     * Scans the dataset for quads matching the given pattern
+     * <p>
+     * When resuming from a cursor a scan that seeks, see {@link #seeks(DatasetGraph, Quad)}, <strong>MUST</strong>
+     * start at the {@code after} quad, if it still exists, or otherwise at the quad that would have followed it, in the
+     * same iteration order used when the cursor was issued.  Any other scan <strong>MUST</strong> return the whole
+     * pattern in that same iteration order, and the quads up to and including the {@code after} quad are skipped.  For
+     * a TDB2 dataset that {@link TDB2IndexScan#supports(DatasetGraph)} the default implementation scans the underlying
+     * index directly, starting at the {@code after} quad's key, otherwise it scans the whole pattern, since
+     * {@link DatasetGraph} offers no means to seek to a position within a scan.
+     * </p>
+     *
+     * @param dsg       Dataset
+     * @param graph     Graph to match
+     * @param subject   Subject to match
+     * @param predicate Predicate to match
+     * @param object    Object to match
+     * @param after     Quad after which the page starts, or {@code null} for the first page
+     * @return Stream of matching quads
+     */
+    protected Stream<Quad> scan(DatasetGraph dsg, Node graph, Node subject, Node predicate, Node object, Quad after) {
+        Stream<Quad> indexed = TDB2IndexScan.scan(dsg, graph, subject, predicate, object, after);
+        return indexed != null ? indexed : dsg.stream(graph, subject, predicate, object);
+    }
+}
@@ -0,0 +1,130 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.system.Txn;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadFilter;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * A GraphQL Data Fetcher that counts the quads matching a pattern
+ * <p>
+ * Quads are counted as the dataset is scanned, so unlike counting the results of the {@value DatasetSchema#QUADS_FIELD}
+ * field no list of quads is ever built.  If a {@value DatasetSchema#LIMIT_ARGUMENT} is given then the scan stops as
+ * soon as that many quads have been counted.  Since GraphQL integers are 32-bit the count saturates at
+ * {@link Integer#MAX_VALUE}.
+ * </p>
+ */
+public class QuadsCountFetcher implements DataFetcher<Integer> {
+
+    /**
+     * Creates a new Quads Count Fetcher that counts quads in an underlying RDF dataset
+     */
+    public QuadsCountFetcher() {
+        // Stateless class
+    }
+
+    @Override
+    public Integer get(DataFetchingEnvironment environment) {
+        QuadFilter filter = QuadFilter.parse(environment.getArguments());
+        long limit = parseLimit(environment.getArgument(DatasetSchema.LIMIT_ARGUMENT), Integer.MAX_VALUE);
+
+        DatasetGraph dsg = environment.getLocalContext();
+        QueryDeadline deadline = QueryDeadline.of(environment);
+
+        return Txn.calculateRead(dsg, () -> {
+            if (filter.hasLiteralFilter()) {
+                // Literal filters have to be evaluated against every candidate quad so must always scan
+                try (Stream<Quad> stream = filter.find(dsg, deadline)) {
+                    return (int) Math.min(stream.limit(limit).count(), Integer.MAX_VALUE);
+                }
+            }
+
+            // Each pattern of the filter is disjoint so their counts can simply be summed
+            long total = 0;
+            Iterator<Quad> patterns = filter.patterns().iterator();
+            while (total < limit && patterns.hasNext()) {
+                deadline.check();
+                Quad pattern = patterns.next();
+                total += count(dsg, deadline, pattern.getGraph(), pattern.getSubject(), pattern.getPredicate(),
+                               pattern.getObject(), limit - total);
+            }
+            return (int) Math.min(total, Integer.MAX_VALUE);
+        });
+    }
+
+    /**
+     * Parses a limit argument
+     *
+     * @param rawLimit     Raw argument value, may be {@code null}
+     * @param defaultLimit Default limit if the argument is not given
+     * @return Limit
+     * @throws IllegalArgumentException Thrown if the limit is negative
+     */
+    static long parseLimit(Integer rawLimit, long defaultLimit) {
+        if (rawLimit == null) {
+            return defaultLimit;
+        }
+        if (rawLimit < 0) {
+            throw new IllegalArgumentException(DatasetSchema.LIMIT_ARGUMENT + " cannot be negative");
+        }
+        return rawLimit;
+    }
+
+    /**
+     * Counts the quads matching a pattern
+     * <p>
+     * This is called within a read transaction on the dataset.  The default implementation counts the results of
+     * scanning the dataset, even where the pattern selects a whole graph, since many stores, e.g. TDB2 named graphs or
+     * graph views, can only answer {@link org.apache.jena.graph.Graph#size()} by a scan that neither respects the limit
+     * nor checks the deadline.  Derived implementations backed by a store that can count the size of an index range in
+     * constant time may override this to do so, but <strong>MUST</strong> still return no more than the limit.
+     * </p>
+     *
+     * @param dsg       Dataset
+     * @param deadline  Query deadline, which <strong>SHOULD</strong> be checked by any scan
+     * @param graph     Graph to match
+     * @param subject   Subject to match
+     * @param predicate Predicate to match
+     * @param object    Object to match
+     * @param limit     Maximum count needed, counting <strong>MAY</strong> stop once this is reached
+     * @return Count
+     */
+    protected long count(DatasetGraph dsg, QueryDeadline deadline, Node graph, Node subject, Node predicate,
+                         Node object, long limit) {
+        try (Stream<Quad> stream = deadline.checked(dsg.stream(graph, subject, predicate, object))) {
+            return stream.limit(limit).count();
+        }
+    }
+}
@@ -25,19 +25,23 @@ package uk.gov.dbt.ndtp.jena.graphql.fetchers;
 
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
-import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
-import uk.gov.dbt.ndtp.jena.graphql.utils.NodeFilter;
-import org.apache.jena.graph.Node;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadFilter;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.Quad;
 import org.apache.jena.system.Txn;
 
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * A GraphQL Data Fetcher that fetches quads
+ * <p>
+ * The quads are returned exactly as they are scanned from the dataset regardless of which of their fields the query
+ * selects.  Scanning already materialises a {@link Quad} per match, so this is the cheapest representation for every
+ * selection shape, narrowing each quad to just the selected nodes would only add a further allocation per row.  The
+ * fields of each quad are then resolved by a {@link QuadNodeFetcher} calling the relevant accessor directly.
+ * </p>
  */
 public class QuadsFetcher implements DataFetcher<List<Object>> {
 
@@ -50,53 +54,10 @@ public class QuadsFetcher implements DataFetcher<List<Object>> {
 
     @Override
     public List<Object> get(DataFetchingEnvironment environment) {
-        Node subject = NodeFilter.parse(environment.getArgument(IANodeSchema.SUBJECT_FIELD));
-        Node predicate = NodeFilter.parse(environment.getArgument(IANodeSchema.PREDICATE_FIELD));
-        Node object = NodeFilter.parse(environment.getArgument(IANodeSchema.OBJECT_FIELD));
-        Node graph = NodeFilter.parse(environment.getArgument(IANodeSchema.GRAPH_FIELD));
-
-        boolean includesSubject = environment.getSelectionSet().contains(IANodeSchema.SUBJECT_FIELD + "/**");
-        boolean includesPredicate = environment.getSelectionSet().contains(
-            IANodeSchema.PREDICATE_FIELD + "/**");
-        boolean includesObject = environment.getSelectionSet().contains(IANodeSchema.OBJECT_FIELD + "/**");
-        boolean includesGraph = environment.getSelectionSet().contains(IANodeSchema.GRAPH_FIELD + "/**");
-        boolean includesAll = includesSubject && includesPredicate && includesObject && includesGraph;
-        boolean includesTriple = includesSubject && includesPredicate && includesObject;
-
+        QuadFilter filter = QuadFilter.parse(environment.getArguments());
         DatasetGraph dsg = environment.getLocalContext();
+        QueryDeadline deadline = QueryDeadline.of(environment);
 
-        return Txn.calculateRead(dsg, () -> {
-            if (!includesAll) {
-                if (includesTriple) {
-                    return dsg.stream(graph, subject, predicate, object)
-                              .map(Quad::asTriple)
-                              .collect(Collectors.toList());
-                } else {
-                    return dsg.stream(graph, subject, predicate, object)
-                              .map(q -> map(q, includesSubject, includesPredicate, includesObject, includesGraph))
-                              .collect(
-                                      Collectors.toList());
-                }
-            }
-            return dsg.stream(graph, subject, predicate, object).collect(Collectors.toList());
-        });
-    }
-
-    private Object map(Quad q, boolean includesSubject, boolean includesPredicate, boolean includesObject,
-                       boolean includesGraph) {
-        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
-        if (includesSubject) {
-            map.put(IANodeSchema.SUBJECT_FIELD, q.getSubject());
-        }
-        if (includesPredicate) {
-            map.put(IANodeSchema.PREDICATE_FIELD, q.getPredicate());
-        }
-        if (includesObject) {
-            map.put(IANodeSchema.OBJECT_FIELD, q.getObject());
-        }
-        if (includesGraph) {
-            map.put(IANodeSchema.GRAPH_FIELD, q.getObject());
-        }
-        return map;
+        return Txn.calculateRead(dsg, () -> filter.find(dsg, deadline).collect(Collectors.toList()));
     }
 }
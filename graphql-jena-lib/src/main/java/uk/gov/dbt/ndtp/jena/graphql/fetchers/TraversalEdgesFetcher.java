@@ -23,29 +23,91 @@
 
 package uk.gov.dbt.ndtp.jena.graphql.fetchers;
 
+import graphql.GraphQLContext;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
 
+import uk.gov.dbt.ndtp.jena.graphql.execution.AdjacencyIndex;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.EdgeDirection;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.NodeKind;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.TraversalEdge;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.TraversalNode;
+import uk.gov.dbt.ndtp.jena.graphql.utils.LiteralFilter;
 import uk.gov.dbt.ndtp.jena.graphql.utils.NodeFilter;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.TraversalSchema;
 import org.apache.jena.graph.Node;
 import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.util.NodeCmp;
 import org.apache.jena.system.Txn;
+import org.dataloader.BatchLoaderWithContext;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
 
 /**
  * A {@link DataFetcher} that fetches the incoming/outgoing edges from a node as part of answering a Traversal GraphQL
  * schema query
+ * <p>
+ * When the execution provides a {@link DataLoader} registered under {@value #DATA_LOADER_NAME} the edges for all the
+ * nodes at a given level of the query are found together, in a single pass over the dataset per predicate that visits
+ * the nodes in sorted order, and then distributed back to the individual nodes.  Otherwise each node's edges are found
+ * individually.
+ * </p>
+ * <p>
+ * When the execution has a current {@link AdjacencyIndex} the edges are found via that index rather than by scanning
+ * the dataset.  Either way the edges of a node are visited in one stable order, by predicate then target per
+ * {@link NodeCmp#compareRDFTerms(Node, Node)}, so for a node with no more edges than the maximum degree which edges a
+ * page holds never depends upon how they were found.
+ * </p>
+ * <p>
+ * At most the maximum degree, per {@link #maximumDegree(DataFetchingEnvironment)}, edges are visited for any single
+ * node, so traversing a node with a very large number of edges, e.g. an ontology class, reads a bounded number of edges
+ * and produces a bounded response.  When scanning the dataset the edges visited for such a node are the first in the
+ * order of the dataset's own indexes, which for TDB2 is stable, since finding the first in term order would require
+ * reading every edge of the node, whereas an index visits the first in term order.  Within the visited edges the
+ * {@value TraversalSchema#LIMIT_ARGUMENT} and {@value TraversalSchema#OFFSET_ARGUMENT} arguments page through the
+ * matching edges, stopping as soon as the page is complete.  The {@value TraversalSchema#SAMPLE_ARGUMENT} argument
+ * instead selects a uniformly random sample from the visited edges that match, via reservoir sampling, which is then
+ * paged if paging arguments are also given.
+ * </p>
  */
-public class TraversalEdgesFetcher implements DataFetcher<List<TraversalEdge>> {
+public class TraversalEdgesFetcher implements DataFetcher<CompletableFuture<List<TraversalEdge>>> {
+
+    /**
+     * Name under which the data loader created by {@link #createDataLoader(DatasetGraph)} should be registered
+     */
+    public static final String DATA_LOADER_NAME = "traversalEdges";
+
+    /**
+     * Key under which the maximum degree for an execution may be placed in its GraphQL context
+     */
+    public static final String MAXIMUM_DEGREE_CONTEXT_KEY = "traversalMaximumDegree";
+
+    /**
+     * The default maximum degree, i.e. the maximum number of edges visited for a single node
+     */
+    public static final int DEFAULT_MAXIMUM_DEGREE = 10_000;
+
+    private static final Comparator<Edge> EDGE_ORDER =
+            Comparator.comparing(Edge::predicate, NodeCmp::compareRDFTerms)
+                      .thenComparing(Edge::target, NodeCmp::compareRDFTerms);
 
     /**
      * Creates a traversal edges fetcher that finds the incoming/outgoing edges for a traversal node
@@ -55,37 +117,309 @@ public class TraversalEdgesFetcher implements DataFetcher<List<TraversalEdge>> {
     }
 
     @Override
-    public List<TraversalEdge> get(DataFetchingEnvironment environment) {
-        DatasetGraph dsg = environment.getLocalContext();
+    public CompletableFuture<List<TraversalEdge>> get(DataFetchingEnvironment environment) {
         TraversalNode node = environment.getSource();
+        EdgeQuery query = new EdgeQuery(parseDirection(environment.getField().getName()), environment.getArguments());
+        for (String argument : List.of(TraversalSchema.LIMIT_ARGUMENT, TraversalSchema.OFFSET_ARGUMENT,
+                                       TraversalSchema.SAMPLE_ARGUMENT)) {
+            Integer value = environment.getArgument(argument);
+            if (value != null && value < 0) {
+                throw new IllegalArgumentException(argument + " cannot be negative");
+            }
+        }
 
-        // Determine which edges we are traversing and which edges we care about
-        List<Node> predicateFilters = NodeFilter.parseList(environment.getArgument(IANodeSchema.PREDICATE_FIELD));
-        EnumSet<NodeKind> kinds = NodeFilter.parseKinds(environment.getArgument(TraversalSchema.KINDS_ARGUMENT));
+        DataLoaderRegistry registry = environment.getDataLoaderRegistry();
+        DataLoader<EdgeRequest, List<TraversalEdge>> loader =
+                registry != null ? registry.getDataLoader(DATA_LOADER_NAME) : null;
+        if (loader != null) {
+            return loader.load(new EdgeRequest(node.getNode().getNode(), query), environment);
+        }
+        DatasetGraph dsg = environment.getLocalContext();
+        Node n = node.getNode().getNode();
+        return CompletableFuture.completedFuture(
+                Txn.calculateRead(dsg, () -> find(dsg, query, List.of(n), environment).get(n)));
+    }
 
+    /**
+     * Creates a data loader that batches the finding of edges against the given dataset
+     * <p>
+     * Requests for edges are grouped by their field and arguments, and each group is resolved with each distinct node
+     * looked up once per predicate, in sorted node order, so that lookups against the same region of the underlying
+     * indexes happen together.  A whole batch is resolved within a single read transaction.
+     * </p>
+     *
+     * @param dsg Dataset Graph
+     * @return Data Loader
+     */
+    public DataLoader<?, List<TraversalEdge>> createDataLoader(DatasetGraph dsg) {
+        BatchLoaderWithContext<EdgeRequest, List<TraversalEdge>> loader =
+                (requests, batch) -> CompletableFuture.completedFuture(
+                        findAll(dsg, requests, batch.getKeyContextsList()));
+        return DataLoaderFactory.newDataLoader(loader);
+    }
+
+    /**
+     * Gets the maximum degree, i.e. the maximum number of edges visited for a single node, for the execution that a
+     * data fetcher is running as part of
+     *
+     * @param environment Data fetching environment
+     * @return Maximum degree, or {@value #DEFAULT_MAXIMUM_DEGREE} if the execution does not specify one
+     */
+    public static int maximumDegree(DataFetchingEnvironment environment) {
+        GraphQLContext context = environment != null ? environment.getGraphQlContext() : null;
+        Integer maximumDegree = context != null ? context.get(MAXIMUM_DEGREE_CONTEXT_KEY) : null;
+        return maximumDegree != null ? maximumDegree : DEFAULT_MAXIMUM_DEGREE;
+    }
+
+    private static EdgeDirection parseDirection(String field) {
+        return switch (field) {
+            case TraversalSchema.INCOMING_FIELD -> EdgeDirection.IN;
+            case TraversalSchema.OUTGOING_FIELD -> EdgeDirection.OUT;
+            default -> throw new IllegalArgumentException("Unrecognised field " + field);
+        };
+    }
+
+    /**
+     * Finds the edges for a batch of requests
+     *
+     * @param dsg          Dataset Graph
+     * @param requests     Requests
+     * @param environments Data fetching environments from which each request was made
+     * @return Edges for each request, in the same order as the requests
+     */
+    List<List<TraversalEdge>> findAll(DatasetGraph dsg, List<EdgeRequest> requests, List<Object> environments) {
         return Txn.calculateRead(dsg, () -> {
-            List<TraversalEdge> edges = switch (environment.getField().getName()) {
-                //@formatter:off
-            case TraversalSchema.INCOMING_FIELD ->
-                    predicateFilters
-                          .stream()
-                          .distinct()
-                          .flatMap(p -> dsg.stream(Node.ANY, Node.ANY, p, node.getNode().getNode())
-                          .map(q -> TraversalEdge.of(q.getPredicate(), EdgeDirection.IN, q.getSubject())))
-                          .filter(e -> kinds.contains(e.getTarget().getNode().getKind()))
-                          .collect(Collectors.toList());
-            case TraversalSchema.OUTGOING_FIELD ->
-                    predicateFilters
-                          .stream()
-                          .distinct()
-                          .flatMap(p -> dsg.stream(Node.ANY, node.getNode().getNode(), p, Node.ANY))
-                          .map(q -> TraversalEdge.of(q.getPredicate(), EdgeDirection.OUT, q.getObject()))
-                          .filter(e -> kinds.contains(e.getTarget().getNode().getKind()))
-                          .collect(Collectors.toList());
-            //@formatter:on
-                default -> throw new IllegalArgumentException("Unrecognised field " + environment.getField().getName());
-            };
-            return !edges.isEmpty() ? edges : null;
+            Map<EdgeQuery, List<Node>> groups = new LinkedHashMap<>();
+            Map<EdgeQuery, DataFetchingEnvironment> groupEnvironments = new HashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                EdgeRequest request = requests.get(i);
+                groups.computeIfAbsent(request.query(), q -> new ArrayList<>()).add(request.node());
+                groupEnvironments.putIfAbsent(request.query(), (DataFetchingEnvironment) environments.get(i));
+            }
+
+            Map<EdgeRequest, List<TraversalEdge>> results = new HashMap<>();
+            groups.forEach((query, nodes) -> find(dsg, query, nodes, groupEnvironments.get(query)).forEach(
+                    (node, edges) -> results.put(new EdgeRequest(node, query), edges)));
+            return requests.stream().map(results::get).toList();
+        });
+    }
+
+    /**
+     * Finds the edges for several nodes that share the same field and arguments
+     * <p>
+     * This is always called from within a read transaction on the dataset.
+     * </p>
+     *
+     * @param dsg         Dataset Graph
+     * @param query       Field and arguments
+     * @param nodes       Nodes
+     * @param environment Data fetching environment from which the arguments were taken
+     * @return Edges for each distinct node, {@code null} if a node has no edges
+     */
+    private static Map<Node, List<TraversalEdge>> find(DatasetGraph dsg, EdgeQuery query, List<Node> nodes,
+                                                       DataFetchingEnvironment environment) {
+        // Determine which edges we are traversing and which edges we care about
+        Object predicates = query.arguments().get(IANodeSchema.PREDICATE_FIELD);
+        List<Node> predicateFilters = NodeFilter.parseValues(predicates);
+        if (predicateFilters.size() > 1) {
+            predicateFilters = predicateFilters.stream().distinct().sorted(NodeCmp::compareRDFTerms).toList();
+        }
+        EnumSet<NodeKind> kinds = NodeFilter.parseKinds(query.arguments().get(TraversalSchema.KINDS_ARGUMENT));
+        // Literal filters are evaluated before any edges are created, so non-matching targets are never wrapped
+        @SuppressWarnings("unchecked")
+        LiteralFilter literal =
+                LiteralFilter.parse((Map<String, Object>) query.arguments().get(IANodeSchema.LITERAL_ARGUMENT));
+        QueryDeadline deadline = QueryDeadline.of(environment);
+        AdjacencyIndex index = AdjacencyIndex.of(environment);
+        EdgeDirection direction = query.direction();
+        boolean outgoing = direction == EdgeDirection.OUT;
+        int maximumDegree = maximumDegree(environment);
+
+        List<Node> sorted = nodes.stream().distinct().sorted(NodeCmp::compareRDFTerms).toList();
+        Map<Node, Collector> collectors = new HashMap<>();
+        for (Node predicate : predicateFilters) {
+            for (Node node : sorted) {
+                Collector collector = collectors.computeIfAbsent(node, n -> new Collector(query, maximumDegree));
+                if (collector.done) {
+                    continue;
+                }
+                BiPredicate<Node, Node> visitor = (p, target) -> {
+                    if (outgoing && literal != null && !literal.test(target)) {
+                        return collector.skip();
+                    }
+                    TraversalEdge edge = TraversalEdge.of(p, direction, target);
+                    return kinds.contains(edge.getTarget().getNode().getKind()) ? collector.add(edge) :
+                           collector.skip();
+                };
+                if (index != null) {
+                    deadline.check();
+                    index.forEachEdge(node, predicate, direction, visitor);
+                    continue;
+                }
+                try (Stream<Quad> stream = deadline.checked(
+                        outgoing ? dsg.stream(Node.ANY, node, predicate, Node.ANY) :
+                        dsg.stream(Node.ANY, Node.ANY, predicate, node))) {
+                    Iterator<Edge> edges = stream.map(q -> new Edge(q.getPredicate(),
+                                                                    outgoing ? q.getObject() : q.getSubject()))
+                                                 .iterator();
+                    if (collector.sample == null) {
+                        edges = first(edges, collector.remaining());
+                    }
+                    while (edges.hasNext()) {
+                        Edge edge = edges.next();
+                        if (!visitor.test(edge.predicate(), edge.target())) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<Node, List<TraversalEdge>> results = new HashMap<>();
+        collectors.forEach((node, collector) -> {
+            List<TraversalEdge> edges = collector.edges();
+            if (!edges.isEmpty()) {
+                results.put(node, edges);
+            }
         });
+        return results;
+    }
+
+    /**
+     * Selects the first edges, in the order the dataset's indexes hold them, and sorts them into {@link #EDGE_ORDER}
+     * <p>
+     * No more edges are read than may still be visited, so the scan of a node with more edges than the maximum degree
+     * stops once the maximum degree is reached rather than reading every edge of the node.
+     * </p>
+     *
+     * @param edges Edges
+     * @param count Number of edges to select
+     * @return First edges, in order
+     */
+    private static Iterator<Edge> first(Iterator<Edge> edges, int count) {
+        List<Edge> first = new ArrayList<>();
+        while (first.size() < count && edges.hasNext()) {
+            first.add(edges.next());
+        }
+        first.sort(EDGE_ORDER);
+        return first.iterator();
+    }
+
+    /**
+     * An edge as found in the dataset, prior to any filtering
+     *
+     * @param predicate Predicate
+     * @param target    Target node
+     */
+    private record Edge(Node predicate, Node target) {
+    }
+
+    /**
+     * Collects the edges of a single node, applying the maximum degree and any paging and sampling arguments
+     */
+    private static final class Collector {
+        private final int maximumDegree;
+        private final Integer limit;
+        private final int offset;
+        private final Integer sample;
+        private final List<TraversalEdge> edges = new ArrayList<>();
+        private int visited;
+        private int matched;
+        private boolean done;
+
+        Collector(EdgeQuery query, int maximumDegree) {
+            this.maximumDegree = maximumDegree;
+            this.limit = (Integer) query.arguments().get(TraversalSchema.LIMIT_ARGUMENT);
+            this.offset = Objects.requireNonNullElse((Integer) query.arguments().get(TraversalSchema.OFFSET_ARGUMENT),
+                                                     0);
+            this.sample = (Integer) query.arguments().get(TraversalSchema.SAMPLE_ARGUMENT);
+            this.done = isFull();
+        }
+
+        /**
+         * Visits an edge that does not match the filters
+         *
+         * @return Whether to continue visiting edges
+         */
+        boolean skip() {
+            return visit();
+        }
+
+        /**
+         * Visits an edge that matches the filters
+         *
+         * @param edge Edge
+         * @return Whether to continue visiting edges
+         */
+        boolean add(TraversalEdge edge) {
+            if (!visit()) {
+                return false;
+            }
+            int position = this.matched++;
+            if (this.sample != null) {
+                // Reservoir sampling, each matching edge ends up in the sample with equal probability
+                if (position < this.sample) {
+                    this.edges.add(edge);
+                } else {
+                    int replace = ThreadLocalRandom.current().nextInt(position + 1);
+                    if (replace < this.sample) {
+                        this.edges.set(replace, edge);
+                    }
+                }
+            } else if (position >= this.offset) {
+                this.edges.add(edge);
+                this.done = isFull();
+            }
+            return !this.done;
+        }
+
+        private boolean visit() {
+            if (this.visited >= this.maximumDegree) {
+                this.done = true;
+                return false;
+            }
+            this.visited++;
+            return true;
+        }
+
+        /**
+         * Gets how many more edges may be visited before the maximum degree is reached
+         *
+         * @return Remaining edges
+         */
+        int remaining() {
+            return this.maximumDegree - this.visited;
+        }
+
+        private boolean isFull() {
+            return this.sample == null && this.limit != null && this.edges.size() >= this.limit;
+        }
+
+        List<TraversalEdge> edges() {
+            if (this.sample == null) {
+                return this.edges;
+            }
+            int from = Math.min(this.offset, this.edges.size());
+            int to = this.limit != null ? Math.min(from + this.limit, this.edges.size()) : this.edges.size();
+            return this.edges.subList(from, to);
+        }
+    }
+
+    /**
+     * The field, and its arguments, for which edges are requested
+     *
+     * @param direction Direction of the edges
+     * @param arguments Field arguments
+     */
+    private record EdgeQuery(EdgeDirection direction, Map<String, Object> arguments) {
+    }
+
+    /**
+     * A request for the edges of a node
+     *
+     * @param node  Node
+     * @param query Field and arguments
+     */
+    record EdgeRequest(Node node, EdgeQuery query) {
     }
 }
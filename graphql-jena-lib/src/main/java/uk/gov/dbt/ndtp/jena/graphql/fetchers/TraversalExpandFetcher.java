@@ -0,0 +1,289 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.system.Txn;
+import uk.gov.dbt.ndtp.jena.graphql.execution.AdjacencyIndex;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.TraversalSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.EdgeDirection;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.NodeKind;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.TraversalNode;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
+import uk.gov.dbt.ndtp.jena.graphql.utils.NodeFilter;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link DataFetcher} that expands the neighbourhood of a traversal node to a given depth as part of answering a
+ * Traversal GraphQL schema query
+ * <p>
+ * Rather than the client nesting {@code outgoing}/{@code incoming} fields once per hop, which re-expands any node that
+ * is reachable by more than one path and so grows exponentially with the depth, this runs a breadth first search within
+ * a single read transaction.  Each node is visited, and each edge returned, at most once, so the work done is linear in
+ * the size of the neighbourhood.  The search stops, and the expansion is marked as truncated, as soon as it would reach
+ * more than the maximum number of nodes, or return more than the maximum number of edges.
+ * </p>
+ * <p>
+ * As for the {@code outgoing}/{@code incoming} fields, see {@link TraversalEdgesFetcher}, at most the maximum degree
+ * edges are visited in each direction for any single node, and the edges are found via the execution's current
+ * {@link AdjacencyIndex}, if any, rather than by scanning the dataset.  Where a node has more edges than the maximum
+ * degree the expansion is marked as truncated, though the search continues from the other nodes.
+ * </p>
+ */
+public class TraversalExpandFetcher implements DataFetcher<Map<String, Object>> {
+
+    /**
+     * The maximum permitted depth of an expansion
+     */
+    public static final int MAXIMUM_DEPTH = 10;
+    /**
+     * The default limit on the number of nodes reached if the {@value TraversalSchema#MAX_NODES_ARGUMENT} argument is
+     * not given
+     */
+    public static final int DEFAULT_MAX_NODES = 1000;
+    /**
+     * The maximum permitted limit on the number of nodes reached
+     */
+    public static final int MAXIMUM_MAX_NODES = 10_000;
+    /**
+     * The default limit on the number of edges returned if the {@value TraversalSchema#MAX_EDGES_ARGUMENT} argument is
+     * not given
+     */
+    public static final int DEFAULT_MAX_EDGES = 10_000;
+    /**
+     * The maximum permitted limit on the number of edges returned
+     */
+    public static final int MAXIMUM_MAX_EDGES = 100_000;
+
+    /**
+     * Creates a traversal expand fetcher that finds the neighbourhood of a traversal node
+     */
+    public TraversalExpandFetcher() {
+        // Stateless class
+    }
+
+    @Override
+    public Map<String, Object> get(DataFetchingEnvironment environment) {
+        DatasetGraph dsg = environment.getLocalContext();
+        TraversalNode node = environment.getSource();
+
+        int depth = environment.getArgument(TraversalSchema.DEPTH_FIELD);
+        if (depth < 0 || depth > MAXIMUM_DEPTH) {
+            throw new IllegalArgumentException(
+                    TraversalSchema.DEPTH_FIELD + " must be between 0 and " + MAXIMUM_DEPTH);
+        }
+        Integer rawMaxNodes = environment.getArgument(TraversalSchema.MAX_NODES_ARGUMENT);
+        int maxNodes = rawMaxNodes != null ? rawMaxNodes : DEFAULT_MAX_NODES;
+        if (maxNodes < 1 || maxNodes > MAXIMUM_MAX_NODES) {
+            throw new IllegalArgumentException(
+                    TraversalSchema.MAX_NODES_ARGUMENT + " must be between 1 and " + MAXIMUM_MAX_NODES);
+        }
+        Integer rawMaxEdges = environment.getArgument(TraversalSchema.MAX_EDGES_ARGUMENT);
+        int maxEdges = rawMaxEdges != null ? rawMaxEdges : DEFAULT_MAX_EDGES;
+        if (maxEdges < 1 || maxEdges > MAXIMUM_MAX_EDGES) {
+            throw new IllegalArgumentException(
+                    TraversalSchema.MAX_EDGES_ARGUMENT + " must be between 1 and " + MAXIMUM_MAX_EDGES);
+        }
+        List<Node> predicates = NodeFilter.parseValues((Object) environment.getArgument(IANodeSchema.PREDICATE_FIELD));
+        EdgeDirection direction = parseDirection(environment.getArgument(TraversalSchema.DIRECTION_ARGUMENT));
+        EnumSet<NodeKind> kinds = NodeFilter.parseKinds(environment.getArgument(TraversalSchema.KINDS_ARGUMENT));
+        QueryDeadline deadline = QueryDeadline.of(environment);
+        int maximumDegree = TraversalEdgesFetcher.maximumDegree(environment);
+        List<EdgeDirection> directions = direction != null ? List.of(direction) : List.of(EdgeDirection.values());
+
+        return Txn.calculateRead(dsg, () -> {
+            AdjacencyIndex index = AdjacencyIndex.of(environment);
+            Search search = new Search(node.getNode().getNode(), kinds, maxNodes, maxEdges, maximumDegree);
+            List<Node> frontier = List.of(node.getNode().getNode());
+            for (int level = 1; level <= depth && !frontier.isEmpty() && !search.stopped; level++) {
+                List<Node> next = new ArrayList<>();
+                for (Node source : frontier) {
+                    for (EdgeDirection d : directions) {
+                        search.expand(dsg, index, deadline, source, predicates, d, level, next);
+                        if (search.stopped) {
+                            break;
+                        }
+                    }
+                    if (search.stopped) {
+                        break;
+                    }
+                }
+                frontier = next;
+            }
+            return search.toResult();
+        });
+    }
+
+    /**
+     * Parses the direction argument
+     *
+     * @param rawDirection Raw direction, may be {@code null} to follow edges in both directions
+     * @return Direction, or {@code null} for both directions
+     */
+    static EdgeDirection parseDirection(Object rawDirection) {
+        if (rawDirection == null) {
+            return null;
+        } else if (rawDirection instanceof EdgeDirection direction) {
+            return direction;
+        } else {
+            return EdgeDirection.valueOf(rawDirection.toString());
+        }
+    }
+
+    /**
+     * The state of a breadth first search
+     */
+    private static final class Search {
+        private final EnumSet<NodeKind> kinds;
+        private final int maxNodes;
+        private final int maxEdges;
+        private final int maximumDegree;
+        private final Map<Node, Integer> depths = new HashMap<>();
+        private final List<Node> order = new ArrayList<>();
+        private final Set<Triple> edges = new LinkedHashSet<>();
+        private boolean truncated = false;
+        private boolean stopped = false;
+
+        private Search(Node start, EnumSet<NodeKind> kinds, int maxNodes, int maxEdges, int maximumDegree) {
+            this.kinds = kinds;
+            this.maxNodes = maxNodes;
+            this.maxEdges = maxEdges;
+            this.maximumDegree = maximumDegree;
+            this.depths.put(start, 0);
+            this.order.add(start);
+        }
+
+        /**
+         * Follows the edges of a node in one direction, visiting at most the maximum degree edges across all the
+         * predicates, and adding any targets that have not yet been reached to the next frontier
+         *
+         * @param dsg        Dataset
+         * @param index      Adjacency index, {@code null} to scan the dataset
+         * @param deadline   Query deadline
+         * @param source     Node whose edges are followed
+         * @param predicates Predicates of the edges to follow
+         * @param direction  Direction in which the edges are followed
+         * @param level      Depth of the targets
+         * @param next       Next frontier
+         */
+        private void expand(DatasetGraph dsg, AdjacencyIndex index, QueryDeadline deadline, Node source,
+                            List<Node> predicates, EdgeDirection direction, int level, List<Node> next) {
+            boolean outgoing = direction == EdgeDirection.OUT;
+            int[] visited = { 0 };
+            BiPredicate<Node, Node> visitor = (predicate, target) -> {
+                if (visited[0]++ >= this.maximumDegree) {
+                    this.truncated = true;
+                    return false;
+                }
+                return visit(outgoing ? Triple.create(source, predicate, target) :
+                             Triple.create(target, predicate, source), target, level, next);
+            };
+            for (Node predicate : predicates) {
+                if (index != null) {
+                    deadline.check();
+                    index.forEachEdge(source, predicate, direction, visitor);
+                } else {
+                    try (Stream<Quad> quads = deadline.checked(
+                            outgoing ? dsg.stream(Node.ANY, source, predicate, Node.ANY) :
+                            dsg.stream(Node.ANY, Node.ANY, predicate, source))) {
+                        Iterator<Quad> iter = quads.iterator();
+                        while (iter.hasNext()) {
+                            Quad quad = iter.next();
+                            if (!visitor.test(quad.getPredicate(), outgoing ? quad.getObject() : quad.getSubject())) {
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (this.stopped || visited[0] > this.maximumDegree) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Visits an edge, adding its target to the next frontier if it has not yet been reached
+         *
+         * @param edge   Edge
+         * @param target Target of the edge
+         * @param level  Depth of the target
+         * @param next   Next frontier
+         * @return True if the search should continue, false if it has been stopped
+         */
+        private boolean visit(Triple edge, Node target, int level, List<Node> next) {
+            if (!this.depths.containsKey(target)) {
+                if (!this.kinds.contains(new WrappedNode(target).getKind())) {
+                    return true;
+                }
+                if (this.order.size() >= this.maxNodes) {
+                    return stop();
+                }
+                this.depths.put(target, level);
+                this.order.add(target);
+                next.add(target);
+            }
+            if (!this.edges.contains(edge)) {
+                if (this.edges.size() >= this.maxEdges) {
+                    return stop();
+                }
+                this.edges.add(edge);
+            }
+            return true;
+        }
+
+        private boolean stop() {
+            this.truncated = true;
+            this.stopped = true;
+            return false;
+        }
+
+        private Map<String, Object> toResult() {
+            List<Map<String, Object>> nodes = new ArrayList<>(this.order.size());
+            for (Node n : this.order) {
+                nodes.add(Map.of(TraversalSchema.NODE_FIELD, new WrappedNode(n), TraversalSchema.DEPTH_FIELD,
+                                 this.depths.get(n)));
+            }
+            return Map.of(TraversalSchema.NODES_FIELD, nodes, TraversalSchema.EDGES_FIELD,
+                          new ArrayList<>(this.edges), TraversalSchema.TRUNCATED_FIELD, this.truncated);
+        }
+    }
+}
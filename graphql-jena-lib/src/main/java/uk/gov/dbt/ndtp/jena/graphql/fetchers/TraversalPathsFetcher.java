@@ -0,0 +1,344 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.system.Txn;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.TraversalSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.EdgeDirection;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
+import uk.gov.dbt.ndtp.jena.graphql.utils.NodeFilter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * A {@link DataFetcher} that finds the shortest paths between two nodes as part of answering a Traversal GraphQL schema
+ * query
+ * <p>
+ * This runs a bidirectional breadth first search, one search outwards from the {@code from} node and another backwards
+ * from the {@code to} node, always expanding whichever search currently has the smaller frontier by a further level.
+ * As soon as the searches meet the shortest paths are known, and since each search only needs to reach about half the
+ * length of the paths the number of nodes visited is typically far smaller than that of a single search.  All the
+ * shortest paths are returned, up to the given limit, as the sequences of edges from the {@code from} node to the
+ * {@code to} node.
+ * </p>
+ * <p>
+ * The two searches together visit at most the maximum number of nodes, once they would visit more the search stops and
+ * only those shortest paths already found, if any, are returned, so two distant nodes in a densely connected dataset
+ * cannot cause an unbounded search.
+ * </p>
+ */
+public class TraversalPathsFetcher implements DataFetcher<List<Map<String, Object>>> {
+
+    /**
+     * The default maximum length of paths if the {@value TraversalSchema#MAX_DEPTH_ARGUMENT} argument is not given
+     */
+    public static final int DEFAULT_MAX_DEPTH = 6;
+    /**
+     * The default limit on the number of paths if the {@value TraversalSchema#LIMIT_ARGUMENT} argument is not given
+     */
+    public static final int DEFAULT_LIMIT = 10;
+    /**
+     * The maximum permitted limit on the number of paths
+     */
+    public static final int MAXIMUM_LIMIT = 1000;
+    /**
+     * The default limit on the number of nodes visited if the {@value TraversalSchema#MAX_NODES_ARGUMENT} argument is
+     * not given
+     */
+    public static final int DEFAULT_MAX_NODES = 10_000;
+    /**
+     * The maximum permitted limit on the number of nodes visited
+     */
+    public static final int MAXIMUM_MAX_NODES = 100_000;
+
+    /**
+     * Creates a traversal paths fetcher that finds the shortest paths between two nodes
+     */
+    public TraversalPathsFetcher() {
+        // Stateless class
+    }
+
+    @Override
+    public List<Map<String, Object>> get(DataFetchingEnvironment environment) {
+        DatasetGraph dsg = environment.getLocalContext();
+        Node from =
+                parseEndpoint(environment.getArgument(TraversalSchema.FROM_ARGUMENT), TraversalSchema.FROM_ARGUMENT);
+        Node to = parseEndpoint(environment.getArgument(TraversalSchema.TO_ARGUMENT), TraversalSchema.TO_ARGUMENT);
+        Integer rawMaxDepth = environment.getArgument(TraversalSchema.MAX_DEPTH_ARGUMENT);
+        int maxDepth = rawMaxDepth != null ? rawMaxDepth : DEFAULT_MAX_DEPTH;
+        if (maxDepth < 0 || maxDepth > TraversalExpandFetcher.MAXIMUM_DEPTH) {
+            throw new IllegalArgumentException(TraversalSchema.MAX_DEPTH_ARGUMENT + " must be between 0 and "
+                                               + TraversalExpandFetcher.MAXIMUM_DEPTH);
+        }
+        Integer rawLimit = environment.getArgument(TraversalSchema.LIMIT_ARGUMENT);
+        int limit = rawLimit != null ? rawLimit : DEFAULT_LIMIT;
+        if (limit < 1 || limit > MAXIMUM_LIMIT) {
+            throw new IllegalArgumentException(
+                    TraversalSchema.LIMIT_ARGUMENT + " must be between 1 and " + MAXIMUM_LIMIT);
+        }
+        Integer rawMaxNodes = environment.getArgument(TraversalSchema.MAX_NODES_ARGUMENT);
+        int maxNodes = rawMaxNodes != null ? rawMaxNodes : DEFAULT_MAX_NODES;
+        if (maxNodes < 1 || maxNodes > MAXIMUM_MAX_NODES) {
+            throw new IllegalArgumentException(
+                    TraversalSchema.MAX_NODES_ARGUMENT + " must be between 1 and " + MAXIMUM_MAX_NODES);
+        }
+        List<Node> predicates = NodeFilter.parseValues((Object) environment.getArgument(IANodeSchema.PREDICATE_FIELD));
+        EdgeDirection direction =
+                TraversalExpandFetcher.parseDirection(environment.getArgument(TraversalSchema.DIRECTION_ARGUMENT));
+        QueryDeadline deadline = QueryDeadline.of(environment);
+
+        return Txn.calculateRead(dsg, () -> {
+            // The backwards search follows edges in the opposite direction to the paths
+            Search forward = new Search(from, direction);
+            Search backward = new Search(to, direction == null ? null :
+                                             direction == EdgeDirection.OUT ? EdgeDirection.IN : EdgeDirection.OUT);
+            List<Node> meeting = from.equals(to) ? List.of(from) : List.of();
+            boolean truncated = false;
+            while (meeting.isEmpty() && !truncated && forward.depth + backward.depth < maxDepth
+                    && !forward.frontier.isEmpty() && !backward.frontier.isEmpty()) {
+                Search expanding = forward.frontier.size() <= backward.frontier.size() ? forward : backward;
+                Search other = expanding == forward ? backward : forward;
+                truncated = !expanding.expand(dsg, predicates, deadline, maxNodes - other.depths.size());
+                meeting = expanding.meet(other);
+            }
+            return toPaths(from, forward, backward, meeting, limit);
+        });
+    }
+
+    private static Node parseEndpoint(Map<String, Object> rawFilter, String argument) {
+        Node node = NodeFilter.parse(rawFilter);
+        if (!node.isConcrete()) {
+            throw new IllegalArgumentException("The " + argument + " argument must be a concrete node, not a variable");
+        }
+        return node;
+    }
+
+    /**
+     * Enumerates the shortest paths through the nodes at which the searches met
+     *
+     * @param from     Node from which the paths start
+     * @param forward  Forward search
+     * @param backward Backward search
+     * @param meeting  Nodes at which the searches met, all of which lie on a shortest path
+     * @param limit    Maximum number of paths
+     * @return Paths
+     */
+    private static List<Map<String, Object>> toPaths(Node from, Search forward, Search backward, List<Node> meeting,
+                                                     int limit) {
+        List<Map<String, Object>> paths = new ArrayList<>();
+        Deque<Triple> edges = new ArrayDeque<>();
+        for (Node node : meeting) {
+            //@formatter:off
+            boolean more = forward.walk(node, edges, true,
+                                        () -> backward.walk(node, edges, false, () -> {
+                                            paths.add(toPath(from, edges));
+                                            return paths.size() < limit;
+                                        }));
+            //@formatter:on
+            if (!more) {
+                break;
+            }
+        }
+        return paths;
+    }
+
+    private static Map<String, Object> toPath(Node from, Deque<Triple> edges) {
+        List<WrappedNode> nodes = new ArrayList<>(edges.size() + 1);
+        Node current = from;
+        nodes.add(new WrappedNode(current));
+        for (Triple edge : edges) {
+            current = edge.getSubject().equals(current) ? edge.getObject() : edge.getSubject();
+            nodes.add(new WrappedNode(current));
+        }
+        return Map.of(TraversalSchema.NODES_FIELD, nodes, TraversalSchema.EDGES_FIELD, new ArrayList<>(edges));
+    }
+
+    /**
+     * An edge by which a node was reached from a node one level closer to the origin of a search
+     *
+     * @param previous Node one level closer to the origin
+     * @param edge     Edge
+     */
+    private record Step(Node previous, Triple edge) {
+    }
+
+    /**
+     * The state of one direction of a bidirectional breadth first search
+     */
+    private static final class Search {
+        private final EdgeDirection direction;
+        private final Map<Node, Integer> depths = new HashMap<>();
+        private final Map<Node, Set<Step>> steps = new HashMap<>();
+        private List<Node> frontier;
+        private int depth = 0;
+
+        private Search(Node origin, EdgeDirection direction) {
+            this.direction = direction;
+            this.depths.put(origin, 0);
+            this.frontier = List.of(origin);
+        }
+
+        /**
+         * Expands the search by a further level, recording every edge by which each newly reached node is reached
+         * <p>
+         * If the search would visit more than the maximum number of nodes it stops part way through the level, leaving
+         * the nodes reached thus far as the frontier.
+         * </p>
+         *
+         * @param dsg        Dataset
+         * @param predicates Predicates of the edges to follow
+         * @param deadline   Query deadline
+         * @param maxNodes   Maximum number of nodes this search may visit, including those already visited
+         * @return True if the level was fully expanded, false if the search was truncated
+         */
+        private boolean expand(DatasetGraph dsg, List<Node> predicates, QueryDeadline deadline, int maxNodes) {
+            int level = this.depth + 1;
+            List<Node> next = new ArrayList<>();
+            boolean complete = true;
+            for (Iterator<Node> sources = this.frontier.iterator(); complete && sources.hasNext(); ) {
+                Node source = sources.next();
+                for (Node predicate : predicates) {
+                    if (this.direction != EdgeDirection.IN && !visit(
+                            deadline.checked(dsg.stream(Node.ANY, source, predicate, Node.ANY)), source, true, level,
+                            next, maxNodes)) {
+                        complete = false;
+                        break;
+                    }
+                    if (this.direction != EdgeDirection.OUT && !visit(
+                            deadline.checked(dsg.stream(Node.ANY, Node.ANY, predicate, source)), source, false, level,
+                            next, maxNodes)) {
+                        complete = false;
+                        break;
+                    }
+                }
+            }
+            this.frontier = next;
+            this.depth = level;
+            return complete;
+        }
+
+        private boolean visit(Stream<Quad> quads, Node source, boolean outgoing, int level, List<Node> next,
+                              int maxNodes) {
+            try (quads) {
+                Iterator<Quad> iter = quads.iterator();
+                while (iter.hasNext()) {
+                    Quad quad = iter.next();
+                    Node target = outgoing ? quad.getObject() : quad.getSubject();
+                    Integer reached = this.depths.get(target);
+                    if (reached == null) {
+                        if (this.depths.size() >= maxNodes) {
+                            return false;
+                        }
+                        this.depths.put(target, level);
+                        next.add(target);
+                        reached = level;
+                    }
+                    if (reached == level) {
+                        this.steps.computeIfAbsent(target, n -> new LinkedHashSet<>())
+                                  .add(new Step(source, quad.asTriple()));
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Finds the nodes of the current frontier at which this search meets the other search, keeping only those on
+         * the shortest paths
+         *
+         * @param other Other search
+         * @return Meeting nodes, empty if the searches have not yet met
+         */
+        private List<Node> meet(Search other) {
+            List<Node> meeting = new ArrayList<>();
+            int shortest = Integer.MAX_VALUE;
+            for (Node node : this.frontier) {
+                Integer otherDepth = other.depths.get(node);
+                if (otherDepth == null || otherDepth > shortest) {
+                    continue;
+                }
+                if (otherDepth < shortest) {
+                    meeting.clear();
+                    shortest = otherDepth;
+                }
+                meeting.add(node);
+            }
+            return meeting;
+        }
+
+        /**
+         * Walks every sequence of recorded steps from a node back to the origin of this search, adding the edges to the
+         * path as it goes
+         *
+         * @param node     Node to walk back from
+         * @param path     Path, to which edges are added at the start when walking the forward search, or at the end
+         *                 when walking the backward search, so that the path always runs from the start to the end
+         * @param prepend  Whether to add edges at the start of the path
+         * @param complete Called when the origin is reached, returns whether to continue walking
+         * @return True if walking should continue, false otherwise
+         */
+        private boolean walk(Node node, Deque<Triple> path, boolean prepend, BooleanSupplier complete) {
+            Set<Step> reachedBy = this.steps.get(node);
+            if (reachedBy == null) {
+                return complete.getAsBoolean();
+            }
+            for (Step step : reachedBy) {
+                if (prepend) {
+                    path.addFirst(step.edge());
+                } else {
+                    path.addLast(step.edge());
+                }
+                boolean more = walk(step.previous(), path, prepend, complete);
+                if (prepend) {
+                    path.removeFirst();
+                } else {
+                    path.removeLast();
+                }
+                if (!more) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
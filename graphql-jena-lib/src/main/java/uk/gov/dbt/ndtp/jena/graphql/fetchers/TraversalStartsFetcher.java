@@ -29,6 +29,8 @@ import graphql.schema.DataFetchingEnvironment;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import uk.gov.dbt.ndtp.jena.graphql.execution.AdjacencyIndex;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.TraversalSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.TraversalNode;
 import uk.gov.dbt.ndtp.jena.graphql.utils.NodeFilter;
@@ -39,6 +41,10 @@ import org.apache.jena.system.Txn;
 
 /**
  * A {@link DataFetcher} that generates the starting point of a Traversal GraphQL schema query
+ * <p>
+ * When the execution has a current {@link AdjacencyIndex} the starting nodes are found via that index rather than by
+ * scanning the dataset.
+ * </p>
  */
 public class TraversalStartsFetcher implements DataFetcher<List<TraversalNode>> {
 
@@ -53,13 +59,24 @@ public class TraversalStartsFetcher implements DataFetcher<List<TraversalNode>>
     public List<TraversalNode> get(DataFetchingEnvironment environment) {
         DatasetGraph dsg = environment.getLocalContext();
         List<Node> startFilters = NodeFilter.parseList(environment.getArgument(TraversalSchema.STARTS_ARGUMENT));
+        QueryDeadline deadline = QueryDeadline.of(environment);
 
-        return Txn.calculateRead(dsg, () -> startFilters.stream()
-                                                        .distinct()
-                                                        .flatMap(n -> dsg.stream(Node.ANY, n, Node.ANY, Node.ANY))
-                                                        .map(Quad::getSubject)
-                                                        .distinct()
-                                                        .map(TraversalNode::of)
-                                                        .collect(Collectors.toList()));
+        return Txn.calculateRead(dsg, () -> {
+            // Whether an index is current depends on the version of the data the transaction sees
+            AdjacencyIndex index = AdjacencyIndex.of(environment);
+            if (index != null) {
+                return deadline.checked(startFilters.stream().distinct().flatMap(n -> index.subjects(n).stream()))
+                               .distinct()
+                               .map(TraversalNode::of)
+                               .collect(Collectors.toList());
+            }
+            return deadline.checked(startFilters.stream()
+                                                .distinct()
+                                                .flatMap(n -> dsg.stream(Node.ANY, n, Node.ANY, Node.ANY)))
+                           .map(Quad::getSubject)
+                           .distinct()
+                           .map(TraversalNode::of)
+                           .collect(Collectors.toList());
+        });
     }
 }
@@ -0,0 +1,82 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.system.Txn;
+import uk.gov.dbt.ndtp.jena.graphql.execution.AdjacencyIndex;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.TraversalSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.EdgeDirection;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.TraversalNode;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A {@link DataFetcher} that determines whether the edges of a node exceed the maximum degree, per
+ * {@link TraversalEdgesFetcher#maximumDegree(DataFetchingEnvironment)}, and so are truncated when the node is
+ * traversed, as part of answering a Traversal GraphQL schema query
+ * <p>
+ * At most one more edge than the maximum degree is counted in each direction, so this is cheap even for nodes with a
+ * very large number of edges.
+ * </p>
+ */
+public class TraversalTruncatedFetcher implements DataFetcher<Boolean> {
+
+    /**
+     * Creates a new fetcher that determines whether a traversal node's edges are truncated
+     */
+    public TraversalTruncatedFetcher() {
+        // Stateless class
+    }
+
+    @Override
+    public Boolean get(DataFetchingEnvironment environment) {
+        TraversalNode source = environment.getSource();
+        Node node = source.getNode().getNode();
+        EdgeDirection direction =
+                TraversalExpandFetcher.parseDirection(environment.getArgument(TraversalSchema.DIRECTION_ARGUMENT));
+        List<EdgeDirection> directions = direction != null ? List.of(direction) : List.of(EdgeDirection.values());
+        int maximumDegree = TraversalEdgesFetcher.maximumDegree(environment);
+
+        DatasetGraph dsg = environment.getLocalContext();
+        return Txn.calculateRead(dsg, () -> {
+            // Whether an index is current depends on the version of the data the transaction sees
+            AdjacencyIndex index = AdjacencyIndex.of(environment);
+            if (index != null) {
+                return directions.stream().anyMatch(d -> index.degree(node, d) > maximumDegree);
+            }
+            return directions.stream().anyMatch(d -> {
+                try (Stream<?> edges = d == EdgeDirection.OUT ? dsg.stream(Node.ANY, node, Node.ANY, Node.ANY) :
+                                       dsg.stream(Node.ANY, Node.ANY, Node.ANY, node)) {
+                    return edges.limit(maximumDegree + 1L).count() > maximumDegree;
+                }
+            });
+        });
+    }
+}
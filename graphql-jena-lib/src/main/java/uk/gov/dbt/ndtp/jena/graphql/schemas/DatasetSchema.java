@@ -44,4 +44,199 @@ public class DatasetSchema extends IANodeSchema {
      * Quads query type
      */
     public static final String QUADS_QUERY_TYPE = "Quads";
+
+    /**
+     * Quads connection field, a paginated variant of the {@value #QUADS_FIELD} field
+     */
+    public static final String QUADS_CONNECTION_FIELD = "quadsConnection";
+
+    /**
+     * Quad connection type
+     */
+    public static final String QUAD_CONNECTION_TYPE = "QuadConnection";
+
+    /**
+     * Quad edge type
+     */
+    public static final String QUAD_EDGE_TYPE = "QuadEdge";
+
+    /**
+     * Page info type
+     */
+    public static final String PAGE_INFO_TYPE = "PageInfo";
+
+    /**
+     * First argument, the maximum number of items to return in a page
+     */
+    public static final String FIRST_ARGUMENT = "first";
+
+    /**
+     * After argument, the cursor after which the page starts
+     */
+    public static final String AFTER_ARGUMENT = "after";
+
+    /**
+     * Edges field
+     */
+    public static final String EDGES_FIELD = "edges";
+
+    /**
+     * Page info field
+     */
+    public static final String PAGE_INFO_FIELD = "pageInfo";
+
+    /**
+     * Cursor field
+     */
+    public static final String CURSOR_FIELD = "cursor";
+
+    /**
+     * Node field
+     */
+    public static final String NODE_FIELD = "node";
+
+    /**
+     * Has next page field
+     */
+    public static final String HAS_NEXT_PAGE_FIELD = "hasNextPage";
+
+    /**
+     * Has previous page field
+     */
+    public static final String HAS_PREVIOUS_PAGE_FIELD = "hasPreviousPage";
+
+    /**
+     * Start cursor field
+     */
+    public static final String START_CURSOR_FIELD = "startCursor";
+
+    /**
+     * End cursor field
+     */
+    public static final String END_CURSOR_FIELD = "endCursor";
+
+    /**
+     * Count field
+     */
+    public static final String COUNT_FIELD = "count";
+
+    /**
+     * Distinct field
+     */
+    public static final String DISTINCT_FIELD = "distinct";
+
+    /**
+     * Quad position type
+     */
+    public static final String QUAD_POSITION_TYPE = "QuadPosition";
+
+    /**
+     * Position argument, the position within a quad from which nodes are selected
+     */
+    public static final String POSITION_ARGUMENT = "position";
+
+    /**
+     * Limit argument, the maximum number of results to consider
+     */
+    public static final String LIMIT_ARGUMENT = "limit";
+
+    /**
+     * Subjects argument, a list of values any of which the subject may match
+     */
+    public static final String SUBJECTS_ARGUMENT = "subjects";
+
+    /**
+     * Predicates argument, a list of values any of which the predicate may match
+     */
+    public static final String PREDICATES_ARGUMENT = "predicates";
+
+    /**
+     * Objects argument, a list of values any of which the object may match
+     */
+    public static final String OBJECTS_ARGUMENT = "objects";
+
+    /**
+     * Graphs argument, a list of values any of which the graph may match
+     */
+    public static final String GRAPHS_ARGUMENT = "graphs";
+
+    /**
+     * Match field, answers a basic graph pattern
+     */
+    public static final String MATCH_FIELD = "match";
+
+    /**
+     * Patterns argument, the quad patterns to be joined
+     */
+    public static final String PATTERNS_ARGUMENT = "patterns";
+
+    /**
+     * Order by argument, the sort conditions to apply to solutions
+     */
+    public static final String ORDER_BY_ARGUMENT = "orderBy";
+
+    /**
+     * Quad pattern input type
+     */
+    public static final String QUAD_PATTERN_TYPE = "QuadPattern";
+
+    /**
+     * Order condition input type
+     */
+    public static final String ORDER_CONDITION_TYPE = "OrderCondition";
+
+    /**
+     * Solution type
+     */
+    public static final String SOLUTION_TYPE = "Solution";
+
+    /**
+     * Binding type
+     */
+    public static final String BINDING_TYPE = "Binding";
+
+    /**
+     * Bindings field of a solution
+     */
+    public static final String BINDINGS_FIELD = "bindings";
+
+    /**
+     * Variable field, the name of a variable
+     */
+    public static final String VARIABLE_FIELD = "variable";
+
+    /**
+     * Descending field of an order condition
+     */
+    public static final String DESCENDING_FIELD = "descending";
+
+    /**
+     * Quads mutation type
+     */
+    public static final String QUADS_MUTATION_TYPE = "QuadsMutation";
+
+    /**
+     * Add quads field, a mutation that adds quads to the dataset
+     */
+    public static final String ADD_QUADS_FIELD = "addQuads";
+
+    /**
+     * Delete quads field, a mutation that deletes specific quads from the dataset
+     */
+    public static final String DELETE_QUADS_FIELD = "deleteQuads";
+
+    /**
+     * Delete pattern field, a mutation that deletes all quads matching a filter from the dataset
+     */
+    public static final String DELETE_PATTERN_FIELD = "deletePattern";
+
+    /**
+     * Quads argument, the list of quads to be added or deleted by a mutation
+     */
+    public static final String QUADS_ARGUMENT = "quads";
+
+    /**
+     * Quad input type
+     */
+    public static final String QUAD_INPUT_TYPE = "QuadInput";
 }
@@ -83,4 +83,40 @@ public class IANodeSchema {
      * Triple field
      */
     public static final String TRIPLE_FIELD = "triple";
+    /**
+     * Literal filter type
+     */
+    public static final String LITERAL_FILTER_TYPE = "LiteralFilter";
+    /**
+     * Literal argument, a filter on the values of literals
+     */
+    public static final String LITERAL_ARGUMENT = "literal";
+    /**
+     * Prefix field of a literal filter
+     */
+    public static final String PREFIX_FIELD = "prefix";
+    /**
+     * Regex field of a literal filter
+     */
+    public static final String REGEX_FIELD = "regex";
+    /**
+     * Flags field of a literal filter
+     */
+    public static final String FLAGS_FIELD = "flags";
+    /**
+     * Greater than field of a literal filter
+     */
+    public static final String GREATER_THAN_FIELD = "greaterThan";
+    /**
+     * Greater than or equal field of a literal filter
+     */
+    public static final String GREATER_THAN_OR_EQUAL_FIELD = "greaterThanOrEqual";
+    /**
+     * Less than field of a literal filter
+     */
+    public static final String LESS_THAN_FIELD = "lessThan";
+    /**
+     * Less than or equal field of a literal filter
+     */
+    public static final String LESS_THAN_OR_EQUAL_FIELD = "lessThanOrEqual";
 }
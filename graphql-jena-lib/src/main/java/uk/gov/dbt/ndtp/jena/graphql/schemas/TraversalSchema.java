@@ -84,4 +84,89 @@ public class TraversalSchema extends IANodeSchema {
      * Incoming field
      */
     public static final String INCOMING_FIELD = "incoming";
+
+    /**
+     * Expand field, i.e. a multi-hop breadth first search from a traversal node
+     */
+    public static final String EXPAND_FIELD = "expand";
+
+    /**
+     * Traversal Expansion type
+     */
+    public static final String TRAVERSAL_EXPANSION_TYPE = "TraversalExpansion";
+
+    /**
+     * Reached Node type
+     */
+    public static final String REACHED_NODE_TYPE = "ReachedNode";
+
+    /**
+     * Depth field, also used as the argument giving the maximum depth of an expansion
+     */
+    public static final String DEPTH_FIELD = "depth";
+
+    /**
+     * The direction argument used to restrict the direction of the edges followed by an expansion
+     */
+    public static final String DIRECTION_ARGUMENT = "direction";
+
+    /**
+     * The maxNodes argument used to limit the number of nodes reached by an expansion, or visited when finding paths
+     */
+    public static final String MAX_NODES_ARGUMENT = "maxNodes";
+
+    /**
+     * The maxEdges argument used to limit the number of edges returned by an expansion
+     */
+    public static final String MAX_EDGES_ARGUMENT = "maxEdges";
+
+    /**
+     * Edges field
+     */
+    public static final String EDGES_FIELD = "edges";
+
+    /**
+     * Truncated field
+     */
+    public static final String TRUNCATED_FIELD = "truncated";
+
+    /**
+     * Paths field, i.e. the shortest paths between two nodes
+     */
+    public static final String PATHS_FIELD = "paths";
+
+    /**
+     * Traversal Path type
+     */
+    public static final String TRAVERSAL_PATH_TYPE = "TraversalPath";
+
+    /**
+     * The from argument used to define the node at which paths start
+     */
+    public static final String FROM_ARGUMENT = "from";
+
+    /**
+     * The to argument used to define the node at which paths end
+     */
+    public static final String TO_ARGUMENT = "to";
+
+    /**
+     * The maxDepth argument used to limit the length of paths
+     */
+    public static final String MAX_DEPTH_ARGUMENT = "maxDepth";
+
+    /**
+     * The limit argument used to limit the number of paths, or edges
+     */
+    public static final String LIMIT_ARGUMENT = "limit";
+
+    /**
+     * The offset argument used to skip edges
+     */
+    public static final String OFFSET_ARGUMENT = "offset";
+
+    /**
+     * The sample argument used to randomly sample edges
+     */
+    public static final String SAMPLE_ARGUMENT = "sample";
 }
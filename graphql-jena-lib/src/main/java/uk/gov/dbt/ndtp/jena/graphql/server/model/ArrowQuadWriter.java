@@ -0,0 +1,538 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.server.model;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.Quad;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes quads as an <a href="https://arrow.apache.org/docs/format/Columnar.html#ipc-streaming-format">Apache Arrow IPC
+ * stream</a>
+ * <p>
+ * The stream has a column for each of the {@code kind}, {@code value}, {@code datatype} and {@code language} of each of
+ * the {@code subject}, {@code predicate}, {@code object} and {@code graph} of the quads, named e.g.
+ * {@code subject.kind}, holding the same values as the corresponding fields of the GraphQL {@code Node} type.  Every
+ * column is a dictionary encoded string column, since the same values, e.g. predicates and graphs, tend to recur many
+ * times within a result.
+ * </p>
+ * <p>
+ * Quads are written in record batches as they are consumed from the iterator, preceded by the dictionaries for that
+ * batch, which replace those of the previous batch.  So memory usage is bounded by the batch size regardless of the
+ * number of quads written.
+ * </p>
+ * <p>
+ * This writes the stream format directly, rather than depending upon the Arrow Java libraries, since only this single
+ * fixed schema is ever needed.  The metadata of each message is encoded by a minimal FlatBuffers encoder sufficient for
+ * the Arrow message types used.
+ * </p>
+ */
+public final class ArrowQuadWriter {
+
+    /**
+     * The default number of quads in each record batch
+     */
+    public static final int DEFAULT_BATCH_SIZE = 8_192;
+
+    private static final String[] POSITIONS = {
+            IANodeSchema.SUBJECT_FIELD, IANodeSchema.PREDICATE_FIELD, IANodeSchema.OBJECT_FIELD,
+            IANodeSchema.GRAPH_FIELD
+    };
+    private static final String[] ATTRIBUTES = {
+            IANodeSchema.KIND_FIELD, IANodeSchema.VALUE_FIELD, IANodeSchema.DATATYPE_FIELD,
+            IANodeSchema.LANGUAGE_FIELD
+    };
+    private static final int COLUMNS = POSITIONS.length * ATTRIBUTES.length;
+
+    private static final int CONTINUATION = 0xFFFFFFFF;
+    private static final short METADATA_VERSION_V5 = 4;
+    private static final byte HEADER_SCHEMA = 1;
+    private static final byte HEADER_DICTIONARY_BATCH = 2;
+    private static final byte HEADER_RECORD_BATCH = 3;
+    private static final byte TYPE_UTF8 = 5;
+
+    private final OutputStream output;
+    private final int batchSize;
+    private final int[][] indices;
+    private final List<Map<String, Integer>> dictionaries = new ArrayList<>(COLUMNS);
+    private final List<List<String>> values = new ArrayList<>(COLUMNS);
+    private int rows;
+
+    private ArrowQuadWriter(OutputStream output, int batchSize) {
+        this.output = output;
+        this.batchSize = batchSize;
+        this.indices = new int[COLUMNS][batchSize];
+        for (int i = 0; i < COLUMNS; i++) {
+            this.dictionaries.add(new HashMap<>());
+            this.values.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Writes the quads as an Arrow IPC stream, using the {@link #DEFAULT_BATCH_SIZE}
+     * <p>
+     * The output stream is flushed, but not closed, once the quads have been written.
+     * </p>
+     *
+     * @param quads  Quads
+     * @param output Output stream to write to
+     * @return Number of quads written
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public static long write(Iterator<Quad> quads, OutputStream output) throws IOException {
+        return write(quads, output, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Writes the quads as an Arrow IPC stream
+     * <p>
+     * The output stream is flushed, but not closed, once the quads have been written.
+     * </p>
+     *
+     * @param quads     Quads
+     * @param output    Output stream to write to
+     * @param batchSize Maximum number of quads in each record batch
+     * @return Number of quads written
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public static long write(Iterator<Quad> quads, OutputStream output, int batchSize) throws IOException {
+        Objects.requireNonNull(quads, "Cannot write null quads");
+        Objects.requireNonNull(output, "Cannot write quads to a null output stream");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than zero");
+        }
+        return new ArrowQuadWriter(output, batchSize).writeStream(quads);
+    }
+
+    private long writeStream(Iterator<Quad> quads) throws IOException {
+        writeMessage(HEADER_SCHEMA, schema(), new Body());
+        long written = 0;
+        boolean anyBatches = false;
+        while (quads.hasNext()) {
+            add(quads.next());
+            written++;
+            if (this.rows == this.batchSize) {
+                writeBatch();
+                anyBatches = true;
+            }
+        }
+        if (this.rows > 0 || !anyBatches) {
+            // Even an empty stream carries its, empty, dictionaries so readers that expect them can read it
+            writeBatch();
+        }
+        writeInt(this.output, CONTINUATION);
+        writeInt(this.output, 0);
+        this.output.flush();
+        return written;
+    }
+
+    private void add(Quad quad) {
+        addNode(0, quad.getSubject());
+        addNode(1, quad.getPredicate());
+        addNode(2, quad.getObject());
+        addNode(3, quad.getGraph());
+        this.rows++;
+    }
+
+    private void addNode(int position, Node node) {
+        WrappedNode wrapped = new WrappedNode(node);
+        int column = position * ATTRIBUTES.length;
+        addValue(column, wrapped.getKind().name());
+        addValue(column + 1, wrapped.getValue());
+        addValue(column + 2, wrapped.getDatatype());
+        addValue(column + 3, wrapped.getLanguage());
+    }
+
+    private void addValue(int column, String value) {
+        if (value == null) {
+            this.indices[column][this.rows] = -1;
+            return;
+        }
+        List<String> columnValues = this.values.get(column);
+        this.indices[column][this.rows] = this.dictionaries.get(column).computeIfAbsent(value, v -> {
+            columnValues.add(v);
+            return columnValues.size() - 1;
+        });
+    }
+
+    private void writeBatch() throws IOException {
+        for (int column = 0; column < COLUMNS; column++) {
+            writeDictionary(column);
+        }
+
+        Body body = new Body();
+        long[][] nodes = new long[COLUMNS][];
+        for (int column = 0; column < COLUMNS; column++) {
+            int[] columnIndices = this.indices[column];
+            int nulls = 0;
+            for (int row = 0; row < this.rows; row++) {
+                if (columnIndices[row] < 0) {
+                    nulls++;
+                }
+            }
+            nodes[column] = new long[] { this.rows, nulls };
+            if (nulls == 0) {
+                body.add(new byte[0]);
+            } else {
+                byte[] validity = new byte[(this.rows + 7) / 8];
+                for (int row = 0; row < this.rows; row++) {
+                    if (columnIndices[row] >= 0) {
+                        validity[row / 8] |= (byte) (1 << (row % 8));
+                    }
+                }
+                body.add(validity);
+            }
+            ByteArrayOutputStream data = new ByteArrayOutputStream(this.rows * 4);
+            for (int row = 0; row < this.rows; row++) {
+                writeInt(data, Math.max(columnIndices[row], 0));
+            }
+            body.add(data.toByteArray());
+        }
+        writeMessage(HEADER_RECORD_BATCH, recordBatch(this.rows, nodes, body), body);
+        this.rows = 0;
+    }
+
+    private void writeDictionary(int column) throws IOException {
+        List<String> columnValues = this.values.get(column);
+        ByteArrayOutputStream offsets = new ByteArrayOutputStream((columnValues.size() + 1) * 4);
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        writeInt(offsets, 0);
+        for (String value : columnValues) {
+            data.write(value.getBytes(StandardCharsets.UTF_8));
+            writeInt(offsets, data.size());
+        }
+        Body body = new Body();
+        body.add(new byte[0]);
+        body.add(offsets.toByteArray());
+        body.add(data.toByteArray());
+        //@formatter:off
+        Table dictionaryBatch = new Table().addLong(0, column)
+                                           .addObject(1, recordBatch(columnValues.size(),
+                                                                     new long[][] { { columnValues.size(), 0 } },
+                                                                     body));
+        //@formatter:on
+        writeMessage(HEADER_DICTIONARY_BATCH, dictionaryBatch, body);
+
+        columnValues.clear();
+        this.dictionaries.get(column).clear();
+    }
+
+    private static Table schema() {
+        List<FlatBufferObject> fields = new ArrayList<>(COLUMNS);
+        for (String position : POSITIONS) {
+            for (String attribute : ATTRIBUTES) {
+                //@formatter:off
+                Table indexType = new Table().addInt(0, 32)
+                                             .addBool(1, true);
+                Table encoding = new Table().addLong(0, fields.size())
+                                            .addObject(1, indexType);
+                fields.add(new Table().addObject(0, new FlatBufferString(position + "." + attribute))
+                                      .addBool(1, true)
+                                      .addByte(2, TYPE_UTF8)
+                                      .addObject(3, new Table())
+                                      .addObject(4, encoding)
+                                      .addObject(5, new TableVector(List.of())));
+                //@formatter:on
+            }
+        }
+        return new Table().addObject(1, new TableVector(fields));
+    }
+
+    private static Table recordBatch(long length, long[][] nodes, Body body) {
+        //@formatter:off
+        return new Table().addLong(0, length)
+                          .addObject(1, new StructVector(Arrays.asList(nodes)))
+                          .addObject(2, new StructVector(body.buffers));
+        //@formatter:on
+    }
+
+    private void writeMessage(byte headerType, Table header, Body body) throws IOException {
+        //@formatter:off
+        Table message = new Table().addShort(0, METADATA_VERSION_V5)
+                                   .addByte(1, headerType)
+                                   .addObject(2, header)
+                                   .addLong(3, body.data.size());
+        //@formatter:on
+        FlatBuffer metadata = new FlatBuffer();
+        metadata.putInt(0);
+        metadata.setInt(0, message.writeTo(metadata));
+        metadata.pad(8);
+
+        writeInt(this.output, CONTINUATION);
+        writeInt(this.output, metadata.size);
+        this.output.write(metadata.bytes, 0, metadata.size);
+        body.data.writeTo(this.output);
+    }
+
+    private static void writeInt(OutputStream output, int value) throws IOException {
+        output.write(value);
+        output.write(value >>> 8);
+        output.write(value >>> 16);
+        output.write(value >>> 24);
+    }
+
+    /**
+     * The body of a message, i.e. the buffers of the arrays, each padded to a multiple of 8 bytes
+     */
+    private static final class Body {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private final List<long[]> buffers = new ArrayList<>();
+
+        void add(byte[] buffer) {
+            this.buffers.add(new long[] { this.data.size(), buffer.length });
+            this.data.writeBytes(buffer);
+            while (this.data.size() % 8 != 0) {
+                this.data.write(0);
+            }
+        }
+    }
+
+    /**
+     * A growable little endian buffer into which FlatBuffers objects are encoded front to back
+     * <p>
+     * Objects are written before the objects they refer to, so that references, which FlatBuffers requires to point
+     * forwards, are patched in once the position of the referenced object is known.
+     * </p>
+     */
+    private static final class FlatBuffer {
+        private byte[] bytes = new byte[512];
+        private int size;
+
+        void pad(int alignment) {
+            while (this.size % alignment != 0) {
+                putByte(0);
+            }
+        }
+
+        void putByte(int value) {
+            if (this.size == this.bytes.length) {
+                this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+            }
+            this.bytes[this.size++] = (byte) value;
+        }
+
+        void putShort(int value) {
+            putByte(value);
+            putByte(value >>> 8);
+        }
+
+        void putInt(int value) {
+            putShort(value);
+            putShort(value >>> 16);
+        }
+
+        void putLong(long value) {
+            putInt((int) value);
+            putInt((int) (value >>> 32));
+        }
+
+        void put(int size, long value) {
+            switch (size) {
+                case 1 -> putByte((int) value);
+                case 2 -> putShort((int) value);
+                case 4 -> putInt((int) value);
+                default -> putLong(value);
+            }
+        }
+
+        void setInt(int position, int value) {
+            for (int i = 0; i < 4; i++) {
+                this.bytes[position + i] = (byte) (value >>> (8 * i));
+            }
+        }
+    }
+
+    /**
+     * An object that may be encoded into a {@link FlatBuffer}
+     */
+    private interface FlatBufferObject {
+        /**
+         * Encodes the object
+         *
+         * @param buffer Buffer
+         * @return Position of the object, to which references should refer
+         */
+        int writeTo(FlatBuffer buffer);
+    }
+
+    /**
+     * A FlatBuffers table, whose fields are identified by their slot in the table's schema
+     */
+    private static final class Table implements FlatBufferObject {
+        private record Field(int slot, int size, long value, FlatBufferObject object) {
+        }
+
+        private final List<Field> fields = new ArrayList<>();
+
+        Table addBool(int slot, boolean value) {
+            return addByte(slot, value ? 1 : 0);
+        }
+
+        Table addByte(int slot, int value) {
+            this.fields.add(new Field(slot, 1, value, null));
+            return this;
+        }
+
+        Table addShort(int slot, int value) {
+            this.fields.add(new Field(slot, 2, value, null));
+            return this;
+        }
+
+        Table addInt(int slot, int value) {
+            this.fields.add(new Field(slot, 4, value, null));
+            return this;
+        }
+
+        Table addLong(int slot, long value) {
+            this.fields.add(new Field(slot, 8, value, null));
+            return this;
+        }
+
+        Table addObject(int slot, FlatBufferObject object) {
+            this.fields.add(new Field(slot, 4, 0, object));
+            return this;
+        }
+
+        @Override
+        public int writeTo(FlatBuffer buffer) {
+            // Lay out the fields largest first so that each is aligned to its size
+            List<Field> ordered = new ArrayList<>(this.fields);
+            ordered.sort(Comparator.comparingInt(Field::size).reversed());
+            int slots = this.fields.stream().mapToInt(Field::slot).max().orElse(-1) + 1;
+            int[] offsets = new int[slots];
+            int inlineSize = 4;
+            for (Field field : ordered) {
+                inlineSize = (inlineSize + field.size() - 1) / field.size() * field.size();
+                offsets[field.slot()] = inlineSize;
+                inlineSize += field.size();
+            }
+
+            buffer.pad(2);
+            int vtable = buffer.size;
+            buffer.putShort(4 + 2 * slots);
+            buffer.putShort(inlineSize);
+            for (int offset : offsets) {
+                buffer.putShort(offset);
+            }
+
+            buffer.pad(8);
+            int table = buffer.size;
+            buffer.putInt(table - vtable);
+            for (Field field : ordered) {
+                while (buffer.size < table + offsets[field.slot()]) {
+                    buffer.putByte(0);
+                }
+                buffer.put(field.size(), field.value());
+            }
+            for (Field field : ordered) {
+                if (field.object() != null) {
+                    int reference = table + offsets[field.slot()];
+                    buffer.setInt(reference, field.object().writeTo(buffer) - reference);
+                }
+            }
+            return table;
+        }
+    }
+
+    /**
+     * A FlatBuffers vector of tables
+     *
+     * @param tables Tables
+     */
+    private record TableVector(List<FlatBufferObject> tables) implements FlatBufferObject {
+        @Override
+        public int writeTo(FlatBuffer buffer) {
+            buffer.pad(4);
+            int vector = buffer.size;
+            buffer.putInt(this.tables.size());
+            for (int i = 0; i < this.tables.size(); i++) {
+                buffer.putInt(0);
+            }
+            for (int i = 0; i < this.tables.size(); i++) {
+                int reference = vector + 4 + 4 * i;
+                buffer.setInt(reference, this.tables.get(i).writeTo(buffer) - reference);
+            }
+            return vector;
+        }
+    }
+
+    /**
+     * A FlatBuffers vector of structs, each of which consists of a number of longs, as is the case for both the
+     * {@code FieldNode} and {@code Buffer} structs of Arrow
+     *
+     * @param structs Structs
+     */
+    private record StructVector(List<long[]> structs) implements FlatBufferObject {
+        @Override
+        public int writeTo(FlatBuffer buffer) {
+            // The elements, rather than the length that precedes them, must be aligned
+            while ((buffer.size + 4) % 8 != 0) {
+                buffer.putByte(0);
+            }
+            int vector = buffer.size;
+            buffer.putInt(this.structs.size());
+            for (long[] struct : this.structs) {
+                for (long value : struct) {
+                    buffer.putLong(value);
+                }
+            }
+            return vector;
+        }
+    }
+
+    /**
+     * A FlatBuffers string
+     *
+     * @param value Value
+     */
+    private record FlatBufferString(String value) implements FlatBufferObject {
+        @Override
+        public int writeTo(FlatBuffer buffer) {
+            byte[] encoded = this.value.getBytes(StandardCharsets.UTF_8);
+            buffer.pad(4);
+            int string = buffer.size;
+            buffer.putInt(encoded.length);
+            for (byte b : encoded) {
+                buffer.putByte(b);
+            }
+            buffer.putByte(0);
+            return string;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.server.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The body of a GraphQL over HTTP POST, which is either a single {@link GraphQLRequest} object, or a batch of requests
+ * encoded as a JSON array of such objects
+ * <p>
+ * A batch is answered with a JSON array of results in the same order as the requests, whereas a single request is
+ * answered with a single result, even though both are represented as a list of requests here.
+ * </p>
+ */
+@JsonDeserialize(using = GraphQLBatchRequest.Deserializer.class)
+public class GraphQLBatchRequest {
+
+    private final List<GraphQLRequest> requests;
+    private final boolean batch;
+
+    /**
+     * Creates a body containing a single request
+     *
+     * @param request Request
+     */
+    public GraphQLBatchRequest(GraphQLRequest request) {
+        this(List.of(Objects.requireNonNull(request, "Request cannot be null")), false);
+    }
+
+    /**
+     * Creates a body containing a batch of requests
+     *
+     * @param requests Requests
+     */
+    public GraphQLBatchRequest(List<GraphQLRequest> requests) {
+        this(requests, true);
+    }
+
+    private GraphQLBatchRequest(List<GraphQLRequest> requests, boolean batch) {
+        Objects.requireNonNull(requests, "Requests cannot be null");
+        this.requests = List.copyOf(requests);
+        this.batch = batch;
+    }
+
+    /**
+     * Gets whether the body was a batch of requests, in which case the response <strong>MUST</strong> be a JSON array
+     * of results, even if the batch only contained a single request
+     *
+     * @return True if a batch, false if a single request
+     */
+    public boolean isBatch() {
+        return this.batch;
+    }
+
+    /**
+     * Gets the requests, for a body that is not a batch this is always a list of exactly one request
+     *
+     * @return Requests
+     */
+    public List<GraphQLRequest> getRequests() {
+        return this.requests;
+    }
+
+    /**
+     * Jackson deserializer that reads either a single request object, or an array of request objects
+     */
+    static final class Deserializer extends StdDeserializer<GraphQLBatchRequest> {
+
+        private static final long serialVersionUID = 1L;
+
+        Deserializer() {
+            super(GraphQLBatchRequest.class);
+        }
+
+        @Override
+        public GraphQLBatchRequest deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return new GraphQLBatchRequest(context.readValue(parser, GraphQLRequest.class));
+            }
+
+            List<GraphQLRequest> requests = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    return context.reportInputMismatch(this, "Each GraphQL Request in a batch MUST be a JSON object");
+                }
+                requests.add(context.readValue(parser, GraphQLRequest.class));
+            }
+            return new GraphQLBatchRequest(requests);
+        }
+    }
+}
@@ -33,6 +33,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
@@ -55,6 +56,20 @@ public class GraphQLOverHttp {
      * The MIME Content Type for JSON based GraphQL responses
      */
     public static final String CONTENT_TYPE_GRAPHQL_RESPONSE_JSON = "application/graphql-response+json";
+    /**
+     * The MIME Content Type for {@code multipart/mixed} responses, as used for incremental delivery of GraphQL
+     * responses
+     */
+    public static final String CONTENT_TYPE_MULTIPART_MIXED = "multipart/mixed";
+    /**
+     * The boundary used between the parts of incrementally delivered GraphQL responses
+     */
+    public static final String MULTIPART_BOUNDARY = "-";
+    /**
+     * The full MIME Content Type, including the boundary, for incrementally delivered GraphQL responses
+     */
+    public static final String CONTENT_TYPE_INCREMENTAL_RESPONSE =
+            CONTENT_TYPE_MULTIPART_MIXED + "; boundary=\"" + MULTIPART_BOUNDARY + "\"";
     /**
      * The {@code variables} parameter to GraphQL endpoints
      */
@@ -102,6 +117,30 @@ public class GraphQLOverHttp {
         return status;
     }
 
+    /**
+     * Determines whether a client accepts incrementally delivered GraphQL responses, i.e. whether its {@code Accept}
+     * header includes {@value #CONTENT_TYPE_MULTIPART_MIXED}
+     * <p>
+     * Clients must explicitly ask for incremental delivery, wildcards are not sufficient, since a client that does not
+     * understand {@code multipart/mixed} responses would be unable to read results using the {@code @defer} directive.
+     * </p>
+     *
+     * @param accept Value of the {@code Accept} header, may be {@code null}
+     * @return True if incremental delivery is accepted, false otherwise
+     */
+    public static boolean acceptsIncrementalDelivery(String accept) {
+        if (StringUtils.isBlank(accept)) {
+            return false;
+        }
+        for (String range : StringUtils.split(accept, ',')) {
+            String mediaType = StringUtils.substringBefore(range, ";").trim();
+            if (StringUtils.equalsIgnoreCase(mediaType, CONTENT_TYPE_MULTIPART_MIXED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Tries to parse in a raw input string that is a JSON encoded object representing an arbitrary map.
      * <p>
@@ -178,17 +217,74 @@ public class GraphQLOverHttp {
         return JSON.readValue(input, GraphQLRequest.class);
     }
 
+    /**
+     * Parses a GraphQL Request, or a batch of requests, from some arbitrary HTTP Request type, as for
+     * {@link #parseRequest(Object, String, BiFunction, Function)}
+     * <p>
+     * Only the body of a POST request may contain a batch of requests, i.e. a JSON array of request objects, a GET
+     * request always contains a single request.
+     * </p>
+     *
+     * @param httpRequest    HTTP Request
+     * @param method         HTTP Request Method
+     * @param getParameter   A function that allows retrieving request parameters from the HTTP Request
+     * @param getRequestBody A function that allows retrieving the request body from the HTTP Request
+     * @param <T>            HTTP Request type
+     * @return GraphQL Request(s)
+     * @throws RuntimeException If the HTTP Request cannot be parsed successfully
+     */
+    public static <T> GraphQLBatchRequest parseBatchRequest(T httpRequest, String method,
+                                                            BiFunction<T, String, String> getParameter,
+                                                            Function<T, InputStream> getRequestBody) {
+        if (StringUtils.equals(method.toUpperCase(Locale.ROOT), HttpNames.METHOD_POST)) {
+            try {
+                return GraphQLOverHttp.parseBatchRequest(getRequestBody.apply(httpRequest));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to parse POST request body as a valid GraphQL Request");
+            }
+        }
+        return new GraphQLBatchRequest(parseRequest(httpRequest, method, getParameter, getRequestBody));
+    }
+
+    /**
+     * Parses a GraphQL Request, or a batch of requests, that is JSON encoded from the provided {@link InputStream}
+     *
+     * @param input Input Stream
+     * @return GraphQL Request(s)
+     * @throws IOException Thrown if the input cannot be successfully parsed as a GraphQL Request, or a batch thereof
+     */
+    public static GraphQLBatchRequest parseBatchRequest(InputStream input) throws IOException {
+        Objects.requireNonNull(input, "Cannot parse a GraphQL Request from a null input stream");
+        return JSON.readValue(input, GraphQLBatchRequest.class);
+    }
+
     /**
      * Writes a GraphQL result as JSON to the provided {@link OutputStream}
+     * <p>
+     * The result is streamed to the output via {@link GraphQLResponseWriter}, so no intermediate representation of the
+     * response is built in memory.  The output stream is flushed, but not closed.
+     * </p>
      *
      * @param result GraphQL Result
      * @param output Output stream to write to
      * @throws IOException Thrown if the output cannot be successfully written
      */
     public static void write(ExecutionResult result, OutputStream output) throws IOException {
-        Objects.requireNonNull(result, "Cannot write a null GraphQL Result");
-        Objects.requireNonNull(output, "Cannot write a GraphQL Response to a null output stream");
-        Map<String, Object> specResponse = result.toSpecification();
-        JSON.writeValue(output, specResponse);
+        GraphQLResponseWriter.write(result, output);
+    }
+
+    /**
+     * Writes the results of a batch of GraphQL requests as a JSON array to the provided {@link OutputStream}
+     * <p>
+     * A batch is always answered with a 200 OK, regardless of whether any of its results contain errors, since each
+     * result in the batch encodes its own errors.
+     * </p>
+     *
+     * @param results GraphQL Results, in the same order as the requests in the batch
+     * @param output  Output stream to write to
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public static void write(List<ExecutionResult> results, OutputStream output) throws IOException {
+        GraphQLResponseWriter.write(results, output);
     }
 }
@@ -0,0 +1,243 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.server.model;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.incremental.IncrementalPayload;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes a GraphQL {@link ExecutionResult} as JSON directly to an {@link OutputStream}
+ * <p>
+ * Unlike serialising the result of {@link ExecutionResult#toSpecification()} this walks the result data tree as-is,
+ * writing each value as it is visited, so no intermediate representation of the response is built.  Values are written
+ * without going through Jackson's reflective serialisers, falling back to them only for values that are not one of the
+ * types that GraphQL results are composed of, i.e. maps, lists, strings, numbers, booleans and enums.
+ * </p>
+ * <p>
+ * The buffers used to encode the JSON are obtained from a pool shared across threads, rather than per thread, so that
+ * they are reused even when responses are written from virtual threads.
+ * </p>
+ */
+public final class GraphQLResponseWriter {
+
+    private static final String ERRORS = "errors";
+    private static final String DATA = "data";
+    private static final String EXTENSIONS = "extensions";
+    private static final String HAS_NEXT = "hasNext";
+    private static final String INCREMENTAL = "incremental";
+
+    //@formatter:off
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+                                                          .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                                                          .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                                                          .build();
+    //@formatter:on
+    private static final ObjectMapper FALLBACK = new JsonMapper(FACTORY);
+
+    private GraphQLResponseWriter() {
+    }
+
+    /**
+     * Writes a GraphQL result as JSON to the provided {@link OutputStream}
+     * <p>
+     * The output stream is flushed, but not closed, once the result has been written.
+     * </p>
+     *
+     * @param result GraphQL Result
+     * @param output Output stream to write to
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public static void write(ExecutionResult result, OutputStream output) throws IOException {
+        Objects.requireNonNull(result, "Cannot write a null GraphQL Result");
+        Objects.requireNonNull(output, "Cannot write a GraphQL Response to a null output stream");
+        try (JsonGenerator generator = FALLBACK.createGenerator(output, JsonEncoding.UTF8)) {
+            write(result, generator);
+        }
+    }
+
+    /**
+     * Writes the results of a batch of GraphQL requests as a JSON array to the provided {@link OutputStream}
+     * <p>
+     * The output stream is flushed, but not closed, once the results have been written.
+     * </p>
+     *
+     * @param results GraphQL Results, in the same order as the requests in the batch
+     * @param output  Output stream to write to
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public static void write(List<ExecutionResult> results, OutputStream output) throws IOException {
+        Objects.requireNonNull(results, "Cannot write null GraphQL Results");
+        Objects.requireNonNull(output, "Cannot write a GraphQL Response to a null output stream");
+        try (JsonGenerator generator = FALLBACK.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (ExecutionResult result : results) {
+                write(result, generator);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Writes a GraphQL result as a JSON object to the provided generator
+     * <p>
+     * Fields are written in the same order, and under the same conditions, as {@link ExecutionResult#toSpecification()}
+     * would include them.
+     * </p>
+     *
+     * @param result    GraphQL Result
+     * @param generator JSON Generator
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public static void write(ExecutionResult result, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        List<GraphQLError> errors = result.getErrors();
+        if (errors != null && !errors.isEmpty()) {
+            generator.writeArrayFieldStart(ERRORS);
+            for (GraphQLError error : errors) {
+                writeValue(error.toSpecification(), generator);
+            }
+            generator.writeEndArray();
+        }
+        if (result.isDataPresent()) {
+            generator.writeFieldName(DATA);
+            writeValue(result.getData(), generator);
+        }
+        if (result.getExtensions() != null) {
+            generator.writeFieldName(EXTENSIONS);
+            writeValue(result.getExtensions(), generator);
+        }
+        if (result instanceof IncrementalExecutionResult incremental) {
+            generator.writeBooleanField(HAS_NEXT, incremental.hasNext());
+            writeIncremental(incremental.getIncremental(), generator);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a subsequent result, containing deferred fields, of an incrementally delivered GraphQL result as JSON to
+     * the provided {@link OutputStream}
+     * <p>
+     * The output stream is flushed, but not closed, once the result has been written.
+     * </p>
+     *
+     * @param result Subsequent result
+     * @param output Output stream to write to
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public static void write(DelayedIncrementalPartialResult result, OutputStream output) throws IOException {
+        Objects.requireNonNull(result, "Cannot write a null GraphQL Result");
+        Objects.requireNonNull(output, "Cannot write a GraphQL Response to a null output stream");
+        try (JsonGenerator generator = FALLBACK.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeBooleanField(HAS_NEXT, result.hasNext());
+            if (result.getExtensions() != null) {
+                generator.writeFieldName(EXTENSIONS);
+                writeValue(result.getExtensions(), generator);
+            }
+            writeIncremental(result.getIncremental(), generator);
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeIncremental(List<IncrementalPayload> payloads, JsonGenerator generator)
+            throws IOException {
+        if (payloads != null) {
+            generator.writeArrayFieldStart(INCREMENTAL);
+            for (IncrementalPayload payload : payloads) {
+                // A payload's specification only references its data, rather than copying it
+                writeValue(payload.toSpecification(), generator);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Writes a value from the result data tree
+     *
+     * @param value     Value
+     * @param generator JSON Generator
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    static void writeValue(Object value, JsonGenerator generator) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String string) {
+            generator.writeString(string);
+        } else if (value instanceof Map<?, ?> map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue(), generator);
+            }
+            generator.writeEndObject();
+        } else if (value instanceof Iterable<?> iterable) {
+            generator.writeStartArray();
+            Iterator<?> iterator = iterable.iterator();
+            while (iterator.hasNext()) {
+                writeValue(iterator.next(), generator);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Object[] array) {
+            generator.writeStartArray();
+            for (Object item : array) {
+                writeValue(item, generator);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof BigInteger integer) {
+            generator.writeNumber(integer);
+        } else if (value instanceof Enum<?> e) {
+            generator.writeString(e.name());
+        } else {
+            generator.writeObject(value);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.server.model;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResultImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes an incrementally delivered GraphQL result as a {@code multipart/mixed} response, with each result written as a
+ * separate JSON part
+ * <p>
+ * This follows the format used by the <a href="https://github.com/graphql/graphql-over-http/blob/main/rfcs/IncrementalDelivery.md">GraphQL
+ * over HTTP Incremental Delivery RFC</a>, with the boundary being {@value GraphQLOverHttp#MULTIPART_BOUNDARY}, so the
+ * response <strong>MUST</strong> be sent with a content type of
+ * {@link GraphQLOverHttp#CONTENT_TYPE_INCREMENTAL_RESPONSE}.  The output is flushed after each part so that clients
+ * receive each result as soon as it is written.
+ * </p>
+ */
+public class MultipartResponseWriter {
+
+    private static final byte[] PART_HEADER =
+            ("\r\n--" + GraphQLOverHttp.MULTIPART_BOUNDARY + "\r\nContent-Type: application/json; charset=utf-8\r\n\r\n")
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END =
+            ("\r\n--" + GraphQLOverHttp.MULTIPART_BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+    private final OutputStream output;
+    private boolean ended = false;
+
+    /**
+     * Creates a new writer
+     *
+     * @param output Output stream to write to
+     */
+    public MultipartResponseWriter(OutputStream output) {
+        this.output = Objects.requireNonNull(output, "Cannot write a GraphQL Response to a null output stream");
+    }
+
+    /**
+     * Writes the initial result as a part
+     *
+     * @param result Initial result
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public void writeInitial(ExecutionResult result) throws IOException {
+        this.output.write(PART_HEADER);
+        GraphQLResponseWriter.write(result, this.output);
+        this.output.flush();
+    }
+
+    /**
+     * Writes a subsequent result as a part
+     *
+     * @param result Subsequent result
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public void writeSubsequent(DelayedIncrementalPartialResult result) throws IOException {
+        this.output.write(PART_HEADER);
+        GraphQLResponseWriter.write(result, this.output);
+        this.output.flush();
+    }
+
+    /**
+     * Writes a final part reporting the errors that ended the execution after the initial result was written
+     * <p>
+     * The part carries only the errors, and a {@code hasNext} of {@code false}, so clients know that the execution
+     * failed and no further results will follow.
+     * </p>
+     *
+     * @param errors Errors
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public void writeFailure(List<GraphQLError> errors) throws IOException {
+        this.output.write(PART_HEADER);
+        GraphQLResponseWriter.write(IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                                                                  .errors(errors)
+                                                                  .hasNext(false)
+                                                                  .build(), this.output);
+        this.output.flush();
+    }
+
+    /**
+     * Writes the terminating boundary that ends the response, subsequent calls have no effect
+     *
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public void end() throws IOException {
+        if (!this.ended) {
+            this.ended = true;
+            this.output.write(END);
+            this.output.flush();
+        }
+    }
+}
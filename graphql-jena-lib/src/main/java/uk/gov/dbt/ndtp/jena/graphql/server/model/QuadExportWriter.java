@@ -0,0 +1,290 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.server.model;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.jena.atlas.RuntimeIOException;
+import org.apache.jena.graph.Node;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.WebContent;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.system.Txn;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryTimeoutException;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Writes the quads matching a {@link QuadFilter} directly to an {@link OutputStream} for bulk export
+ * <p>
+ * Unlike the {@code quads} field of the dataset schema, which must build its entire result before the response can be
+ * written, this writes each quad as the dataset is scanned.  Memory usage is therefore constant regardless of the
+ * number of quads exported, and since writes to the output block once its buffers are full a slow client naturally
+ * slows the scan down.
+ * </p>
+ * <p>
+ * Quads may be written either as newline delimited JSON, where each line is an object with {@code subject},
+ * {@code predicate}, {@code object} and {@code graph} fields in the same form as the GraphQL {@code Node} type, or as
+ * N-Quads, or as a columnar Apache Arrow IPC stream, see {@link ArrowQuadWriter}, for efficient loading into
+ * analytics tools.
+ * </p>
+ */
+public final class QuadExportWriter {
+
+    /**
+     * Content Type for newline delimited JSON
+     */
+    public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+    /**
+     * Content Type for N-Quads
+     */
+    public static final String CONTENT_TYPE_NQUADS = WebContent.contentTypeNQuads;
+    /**
+     * Content Type for the Apache Arrow IPC stream format
+     */
+    public static final String CONTENT_TYPE_ARROW_STREAM = "application/vnd.apache.arrow.stream";
+    /**
+     * Request parameter used to convey a JSON encoded quad filter on GET requests
+     */
+    public static final String PARAMETER_FILTER = "filter";
+    /**
+     * Request parameter used to convey the maximum number of quads to export
+     */
+    public static final String PARAMETER_LIMIT = "limit";
+
+    //@formatter:off
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+                                                          .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                                                          .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                                                          .build();
+    //@formatter:on
+
+    private QuadExportWriter() {
+    }
+
+    /**
+     * Selects the content type for an export based upon the {@code Accept} header of the request
+     * <p>
+     * N-Quads, or Arrow, are only selected when explicitly accepted, in which case whichever is listed first is used,
+     * otherwise newline delimited JSON is used.
+     * </p>
+     *
+     * @param accept Value of the {@code Accept} header, may be {@code null}
+     * @return Content type
+     */
+    public static String selectContentType(String accept) {
+        if (StringUtils.isNotBlank(accept)) {
+            for (String range : StringUtils.split(accept, ',')) {
+                String mediaType = StringUtils.substringBefore(range, ";").trim();
+                if (StringUtils.equalsIgnoreCase(mediaType, CONTENT_TYPE_NQUADS)) {
+                    return CONTENT_TYPE_NQUADS;
+                } else if (StringUtils.equalsIgnoreCase(mediaType, CONTENT_TYPE_ARROW_STREAM)) {
+                    return CONTENT_TYPE_ARROW_STREAM;
+                }
+            }
+        }
+        return CONTENT_TYPE_NDJSON;
+    }
+
+    /**
+     * Parses a JSON encoded quad filter, as supplied in the {@value #PARAMETER_FILTER} parameter
+     * <p>
+     * The filter takes the same form as the arguments of the {@code quads} field, so an empty, or missing, filter
+     * matches every quad.
+     * </p>
+     *
+     * @param rawFilter Raw filter, may be {@code null}
+     * @return Quad filter
+     * @throws JsonProcessingException  Thrown if the filter is not valid JSON
+     * @throws IllegalArgumentException Thrown if the filter is not a valid quad filter
+     */
+    public static QuadFilter parseFilter(String rawFilter) throws JsonProcessingException {
+        return parseFilter(GraphQLOverHttp.parseMap(rawFilter));
+    }
+
+    /**
+     * Parses a quad filter, as supplied in the body of a POST request
+     *
+     * @param filter Filter, may be {@code null}
+     * @return Quad filter
+     * @throws IllegalArgumentException Thrown if the filter is not a valid quad filter
+     */
+    public static QuadFilter parseFilter(Map<String, Object> filter) {
+        try {
+            return QuadFilter.parse(filter != null ? filter : Map.of());
+        } catch (ClassCastException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid quad filter: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses the maximum number of quads to export, as supplied in the {@value #PARAMETER_LIMIT} parameter
+     *
+     * @param rawLimit Raw limit, may be {@code null}
+     * @return Limit, or {@code null} if no limit was supplied
+     * @throws IllegalArgumentException Thrown if the limit is not a positive integer
+     */
+    public static Long parseLimit(String rawLimit) {
+        if (StringUtils.isBlank(rawLimit)) {
+            return null;
+        }
+        try {
+            long limit = Long.parseLong(rawLimit.trim());
+            if (limit > 0) {
+                return limit;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid limit " + rawLimit + ", must be a positive integer");
+    }
+
+    /**
+     * Writes the quads matching the filter to the provided {@link OutputStream}
+     * <p>
+     * The dataset is read within a read transaction, unless the caller is already within a transaction.  The output
+     * stream is flushed, but not closed, once all quads have been written.
+     * </p>
+     *
+     * @param dsg         Dataset
+     * @param filter      Quad filter
+     * @param contentType Content type, one of {@value #CONTENT_TYPE_NDJSON}, {@value #CONTENT_TYPE_NQUADS} or
+     *                    {@value #CONTENT_TYPE_ARROW_STREAM}
+     * @param output      Output stream to write to
+     * @return Number of quads written
+     * @throws IOException Thrown if the output cannot be successfully written
+     */
+    public static long write(DatasetGraph dsg, QuadFilter filter, String contentType, OutputStream output) throws
+            IOException {
+        return write(dsg, filter, Long.MAX_VALUE, QueryDeadline.none(), contentType, output);
+    }
+
+    /**
+     * Writes at most {@code limit} of the quads matching the filter to the provided {@link OutputStream}, abandoning
+     * the export if the deadline expires
+     * <p>
+     * As for {@link #write(DatasetGraph, QuadFilter, String, OutputStream)} except that the scan stops once the limit
+     * is reached, and the deadline is checked as the dataset is scanned.  If the deadline expires the quads already
+     * written remain in the output, so callers <strong>SHOULD</strong> treat the output as incomplete.
+     * </p>
+     *
+     * @param dsg         Dataset
+     * @param filter      Quad filter
+     * @param limit       Maximum number of quads to write
+     * @param deadline    Deadline for the export
+     * @param contentType Content type, one of {@value #CONTENT_TYPE_NDJSON}, {@value #CONTENT_TYPE_NQUADS} or
+     *                    {@value #CONTENT_TYPE_ARROW_STREAM}
+     * @param output      Output stream to write to
+     * @return Number of quads written
+     * @throws IOException           Thrown if the output cannot be successfully written
+     * @throws QueryTimeoutException Thrown if the deadline expires before the export completes
+     */
+    public static long write(DatasetGraph dsg, QuadFilter filter, long limit, QueryDeadline deadline,
+                             String contentType, OutputStream output) throws IOException {
+        Objects.requireNonNull(dsg, "Cannot export from a null dataset");
+        Objects.requireNonNull(filter, "Cannot export with a null filter");
+        Objects.requireNonNull(deadline, "Cannot export with a null deadline");
+        Objects.requireNonNull(output, "Cannot export to a null output stream");
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        try {
+            return Txn.calculateRead(dsg, () -> {
+                deadline.check();
+                try (Stream<Quad> quads = filter.find(dsg, deadline).limit(limit)) {
+                    if (StringUtils.equals(contentType, CONTENT_TYPE_NQUADS)) {
+                        return writeNQuads(quads.iterator(), output);
+                    } else if (StringUtils.equals(contentType, CONTENT_TYPE_ARROW_STREAM)) {
+                        return ArrowQuadWriter.write(quads.iterator(), output);
+                    }
+                    return writeJson(quads.iterator(), output);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long writeJson(Iterator<Quad> quads, OutputStream output) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+            while (quads.hasNext()) {
+                Quad quad = quads.next();
+                generator.writeStartObject();
+                writeNode(IANodeSchema.SUBJECT_FIELD, quad.getSubject(), generator);
+                writeNode(IANodeSchema.PREDICATE_FIELD, quad.getPredicate(), generator);
+                writeNode(IANodeSchema.OBJECT_FIELD, quad.getObject(), generator);
+                writeNode(IANodeSchema.GRAPH_FIELD, quad.getGraph(), generator);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private static void writeNode(String field, Node node, JsonGenerator generator) throws
+            IOException {
+        generator.writeFieldName(field);
+        GraphQLResponseWriter.writeValue(new WrappedNode(node).toMap(), generator);
+    }
+
+    private static long writeNQuads(Iterator<Quad> quads, OutputStream output) throws IOException {
+        long written = 0;
+        StreamRDF stream = StreamRDFWriter.getWriterStream(output, RDFFormat.NQUADS);
+        try {
+            stream.start();
+            while (quads.hasNext()) {
+                stream.quad(quads.next());
+                written++;
+            }
+            stream.finish();
+        } catch (RuntimeIOException e) {
+            // Jena's writers wrap I/O errors, unwrap so callers see them as such
+            throw e.getCause() instanceof IOException io ? io : new IOException(e);
+        }
+        return written;
+    }
+}
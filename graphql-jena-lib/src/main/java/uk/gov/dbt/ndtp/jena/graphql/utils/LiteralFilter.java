@@ -0,0 +1,156 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.utils;
+
+import org.apache.jena.datatypes.RDFDatatype;
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.expr.ExprNotComparableException;
+import org.apache.jena.sparql.expr.NodeValue;
+import org.apache.jena.sparql.expr.nodevalue.NodeFunctions;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A filter that selects literals by their value rather than by exact term equality
+ * <p>
+ * A filter may constrain a literal's datatype, language, lexical form (by prefix and/or regular expression) and its
+ * value (by range).  Range comparisons use SPARQL value semantics via {@link NodeValue#compare(NodeValue, NodeValue)},
+ * so for example {@code "1.0"^^xsd:decimal} is greater than {@code "0"^^xsd:integer}, and literals whose values are not
+ * comparable with a bound never match.  Range bounds are lexical forms of the filter's datatype, or plain strings if
+ * the filter has no datatype.  Nodes that are not literals never match.
+ * </p>
+ * <p>
+ * Filters are intended to be applied to the nodes found while scanning a dataset, before those are converted into any
+ * other representation, so only matching nodes incur any further cost.
+ * </p>
+ */
+public final class LiteralFilter implements Predicate<Node> {
+
+    private final String datatype, language, prefix;
+    private final Pattern regex;
+    private final NodeValue greaterThan, greaterThanOrEqual, lessThan, lessThanOrEqual;
+
+    private LiteralFilter(Map<String, Object> rawFilter) {
+        this.datatype = (String) rawFilter.get(IANodeSchema.DATATYPE_FIELD);
+        this.language = (String) rawFilter.get(IANodeSchema.LANGUAGE_FIELD);
+        this.prefix = (String) rawFilter.get(IANodeSchema.PREFIX_FIELD);
+        String rawRegex = (String) rawFilter.get(IANodeSchema.REGEX_FIELD);
+        this.regex = rawRegex != null ? compile(rawRegex, (String) rawFilter.get(IANodeSchema.FLAGS_FIELD)) : null;
+        this.greaterThan = parseBound(rawFilter.get(IANodeSchema.GREATER_THAN_FIELD));
+        this.greaterThanOrEqual = parseBound(rawFilter.get(IANodeSchema.GREATER_THAN_OR_EQUAL_FIELD));
+        this.lessThan = parseBound(rawFilter.get(IANodeSchema.LESS_THAN_FIELD));
+        this.lessThanOrEqual = parseBound(rawFilter.get(IANodeSchema.LESS_THAN_OR_EQUAL_FIELD));
+    }
+
+    /**
+     * Parses a literal filter
+     *
+     * @param rawFilter Raw filter object
+     * @return Literal filter, or {@code null} if no filter was supplied
+     * @throws IllegalArgumentException Thrown if the filter is invalid e.g. an invalid regular expression, or a range
+     *                                  bound that is not valid for the filter's datatype
+     */
+    public static LiteralFilter parse(Map<String, Object> rawFilter) {
+        if (rawFilter == null || rawFilter.isEmpty()) {
+            return null;
+        }
+        return new LiteralFilter(rawFilter);
+    }
+
+    private static Pattern compile(String regex, String flags) {
+        int compiled = 0;
+        for (char flag : Objects.requireNonNullElse(flags, "").toCharArray()) {
+            compiled |= switch (flag) {
+                case 'i' -> Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+                case 'm' -> Pattern.MULTILINE;
+                case 's' -> Pattern.DOTALL;
+                case 'x' -> Pattern.COMMENTS;
+                default -> throw new IllegalArgumentException("Unsupported regular expression flag '" + flag + "'");
+            };
+        }
+        return Pattern.compile(regex, compiled);
+    }
+
+    private NodeValue parseBound(Object rawBound) {
+        if (rawBound == null) {
+            return null;
+        }
+        String lexical = rawBound.toString();
+        if (this.datatype == null) {
+            return NodeValue.makeString(lexical);
+        }
+        RDFDatatype type = TypeMapper.getInstance().getSafeTypeByName(this.datatype);
+        if (!type.isValid(lexical)) {
+            throw new IllegalArgumentException(
+                    "Range bound '" + lexical + "' is not a valid value for datatype " + this.datatype);
+        }
+        return NodeValue.makeNode(NodeFactory.createLiteralDT(lexical, type));
+    }
+
+    @Override
+    public boolean test(Node node) {
+        if (node == null || !node.isLiteral()) {
+            return false;
+        }
+        // Cheapest checks first, value comparisons are only made for literals that pass all the other checks
+        if (this.datatype != null && !this.datatype.equals(node.getLiteralDatatypeURI())) {
+            return false;
+        }
+        if (this.language != null && !NodeFunctions.langMatches(node.getLiteralLanguage(), this.language)) {
+            return false;
+        }
+        String lexical = node.getLiteralLexicalForm();
+        if (this.prefix != null && !lexical.startsWith(this.prefix)) {
+            return false;
+        }
+        if (this.regex != null && !this.regex.matcher(lexical).find()) {
+            return false;
+        }
+        if (this.greaterThan == null && this.greaterThanOrEqual == null && this.lessThan == null
+            && this.lessThanOrEqual == null) {
+            return true;
+        }
+        NodeValue value = NodeValue.makeNode(node);
+        return compare(value, this.greaterThan, c -> c > 0) && compare(value, this.greaterThanOrEqual, c -> c >= 0)
+               && compare(value, this.lessThan, c -> c < 0) && compare(value, this.lessThanOrEqual, c -> c <= 0);
+    }
+
+    private static boolean compare(NodeValue value, NodeValue bound, Predicate<Integer> accept) {
+        if (bound == null) {
+            return true;
+        }
+        try {
+            return accept.test(NodeValue.compare(value, bound));
+        } catch (ExprNotComparableException e) {
+            return false;
+        }
+    }
+}
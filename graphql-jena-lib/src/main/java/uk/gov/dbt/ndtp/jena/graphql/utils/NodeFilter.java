@@ -25,11 +25,14 @@ package uk.gov.dbt.ndtp.jena.graphql.utils;
 
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.NodeKind;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
 import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.util.NodeCmp;
 
 /**
  * Utilities around node filters
@@ -98,6 +101,40 @@ public class NodeFilter {
         }
     }
 
+    /**
+     * Parses one or more node filter arguments into the values that a position in a pattern may take
+     * <p>
+     * The values of all the supplied arguments are combined, deduplicated and sorted into RDF term order, so that when
+     * each value is scanned in turn the scans proceed in a consistent key order.  If any value is a wildcard then the
+     * result is just {@link Node#ANY}, since scanning any other values as well would only produce duplicate matches.  If
+     * no argument is supplied then the result is also just {@link Node#ANY}, whereas if only empty lists are supplied
+     * then the result is empty i.e. nothing can match.
+     * </p>
+     *
+     * @param arguments Raw filter arguments, each may be {@code null}, a single filter or a list of filters
+     * @return Values
+     */
+    public static List<Node> parseValues(Object... arguments) {
+        boolean supplied = false;
+        Set<Node> values = new HashSet<>();
+        for (Object argument : arguments) {
+            if (argument == null) {
+                continue;
+            }
+            supplied = true;
+            for (Node value : parseList(argument)) {
+                if (Node.ANY.equals(value) || value.isVariable()) {
+                    return List.of(Node.ANY);
+                }
+                values.add(value);
+            }
+        }
+        if (!supplied) {
+            return List.of(Node.ANY);
+        }
+        return values.stream().sorted(NodeCmp::compareRDFTerms).toList();
+    }
+
     /**
      * Parses a set of node kinds
      *
@@ -0,0 +1,155 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.utils;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.util.NodeFactoryExtra;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utilities for encoding the position within a scan of a dataset as an opaque cursor
+ * <p>
+ * A cursor encodes the last quad returned by a scan, so a scan of the same pattern can be resumed immediately after
+ * that quad.  Cursors are URL safe Base64 strings that clients <strong>MUST</strong> treat as opaque, the encoding is
+ * versioned so that it may change in future without old cursors being misinterpreted.
+ * </p>
+ */
+public class QuadCursor {
+
+    private static final byte VERSION = 1;
+    private static final byte URI = 'U';
+    private static final byte BLANK = 'B';
+    private static final byte LITERAL = 'L';
+    private static final byte TRIPLE = 'T';
+
+    /**
+     * Private constructor prevents instantiation
+     */
+    private QuadCursor() {
+    }
+
+    /**
+     * Encodes a quad as a cursor
+     *
+     * @param quad Quad
+     * @return Cursor
+     */
+    public static String encode(Quad quad) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(VERSION);
+            write(quad.getGraph(), output);
+            write(quad.getSubject(), output);
+            write(quad.getPredicate(), output);
+            write(quad.getObject(), output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes a cursor back into the quad it encodes
+     *
+     * @param cursor Cursor
+     * @return Quad
+     * @throws IllegalArgumentException Thrown if the cursor is not valid
+     */
+    public static Quad decode(String cursor) {
+        try (DataInputStream input = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (input.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor version");
+            }
+            Quad quad = new Quad(read(input), read(input), read(input), read(input));
+            if (input.available() > 0) {
+                throw new IllegalArgumentException("Unexpected trailing data");
+            }
+            return quad;
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void write(Node node, DataOutputStream output) throws IOException {
+        if (node.isURI()) {
+            output.writeByte(URI);
+            writeString(node.getURI(), output);
+        } else if (node.isBlank()) {
+            // Blank node labels are retained as-is so that the resumed scan can find the exact same blank node
+            output.writeByte(BLANK);
+            writeString(node.getBlankNodeLabel(), output);
+        } else if (node.isLiteral()) {
+            output.writeByte(LITERAL);
+            writeString(NodeFmtLib.strNT(node), output);
+        } else if (node.isNodeTriple()) {
+            Triple triple = node.getTriple();
+            output.writeByte(TRIPLE);
+            write(triple.getSubject(), output);
+            write(triple.getPredicate(), output);
+            write(triple.getObject(), output);
+        } else {
+            throw new IllegalArgumentException("Cannot encode a cursor for node " + node);
+        }
+    }
+
+    private static Node read(DataInputStream input) throws IOException {
+        byte kind = input.readByte();
+        return switch (kind) {
+            case URI -> NodeFactory.createURI(readString(input));
+            case BLANK -> NodeFactory.createBlankNode(readString(input));
+            case LITERAL -> NodeFactoryExtra.parseNode(readString(input));
+            case TRIPLE -> NodeFactory.createTripleNode(read(input), read(input), read(input));
+            default -> throw new IllegalArgumentException("Unknown node kind " + kind);
+        };
+    }
+
+    private static void writeString(String value, DataOutputStream output) throws IOException {
+        // Not using writeUTF() since that is limited to 64KB and literals may be larger than that
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(encoded.length);
+        output.write(encoded);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > input.available()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        return new String(input.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
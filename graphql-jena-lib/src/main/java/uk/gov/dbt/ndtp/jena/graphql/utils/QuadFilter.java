@@ -0,0 +1,242 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.utils;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.util.NodeCmp;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A filter on quads where each position may match any one of several values, i.e. an {@code IN} list per position
+ * <p>
+ * A filter is executed as a series of scans, one for each combination of the values of each position, see
+ * {@link #patterns()}.  Since the values of each position are deduplicated, and any wildcard collapses a position to a
+ * single wildcard, these scans do not overlap so the results need no further deduplication.  Graphs are the one
+ * position where distinct values may denote overlapping sets of quads, so the alternative names for the default graph
+ * are normalised to a single name, and a filter that combines the union graph with any named graph is rejected, since
+ * every quad of the named graph would also be returned, as a quad of the union graph.
+ * </p>
+ */
+public final class QuadFilter {
+
+    /**
+     * The maximum number of patterns, i.e. combinations of values, that a filter may expand to
+     */
+    public static final int MAXIMUM_PATTERNS = 10_000;
+
+    private final List<Node> graphs, subjects, predicates, objects;
+    private final LiteralFilter literal;
+
+    private QuadFilter(List<Node> graphs, List<Node> subjects, List<Node> predicates, List<Node> objects,
+                       LiteralFilter literal) {
+        this.graphs = normaliseGraphs(graphs);
+        this.subjects = subjects;
+        this.predicates = predicates;
+        this.objects = objects;
+        this.literal = literal;
+        if ((long) this.graphs.size() * subjects.size() * predicates.size() * objects.size() > MAXIMUM_PATTERNS) {
+            throw new IllegalArgumentException(
+                    "Quad filter expands to more than " + MAXIMUM_PATTERNS + " patterns, use fewer values");
+        }
+    }
+
+    /**
+     * Normalises the graphs of a filter so that no two graphs denote overlapping sets of quads
+     *
+     * @param graphs Graphs
+     * @return Normalised graphs
+     * @throws IllegalArgumentException Thrown if the graphs combine the union graph with any named graph
+     */
+    private static List<Node> normaliseGraphs(List<Node> graphs) {
+        List<Node> normalised = graphs.stream()
+                                      .map(g -> Quad.isDefaultGraph(g) ? Quad.defaultGraphIRI : g)
+                                      .distinct()
+                                      .sorted(NodeCmp::compareRDFTerms)
+                                      .toList();
+        boolean union = normalised.stream().anyMatch(Quad::isUnionGraph);
+        boolean named = normalised.stream().anyMatch(g -> !Quad.isUnionGraph(g) && !Quad.isDefaultGraph(g));
+        if (union && named) {
+            throw new IllegalArgumentException("Quad filter cannot combine the union graph with named graphs, the "
+                                               + "union graph already includes them");
+        }
+        return normalised;
+    }
+
+    /**
+     * Parses a quad filter from the arguments of a field
+     * <p>
+     * Each position may be filtered by either, or both, of its singular argument e.g.
+     * {@value IANodeSchema#SUBJECT_FIELD} and its plural argument e.g. {@value DatasetSchema#SUBJECTS_ARGUMENT}, which
+     * are combined as described for {@link NodeFilter#parseValues(Object...)}.  Additionally objects may be filtered by
+     * value via the {@value IANodeSchema#LITERAL_ARGUMENT} argument, see {@link LiteralFilter}.
+     * </p>
+     *
+     * @param arguments Field arguments
+     * @return Quad filter
+     * @throws IllegalArgumentException Thrown if the arguments are invalid, or expand to too many patterns
+     */
+    @SuppressWarnings("unchecked")
+    public static QuadFilter parse(Map<String, Object> arguments) {
+        //@formatter:off
+        return new QuadFilter(
+                NodeFilter.parseValues(arguments.get(IANodeSchema.GRAPH_FIELD),
+                                       arguments.get(DatasetSchema.GRAPHS_ARGUMENT)),
+                NodeFilter.parseValues(arguments.get(IANodeSchema.SUBJECT_FIELD),
+                                       arguments.get(DatasetSchema.SUBJECTS_ARGUMENT)),
+                NodeFilter.parseValues(arguments.get(IANodeSchema.PREDICATE_FIELD),
+                                       arguments.get(DatasetSchema.PREDICATES_ARGUMENT)),
+                NodeFilter.parseValues(arguments.get(IANodeSchema.OBJECT_FIELD),
+                                       arguments.get(DatasetSchema.OBJECTS_ARGUMENT)),
+                LiteralFilter.parse((Map<String, Object>) arguments.get(IANodeSchema.LITERAL_ARGUMENT)));
+        //@formatter:on
+    }
+
+    /**
+     * Creates a quad filter for a single pattern
+     *
+     * @param graph     Graph
+     * @param subject   Subject
+     * @param predicate Predicate
+     * @param object    Object
+     * @return Quad filter
+     */
+    public static QuadFilter of(Node graph, Node subject, Node predicate, Node object) {
+        return new QuadFilter(List.of(graph), List.of(subject), List.of(predicate), List.of(object), null);
+    }
+
+    /**
+     * Gets the patterns this filter expands to, in key order
+     * <p>
+     * Patterns are represented as quads whose nodes may be {@link Node#ANY}, and are generated lazily so a consumer
+     * that stops early never generates the remaining patterns.
+     * </p>
+     *
+     * @return Patterns
+     */
+    public Stream<Quad> patterns() {
+        //@formatter:off
+        return this.graphs.stream()
+                          .flatMap(g -> this.subjects.stream()
+                          .flatMap(s -> this.predicates.stream()
+                          .flatMap(p -> this.objects.stream()
+                          .map(o -> new Quad(g, s, p, o)))));
+        //@formatter:on
+    }
+
+    /**
+     * Gets whether this filter is a single pattern
+     *
+     * @return True if a single pattern, false otherwise
+     */
+    public boolean isSinglePattern() {
+        return this.graphs.size() == 1 && this.subjects.size() == 1 && this.predicates.size() == 1
+               && this.objects.size() == 1;
+    }
+
+    /**
+     * Gets whether this filter has a literal filter that must be applied to the results of scanning its patterns
+     *
+     * @return True if a literal filter is present, false otherwise
+     */
+    public boolean hasLiteralFilter() {
+        return this.literal != null;
+    }
+
+    /**
+     * Gets whether this filter is unrestricted, i.e. every position is a wildcard and there is no literal filter, so
+     * that it matches every quad in the dataset
+     *
+     * @return True if unrestricted, false otherwise
+     */
+    public boolean isUnrestricted() {
+        return this.literal == null && isWildcard(this.graphs) && isWildcard(this.subjects)
+               && isWildcard(this.predicates) && isWildcard(this.objects);
+    }
+
+    private static boolean isWildcard(List<Node> values) {
+        return values.size() == 1 && Node.ANY.equals(values.get(0));
+    }
+
+    /**
+     * Gets whether a quad matches this filter
+     *
+     * @param quad Quad
+     * @return True if the quad matches one of the patterns of this filter, and its literal filter (if any), false
+     * otherwise
+     */
+    public boolean matches(Quad quad) {
+        return matches(this.graphs, quad.getGraph()) && matches(this.subjects, quad.getSubject())
+               && matches(this.predicates, quad.getPredicate()) && matches(this.objects, quad.getObject())
+               && matchesLiteral(quad);
+    }
+
+    /**
+     * Gets whether a quad matches the literal filter of this filter
+     *
+     * @param quad Quad
+     * @return True if there is no literal filter, or the quad's object matches it, false otherwise
+     */
+    public boolean matchesLiteral(Quad quad) {
+        return this.literal == null || this.literal.test(quad.getObject());
+    }
+
+    private static boolean matches(List<Node> values, Node node) {
+        return values.stream().anyMatch(v -> v.matches(node));
+    }
+
+    /**
+     * Scans a dataset for the quads matching this filter
+     * <p>
+     * Each pattern is scanned in turn, in key order, and the deadline is checked both as each pattern is started and
+     * as quads are consumed.  Any literal filter is applied as part of the scan.  The caller <strong>MUST</strong> be
+     * within a read transaction on the dataset, and <strong>SHOULD</strong> close the stream when done with it.
+     * </p>
+     *
+     * @param dsg      Dataset
+     * @param deadline Query deadline
+     * @return Matching quads
+     */
+    public Stream<Quad> find(DatasetGraph dsg, QueryDeadline deadline) {
+        Stream<Quad> quads;
+        if (isSinglePattern()) {
+            quads = deadline.checked(
+                    dsg.stream(this.graphs.get(0), this.subjects.get(0), this.predicates.get(0), this.objects.get(0)));
+        } else {
+            quads = deadline.checked(patterns().flatMap(p -> {
+                deadline.check();
+                return dsg.stream(p.getGraph(), p.getSubject(), p.getPredicate(), p.getObject());
+            }));
+        }
+        return this.literal != null ? quads.filter(this::matchesLiteral) : quads;
+    }
+}
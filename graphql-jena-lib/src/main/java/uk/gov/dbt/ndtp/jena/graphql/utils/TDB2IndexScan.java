@@ -0,0 +1,276 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.utils;
+
+import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.atlas.lib.tuple.Tuple;
+import org.apache.jena.atlas.lib.tuple.TupleFactory;
+import org.apache.jena.atlas.lib.tuple.TupleMap;
+import org.apache.jena.dboe.base.record.Record;
+import org.apache.jena.dboe.base.record.RecordFactory;
+import org.apache.jena.dboe.index.RangeIndex;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.ARQ;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.tdb2.lib.TupleLib;
+import org.apache.jena.tdb2.store.DatasetGraphTDB;
+import org.apache.jena.tdb2.store.NodeId;
+import org.apache.jena.tdb2.store.NodeIdFactory;
+import org.apache.jena.tdb2.store.nodetable.NodeTable;
+import org.apache.jena.tdb2.store.nodetupletable.NodeTupleTable;
+import org.apache.jena.tdb2.store.tupletable.TupleIndex;
+import org.apache.jena.tdb2.store.tupletable.TupleIndexRecord;
+import org.apache.jena.tdb2.sys.SystemTDB;
+import org.apache.jena.tdb2.sys.TDBInternal;
+import uk.gov.dbt.ndtp.jena.graphql.execution.VersionedDatasetGraph;
+
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Scans the indexes of a TDB2 dataset directly, so that a scan can start at a given quad rather than at the start of
+ * its pattern
+ * <p>
+ * TDB2 stores each quad as a key of {@link NodeId}s in several B+Tree indexes, each ordering the positions differently,
+ * and answers a pattern by a range scan of the index whose leading positions are fixed by the pattern.  A scan here
+ * chooses the index in the same way, but since the iteration order is the index's key order a scan may also start
+ * directly at the key of a given quad, so resuming from a quad costs a single B+Tree descent however deep into the
+ * pattern that quad lies.  Quads of the default graph, held in the triple table, are returned before those of the named
+ * graphs when the graph is a wildcard.
+ * </p>
+ * <p>
+ * Since the indexes are read directly any view over the storage that would hide some quads, e.g. a filtered or access
+ * controlled wrapper, or a TDB2 tuple filter, would be bypassed.  Therefore only a TDB2 dataset itself, or one wrapped
+ * solely by {@link VersionedDatasetGraph}s, and with no tuple filter configured, is scanned directly, for any other
+ * dataset {@link #scan(DatasetGraph, Node, Node, Node, Node, Quad)} returns {@code null} and the caller must fall back
+ * to {@link DatasetGraph#find(Node, Node, Node, Node)}.  TDB2 is an optional dependency of this library, if it is not
+ * present then no dataset is scanned directly.
+ * </p>
+ * <p>
+ * The caller <strong>MUST</strong> be within a read transaction on the dataset.
+ * </p>
+ */
+public final class TDB2IndexScan {
+
+    private TDB2IndexScan() {
+    }
+
+    private static final boolean TDB2_AVAILABLE = isTDB2Available();
+
+    private static boolean isTDB2Available() {
+        try {
+            Class.forName("org.apache.jena.tdb2.store.DatasetGraphTDB", false, TDB2IndexScan.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the TDB2 storage underlying a dataset, provided that reading it directly cannot reveal quads hidden by the
+     * dataset
+     *
+     * @param dsg Dataset
+     * @return TDB2 storage, or {@code null} if the dataset is not backed by TDB2, or is wrapped by anything other than
+     * a {@link VersionedDatasetGraph}, or has a TDB2 tuple filter configured
+     */
+    static DatasetGraphTDB storage(DatasetGraph dsg) {
+        if (!TDB2_AVAILABLE || dsg == null || hasTupleFilter(dsg)) {
+            return null;
+        }
+        DatasetGraph current = dsg;
+        while (current instanceof VersionedDatasetGraph versioned) {
+            current = versioned.getWrapped();
+        }
+        // NB - This also looks through TDB2's own switchable dataset, which is transparent, but through no other wrapper
+        DatasetGraphTDB tdb = current != null ? TDBInternal.getDatasetGraphTDB(current) : null;
+        return tdb != null && !hasTupleFilter(tdb) ? tdb : null;
+    }
+
+    private static boolean hasTupleFilter(DatasetGraph dsg) {
+        if (ARQ.getContext().isDefined(SystemTDB.symTupleFilter)) {
+            return true;
+        }
+        return dsg.getContext() != null && dsg.getContext().isDefined(SystemTDB.symTupleFilter);
+    }
+
+    /**
+     * Gets whether a dataset can be scanned via its TDB2 indexes
+     *
+     * @param dsg Dataset
+     * @return True if the dataset is backed by TDB2 and may be scanned directly, false otherwise
+     */
+    public static boolean supports(DatasetGraph dsg) {
+        return storage(dsg) != null;
+    }
+
+    /**
+     * Scans the quads of a TDB2 dataset matching a pattern, optionally starting at a given quad
+     *
+     * @param dsg       Dataset
+     * @param graph     Graph to match
+     * @param subject   Subject to match
+     * @param predicate Predicate to match
+     * @param object    Object to match
+     * @param start     Quad, matching the pattern, at which the scan starts, if present in the dataset, otherwise the
+     *                  scan starts from the quad that would follow it.  May be {@code null} to scan the whole pattern.
+     * @return Matching quads in index order, or {@code null} if the dataset cannot be scanned directly, see
+     * {@link #supports(DatasetGraph)}, or the pattern is over the union graph
+     */
+    public static Stream<Quad> scan(DatasetGraph dsg, Node graph, Node subject, Node predicate, Node object,
+                                    Quad start) {
+        DatasetGraphTDB tdb = storage(dsg);
+        if (tdb == null || (graph != null && Quad.isUnionGraph(graph))) {
+            return null;
+        }
+        NodeTupleTable triples = tdb.getTripleTable().getNodeTupleTable();
+        NodeTupleTable quads = tdb.getQuadTable().getNodeTupleTable();
+        boolean startsInDefaultGraph = start != null && start.isDefaultGraph();
+        boolean startsInNamedGraph = start != null && !start.isDefaultGraph();
+
+        //@formatter:off
+        Supplier<Stream<Quad>> defaultGraph
+                = () -> scan(triples, new Node[] { subject, predicate, object },
+                             startsInDefaultGraph
+                             ? new Node[] { start.getSubject(), start.getPredicate(), start.getObject() }
+                             : null,
+                             t -> Quad.create(Quad.defaultGraphIRI, TupleLib.triple(triples.getNodeTable(), t)));
+        Supplier<Stream<Quad>> namedGraphs
+                = () -> scan(quads, new Node[] { graph, subject, predicate, object },
+                             startsInNamedGraph
+                             ? new Node[] { start.getGraph(), start.getSubject(), start.getPredicate(), start.getObject() }
+                             : null,
+                             t -> TupleLib.quad(quads.getNodeTable(), t));
+        //@formatter:on
+
+        if (graph != null && Quad.isDefaultGraph(graph)) {
+            return defaultGraph.get();
+        } else if ((graph != null && !Node.ANY.equals(graph) && !graph.isVariable()) || startsInNamedGraph) {
+            // Either a specific named graph, or starting within the named graphs so the default graph was already scanned
+            return namedGraphs.get();
+        }
+        return Stream.of(defaultGraph, namedGraphs).flatMap(Supplier::get);
+    }
+
+    private static Stream<Quad> scan(NodeTupleTable table, Node[] pattern, Node[] start,
+                                     Function<Tuple<NodeId>, Quad> converter) {
+        NodeTable nodes = table.getNodeTable();
+        Tuple<NodeId> patternIds = toNodeIds(nodes, pattern);
+        if (patternIds == null) {
+            // Some node of the pattern isn't in the dataset so nothing can match
+            return Stream.empty();
+        }
+        Tuple<NodeId> startIds = null;
+        if (start != null) {
+            startIds = toNodeIds(nodes, start);
+            if (startIds == null) {
+                return Stream.empty();
+            }
+        }
+
+        // Choose the index whose leading positions are most constrained by the pattern, as TDB2 itself does
+        TupleIndex best = null;
+        int bestWeight = -1;
+        for (TupleIndex index : table.getTupleTable().getIndexes()) {
+            int weight = index.weight(patternIds);
+            if (weight > bestWeight) {
+                best = index;
+                bestWeight = weight;
+            }
+        }
+        if (best == null || !(best.baseTupleIndex() instanceof TupleIndexRecord indexRecord)) {
+            // Not an index we know how to seek within so simply answer the pattern, callers seeking a quad must skip
+            return Iter.asStream(table.find(patternIds)).map(converter);
+        }
+
+        TupleMap mapping = indexRecord.getMapping();
+        RangeIndex rangeIndex = indexRecord.getRangeIndex();
+        RecordFactory factory = rangeIndex.getRecordFactory();
+        Tuple<NodeId> keyPattern = mapping.map(patternIds);
+        int prefix = 0;
+        while (prefix < keyPattern.len() && NodeId.isConcrete(keyPattern.get(prefix))) {
+            prefix++;
+        }
+
+        // The range covers the keys starting with the pattern's fixed leading positions, or all keys if none are fixed
+        byte[] minKey = new byte[factory.keyLength()];
+        for (int i = 0; i < prefix; i++) {
+            NodeIdFactory.set(keyPattern.get(i), minKey, i * NodeId.SIZE);
+        }
+        Record min = startIds != null ? TupleLib.record(factory, startIds, mapping) : factory.create(minKey);
+        Record max = null;
+        if (prefix > 0) {
+            byte[] maxKey = new byte[factory.keyLength()];
+            System.arraycopy(minKey, 0, maxKey, 0, (prefix - 1) * NodeId.SIZE);
+            NodeIdFactory.setNext(keyPattern.get(prefix - 1), maxKey, (prefix - 1) * NodeId.SIZE);
+            max = factory.create(maxKey);
+        }
+
+        Iterator<Tuple<NodeId>> tuples = Iter.map(rangeIndex.iterator(min, max), r -> TupleLib.tuple(r, mapping));
+        if (prefix < countConcrete(patternIds)) {
+            // Positions fixed by the pattern but not leading in the index must be filtered
+            Tuple<NodeId> fixed = patternIds;
+            tuples = Iter.filter(tuples, t -> matches(fixed, t));
+        }
+        return Iter.asStream(tuples).map(converter);
+    }
+
+    private static Tuple<NodeId> toNodeIds(NodeTable nodes, Node[] pattern) {
+        NodeId[] ids = new NodeId[pattern.length];
+        for (int i = 0; i < pattern.length; i++) {
+            if (pattern[i] == null || Node.ANY.equals(pattern[i]) || pattern[i].isVariable()) {
+                ids[i] = NodeId.NodeIdAny;
+            } else {
+                ids[i] = nodes.getNodeIdForNode(pattern[i]);
+                if (NodeId.isDoesNotExist(ids[i])) {
+                    return null;
+                }
+            }
+        }
+        return TupleFactory.create(ids);
+    }
+
+    private static int countConcrete(Tuple<NodeId> pattern) {
+        int count = 0;
+        for (int i = 0; i < pattern.len(); i++) {
+            if (NodeId.isConcrete(pattern.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean matches(Tuple<NodeId> pattern, Tuple<NodeId> tuple) {
+        for (int i = 0; i < pattern.len(); i++) {
+            NodeId id = pattern.get(i);
+            if (NodeId.isConcrete(id) && !id.equals(tuple.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
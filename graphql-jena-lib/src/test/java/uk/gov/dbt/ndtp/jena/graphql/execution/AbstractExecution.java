@@ -34,9 +34,13 @@ import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
 import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.sse.SSE;
+import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 import org.testng.Assert;
 
@@ -49,6 +53,9 @@ public class AbstractExecution {
 
     private static final ObjectMapper JSON = new JsonMapper();
 
+    protected static final Node GRAPH = NodeFactory.createURI("https://example.org/graph");
+    protected static final Node PERSON = NodeFactory.createURI("https://example.org/Person");
+
     protected static String loadQuery(String queryBase, String queryResource) {
         try {
             return IOUtils.resourceToString(queryBase + queryResource, StandardCharsets.UTF_8);
@@ -258,6 +265,52 @@ public class AbstractExecution {
         }
     }
 
+    /**
+     * Creates an in-memory transactional dataset containing the given quads
+     *
+     * @param quads Quads in SSE syntax e.g. {@code (_ <http://s> <http://p> <http://o>)}
+     * @return Dataset
+     */
+    protected static DatasetGraph createDataset(String... quads) {
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        for (String quad : quads) {
+            dsg.add(SSE.parseQuad(quad));
+        }
+        return dsg;
+    }
+
+    /**
+     * Generates people {@code https://example.org/0} to {@code https://example.org/<size - 1>}, each with a type of
+     * {@link #PERSON} in the default graph and a label of {@code Person <i>} in the given graph
+     *
+     * @param dsg        Dataset to add the people to
+     * @param size       Number of people
+     * @param labelGraph Graph for the labels
+     */
+    protected static void generatePeople(DatasetGraph dsg, int size, Node labelGraph) {
+        generatePeople(dsg, size, labelGraph, null);
+    }
+
+    /**
+     * Generates people {@code https://example.org/0} to {@code https://example.org/<size - 1>}, each with a type of
+     * {@link #PERSON} in the default graph and a label of {@code Person <i>} in the given graph
+     *
+     * @param dsg        Dataset to add the people to
+     * @param size       Number of people
+     * @param labelGraph Graph for the labels
+     * @param language   Language of the labels, or {@code null} for plain string labels
+     */
+    protected static void generatePeople(DatasetGraph dsg, int size, Node labelGraph, String language) {
+        for (int i = 0; i < size; i++) {
+            Node subject = NodeFactory.createURI("https://example.org/" + i);
+            String label = "Person " + i;
+            dsg.add(new Quad(Quad.defaultGraphIRI, subject, RDF.type.asNode(), PERSON));
+            dsg.add(new Quad(labelGraph, subject, RDFS.label.asNode(),
+                             language != null ? NodeFactory.createLiteralLang(label, language) :
+                             NodeFactory.createLiteralString(label)));
+        }
+    }
+
     protected static void generateDummyQuads(DatasetGraph dsg, int size) {
         for (int i = 1; i <= size; i++) {
             dsg.add(Quad.defaultGraphIRI, NodeFactory.createURI("https://example.org/" + i), RDFS.comment.asNode(),
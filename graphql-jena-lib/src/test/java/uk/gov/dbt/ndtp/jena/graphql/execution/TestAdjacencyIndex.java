@@ -0,0 +1,446 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.sse.SSE;
+import org.apache.jena.system.Txn;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.EdgeDirection;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestAdjacencyIndex extends AbstractExecution {
+
+    private static final Node A = SSE.parseNode("<http://a>");
+    private static final Node B = SSE.parseNode("<http://b>");
+    private static final Node C = SSE.parseNode("<http://c>");
+    private static final Node KNOWS = SSE.parseNode("<http://knows>");
+    private static final Node LIKES = SSE.parseNode("<http://likes>");
+    private static final Node NAME = SSE.parseNode("<http://name>");
+
+    private static final String[] QUADS = {
+            "(_ <http://a> <http://knows> <http://b>)",
+            "(_ <http://a> <http://likes> <http://c>)",
+            "(_ <http://a> <http://knows> <http://c>)",
+            "(_ <http://a> <http://name> 'A')",
+            "(<http://g> <http://a> <http://knows> <http://b>)",
+            "(_ <http://b> <http://likes> <http://c>)"
+    };
+
+    private static List<Node> targets(AdjacencyIndex index, Node node, Node predicate, EdgeDirection direction) {
+        List<Node> targets = new ArrayList<>();
+        index.forEachEdge(node, predicate, direction, (p, target) -> {
+            if (!Node.ANY.equals(predicate)) {
+                Assert.assertEquals(p, predicate);
+            }
+            return targets.add(target);
+        });
+        return targets;
+    }
+
+    private static Set<Node> scan(DatasetGraph dsg, Node node, Node predicate, EdgeDirection direction) {
+        return Txn.calculateRead(dsg, () -> {
+            Set<Node> targets = new HashSet<>();
+            if (direction == EdgeDirection.OUT) {
+                dsg.stream(Node.ANY, node, predicate, Node.ANY).map(Quad::getObject).forEach(targets::add);
+            } else {
+                dsg.stream(Node.ANY, Node.ANY, predicate, node).map(Quad::getSubject).forEach(targets::add);
+            }
+            return targets;
+        });
+    }
+
+    @Test
+    public void givenDataset_whenBuildingIndex_thenNodesAndEdgesCounted() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+
+        // When
+        AdjacencyIndex index = AdjacencyIndex.build(dsg);
+
+        // Then
+        Assert.assertEquals(index.getVersion(), dsg.getVersion());
+        Assert.assertEquals(index.getNodeCount(), 4);
+        Assert.assertEquals(index.getEdgeCount(), 6);
+    }
+
+    @Test
+    public void givenEmptyDataset_whenBuildingIndex_thenEmpty() {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+
+        // When
+        AdjacencyIndex index = AdjacencyIndex.build(dsg);
+
+        // Then
+        Assert.assertEquals(index.getVersion(), VersionedDatasetGraph.UNVERSIONED);
+        Assert.assertEquals(index.getNodeCount(), 0);
+        Assert.assertEquals(index.getEdgeCount(), 0);
+        Assert.assertTrue(index.subjects(Node.ANY).isEmpty());
+        Assert.assertTrue(targets(index, A, Node.ANY, EdgeDirection.OUT).isEmpty());
+    }
+
+    @Test
+    public void givenIndex_whenFindingEdges_thenSameAsScanningDataset() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+        AdjacencyIndex index = AdjacencyIndex.build(dsg);
+
+        // When and Then
+        for (Node node : List.of(A, B, C, NAME, SSE.parseNode("'A'"))) {
+            for (Node predicate : List.of(Node.ANY, KNOWS, LIKES, NAME, C)) {
+                for (EdgeDirection direction : EdgeDirection.values()) {
+                    Assert.assertEquals(new HashSet<>(targets(index, node, predicate, direction)),
+                                        scan(dsg, node, predicate, direction),
+                                        node + " " + predicate + " " + direction);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void givenEdgeInSeveralGraphs_whenFindingEdges_thenFoundOncePerGraph() {
+        // Given
+        AdjacencyIndex index = AdjacencyIndex.build(new VersionedDatasetGraph(createDataset(QUADS)));
+
+        // When
+        List<Node> outgoing = targets(index, A, KNOWS, EdgeDirection.OUT);
+        List<Node> incoming = targets(index, B, KNOWS, EdgeDirection.IN);
+
+        // Then
+        Assert.assertEquals(outgoing, List.of(B, B, C));
+        Assert.assertEquals(incoming, List.of(A, A));
+    }
+
+    @Test
+    public void givenIndex_whenFindingAllEdges_thenGroupedByPredicate() {
+        // Given
+        AdjacencyIndex index = AdjacencyIndex.build(new VersionedDatasetGraph(createDataset(QUADS)));
+        List<Node> predicates = new ArrayList<>();
+
+        // When
+        index.forEachEdge(A, Node.ANY, EdgeDirection.OUT, (p, target) -> {
+            if (predicates.isEmpty() || !predicates.get(predicates.size() - 1).equals(p)) {
+                predicates.add(p);
+            }
+            return true;
+        });
+
+        // Then
+        Assert.assertEquals(predicates.size(), 3);
+        Assert.assertEquals(new HashSet<>(predicates), Set.of(KNOWS, LIKES, NAME));
+    }
+
+    @Test
+    public void givenIndex_whenFindingSubjects_thenOnlyNodesWithOutgoingEdges() {
+        // Given
+        AdjacencyIndex index = AdjacencyIndex.build(new VersionedDatasetGraph(createDataset(QUADS)));
+
+        // When and Then
+        Assert.assertEquals(new HashSet<>(index.subjects(Node.ANY)), Set.of(A, B));
+        Assert.assertEquals(new HashSet<>(index.subjects(null)), Set.of(A, B));
+        Assert.assertEquals(index.subjects(B), List.of(B));
+        Assert.assertTrue(index.subjects(C).isEmpty());
+        Assert.assertTrue(index.subjects(KNOWS).isEmpty());
+    }
+
+    @Test
+    public void givenIndex_whenActionStops_thenNoFurtherEdgesVisited() {
+        // Given
+        AdjacencyIndex index = AdjacencyIndex.build(new VersionedDatasetGraph(createDataset(QUADS)));
+        List<Node> targets = new ArrayList<>();
+
+        // When
+        index.forEachEdge(A, Node.ANY, EdgeDirection.OUT, (p, target) -> targets.add(target) && targets.size() < 2);
+
+        // Then
+        Assert.assertEquals(targets.size(), 2);
+    }
+
+    @Test
+    public void givenIndex_whenGettingDegree_thenSameAsScanningDataset() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+        AdjacencyIndex index = AdjacencyIndex.build(dsg);
+
+        // When and Then
+        Assert.assertEquals(index.degree(A, EdgeDirection.OUT), 5);
+        Assert.assertEquals(index.degree(A, EdgeDirection.IN), 0);
+        Assert.assertEquals(index.degree(B, EdgeDirection.IN), 2);
+        Assert.assertEquals(index.degree(C, EdgeDirection.IN), 3);
+        Assert.assertEquals(index.degree(KNOWS, EdgeDirection.OUT), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenUnversionedDataset_whenCreatingManager_thenRejected() {
+        // Given, When and Then
+        new AdjacencyIndexManager(DatasetGraphFactory.createTxnMem(), Runnable::run);
+    }
+
+    private static AdjacencyIndex current(AdjacencyIndexManager manager, DatasetGraph dsg) {
+        return Txn.calculateRead(dsg, manager::current);
+    }
+
+    @Test
+    public void givenManager_whenDatasetChanges_thenChangesApplied() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+        AtomicInteger updates = new AtomicInteger();
+        AdjacencyIndexManager manager = new AdjacencyIndexManager(dsg, r -> {
+            updates.incrementAndGet();
+            r.run();
+        });
+        AdjacencyIndex initial = current(manager, dsg);
+        Assert.assertNotNull(initial);
+        Assert.assertSame(current(manager, dsg), initial);
+        Assert.assertEquals(updates.get(), 1);
+        Assert.assertFalse(manager.isBuilding());
+
+        // When
+        Txn.executeWrite(dsg, () -> dsg.add(SSE.parseQuad("(_ <http://c> <http://knows> <http://a>)")));
+
+        // Then
+        Assert.assertEquals(updates.get(), 2);
+        AdjacencyIndex updated = current(manager, dsg);
+        Assert.assertNotNull(updated);
+        Assert.assertEquals(updated.getVersion(), dsg.getVersion());
+        Assert.assertEquals(updated.getEdgeCount(), initial.getEdgeCount() + 1);
+        Assert.assertEquals(updated.getChangedEdgeCount(), 1);
+        Assert.assertEquals(targets(updated, C, KNOWS, EdgeDirection.OUT), List.of(A));
+        Assert.assertEquals(targets(initial, C, KNOWS, EdgeDirection.OUT), List.of());
+
+        // And When
+        Txn.executeWrite(dsg, () -> dsg.delete(SSE.parseQuad("(_ <http://c> <http://knows> <http://a>)")));
+
+        // Then
+        AdjacencyIndex reverted = current(manager, dsg);
+        Assert.assertEquals(reverted.getEdgeCount(), initial.getEdgeCount());
+        Assert.assertEquals(reverted.getChangedEdgeCount(), 0);
+        Assert.assertEquals(targets(reverted, C, KNOWS, EdgeDirection.OUT), List.of());
+    }
+
+    @Test
+    public void givenManager_whenChangesUnknown_thenIndexRebuilt() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+        AdjacencyIndexManager manager = new AdjacencyIndexManager(dsg, Runnable::run);
+        AdjacencyIndex initial = current(manager, dsg);
+
+        // When
+        // Changes made outside of a transaction are never recorded
+        dsg.add(SSE.parseQuad("(_ <http://d> <http://knows> <http://a>)"));
+
+        // Then
+        AdjacencyIndex rebuilt = current(manager, dsg);
+        Assert.assertNotNull(rebuilt);
+        Assert.assertEquals(rebuilt.getChangedEdgeCount(), 0);
+        Assert.assertEquals(rebuilt.getNodeCount(), initial.getNodeCount() + 1);
+        Assert.assertEquals(rebuilt.getEdgeCount(), initial.getEdgeCount() + 1);
+    }
+
+    @Test
+    public void givenManager_whenChangesExceedThreshold_thenIndexRebuilt() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+        AdjacencyIndexManager manager = new AdjacencyIndexManager(dsg, Runnable::run) {
+            @Override
+            protected int rebuildThreshold(AdjacencyIndex index) {
+                return 2;
+            }
+        };
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            Node subject = SSE.parseNode("<http://new" + i + ">");
+            Txn.executeWrite(dsg, () -> dsg.add(Quad.defaultGraphIRI, subject, KNOWS, A));
+        }
+
+        // Then
+        AdjacencyIndex index = current(manager, dsg);
+        Assert.assertEquals(index.getChangedEdgeCount(), 0);
+        Assert.assertEquals(index.getEdgeCount(), 9);
+    }
+
+    @Test
+    public void givenReadTransactionBegunBeforeChange_whenGettingCurrent_thenNoIndex() throws InterruptedException {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+        AdjacencyIndexManager manager = new AdjacencyIndexManager(dsg, Runnable::run);
+
+        // When
+        AdjacencyIndex stale = Txn.calculateRead(dsg, () -> {
+            Thread writer = new Thread(() -> Txn.executeWrite(dsg, () -> dsg.add(
+                    SSE.parseQuad("(_ <http://c> <http://knows> <http://a>)"))));
+            writer.start();
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            // The index now includes a change that this transaction does not see
+            Assert.assertEquals(dsg.getTransactionVersion(), dsg.getVersion() - 1);
+            return manager.current();
+        });
+
+        // Then
+        Assert.assertNull(stale);
+        Assert.assertNotNull(current(manager, dsg));
+        Assert.assertNull(manager.current());
+    }
+
+    @Test
+    public void givenRandomChanges_whenApplied_thenSameAsRebuilt() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+        List<Node> nodes = List.of(A, B, C, SSE.parseNode("<http://d>"), SSE.parseNode("<http://e>"),
+                                   SSE.parseNode("'A'"));
+        List<Node> predicates = List.of(KNOWS, LIKES, NAME);
+        List<Node> graphs = List.of(Quad.defaultGraphIRI, SSE.parseNode("<http://g>"), SSE.parseNode("<http://h>"));
+        AdjacencyIndex[] applied = { AdjacencyIndex.build(dsg) };
+        dsg.addChangeListener((version, changes) -> applied[0] = applied[0].apply(version, changes));
+        Random random = new Random(12345);
+
+        for (int round = 0; round < 50; round++) {
+            // When
+            Txn.executeWrite(dsg, () -> {
+                for (int i = 0; i < 5; i++) {
+                    Node s = nodes.get(random.nextInt(nodes.size() - 1));
+                    Quad quad = new Quad(graphs.get(random.nextInt(graphs.size())), s,
+                                         predicates.get(random.nextInt(predicates.size())),
+                                         nodes.get(random.nextInt(nodes.size())));
+                    switch (random.nextInt(4)) {
+                        case 0 -> dsg.delete(quad);
+                        case 1 -> dsg.deleteAny(Node.ANY, s, quad.getPredicate(), Node.ANY);
+                        default -> dsg.add(quad);
+                    }
+                }
+            });
+
+            // Then
+            AdjacencyIndex rebuilt = AdjacencyIndex.build(dsg);
+            AdjacencyIndex index = applied[0];
+            Assert.assertEquals(index.getVersion(), rebuilt.getVersion());
+            Assert.assertEquals(index.getEdgeCount(), rebuilt.getEdgeCount());
+            Assert.assertEquals(index.subjects(Node.ANY), rebuilt.subjects(Node.ANY));
+            for (Node node : nodes) {
+                for (EdgeDirection direction : EdgeDirection.values()) {
+                    Assert.assertEquals(index.degree(node, direction), rebuilt.degree(node, direction));
+                    for (Node predicate : List.of(Node.ANY, KNOWS, LIKES, NAME)) {
+                        Assert.assertEquals(targets(index, node, predicate, direction),
+                                            targets(rebuilt, node, predicate, direction),
+                                            node + " " + predicate + " " + direction);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void givenManagerWithBuildInProgress_whenGettingCurrent_thenNoFurtherBuildScheduled() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+        List<Runnable> pending = new ArrayList<>();
+        AdjacencyIndexManager manager = new AdjacencyIndexManager(dsg, pending::add);
+
+        // When
+        Assert.assertTrue(manager.isBuilding());
+        Assert.assertNull(current(manager, dsg));
+        Assert.assertNull(current(manager, dsg));
+
+        // Then
+        Assert.assertEquals(pending.size(), 1);
+        pending.get(0).run();
+        Assert.assertFalse(manager.isBuilding());
+        Assert.assertNotNull(current(manager, dsg));
+    }
+
+    @Test
+    public void givenRejectingExecutor_whenGettingCurrent_thenBuildCanBeRetried() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+        AtomicInteger attempts = new AtomicInteger();
+        AdjacencyIndexManager manager = new AdjacencyIndexManager(dsg, r -> {
+            attempts.incrementAndGet();
+            throw new RejectedExecutionException();
+        });
+
+        // When
+        Assert.assertNull(current(manager, dsg));
+
+        // Then
+        Assert.assertEquals(attempts.get(), 2);
+        Assert.assertFalse(manager.isBuilding());
+        Assert.assertEquals(manager.rebuild().getVersion(), dsg.getVersion());
+        Assert.assertNotNull(current(manager, dsg));
+    }
+
+    @Test
+    public void givenWriteTransaction_whenBuilding_thenIndexNotInstalled() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+
+        // When
+        // Builds join the write transaction, whose version is never known, so cannot install an index
+        AdjacencyIndexManager manager = Txn.calculateWrite(dsg, () -> {
+            AdjacencyIndexManager created = new AdjacencyIndexManager(dsg, Runnable::run);
+            Assert.assertEquals(created.rebuild().getVersion(), VersionedDatasetGraph.UNVERSIONED);
+            return created;
+        });
+
+        // Then
+        // Committing the write transaction notifies a new version, which is built once the commit completes
+        Assert.assertFalse(manager.isBuilding());
+        AdjacencyIndex index = current(manager, dsg);
+        Assert.assertNotNull(index);
+        Assert.assertEquals(index.getVersion(), dsg.getVersion());
+    }
+
+    @Test
+    public void givenDefaultManager_whenBuilt_thenIndexBecomesCurrent() throws InterruptedException {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUADS));
+
+        // When
+        AdjacencyIndexManager manager = new AdjacencyIndexManager(dsg);
+
+        // Then
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (current(manager, dsg) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertNotNull(current(manager, dsg));
+    }
+}
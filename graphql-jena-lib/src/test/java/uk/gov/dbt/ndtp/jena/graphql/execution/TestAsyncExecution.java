@@ -0,0 +1,145 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+@SuppressWarnings("unchecked")
+public class TestAsyncExecution extends AbstractExecution {
+
+    private static final String SIMPLE_QUADS_QUERY = loadQuery("/queries/dataset/", "simple-quads.graphql");
+    private static final String QUAD = "(_ _:b <http://www.w3.org/2000/01/rdf-schema#comment> 'foo')";
+
+    private static void verifyQuads(ExecutionResult result, int expected) {
+        Assert.assertTrue(result.getErrors().isEmpty());
+        List<Object> quads = (List<Object>) ((Map<String, Object>) result.getData()).get(DatasetSchema.QUADS_FIELD);
+        Assert.assertEquals(quads.size(), expected);
+    }
+
+    @Test
+    public void givenExecutor_whenExecutingAsync_thenSameResultsAsSync() throws Exception {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+
+        // When
+        ExecutionResult result = executor.executeAsync(SIMPLE_QUADS_QUERY).get(5, TimeUnit.SECONDS);
+
+        // Then
+        verifyQuads(result, 1);
+        Assert.assertEquals(result.toSpecification(), executor.execute(SIMPLE_QUADS_QUERY).toSpecification());
+    }
+
+    @Test
+    public void givenExecutor_whenExecutingRequestAsyncOverAlternativeDataset_thenAlternativeDatasetUsed() throws
+            Exception {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.empty());
+        GraphQLRequest request = new GraphQLRequest();
+        request.setQuery(SIMPLE_QUADS_QUERY);
+
+        // When
+        ExecutionResult defaultResult = executor.executeAsync(request).get(5, TimeUnit.SECONDS);
+        ExecutionResult otherResult = executor.executeAsync(createDataset(QUAD), request).get(5, TimeUnit.SECONDS);
+
+        // Then
+        verifyQuads(defaultResult, 0);
+        verifyQuads(otherResult, 1);
+    }
+
+    @Test
+    public void givenCustomAsyncExecutor_whenExecutingAsync_thenExecutionRunsOnExecutorThread() throws Exception {
+        // Given
+        ExecutorService pool = Executors.newSingleThreadExecutor(r -> new Thread(r, "test-async"));
+        AtomicReference<String> threadName = new AtomicReference<>();
+        DatasetGraph dsg = createDataset(QUAD);
+        try {
+            DatasetExecutor executor = new DatasetExecutor(dsg) {
+                @Override
+                protected Executor createAsyncExecutor() {
+                    return pool;
+                }
+
+                @Override
+                protected Object createLocalContext(DatasetGraph dsg, Map<String, Object> extensions) {
+                    threadName.set(Thread.currentThread().getName());
+                    return super.createLocalContext(dsg, extensions);
+                }
+            };
+
+            // When
+            ExecutionResult result = executor.executeAsync(SIMPLE_QUADS_QUERY, Collections.emptyMap())
+                                             .get(5, TimeUnit.SECONDS);
+
+            // Then
+            verifyQuads(result, 1);
+            Assert.assertEquals(threadName.get(), "test-async");
+            Assert.assertFalse(dsg.isInTransaction());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenManyConcurrentAsyncExecutions_whenAwaitingAll_thenAllSucceed() throws Exception {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+
+        // When
+        List<CompletableFuture<ExecutionResult>> futures =
+                IntStream.range(0, 50).mapToObj(i -> executor.executeAsync(SIMPLE_QUADS_QUERY)).toList();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        // Then
+        for (CompletableFuture<ExecutionResult> future : futures) {
+            verifyQuads(future.get(), 1);
+        }
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void givenNullDataset_whenExecutingAsync_thenRejected() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+
+        // When and Then
+        executor.executeAsync(null, SIMPLE_QUADS_QUERY, null, Collections.emptyMap(), Collections.emptyMap());
+    }
+}
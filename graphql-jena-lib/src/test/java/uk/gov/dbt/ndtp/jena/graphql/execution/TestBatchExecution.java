@@ -0,0 +1,225 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.TxnType;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.DatasetGraphWrapper;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDFS;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SuppressWarnings("unchecked")
+public class TestBatchExecution extends AbstractExecution {
+
+    private static final String SIMPLE_QUADS_QUERY = loadQuery("/queries/dataset/", "simple-quads.graphql");
+
+    /**
+     * Dataset that counts the transactions begun on it
+     */
+    private static final class CountingDatasetGraph extends DatasetGraphWrapper {
+        private final AtomicInteger transactions = new AtomicInteger();
+
+        private CountingDatasetGraph() {
+            super(DatasetGraphFactory.createTxnMem());
+            Quad quad = new Quad(Quad.defaultGraphIRI, NodeFactory.createBlankNode(), RDFS.comment.asNode(),
+                                 NodeFactory.createLiteralString("foo"));
+            super.add(quad);
+        }
+
+        @Override
+        public void begin(TxnType type) {
+            this.transactions.incrementAndGet();
+            super.begin(type);
+        }
+    }
+
+    /**
+     * Executor that shares each batch out between several threads
+     */
+    private static final class ParallelExecutor extends DatasetExecutor {
+        private ParallelExecutor(DatasetGraph dsg) throws IOException {
+            super(dsg);
+        }
+
+        @Override
+        protected int getBatchParallelism() {
+            return 3;
+        }
+    }
+
+    private static GraphQLRequest request(String query) {
+        GraphQLRequest request = new GraphQLRequest();
+        request.setQuery(query);
+        return request;
+    }
+
+    private static List<GraphQLRequest> batch(int size) {
+        List<GraphQLRequest> requests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            requests.add(request(i % 2 == 0 ? SIMPLE_QUADS_QUERY : "{ quads { nosuchfield } }"));
+        }
+        return requests;
+    }
+
+    private static void verifyResults(List<ExecutionResult> results, int expected) {
+        Assert.assertEquals(results.size(), expected);
+        for (int i = 0; i < expected; i++) {
+            ExecutionResult result = results.get(i);
+            if (i % 2 == 0) {
+                Assert.assertTrue(result.getErrors().isEmpty());
+                List<Object> quads =
+                        (List<Object>) ((Map<String, Object>) result.getData()).get(DatasetSchema.QUADS_FIELD);
+                Assert.assertEquals(quads.size(), 1);
+            } else {
+                Assert.assertFalse(result.getErrors().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void givenBatch_whenExecuting_thenResultsInOrderFromSingleTransaction() throws IOException {
+        // Given
+        CountingDatasetGraph dsg = new CountingDatasetGraph();
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+
+        // When
+        List<ExecutionResult> results = executor.executeBatch(batch(5));
+
+        // Then
+        verifyResults(results, 5);
+        Assert.assertEquals(dsg.transactions.get(), 1);
+    }
+
+    @Test
+    public void givenBatchWithNullVariables_whenExecuting_thenSucceeds() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(new CountingDatasetGraph());
+        GraphQLRequest request = request(SIMPLE_QUADS_QUERY);
+        request.setVariables(null);
+        request.setExtensions(null);
+
+        // When
+        List<ExecutionResult> results = executor.executeBatch(List.of(request));
+
+        // Then
+        verifyResults(results, 1);
+    }
+
+    @Test
+    public void givenParallelExecutor_whenExecutingBatch_thenResultsInOrderFromTransactionPerThread()
+            throws IOException {
+        // Given
+        CountingDatasetGraph dsg = new CountingDatasetGraph();
+        DatasetExecutor executor = new ParallelExecutor(dsg);
+
+        // When
+        List<ExecutionResult> results = executor.executeBatch(batch(7));
+
+        // Then
+        verifyResults(results, 7);
+        Assert.assertEquals(dsg.transactions.get(), 3);
+    }
+
+    @Test
+    public void givenParallelExecutor_whenExecutingSmallBatch_thenSingleTransaction() throws IOException {
+        // Given
+        CountingDatasetGraph dsg = new CountingDatasetGraph();
+        DatasetExecutor executor = new ParallelExecutor(dsg);
+
+        // When
+        List<ExecutionResult> results = executor.executeBatch(batch(1));
+
+        // Then
+        verifyResults(results, 1);
+        Assert.assertEquals(dsg.transactions.get(), 1);
+    }
+
+    @Test
+    public void givenBatch_whenExecutingAsync_thenSameResults() throws Exception {
+        // Given
+        DatasetExecutor executor = new ParallelExecutor(new CountingDatasetGraph());
+
+        // When
+        List<ExecutionResult> results = executor.executeBatchAsync(batch(4)).get(5, TimeUnit.SECONDS);
+
+        // Then
+        verifyResults(results, 4);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*at least one.*")
+    public void givenEmptyBatch_whenExecuting_thenRejected() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create());
+
+        // When and Then
+        executor.executeBatch(Collections.emptyList());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*maximum batch.*")
+    public void givenOversizedBatch_whenExecutingAsync_thenRejected() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create());
+
+        // When and Then
+        executor.executeBatchAsync(batch(AbstractDatasetExecutor.DEFAULT_MAXIMUM_BATCH_SIZE + 1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenInvalidMaximumBatchSize_whenCreatingExecutor_thenRejected() throws IOException {
+        // When and Then
+        new DatasetExecutor(DatasetGraphFactory.create()) {
+            @Override
+            protected int getMaximumBatchSize() {
+                return 0;
+            }
+        };
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenInvalidBatchParallelism_whenCreatingExecutor_thenRejected() throws IOException {
+        // When and Then
+        new DatasetExecutor(DatasetGraphFactory.create()) {
+            @Override
+            protected int getBatchParallelism() {
+                return 0;
+            }
+        };
+    }
+}
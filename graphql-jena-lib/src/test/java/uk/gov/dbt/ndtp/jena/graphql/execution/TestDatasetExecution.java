@@ -101,6 +101,63 @@ public class TestDatasetExecution extends AbstractExecution {
         Assert.assertTrue(quads.isEmpty());
     }
 
+    @Test
+    public void dataset_multipleValues() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.create();
+        for (int i = 0; i < 5; i++) {
+            Node subject = NodeFactory.createURI("https://example.org/" + i);
+            dsg.add(Quad.defaultGraphIRI, subject, RDFS.label.asNode(), NodeFactory.createLiteralString("Label " + i));
+            dsg.add(Quad.defaultGraphIRI, subject, RDFS.comment.asNode(), NodeFactory.createLiteralString("Comment"));
+        }
+        DatasetExecutor execution = new DatasetExecutor(dsg);
+        String query = """
+                query($subjects: [NodeFilter!]) {
+                  quads(subjects: $subjects, predicate: { kind: URI, value: "http://www.w3.org/2000/01/rdf-schema#label" }) {
+                    subject { value }
+                  }
+                }""";
+        List<Object> subjects = List.of(NodeFilter.make(NodeFactory.createURI("https://example.org/3")),
+                                        NodeFilter.make(NodeFactory.createURI("https://example.org/1")),
+                                        NodeFilter.make(NodeFactory.createURI("https://example.org/3")),
+                                        NodeFilter.make(NodeFactory.createURI("https://example.org/missing")));
+
+        // When
+        ExecutionResult result = verifyExecution(execution, query, Map.of(DatasetSchema.SUBJECTS_ARGUMENT, subjects));
+
+        // Then
+        List<Object> quads = verifyQuads(result, 2, DatasetSchema.QUADS_FIELD);
+        Assert.assertEquals(quads.stream()
+                                 .map(q -> ((Map<String, Object>) ((Map<String, Object>) q).get("subject")).get("value"))
+                                 .toList(), List.of("https://example.org/1", "https://example.org/3"));
+    }
+
+    @Test
+    public void dataset_graphOnly() throws IOException {
+        // Given
+        Node graph = NodeFactory.createURI("https://example.org/graph");
+        DatasetGraph dsg = DatasetGraphFactory.create();
+        dsg.add(graph, NodeFactory.createURI("https://example.org/s"), RDFS.label.asNode(),
+                NodeFactory.createLiteralString("Label"));
+        DatasetExecutor execution = new DatasetExecutor(dsg);
+        String query = """
+                {
+                  quads {
+                    graph { value }
+                    object { value }
+                  }
+                }""";
+
+        // When
+        ExecutionResult result = verifyExecution(execution, query);
+
+        // Then
+        List<Object> quads = verifyQuads(result, 1, DatasetSchema.QUADS_FIELD);
+        Map<String, Object> quad = (Map<String, Object>) quads.get(0);
+        Assert.assertEquals(((Map<String, Object>) quad.get("graph")).get("value"), graph.getURI());
+        Assert.assertEquals(((Map<String, Object>) quad.get("object")).get("value"), "Label");
+    }
+
     @Test
     public void dataset_01() throws IOException {
         DatasetGraph dsg = DatasetGraphFactory.create();
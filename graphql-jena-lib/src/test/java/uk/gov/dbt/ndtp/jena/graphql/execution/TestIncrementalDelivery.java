@@ -0,0 +1,290 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.ParseAndValidateResult;
+import graphql.incremental.DeferPayload;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.incremental.IncrementalPayload;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings("unchecked")
+public class TestIncrementalDelivery extends AbstractExecution {
+
+    private static final String DEFERRED_OBJECTS_QUERY = """
+            query {
+              quads {
+                subject { value }
+                ... @defer(label: "objects") {
+                  object { value }
+                }
+              }
+            }""";
+
+    private static final String DEFERRED_QUADS_QUERY = """
+            query {
+              ... @defer(label: "quads") {
+                quads { subject { value } }
+              }
+            }""";
+
+    /**
+     * Listener that collects the results delivered to it
+     */
+    private static final class CollectingListener implements IncrementalResultListener {
+        private final List<ExecutionResult> initial = new ArrayList<>();
+        private final List<DelayedIncrementalPartialResult> subsequent = new ArrayList<>();
+
+        @Override
+        public void onInitialResult(ExecutionResult result) {
+            this.initial.add(result);
+        }
+
+        @Override
+        public void onSubsequentResult(DelayedIncrementalPartialResult result) {
+            this.subsequent.add(result);
+        }
+
+        List<IncrementalPayload> payloads() {
+            List<IncrementalPayload> payloads = new ArrayList<>();
+            this.subsequent.forEach(r -> payloads.addAll(r.getIncremental()));
+            return payloads;
+        }
+    }
+
+
+    private static GraphQLRequest request(String query) {
+        GraphQLRequest request = new GraphQLRequest();
+        request.setQuery(query);
+        return request;
+    }
+
+    private static List<Map<String, Object>> quads(Object data) {
+        return (List<Map<String, Object>>) ((Map<String, Object>) data).get(DatasetSchema.QUADS_FIELD);
+    }
+
+    @Test
+    public void givenDeferredFields_whenExecutingWithListener_thenDeliveredIncrementally() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generateDummyQuads(dsg, 5);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        CollectingListener listener = new CollectingListener();
+
+        // When
+        ExecutionResult result = executor.execute(dsg, request(DEFERRED_OBJECTS_QUERY), listener);
+
+        // Then
+        Assert.assertEquals(listener.initial, List.of(result));
+        Assert.assertTrue(result.getErrors().isEmpty());
+        Assert.assertTrue(result instanceof IncrementalExecutionResult);
+        Assert.assertTrue(((IncrementalExecutionResult) result).hasNext());
+        List<Map<String, Object>> quads = quads(result.getData());
+        Assert.assertEquals(quads.size(), 5);
+        quads.forEach(q -> Assert.assertFalse(q.containsKey(DatasetSchema.OBJECT_FIELD)));
+
+        // And
+        Assert.assertFalse(listener.subsequent.isEmpty());
+        Assert.assertFalse(listener.subsequent.get(listener.subsequent.size() - 1).hasNext());
+        List<IncrementalPayload> payloads = listener.payloads();
+        Assert.assertEquals(payloads.size(), 5);
+        for (IncrementalPayload payload : payloads) {
+            Assert.assertEquals(payload.getLabel(), "objects");
+            Assert.assertEquals(payload.getPath().get(0), DatasetSchema.QUADS_FIELD);
+            Map<String, Object> data = ((DeferPayload) payload).getData();
+            Assert.assertTrue(data.containsKey(DatasetSchema.OBJECT_FIELD));
+        }
+    }
+
+    @Test
+    public void givenDeferredTopLevelField_whenExecutingWithListener_thenInitialResultIsEmpty() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generateDummyQuads(dsg, 3);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        CollectingListener listener = new CollectingListener();
+
+        // When
+        ExecutionResult result = executor.execute(dsg, request(DEFERRED_QUADS_QUERY), listener);
+
+        // Then
+        Assert.assertEquals(result.getData(), Map.of());
+        List<IncrementalPayload> payloads = listener.payloads();
+        Assert.assertEquals(payloads.size(), 1);
+        Assert.assertEquals(quads(((DeferPayload) payloads.get(0)).getData()).size(), 3);
+    }
+
+    @Test
+    public void givenDeferredFields_whenExecutingWithoutListener_thenCompleteResult() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generateDummyQuads(dsg, 5);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+
+        // When
+        ExecutionResult result = executor.execute(DEFERRED_OBJECTS_QUERY);
+
+        // Then
+        Assert.assertTrue(result.getErrors().isEmpty());
+        Assert.assertFalse(result instanceof IncrementalExecutionResult);
+        List<Map<String, Object>> quads = quads(result.getData());
+        Assert.assertEquals(quads.size(), 5);
+        quads.forEach(q -> Assert.assertTrue(q.containsKey(DatasetSchema.OBJECT_FIELD)));
+    }
+
+    @Test
+    public void givenNoDeferredFields_whenExecutingWithListener_thenOnlyInitialResult() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generateDummyQuads(dsg, 5);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        CollectingListener listener = new CollectingListener();
+
+        // When
+        ExecutionResult result = executor.execute(dsg, request("{ quads { subject { value } } }"), listener);
+
+        // Then
+        Assert.assertEquals(listener.initial, List.of(result));
+        Assert.assertTrue(listener.subsequent.isEmpty());
+        Assert.assertEquals(quads(result.getData()).size(), 5);
+    }
+
+    @Test
+    public void givenDeferredFields_whenExecutingAsyncWithListener_thenDeliveredIncrementally() throws Exception {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generateDummyQuads(dsg, 4);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        CollectingListener listener = new CollectingListener();
+
+        // When
+        ExecutionResult result = executor.executeAsync(DEFERRED_OBJECTS_QUERY, null, Collections.emptyMap(),
+                                                       Collections.emptyMap(), listener).get(5, TimeUnit.SECONDS);
+
+        // Then
+        Assert.assertEquals(listener.initial, List.of(result));
+        Assert.assertEquals(listener.payloads().size(), 4);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "Client gone")
+    public void givenFailingListener_whenDeliveringSubsequentResults_thenExecutionFails() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generateDummyQuads(dsg, 5);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        IncrementalResultListener listener = new IncrementalResultListener() {
+            @Override
+            public void onInitialResult(ExecutionResult result) {
+                // Ignored
+            }
+
+            @Override
+            public void onSubsequentResult(DelayedIncrementalPartialResult result) {
+                throw new IllegalStateException("Client gone");
+            }
+        };
+
+        // When and Then
+        executor.execute(dsg, request(DEFERRED_OBJECTS_QUERY), listener);
+    }
+
+    @Test
+    public void givenExecutorWithoutIncrementalSupport_whenExecutingWithListener_thenCompleteResultDelivered() throws
+            Exception {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generateDummyQuads(dsg, 2);
+        DatasetExecutor delegate = new DatasetExecutor(dsg);
+        GraphQLOverDatasetExecutor datasetExecutor = new GraphQLOverDatasetExecutor() {
+            @Override
+            public ExecutionResult execute(DatasetGraph dsg, GraphQLRequest request) {
+                return delegate.execute(dsg, request);
+            }
+
+            @Override
+            public ExecutionResult execute(DatasetGraph dsg, String query, String operationName,
+                                           Map<String, Object> variables, Map<String, Object> extensions) {
+                return delegate.execute(dsg, query, operationName, variables, extensions);
+            }
+        };
+        GraphQLExecutor executor = new GraphQLExecutor() {
+            @Override
+            public ExecutionResult execute(String query) {
+                return delegate.execute(query);
+            }
+
+            @Override
+            public ExecutionResult execute(String query, Map<String, Object> variables) {
+                return delegate.execute(query, variables);
+            }
+
+            @Override
+            public ExecutionResult execute(String query, String operationName, Map<String, Object> variables,
+                                           Map<String, Object> extensions) {
+                return delegate.execute(query, operationName, variables, extensions);
+            }
+
+            @Override
+            public ExecutionResult execute(GraphQLRequest request) {
+                return delegate.execute(request);
+            }
+
+            @Override
+            public ParseAndValidateResult validate(String query, String operationName, Map<String, Object> variables,
+                                                   Map<String, Object> extensions) {
+                return delegate.validate(query, operationName, variables, extensions);
+            }
+        };
+        CollectingListener listener = new CollectingListener();
+        CollectingListener asyncListener = new CollectingListener();
+
+        // When
+        ExecutionResult result = datasetExecutor.execute(dsg, request(DEFERRED_OBJECTS_QUERY), listener);
+        ExecutionResult asyncResult = executor
+                .executeAsync(DEFERRED_OBJECTS_QUERY, null, Collections.emptyMap(), Collections.emptyMap(),
+                              asyncListener)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        Assert.assertEquals(listener.initial, List.of(result));
+        Assert.assertTrue(listener.subsequent.isEmpty());
+        quads(result.getData()).forEach(q -> Assert.assertTrue(q.containsKey(DatasetSchema.OBJECT_FIELD)));
+        Assert.assertEquals(asyncListener.initial, List.of(asyncResult));
+        Assert.assertTrue(asyncListener.subsequent.isEmpty());
+    }
+}
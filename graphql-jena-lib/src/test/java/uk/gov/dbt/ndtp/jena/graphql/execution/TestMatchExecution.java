@@ -0,0 +1,200 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDFS;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@SuppressWarnings("unchecked")
+public class TestMatchExecution extends AbstractExecution {
+
+    private static final Node AGE = NodeFactory.createURI("https://example.org/age");
+    private static final Node KNOWS = NodeFactory.createURI("https://example.org/knows");
+
+    private static DatasetGraph createPeople() {
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 10, Quad.defaultGraphIRI);
+        for (int i = 0; i < 10; i++) {
+            Node subject = NodeFactory.createURI("https://example.org/" + i);
+            dsg.add(new Quad(GRAPH, subject, AGE, NodeFactory.createLiteralDT(Integer.toString(20 + i),
+                                                                              XSDDatatype.XSDinteger)));
+            if (i > 0) {
+                dsg.add(new Quad(GRAPH, subject, KNOWS, NodeFactory.createURI("https://example.org/" + (i - 1))));
+            }
+        }
+        return dsg;
+    }
+
+    private static List<Map<String, String>> solutions(ExecutionResult result) {
+        List<Map<String, Object>> solutions =
+                (List<Map<String, Object>>) ((Map<String, Object>) result.getData()).get(DatasetSchema.MATCH_FIELD);
+        return solutions.stream().map(s -> {
+            Map<String, String> row = new LinkedHashMap<>();
+            for (Map<String, Object> binding : (List<Map<String, Object>>) s.get(DatasetSchema.BINDINGS_FIELD)) {
+                row.put((String) binding.get(DatasetSchema.VARIABLE_FIELD),
+                        (String) ((Map<String, Object>) binding.get("value")).get("value"));
+            }
+            return row;
+        }).toList();
+    }
+
+    @Test
+    public void givenPatternsAcrossGraphs_whenMatching_thenJoinedSolutionsReturned() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople());
+
+        // When
+        ExecutionResult result = verifyExecution(executor, """
+                {
+                  match(patterns: [
+                    { subject: { kind: VARIABLE, value: "person" },
+                      predicate: { kind: URI, value: "http://www.w3.org/1999/02/22-rdf-syntax-ns#type" },
+                      object: { kind: URI, value: "https://example.org/Person" } },
+                    { subject: { kind: VARIABLE, value: "person" },
+                      predicate: { kind: URI, value: "https://example.org/knows" },
+                      object: { kind: VARIABLE, value: "friend" },
+                      graph: { kind: URI, value: "https://example.org/graph" } },
+                    { subject: { kind: VARIABLE, value: "friend" },
+                      predicate: { kind: URI, value: "http://www.w3.org/2000/01/rdf-schema#label" },
+                      object: { kind: VARIABLE, value: "name" } }
+                  ]) {
+                    bindings { variable value { value } }
+                  }
+                }""");
+
+        // Then
+        List<Map<String, String>> solutions = solutions(result);
+        Assert.assertEquals(solutions.size(), 9);
+        for (Map<String, String> solution : solutions) {
+            Assert.assertEquals(List.copyOf(solution.keySet()), List.of("person", "friend", "name"));
+            int friend = Integer.parseInt(solution.get("friend").substring("https://example.org/".length()));
+            Assert.assertEquals(solution.get("person"), "https://example.org/" + (friend + 1));
+            Assert.assertEquals(solution.get("name"), "Person " + friend);
+        }
+    }
+
+    @Test
+    public void givenOrderAndLimit_whenMatching_thenSolutionsOrderedAndLimited() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople());
+
+        // When
+        ExecutionResult result = verifyExecution(executor, """
+                {
+                  match(patterns: [
+                    { subject: { kind: VARIABLE, value: "person" },
+                      predicate: { kind: URI, value: "https://example.org/age" },
+                      object: { kind: VARIABLE, value: "age" },
+                      graph: { kind: VARIABLE, value: "g" } }
+                  ], orderBy: [ { variable: "age", descending: true } ], limit: 3) {
+                    bindings { variable value { value } }
+                  }
+                }""");
+
+        // Then
+        List<Map<String, String>> solutions = solutions(result);
+        Assert.assertEquals(solutions.stream().map(s -> s.get("age")).toList(), List.of("29", "28", "27"));
+        Assert.assertEquals(solutions.get(0).get("g"), GRAPH.getURI());
+    }
+
+    @DataProvider(name = "invalidMatches")
+    private Object[][] invalidMatches() {
+        String pattern = """
+                { subject: { kind: VARIABLE, value: "s" }, predicate: { kind: VARIABLE, value: "p" },
+                  object: { kind: VARIABLE, value: "o" } }""";
+        return new Object[][] {
+                { "{ match(patterns: []) { bindings { variable } } }" },
+                { "{ match(patterns: [" + pattern + "], limit: -1) { bindings { variable } } }" },
+                { "{ match(patterns: [" + pattern + "], limit: 100000) { bindings { variable } } }" },
+                { "{ match(patterns: [" + pattern + "], orderBy: [ { variable: \"x\" } ]) { bindings { variable } } }" },
+                { "{ match(patterns: [" + String.join(",", Collections.nCopies(33, pattern)) + "]) { bindings { variable } } }" },
+                { """
+                  { match(patterns: [ { subject: { kind: VARIABLE }, predicate: { kind: VARIABLE, value: "p" },
+                                        object: { kind: VARIABLE, value: "o" } } ]) { bindings { variable } } }""" }
+        };
+    }
+
+    @Test(dataProvider = "invalidMatches")
+    public void givenInvalidArguments_whenMatching_thenError(String query) throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople());
+
+        // When
+        ExecutionResult result = executor.execute(query);
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void givenTimeout_whenMatchingCrossProduct_thenAbandoned() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        for (int i = 0; i < 2_000; i++) {
+            dsg.add(new Quad(Quad.defaultGraphIRI, NodeFactory.createURI("https://example.org/" + i), RDFS.label.asNode(),
+                             NodeFactory.createLiteralString(Integer.toString(i))));
+        }
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        String query = """
+                {
+                  match(patterns: [
+                    { subject: { kind: VARIABLE, value: "a" }, predicate: { kind: VARIABLE, value: "p" },
+                      object: { kind: VARIABLE, value: "x" } },
+                    { subject: { kind: VARIABLE, value: "b" }, predicate: { kind: VARIABLE, value: "p" },
+                      object: { kind: VARIABLE, value: "y" } },
+                    { subject: { kind: VARIABLE, value: "c" }, predicate: { kind: VARIABLE, value: "p" },
+                      object: { kind: VARIABLE, value: "z" } }
+                  ], orderBy: [ { variable: "z" } ], limit: 1) {
+                    bindings { variable }
+                  }
+                }""";
+
+        // When
+        long start = System.currentTimeMillis();
+        ExecutionResult result = executor.execute(query, null, Collections.emptyMap(),
+                                                  Map.of(QueryDeadline.EXTENSION_TIMEOUT, 250));
+
+        // Then
+        Assert.assertTrue(System.currentTimeMillis() - start < 10_000);
+        Assert.assertFalse(result.getErrors().isEmpty());
+        Assert.assertTrue(result.getErrors().get(0) instanceof QueryTimeoutException);
+    }
+}
@@ -0,0 +1,509 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.language.FieldDefinition;
+import graphql.language.NonNullType;
+import graphql.language.ObjectTypeDefinition;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.TxnType;
+import org.apache.jena.shared.JenaException;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.DatasetGraphWrapper;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.system.Txn;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.AddQuadsFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.DeletePatternFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+public class TestMutationExecution extends AbstractExecution {
+
+    private static final String ADD_MUTATION = """
+            mutation {
+              addQuads(quads: [
+                { subject: { kind: URI, value: "https://example.org/new" },
+                  predicate: { kind: URI, value: "http://www.w3.org/1999/02/22-rdf-syntax-ns#type" },
+                  object: { kind: URI, value: "https://example.org/Person" } },
+                { subject: { kind: URI, value: "https://example.org/new" },
+                  predicate: { kind: URI, value: "http://www.w3.org/2000/01/rdf-schema#label" },
+                  object: { kind: LANGUAGE_LITERAL, value: "New", language: "en" },
+                  graph: { kind: URI, value: "https://example.org/graph" } },
+                { subject: { kind: URI, value: "https://example.org/0" },
+                  predicate: { kind: URI, value: "http://www.w3.org/1999/02/22-rdf-syntax-ns#type" },
+                  object: { kind: URI, value: "https://example.org/Person" } }
+              ])
+            }""";
+    private static final Quad NEW_TYPE =
+            Quad.create(Quad.defaultGraphIRI, NodeFactory.createURI("https://example.org/new"), RDF.type.asNode(),
+                        PERSON);
+
+    private static VersionedDatasetGraph createPeople() {
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 5, GRAPH);
+        return new VersionedDatasetGraph(dsg);
+    }
+
+    private static long size(DatasetGraph dsg) {
+        return Txn.calculateRead(dsg, () -> (long) dsg.stream().count());
+    }
+
+    private static Object field(ExecutionResult result, String field) {
+        return ((Map<String, Object>) result.getData()).get(field);
+    }
+
+    @Test
+    public void givenQuads_whenAdding_thenNewQuadsAddedAndCounted() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        long version = dsg.getVersion();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+
+        // When
+        ExecutionResult result = verifyExecution(executor, ADD_MUTATION);
+
+        // Then
+        Assert.assertEquals(field(result, DatasetSchema.ADD_QUADS_FIELD), 2);
+        Assert.assertEquals(size(dsg), 12);
+        Assert.assertTrue(Txn.calculateRead(dsg, () -> dsg.contains(NEW_TYPE)));
+        Assert.assertTrue(dsg.getVersion() > version);
+        Assert.assertFalse(dsg.isInTransaction());
+    }
+
+    @Test
+    public void givenQuads_whenDeleting_thenPresentQuadsDeletedAndCounted() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+
+        // When
+        ExecutionResult result = verifyExecution(executor, """
+                mutation {
+                  deleteQuads(quads: [
+                    { subject: { kind: URI, value: "https://example.org/1" },
+                      predicate: { kind: URI, value: "http://www.w3.org/2000/01/rdf-schema#label" },
+                      object: { kind: PLAIN_LITERAL, value: "Person 1" },
+                      graph: { kind: URI, value: "https://example.org/graph" } },
+                    { subject: { kind: URI, value: "https://example.org/1" },
+                      predicate: { kind: URI, value: "http://www.w3.org/2000/01/rdf-schema#label" },
+                      object: { kind: PLAIN_LITERAL, value: "Person 1" } }
+                  ])
+                }""");
+
+        // Then
+        Assert.assertEquals(field(result, DatasetSchema.DELETE_QUADS_FIELD), 1);
+        Assert.assertEquals(size(dsg), 9);
+    }
+
+    @Test
+    public void givenFilter_whenDeletingPattern_thenMatchingQuadsDeleted() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+
+        // When
+        ExecutionResult result = verifyExecution(executor, """
+                mutation {
+                  deletePattern(graph: { kind: URI, value: "https://example.org/graph" },
+                                subjects: [{ kind: URI, value: "https://example.org/1" },
+                                           { kind: URI, value: "https://example.org/2" }])
+                }""");
+
+        // Then
+        Assert.assertEquals(field(result, DatasetSchema.DELETE_PATTERN_FIELD), 2);
+        Assert.assertEquals(size(dsg), 8);
+    }
+
+    @Test
+    public void givenLiteralFilter_whenDeletingPattern_thenMatchesDeletedInBatches() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        int matching = DeletePatternFetcher.DELETE_BATCH_SIZE + 5;
+        Txn.executeWrite(dsg, () -> {
+            for (int i = 0; i < matching; i++) {
+                Node subject = NodeFactory.createURI("https://example.org/bulk/" + i);
+                dsg.add(new Quad(GRAPH, subject, RDFS.label.asNode(), NodeFactory.createLiteralString("Bulk " + i)));
+            }
+        });
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+
+        // When
+        ExecutionResult result = verifyExecution(executor, """
+                mutation {
+                  deletePattern(predicate: { kind: URI, value: "http://www.w3.org/2000/01/rdf-schema#label" },
+                                literal: { prefix: "Bulk" })
+                }""");
+
+        // Then
+        Assert.assertEquals(field(result, DatasetSchema.DELETE_PATTERN_FIELD), matching);
+        Assert.assertEquals(size(dsg), 10);
+    }
+
+    @Test
+    public void givenWildcardPositionsAndLiteralFilter_whenDeletingPattern_thenOnlyLiteralMatchesDeleted()
+            throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+
+        // When
+        ExecutionResult result = verifyExecution(executor, """
+                mutation {
+                  deletePattern(subject: { kind: VARIABLE, value: "s" }, literal: { regex: "^Person [0-2]$" })
+                }""");
+
+        // Then
+        Assert.assertEquals(field(result, DatasetSchema.DELETE_PATTERN_FIELD), 3);
+        Assert.assertEquals(size(dsg), 7);
+    }
+
+    @Test
+    public void givenMutationThatAddsThenQueries_whenExecuting_thenQueriesSeeChanges() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+        String count = "{ count }";
+        Assert.assertEquals(field(verifyExecution(executor, count), DatasetSchema.COUNT_FIELD), 10);
+
+        // When
+        verifyExecution(executor, ADD_MUTATION);
+        ExecutionResult again = verifyExecution(executor, ADD_MUTATION);
+
+        // Then
+        Assert.assertEquals(field(again, DatasetSchema.ADD_QUADS_FIELD), 0);
+        Assert.assertEquals(field(verifyExecution(executor, count), DatasetSchema.COUNT_FIELD), 12);
+        Assert.assertEquals(executor.getResponseCacheStats().hitCount(), 0);
+    }
+
+    @DataProvider(name = "failingMutations")
+    private Object[][] failingMutations() {
+        return new Object[][] {
+                {
+                        """
+                        mutation {
+                          addQuads(quads: [{ subject: { kind: URI, value: "https://example.org/new" },
+                                             predicate: { kind: URI, value: "https://example.org/p" },
+                                             object: { kind: URI, value: "https://example.org/o" } }])
+                          deletePattern
+                        }"""
+                },
+                {
+                        """
+                        mutation {
+                          deletePattern(subject: { kind: VARIABLE, value: "s" })
+                        }"""
+                },
+                {
+                        """
+                        mutation {
+                          deletePattern(graphs: [{ kind: VARIABLE, value: "g" }, { kind: URI, value: "https://example.org/graph" }],
+                                        object: { kind: VARIABLE, value: "o" })
+                        }"""
+                },
+                {
+                        """
+                        mutation {
+                          addQuads(quads: [{ subject: { kind: URI, value: "https://example.org/new" },
+                                             predicate: { kind: URI, value: "https://example.org/p" },
+                                             object: { kind: URI, value: "https://example.org/o" } },
+                                           { subject: { kind: VARIABLE, value: "s" },
+                                             predicate: { kind: URI, value: "https://example.org/p" },
+                                             object: { kind: URI, value: "https://example.org/o" } }])
+                        }"""
+                },
+                {
+                        """
+                        mutation {
+                          addQuads(quads: [{ subject: { kind: URI, value: "https://example.org/new" },
+                                             predicate: { kind: URI, value: "https://example.org/p" },
+                                             object: { kind: URI, value: "https://example.org/o" },
+                                             graph: { kind: PLAIN_LITERAL, value: "graph" } }])
+                        }"""
+                }
+        };
+    }
+
+    @Test(dataProvider = "failingMutations")
+    public void givenFailingMutation_whenExecuting_thenNoChangesMade(String mutation) throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        long version = dsg.getVersion();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+
+        // When
+        ExecutionResult result = executor.execute(mutation);
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+        Assert.assertEquals(size(dsg), 10);
+        Assert.assertEquals(dsg.getVersion(), version);
+        Assert.assertFalse(dsg.isInTransaction());
+    }
+
+    @Test
+    public void givenFirstFieldFailsPartWay_whenExecutingMutation_thenLaterFieldsNotCommitted() throws IOException {
+        // Given
+        DatasetGraph people = DatasetGraphFactory.createTxnMem();
+        generatePeople(people, 5, GRAPH);
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(new DatasetGraphWrapper(people) {
+            @Override
+            public void deleteAny(Node g, Node s, Node p, Node o) {
+                // Delete some of the matches before failing, as a store error might
+                delete(find(g, s, p, o).next());
+                throw new JenaException("Store failure");
+            }
+        });
+        long version = dsg.getVersion();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true) {
+            @Override
+            protected TypeDefinitionRegistry loadRawSchema() throws IOException {
+                // Nullable mutation fields mean a failed field does not prevent the later fields from executing
+                TypeDefinitionRegistry registry = super.loadRawSchema();
+                ObjectTypeDefinition mutation =
+                        registry.getType(DatasetSchema.QUADS_MUTATION_TYPE, ObjectTypeDefinition.class).orElseThrow();
+                List<FieldDefinition> fields = mutation.getFieldDefinitions()
+                                                       .stream()
+                                                       .map(f -> f.transform(
+                                                               b -> b.type(((NonNullType) f.getType()).getType())))
+                                                       .toList();
+                registry.remove(mutation);
+                registry.add(mutation.transform(t -> t.fieldDefinitions(fields)));
+                return registry;
+            }
+        };
+
+        // When
+        ExecutionResult result = executor.execute("""
+                mutation {
+                  a: deletePattern(graph: { kind: URI, value: "https://example.org/graph" })
+                  b: addQuads(quads: [{ subject: { kind: URI, value: "https://example.org/new" },
+                                        predicate: { kind: URI, value: "http://www.w3.org/1999/02/22-rdf-syntax-ns#type" },
+                                        object: { kind: URI, value: "https://example.org/Person" } }])
+                }""");
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+        Assert.assertEquals(size(dsg), 10);
+        Assert.assertFalse(Txn.calculateRead(dsg, () -> dsg.contains(NEW_TYPE)));
+        Assert.assertEquals(dsg.getVersion(), version);
+        Assert.assertFalse(dsg.isInTransaction());
+    }
+
+    @Test
+    public void givenNoWriteTransaction_whenFetchingMutation_thenRejected() {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        DataFetchingEnvironment environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                                                                         .localContext(dsg)
+                                                                         .arguments(Map.of(DatasetSchema.QUADS_ARGUMENT,
+                                                                                           List.of()))
+                                                                         .build();
+        AddQuadsFetcher fetcher = new AddQuadsFetcher();
+
+        // When and Then
+        Assert.expectThrows(IllegalStateException.class, () -> fetcher.get(environment));
+        Txn.executeRead(dsg, () -> Assert.expectThrows(IllegalStateException.class, () -> fetcher.get(environment)));
+        Assert.assertEquals(size(dsg), 10);
+    }
+
+    @Test
+    public void givenMutationInBatch_whenExecuting_thenRejected() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+        GraphQLRequest query = new GraphQLRequest();
+        query.setQuery("{ count }");
+        GraphQLRequest mutation = new GraphQLRequest();
+        mutation.setQuery(ADD_MUTATION);
+
+        // When
+        List<ExecutionResult> results = executor.executeBatch(List.of(query, mutation));
+
+        // Then
+        Assert.assertTrue(results.get(0).getErrors().isEmpty());
+        Assert.assertFalse(results.get(1).getErrors().isEmpty());
+        Assert.assertTrue(results.get(1).getErrors().get(0).getMessage().contains("read transaction"));
+        Assert.assertEquals(size(dsg), 10);
+    }
+
+    @Test
+    public void givenCallerWriteTransaction_whenExecutingMutation_thenChangesPartOfCallersTransaction() throws
+            IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+
+        // When
+        dsg.begin(TxnType.WRITE);
+        try {
+            verifyExecution(executor, ADD_MUTATION);
+        } finally {
+            dsg.abort();
+            dsg.end();
+        }
+
+        // Then
+        Assert.assertEquals(size(dsg), 10);
+    }
+
+    @Test(dataProvider = "failingMutations")
+    public void givenCallerWriteTransaction_whenExecutingFailingMutation_thenCallersTransactionNotAborted(
+            String mutation) throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+
+        // When
+        dsg.begin(TxnType.WRITE);
+        try {
+            dsg.add(NEW_TYPE);
+            ExecutionResult result = executor.execute(mutation);
+
+            // Then
+            Assert.assertFalse(result.getErrors().isEmpty());
+            Assert.assertTrue(dsg.isInTransaction());
+            Assert.assertTrue(dsg.contains(NEW_TYPE));
+            dsg.commit();
+        } finally {
+            dsg.end();
+        }
+
+        // And
+        Assert.assertTrue(Txn.calculateRead(dsg, () -> dsg.contains(NEW_TYPE)));
+    }
+
+    @Test
+    public void givenMutationWithListener_whenExecutingAsync_thenCompleteResultDelivered() throws IOException,
+            ExecutionException, InterruptedException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        DatasetExecutor executor = new DatasetExecutor(dsg, true);
+        List<ExecutionResult> initial = new ArrayList<>();
+        IncrementalResultListener listener = new IncrementalResultListener() {
+            @Override
+            public void onInitialResult(ExecutionResult result) {
+                initial.add(result);
+            }
+
+            @Override
+            public void onSubsequentResult(DelayedIncrementalPartialResult result) {
+                Assert.fail("Mutations should not be delivered incrementally");
+            }
+        };
+
+        // When
+        ExecutionResult result =
+                executor.executeAsync(ADD_MUTATION, null, Collections.emptyMap(), Collections.emptyMap(), listener)
+                        .get();
+
+        // Then
+        Assert.assertEquals(initial, List.of(result));
+        Assert.assertEquals(field(result, DatasetSchema.ADD_QUADS_FIELD), 2);
+    }
+
+    @DataProvider(name = "operations")
+    private Object[][] operations() {
+        return new Object[][] {
+                { "{ count }", null, false },
+                { "query { count }", null, false },
+                { ADD_MUTATION, null, true },
+                { "query Count { count } mutation Clear { deletePattern(subject: { kind: URI, value: \"x\" }) }",
+                  "Count", false },
+                { "query Count { count } mutation Clear { deletePattern(subject: { kind: URI, value: \"x\" }) }",
+                  "Clear", true },
+                { "mutation {", null, false },
+                { null, null, false }
+        };
+    }
+
+    @Test(dataProvider = "operations")
+    public void givenOperation_whenCheckingIfMutation_thenCorrect(String query, String operationName,
+                                                                  boolean expected) throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople(), true);
+
+        // When and Then
+        Assert.assertEquals(executor.isMutation(query, operationName, null), expected);
+        if (query != null) {
+            // Once executed the query is cached so the cached document is used instead
+            executor.execute(query, operationName, Collections.emptyMap(), Collections.emptyMap());
+            Assert.assertEquals(executor.isMutation(query, operationName, Collections.emptyMap()), expected);
+        }
+    }
+
+    @Test
+    public void givenUnknownPersistedOperation_whenCheckingIfMutation_thenFalse() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople(), true);
+
+        // When and Then
+        Assert.assertFalse(executor.isMutation(null, null, Map.of("persistedQuery",
+                                                                   Map.of("version", 1, "sha256Hash", "unknown"))));
+    }
+
+    @Test
+    public void givenDefaultExecutor_whenMutating_thenRejectedAndDatasetUnchanged() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = createPeople();
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+
+        // When
+        ExecutionResult result = executor.execute(ADD_MUTATION);
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+        Assert.assertNull(executor.schema.getMutationType());
+        Assert.assertFalse(executor.isMutation(ADD_MUTATION, null, Collections.emptyMap()));
+        Assert.assertEquals(size(dsg), 10);
+    }
+
+    @Test
+    public void givenNonMutableSchema_whenCheckingIfMutation_thenFalse() throws IOException {
+        // Given
+        TraversalExecutor executor = new TraversalExecutor(DatasetGraphFactory.createTxnMem());
+
+        // When and Then
+        Assert.assertFalse(executor.isMutation(ADD_MUTATION, null, Collections.emptyMap()));
+    }
+}
@@ -0,0 +1,360 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestPersistedOperations extends AbstractExecution {
+
+    private static final String SIMPLE_QUADS_QUERY = loadQuery("/queries/dataset/", "simple-quads.graphql");
+    private static final String SUBJECTS_QUERY = "{ quads { subject { value } } }";
+    private static final String QUAD = "(_ <http://s> <http://p> <http://o>)";
+
+    /**
+     * An executor that only permits the simple quads query to be executed
+     */
+    private static final class PersistedOnlyExecutor extends DatasetExecutor {
+        PersistedOnlyExecutor(DatasetGraph dsg) throws IOException {
+            super(dsg);
+        }
+
+        @Override
+        protected PersistedOperations createPersistedOperations() {
+            return PersistedOperations.newRegistry().operation(SIMPLE_QUADS_QUERY).persistedOnly(true).build();
+        }
+    }
+
+    private static Map<String, Object> persistedQuery(String hash) {
+        return Map.of(PersistedOperations.EXTENSION_PERSISTED_QUERY,
+                      Map.of(PersistedOperations.VERSION, PersistedOperations.SUPPORTED_VERSION,
+                             PersistedOperations.SHA256_HASH, hash));
+    }
+
+    private static void verifyError(ExecutionResult result, String code) {
+        Assert.assertFalse(result.isDataPresent());
+        Assert.assertEquals(result.getErrors().size(), 1);
+        GraphQLError error = result.getErrors().get(0);
+        Assert.assertEquals(error.getExtensions().get(PersistedOperationException.EXTENSION_CODE), code);
+    }
+
+    private static void verifySuccess(ExecutionResult result) {
+        Assert.assertTrue(result.getErrors().isEmpty(), "Unexpected errors: " + result.getErrors());
+        Assert.assertTrue(result.isDataPresent());
+    }
+
+    @Test
+    public void givenUnknownHash_whenExecuting_thenNotFound() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+
+        // When
+        ExecutionResult result =
+                executor.execute(null, null, Map.of(), persistedQuery(PersistedOperations.hash(SUBJECTS_QUERY)));
+
+        // Then
+        verifyError(result, PersistedOperationException.CODE_NOT_FOUND);
+        Assert.assertEquals(result.getErrors().get(0).getMessage(), "PersistedQueryNotFound");
+    }
+
+    @Test
+    public void givenQueryAndHash_whenExecuting_thenRegisteredAutomatically() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+        Map<String, Object> extensions = persistedQuery(PersistedOperations.hash(SUBJECTS_QUERY));
+
+        // When
+        ExecutionResult registered = executor.execute(SUBJECTS_QUERY, null, Map.of(), extensions);
+        ExecutionResult byHash = executor.execute("", null, Map.of(), extensions);
+
+        // Then
+        verifySuccess(registered);
+        verifySuccess(byHash);
+        Assert.assertEquals(byHash.<Object>getData(), registered.getData());
+    }
+
+    @Test
+    public void givenUppercaseHash_whenExecuting_thenHashMatched() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+
+        // When
+        ExecutionResult result = executor.execute(SUBJECTS_QUERY, null, Map.of(), persistedQuery(
+                PersistedOperations.hash(SUBJECTS_QUERY).toUpperCase()));
+
+        // Then
+        verifySuccess(result);
+    }
+
+    @Test
+    public void givenMismatchedHash_whenExecuting_thenRejected() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+
+        // When
+        ExecutionResult result = executor.execute(SUBJECTS_QUERY, null, Map.of(),
+                                                  persistedQuery(PersistedOperations.hash(SIMPLE_QUADS_QUERY)));
+
+        // Then
+        verifyError(result, PersistedOperationException.CODE_HASH_MISMATCH);
+    }
+
+    @DataProvider(name = "invalidExtensions")
+    private Object[][] invalidExtensions() {
+        Map<String, Object> noHash = new HashMap<>();
+        noHash.put(PersistedOperations.VERSION, 1);
+        return new Object[][] {
+                { "not-an-object" },
+                { Map.of(PersistedOperations.VERSION, 2, PersistedOperations.SHA256_HASH, "abc") },
+                { Map.of(PersistedOperations.VERSION, "1", PersistedOperations.SHA256_HASH, "abc") },
+                { noHash },
+                { Map.of(PersistedOperations.VERSION, 1, PersistedOperations.SHA256_HASH, " ") },
+                { Map.of(PersistedOperations.VERSION, 1, PersistedOperations.SHA256_HASH, 1234) }
+        };
+    }
+
+    @Test(dataProvider = "invalidExtensions")
+    public void givenInvalidExtension_whenExecuting_thenRejected(Object persistedQuery) throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+
+        // When
+        ExecutionResult result = executor.execute(SUBJECTS_QUERY, null, Map.of(),
+                                                  Map.of(PersistedOperations.EXTENSION_PERSISTED_QUERY,
+                                                         persistedQuery));
+
+        // Then
+        verifyError(result, PersistedOperationException.CODE_INVALID);
+    }
+
+    @Test
+    public void givenPersistedOnly_whenExecutingByHash_thenDocumentCacheBypassed() throws IOException {
+        // Given
+        PersistedOnlyExecutor executor = new PersistedOnlyExecutor(createDataset(QUAD));
+
+        // When
+        ExecutionResult result =
+                executor.execute(null, null, Map.of(), persistedQuery(PersistedOperations.hash(SIMPLE_QUADS_QUERY)));
+
+        // Then
+        verifySuccess(result);
+        Assert.assertEquals(executor.getDocumentCacheStats().requestCount(), 0);
+        Assert.assertTrue(executor.persistedOperations.isPersistedOnly());
+        Assert.assertEquals(executor.persistedOperations.size(), 1);
+    }
+
+    @Test
+    public void givenPersistedOnly_whenExecutingPersistedQueryText_thenSuccess() throws IOException {
+        // Given
+        PersistedOnlyExecutor executor = new PersistedOnlyExecutor(createDataset(QUAD));
+
+        // When
+        ExecutionResult withoutHash = executor.execute(SIMPLE_QUADS_QUERY);
+        ExecutionResult withHash = executor.execute(SIMPLE_QUADS_QUERY, null, Map.of(),
+                                                    persistedQuery(PersistedOperations.hash(SIMPLE_QUADS_QUERY)));
+
+        // Then
+        verifySuccess(withoutHash);
+        verifySuccess(withHash);
+        Assert.assertEquals(executor.getDocumentCacheStats().requestCount(), 0);
+    }
+
+    @Test
+    public void givenPersistedOnly_whenExecutingOtherQuery_thenRejected() throws IOException {
+        // Given
+        PersistedOnlyExecutor executor = new PersistedOnlyExecutor(createDataset(QUAD));
+
+        // When
+        ExecutionResult withoutHash = executor.execute(SUBJECTS_QUERY);
+        ExecutionResult withHash = executor.execute(SUBJECTS_QUERY, null, Map.of(),
+                                                    persistedQuery(PersistedOperations.hash(SUBJECTS_QUERY)));
+        ExecutionResult byHash =
+                executor.execute(null, null, Map.of(), persistedQuery(PersistedOperations.hash(SUBJECTS_QUERY)));
+
+        // Then
+        verifyError(withoutHash, PersistedOperationException.CODE_NOT_PERSISTED);
+        verifyError(withHash, PersistedOperationException.CODE_NOT_PERSISTED);
+        verifyError(byHash, PersistedOperationException.CODE_NOT_FOUND);
+    }
+
+    @Test
+    public void givenPersistedOnly_whenExecutingNoQuery_thenSyntaxError() throws IOException {
+        // Given
+        PersistedOnlyExecutor executor = new PersistedOnlyExecutor(createDataset(QUAD));
+
+        // When
+        ExecutionResult result = executor.execute(null, null, Map.of(), Map.of());
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+        Assert.assertFalse(result.isDataPresent());
+    }
+
+    @Test
+    public void givenNoAutomaticRegistration_whenExecutingByHash_thenNotFound() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD)) {
+            @Override
+            protected PersistedOperations createPersistedOperations() {
+                return PersistedOperations.newRegistry().maximumAutomatic(0).build();
+            }
+        };
+        Map<String, Object> extensions = persistedQuery(PersistedOperations.hash(SUBJECTS_QUERY));
+
+        // When
+        ExecutionResult withQuery = executor.execute(SUBJECTS_QUERY, null, Map.of(), extensions);
+        ExecutionResult byHash = executor.execute(null, null, Map.of(), extensions);
+
+        // Then
+        verifySuccess(withQuery);
+        verifyError(byHash, PersistedOperationException.CODE_NOT_FOUND);
+    }
+
+    @Test
+    public void givenListener_whenExecutingUnknownHash_thenErrorDelivered() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+        GraphQLRequest request = new GraphQLRequest();
+        request.setExtensions(persistedQuery(PersistedOperations.hash(SUBJECTS_QUERY)));
+        List<ExecutionResult> delivered = new ArrayList<>();
+
+        // When
+        ExecutionResult result = executor.execute(executor.dsg, request, new IncrementalResultListener() {
+            @Override
+            public void onInitialResult(ExecutionResult result) {
+                delivered.add(result);
+            }
+
+            @Override
+            public void onSubsequentResult(DelayedIncrementalPartialResult result) {
+                Assert.fail("No subsequent results expected");
+            }
+        });
+
+        // Then
+        verifyError(result, PersistedOperationException.CODE_NOT_FOUND);
+        Assert.assertEquals(delivered, List.of(result));
+    }
+
+    @Test
+    public void givenDirectory_whenBuilding_thenOperationFilesRegistered() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("persisted");
+        Files.writeString(directory.resolve("simple.graphql"), SIMPLE_QUADS_QUERY);
+        Files.createDirectories(directory.resolve("nested"));
+        Files.writeString(directory.resolve("nested").resolve("subjects.GQL"), SUBJECTS_QUERY);
+        Files.writeString(directory.resolve("README.md"), "Not an operation");
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+
+        // When
+        PersistedOperations operations = PersistedOperations.newRegistry().directory(directory).build();
+        operations.prepare(executor.schema);
+
+        // Then
+        Assert.assertEquals(operations.size(), 2);
+        Assert.assertEquals(operations.getQuery(PersistedOperations.hash(SIMPLE_QUADS_QUERY)), SIMPLE_QUADS_QUERY);
+        Assert.assertEquals(operations.getQuery(PersistedOperations.hash(SUBJECTS_QUERY).toUpperCase()),
+                            SUBJECTS_QUERY);
+        Assert.assertNull(operations.getQuery(PersistedOperations.hash("Not an operation")));
+    }
+
+    @Test
+    public void givenInvalidOperationFile_whenPreparing_thenRejected() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("persisted");
+        Path file = directory.resolve("invalid.graphql");
+        Files.writeString(file, "{ quads { nosuchfield } }");
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+        PersistedOperations operations = PersistedOperations.newRegistry().directory(directory).build();
+
+        // When and Then
+        IllegalArgumentException e =
+                Assert.expectThrows(IllegalArgumentException.class, () -> operations.prepare(executor.schema));
+        Assert.assertTrue(e.getMessage().contains(file.toString()));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenEmptyOperationFile_whenBuilding_thenRejected() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("persisted");
+        Files.writeString(directory.resolve("empty.graphql"), " \n");
+
+        // When and Then
+        PersistedOperations.newRegistry().directory(directory);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void givenNonDirectory_whenBuilding_thenRejected() throws IOException {
+        // Given
+        Path file = Files.createTempFile("persisted", ".graphql");
+
+        // When and Then
+        PersistedOperations.newRegistry().directory(file);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void givenPreparedRegistry_whenPreparingAgain_thenRejected() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createDataset(QUAD));
+
+        // When and Then
+        executor.persistedOperations.prepare(executor.schema);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void givenUnpreparedRegistry_whenResolving_thenRejected() {
+        // Given
+        PersistedOperations operations = PersistedOperations.automatic();
+
+        // When and Then
+        operations.resolve(SUBJECTS_QUERY, persistedQuery(PersistedOperations.hash(SUBJECTS_QUERY)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenNegativeMaximum_whenBuilding_thenRejected() {
+        // When and Then
+        PersistedOperations.newRegistry().maximumAutomatic(-1);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void givenNullQuery_whenBuilding_thenRejected() {
+        // When and Then
+        PersistedOperations.newRegistry().operation(null);
+    }
+}
@@ -0,0 +1,163 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import graphql.ParseAndValidateResult;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+public class TestPreparsedDocumentCache extends AbstractExecution {
+
+    private static final String SIMPLE_QUADS_QUERY = loadQuery("/queries/dataset/", "simple-quads.graphql");
+
+    @DataProvider(name = "equivalentQueries")
+    private Object[][] equivalentQueries() {
+        return new Object[][] {
+                { "{ quads { subject { value } } }", "{quads{subject{value}}}" },
+                { "query  {\n  quads {\n    subject { value }\n  }\n}", "query{quads{subject{value}}}" },
+                { "# A comment\n{ quads { subject { value } } }", "{quads{subject{value}}}" },
+                { "{ quads { subject { kind, value } } }", "{quads{subject{kind value}}}" },
+                { "{ quads(subject: { kind: URI value: \"a\" }) { subject { value } } }",
+                  "{quads(subject:{kind:URI value:\"a\"}){subject{value}}}" }
+        };
+    }
+
+    @Test(dataProvider = "equivalentQueries")
+    public void givenEquivalentQueries_whenNormalising_thenSameKey(String a, String b) {
+        // When and Then
+        Assert.assertEquals(PreparsedDocumentCache.normalise(a), PreparsedDocumentCache.normalise(b));
+    }
+
+    @DataProvider(name = "differentQueries")
+    private Object[][] differentQueries() {
+        return new Object[][] {
+                { "{ quads(subject: { kind: URI value: \"a  b\" }) { subject { value } } }",
+                  "{ quads(subject: { kind: URI value: \"a b\" }) { subject { value } } }" },
+                { "{ quads(subject: { kind: URI value: \"a # b\" }) { subject { value } } }",
+                  "{ quads(subject: { kind: URI value: \"a \" }) { subject { value } } }" },
+                { "{ quads(subject: { kind: URI value: \"\"\"a ,\n b\"\"\" }) { subject { value } } }",
+                  "{ quads(subject: { kind: URI value: \"\"\"a\n b\"\"\" }) { subject { value } } }" },
+                { "{ quads { subject { kind value } } }", "{ quads { subject { kindvalue } } }" }
+        };
+    }
+
+    @Test(dataProvider = "differentQueries")
+    public void givenDifferentQueries_whenNormalising_thenDifferentKeys(String a, String b) {
+        // When and Then
+        Assert.assertNotEquals(PreparsedDocumentCache.normalise(a), PreparsedDocumentCache.normalise(b));
+    }
+
+    @Test
+    public void givenNullQuery_whenNormalising_thenEmpty() {
+        // When and Then
+        Assert.assertEquals(PreparsedDocumentCache.normalise(null), "");
+    }
+
+    @Test
+    public void givenExecutor_whenExecutingSameQueryRepeatedly_thenCacheHitsRecorded() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create());
+
+        // When
+        verifyExecution(executor, SIMPLE_QUADS_QUERY);
+        verifyExecution(executor, SIMPLE_QUADS_QUERY);
+        verifyExecution(executor, SIMPLE_QUADS_QUERY.replace("\n", "\n  "));
+
+        // Then
+        CacheStats stats = executor.getDocumentCacheStats();
+        Assert.assertEquals(stats.missCount(), 1);
+        Assert.assertEquals(stats.hitCount(), 2);
+    }
+
+    @Test
+    public void givenExecutor_whenWarmingCache_thenFirstExecutionIsAHit() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create());
+
+        // When
+        ParseAndValidateResult result = executor.warmDocumentCache(SIMPLE_QUADS_QUERY, null);
+        verifyExecution(executor, SIMPLE_QUADS_QUERY);
+
+        // Then
+        Assert.assertFalse(result.isFailure());
+        CacheStats stats = executor.getDocumentCacheStats();
+        Assert.assertEquals(stats.missCount(), 0);
+        Assert.assertEquals(stats.hitCount(), 1);
+    }
+
+    @Test
+    public void givenExecutor_whenWarmingCacheWithInvalidQuery_thenExecutionFails() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create());
+        String invalid = "{ quads { nosuchfield } }";
+
+        // When
+        ParseAndValidateResult result = executor.warmDocumentCache(invalid, null);
+
+        // Then
+        Assert.assertTrue(result.isFailure());
+        Assert.assertFalse(executor.execute(invalid).getErrors().isEmpty());
+        Assert.assertEquals(executor.getDocumentCacheStats().hitCount(), 1);
+    }
+
+    @Test
+    public void givenWeightedCache_whenExceedingWeight_thenEvictionsRecorded() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create()) {
+            @Override
+            protected PreparsedDocumentCache createDocumentCache() {
+                return PreparsedDocumentCache.withMaximumWeight(100);
+            }
+        };
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            executor.execute("query Q" + i + " { quads { subject { kind value } predicate { value } } }");
+        }
+
+        // Then
+        Assert.assertEquals(executor.getDocumentCacheStats().missCount(), 10);
+        Assert.assertTrue(executor.getDocumentCacheStats().evictionCount() > 0);
+        Assert.assertTrue(executor.documentCache.size() < 10);
+        executor.documentCache.invalidateAll();
+        Assert.assertEquals(executor.documentCache.size(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenNegativeSize_whenCreatingCache_thenRejected() {
+        // When and Then
+        PreparsedDocumentCache.withMaximumSize(-1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenNegativeWeight_whenCreatingCache_thenRejected() {
+        // When and Then
+        PreparsedDocumentCache.withMaximumWeight(-1);
+    }
+}
@@ -0,0 +1,260 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.DCTerms;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.DistinctNodesFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@SuppressWarnings("unchecked")
+public class TestQuadsAggregates extends AbstractExecution {
+
+    private static DatasetGraph createPeople() {
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 10, Quad.defaultGraphIRI);
+        for (int i = 0; i < 10; i++) {
+            dsg.add(new Quad(GRAPH, NodeFactory.createURI("https://example.org/" + i), RDFS.comment.asNode(),
+                             NodeFactory.createLiteralString("Comment " + i)));
+        }
+        return dsg;
+    }
+
+    private static Object data(ExecutionResult result, String field) {
+        return ((Map<String, Object>) result.getData()).get(field);
+    }
+
+    private static Set<Object> values(ExecutionResult result, String field) {
+        return ((List<Map<String, Object>>) data(result, field)).stream()
+                                                                  .map(n -> n.get("value"))
+                                                                  .collect(Collectors.toSet());
+    }
+
+    @Test
+    public void givenDataset_whenCounting_thenMatchingQuadsCounted() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople());
+
+        // When
+        ExecutionResult result = verifyExecution(executor, """
+                {
+                  all: count
+                  types: count(predicate: { kind: URI, value: "http://www.w3.org/1999/02/22-rdf-syntax-ns#type" })
+                  limited: count(limit: 5)
+                  none: count(subject: { kind: URI, value: "https://example.org/none" })
+                }""");
+
+        // Then
+        Assert.assertEquals(data(result, "all"), 30);
+        Assert.assertEquals(data(result, "types"), 10);
+        Assert.assertEquals(data(result, "limited"), 5);
+        Assert.assertEquals(data(result, "none"), 0);
+    }
+
+    @Test
+    public void givenDataset_whenCountingWholeGraphs_thenGraphsCounted() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople());
+
+        // When
+        ExecutionResult result = verifyExecution(executor, """
+                {
+                  default: count(graph: { kind: URI, value: "urn:x-arq:DefaultGraph" })
+                  named: count(graph: { kind: URI, value: "https://example.org/graph" })
+                  limited: count(graph: { kind: URI, value: "https://example.org/graph" }, limit: 3)
+                  missing: count(graph: { kind: URI, value: "https://example.org/missing" })
+                }""");
+
+        // Then
+        Assert.assertEquals(data(result, "default"), 20);
+        Assert.assertEquals(data(result, "named"), 10);
+        Assert.assertEquals(data(result, "limited"), 3);
+        Assert.assertEquals(data(result, "missing"), 0);
+    }
+
+    @Test
+    public void givenMultipleValues_whenCounting_thenEachPatternCounted() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople());
+
+        // When
+        ExecutionResult result = verifyExecution(executor, """
+                {
+                  subjects: count(subjects: [ { kind: URI, value: "https://example.org/1" },
+                                              { kind: URI, value: "https://example.org/2" } ])
+                  graphs: count(graphs: [ { kind: URI, value: "urn:x-arq:DefaultGraph" },
+                                          { kind: URI, value: "https://example.org/graph" } ])
+                  limited: count(graphs: [ { kind: URI, value: "urn:x-arq:DefaultGraph" },
+                                           { kind: URI, value: "https://example.org/graph" } ], limit: 25)
+                  empty: count(subjects: [])
+                }""");
+
+        // Then
+        Assert.assertEquals(data(result, "subjects"), 6);
+        Assert.assertEquals(data(result, "graphs"), 30);
+        Assert.assertEquals(data(result, "limited"), 25);
+        Assert.assertEquals(data(result, "empty"), 0);
+    }
+
+    @Test
+    public void givenLiteralFilter_whenQuerying_thenOnlyMatchingLiteralsReturned() throws IOException {
+        // Given
+        DatasetGraph dsg = createPeople();
+        for (int month = 1; month <= 12; month++) {
+            dsg.add(new Quad(GRAPH, PERSON, DCTerms.modified.asNode(),
+                             NodeFactory.createLiteralDT(String.format("2024-%02d-01T00:00:00Z", month),
+                                                         XSDDatatype.XSDdateTime)));
+        }
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        String query = """
+                query($range: LiteralFilter) {
+                  quads(literal: $range) { object { value } }
+                  count(literal: $range)
+                  distinct(position: SUBJECT, literal: { prefix: "Person 1" }) { value }
+                  quadsConnection(literal: $range, first: 2) { edges { node { object { value } } } }
+                }""";
+        Map<String, Object> range = Map.of(IANodeSchema.DATATYPE_FIELD, XSDDatatype.XSDdateTime.getURI(),
+                                           IANodeSchema.GREATER_THAN_OR_EQUAL_FIELD, "2024-04-01T00:00:00Z",
+                                           IANodeSchema.LESS_THAN_FIELD, "2024-07-01T00:00:00Z");
+
+        // When
+        ExecutionResult result = verifyExecution(executor, query, Map.of("range", range));
+
+        // Then
+        Assert.assertEquals(((List<Object>) data(result, DatasetSchema.QUADS_FIELD)).size(), 3);
+        Assert.assertEquals(data(result, DatasetSchema.COUNT_FIELD), 3);
+        Assert.assertEquals(values(result, DatasetSchema.DISTINCT_FIELD), Set.of("https://example.org/1"));
+        Map<String, Object> page = (Map<String, Object>) data(result, DatasetSchema.QUADS_CONNECTION_FIELD);
+        Assert.assertEquals(((List<Object>) page.get(DatasetSchema.EDGES_FIELD)).size(), 2);
+    }
+
+    @Test
+    public void givenNegativeLimit_whenCounting_thenError() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople());
+
+        // When
+        ExecutionResult result = executor.execute("{ count(limit: -1) }");
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void givenDataset_whenFetchingDistinctNodes_thenDeduplicated() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople());
+
+        // When
+        ExecutionResult result = verifyExecution(executor, """
+                {
+                  predicates: distinct(position: PREDICATE, subject: { kind: URI, value: "https://example.org/1" }) {
+                    value
+                  }
+                  types: distinct(position: OBJECT,
+                                  predicate: { kind: URI, value: "http://www.w3.org/1999/02/22-rdf-syntax-ns#type" }) {
+                    kind
+                    value
+                  }
+                  graphs: distinct(position: GRAPH) { value }
+                  subjects: distinct(position: SUBJECT, limit: 4) { value }
+                }""");
+
+        // Then
+        Assert.assertEquals(values(result, "predicates"),
+                            Set.of(RDF.type.getURI(), RDFS.label.getURI(), RDFS.comment.getURI()));
+        Assert.assertEquals(values(result, "types"), Set.of(PERSON.getURI()));
+        Assert.assertEquals(values(result, "graphs"), Set.of(Quad.defaultGraphIRI.getURI(), GRAPH.getURI()));
+        Assert.assertEquals(values(result, "subjects").size(), 4);
+    }
+
+    @Test
+    public void givenManyNodes_whenFetchingDistinctNodes_thenLimitApplied() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        for (int i = 0; i <= DistinctNodesFetcher.DEFAULT_LIMIT; i++) {
+            dsg.add(new Quad(Quad.defaultGraphIRI, NodeFactory.createURI("https://example.org/" + i),
+                             RDF.type.asNode(), PERSON));
+        }
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+
+        // When
+        ExecutionResult defaulted = verifyExecution(executor, "{ distinct(position: SUBJECT) { value } }");
+        ExecutionResult tooLarge = executor.execute("{ distinct(position: SUBJECT, limit: 10001) { value } }");
+
+        // Then
+        Assert.assertEquals(values(defaulted, DatasetSchema.DISTINCT_FIELD).size(), DistinctNodesFetcher.DEFAULT_LIMIT);
+        Assert.assertFalse(tooLarge.getErrors().isEmpty());
+    }
+
+    @Test
+    public void givenMissingPosition_whenFetchingDistinctNodes_thenInvalid() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(createPeople());
+
+        // When
+        ExecutionResult result = executor.execute("{ distinct { value } }");
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+        Assert.assertFalse(result.isDataPresent());
+    }
+
+    @Test
+    public void givenPositionName_whenFetchingDistinctNodesDirectly_thenDeduplicated() {
+        // Given
+        DataFetchingEnvironment environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                                                                         .arguments(Map.of(
+                                                                                 DatasetSchema.POSITION_ARGUMENT,
+                                                                                 "PREDICATE"))
+                                                                         .localContext(createPeople())
+                                                                         .build();
+
+        // When
+        List<WrappedNode> nodes = new DistinctNodesFetcher().get(environment);
+
+        // Then
+        Assert.assertEquals(nodes.size(), 3);
+    }
+}
@@ -0,0 +1,386 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.schema.idl.RuntimeWiring;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.system.Txn;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.apache.jena.vocabulary.RDFS;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.QuadsConnectionFetcher;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadCursor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@SuppressWarnings("unchecked")
+public class TestQuadsConnection extends AbstractExecution {
+
+    private static final String PAGE_QUERY = """
+            query Page($first: Int, $after: String) {
+              quadsConnection(predicate: { kind: URI, value: "http://www.w3.org/2000/01/rdf-schema#label" },
+                              first: $first, after: $after) {
+                edges { cursor node { subject { value } object { value } } }
+                pageInfo { hasNextPage hasPreviousPage startCursor endCursor }
+              }
+            }""";
+
+    private static Map<String, Object> page(GraphQLExecutor executor, Integer first, String after) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put(DatasetSchema.FIRST_ARGUMENT, first);
+        variables.put(DatasetSchema.AFTER_ARGUMENT, after);
+        ExecutionResult result = verifyExecution(executor, PAGE_QUERY, variables);
+        Map<String, Object> data = result.getData();
+        return (Map<String, Object>) data.get(DatasetSchema.QUADS_CONNECTION_FIELD);
+    }
+
+    private static List<Map<String, Object>> edges(Map<String, Object> page) {
+        return (List<Map<String, Object>>) page.get(DatasetSchema.EDGES_FIELD);
+    }
+
+    private static Map<String, Object> pageInfo(Map<String, Object> page) {
+        return (Map<String, Object>) page.get(DatasetSchema.PAGE_INFO_FIELD);
+    }
+
+    @Test
+    public void givenDataset_whenPaging_thenAllMatchesReturnedExactlyOnce() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 25, Quad.defaultGraphIRI);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        Set<Object> subjects = new HashSet<>();
+        List<Integer> pageSizes = new ArrayList<>();
+
+        // When
+        String after = null;
+        boolean hasNext = true;
+        while (hasNext) {
+            Map<String, Object> page = page(executor, 10, after);
+            List<Map<String, Object>> edges = edges(page);
+            Map<String, Object> pageInfo = pageInfo(page);
+            pageSizes.add(edges.size());
+            for (Map<String, Object> edge : edges) {
+                Assert.assertTrue(subjects.add(((Map<String, Object>) ((Map<String, Object>) edge.get(
+                        DatasetSchema.NODE_FIELD)).get("subject")).get("value")));
+            }
+            Assert.assertEquals(pageInfo.get(DatasetSchema.HAS_PREVIOUS_PAGE_FIELD), after != null);
+            Assert.assertEquals(pageInfo.get(DatasetSchema.START_CURSOR_FIELD),
+                                edges.get(0).get(DatasetSchema.CURSOR_FIELD));
+            Assert.assertEquals(pageInfo.get(DatasetSchema.END_CURSOR_FIELD),
+                                edges.get(edges.size() - 1).get(DatasetSchema.CURSOR_FIELD));
+            hasNext = (Boolean) pageInfo.get(DatasetSchema.HAS_NEXT_PAGE_FIELD);
+            after = (String) pageInfo.get(DatasetSchema.END_CURSOR_FIELD);
+        }
+
+        // Then
+        Assert.assertEquals(subjects.size(), 25);
+        Assert.assertEquals(pageSizes, List.of(10, 10, 5));
+    }
+
+    @Test
+    public void givenTDB2Dataset_whenPagingAcrossGraphs_thenAllMatchesReturnedExactlyOnce() throws IOException {
+        // Given
+        DatasetGraph dsg = new VersionedDatasetGraph(TDB2Factory.createDataset().asDatasetGraph());
+        Node graph = NodeFactory.createURI("https://example.org/graph");
+        Txn.executeWrite(dsg, () -> {
+            for (int i = 0; i < 15; i++) {
+                Node subject = NodeFactory.createURI("https://example.org/" + i);
+                dsg.add(new Quad(i % 2 == 0 ? Quad.defaultGraphIRI : graph, subject, RDFS.label.asNode(),
+                                 NodeFactory.createLiteralString("Label " + i)));
+                dsg.add(new Quad(graph, subject, RDFS.comment.asNode(),
+                                 NodeFactory.createLiteralString("Comment " + i)));
+            }
+        });
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        Set<Object> subjects = new HashSet<>();
+        List<Integer> pageSizes = new ArrayList<>();
+
+        // When
+        String after = null;
+        boolean hasNext = true;
+        while (hasNext) {
+            Map<String, Object> page = page(executor, 4, after);
+            for (Map<String, Object> edge : edges(page)) {
+                Assert.assertTrue(subjects.add(((Map<String, Object>) ((Map<String, Object>) edge.get(
+                        DatasetSchema.NODE_FIELD)).get("subject")).get("value")));
+            }
+            pageSizes.add(edges(page).size());
+            hasNext = (Boolean) pageInfo(page).get(DatasetSchema.HAS_NEXT_PAGE_FIELD);
+            after = (String) pageInfo(page).get(DatasetSchema.END_CURSOR_FIELD);
+        }
+
+        // Then
+        Assert.assertEquals(subjects.size(), 15);
+        Assert.assertEquals(pageSizes, List.of(4, 4, 4, 3));
+    }
+
+    @Test
+    public void givenTDB2DatasetAndRemovedCursorQuad_whenPaging_thenResumesAtNextKey() throws IOException {
+        // Given
+        DatasetGraph dsg = new VersionedDatasetGraph(TDB2Factory.createDataset().asDatasetGraph());
+        Node graph = NodeFactory.createURI("https://example.org/graph");
+        Txn.executeWrite(dsg, () -> {
+            for (int i = 0; i < 10; i++) {
+                Node subject = NodeFactory.createURI("https://example.org/" + i);
+                dsg.add(new Quad(i % 2 == 0 ? Quad.defaultGraphIRI : graph, subject, RDFS.label.asNode(),
+                                 NodeFactory.createLiteralString("Label " + i)));
+            }
+        });
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        List<Map<String, Object>> all = edges(page(executor, 10, null));
+        String after = (String) all.get(3).get(DatasetSchema.CURSOR_FIELD);
+        Txn.executeWrite(dsg, () -> dsg.delete(QuadCursor.decode(after)));
+
+        // When
+        Map<String, Object> next = page(executor, 4, after);
+
+        // Then
+        Assert.assertEquals(edges(next), all.subList(4, 8));
+        Assert.assertEquals(pageInfo(next).get(DatasetSchema.HAS_NEXT_PAGE_FIELD), true);
+
+        // And
+        String last = (String) all.get(9).get(DatasetSchema.CURSOR_FIELD);
+        Txn.executeWrite(dsg, () -> dsg.delete(QuadCursor.decode(last)));
+        Map<String, Object> end = page(executor, 4, last);
+        Assert.assertTrue(edges(end).isEmpty());
+        Assert.assertEquals(pageInfo(end).get(DatasetSchema.HAS_NEXT_PAGE_FIELD), false);
+    }
+
+    @Test
+    public void givenNoFirst_whenPaging_thenDefaultPageSizeUsed() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, QuadsConnectionFetcher.DEFAULT_PAGE_SIZE + 1, Quad.defaultGraphIRI);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+
+        // When
+        Map<String, Object> page = page(executor, null, null);
+
+        // Then
+        Assert.assertEquals(edges(page).size(), QuadsConnectionFetcher.DEFAULT_PAGE_SIZE);
+        Assert.assertEquals(pageInfo(page).get(DatasetSchema.HAS_NEXT_PAGE_FIELD), true);
+    }
+
+    @Test
+    public void givenEmptyDataset_whenPaging_thenEmptyPage() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.createTxnMem());
+
+        // When
+        Map<String, Object> page = page(executor, 10, null);
+
+        // Then
+        Assert.assertTrue(edges(page).isEmpty());
+        Map<String, Object> pageInfo = pageInfo(page);
+        Assert.assertEquals(pageInfo.get(DatasetSchema.HAS_NEXT_PAGE_FIELD), false);
+        Assert.assertNull(pageInfo.get(DatasetSchema.START_CURSOR_FIELD));
+        Assert.assertNull(pageInfo.get(DatasetSchema.END_CURSOR_FIELD));
+    }
+
+    @Test
+    public void givenCursorsNotSelected_whenPaging_thenPageInfoStillHasCursors() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 5, Quad.defaultGraphIRI);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+
+        // When
+        ExecutionResult result = verifyExecution(executor,
+                                                 "{ quadsConnection(first: 2) { edges { node { subject { value } } } "
+                                                 + "pageInfo { endCursor } } }");
+
+        // Then
+        Map<String, Object> page = (Map<String, Object>) ((Map<String, Object>) result.getData()).get(
+                DatasetSchema.QUADS_CONNECTION_FIELD);
+        Assert.assertEquals(edges(page).size(), 2);
+        Assert.assertNotNull(pageInfo(page).get(DatasetSchema.END_CURSOR_FIELD));
+    }
+
+    @Test
+    public void givenRemovedCursorQuad_whenPaging_thenResumesFromStartOfPattern() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 5, Quad.defaultGraphIRI);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        Map<String, Object> page = page(executor, 2, null);
+        String after = (String) pageInfo(page).get(DatasetSchema.END_CURSOR_FIELD);
+        dsg.executeWrite(() -> dsg.delete(QuadCursor.decode(after)));
+
+        // When
+        Map<String, Object> next = page(executor, 10, after);
+
+        // Then
+        Assert.assertEquals(edges(next).size(), 4);
+        Assert.assertEquals(edges(next).get(0), edges(page).get(0));
+        Assert.assertEquals(pageInfo(next).get(DatasetSchema.HAS_NEXT_PAGE_FIELD), false);
+    }
+
+    @Test
+    public void givenCursorForDifferentPattern_whenPaging_thenError() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 5, Quad.defaultGraphIRI);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        ExecutionResult first = verifyExecution(executor, "{ quadsConnection(first: 1) { pageInfo { endCursor } } }");
+        String after = (String) pageInfo((Map<String, Object>) ((Map<String, Object>) first.getData()).get(
+                DatasetSchema.QUADS_CONNECTION_FIELD)).get(DatasetSchema.END_CURSOR_FIELD);
+        String query = "{ quadsConnection(predicate: { kind: URI, value: \"https://example.org/other\" }, after: \""
+                       + after + "\") { pageInfo { endCursor } } }";
+
+        // When
+        ExecutionResult result = executor.execute(query);
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+        Assert.assertTrue(result.getErrors().get(0).getMessage().contains("not issued for this query"));
+    }
+
+    @Test
+    public void givenInvalidPageSizes_whenPaging_thenErrors() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 1, Quad.defaultGraphIRI);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+
+        for (int first : new int[] { -1, QuadsConnectionFetcher.MAXIMUM_PAGE_SIZE + 1 }) {
+            // When
+            ExecutionResult result = executor.execute(PAGE_QUERY, Map.of(DatasetSchema.FIRST_ARGUMENT, first));
+
+            // Then
+            Assert.assertFalse(result.getErrors().isEmpty());
+        }
+    }
+
+    @Test
+    public void givenInvalidCursor_whenPaging_thenError() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 1, Quad.defaultGraphIRI);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+
+        // When
+        ExecutionResult result = executor.execute(PAGE_QUERY, Map.of(DatasetSchema.AFTER_ARGUMENT, "garbage"));
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void givenSeekableScan_whenPaging_thenScanStartsAtCursor() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 10, Quad.defaultGraphIRI);
+        DatasetExecutor executor = new DatasetExecutor(dsg) {
+            @Override
+            protected RuntimeWiring.Builder buildRuntimeWiring() {
+                return super.buildRuntimeWiring()
+                            .type(DatasetSchema.QUADS_QUERY_TYPE,
+                                  t -> t.dataFetcher(DatasetSchema.QUADS_CONNECTION_FIELD, new SeekingFetcher()));
+            }
+        };
+        Map<String, Object> page = page(executor, 3, null);
+        String after = (String) pageInfo(page).get(DatasetSchema.END_CURSOR_FIELD);
+
+        // When
+        Map<String, Object> next = page(executor, 3, after);
+
+        // Then
+        Assert.assertEquals(edges(next).size(), 3);
+        Assert.assertEquals(pageInfo(next).get(DatasetSchema.HAS_NEXT_PAGE_FIELD), true);
+        Assert.assertNotEquals(pageInfo(next).get(DatasetSchema.START_CURSOR_FIELD), after);
+    }
+
+    @Test
+    public void givenMultipleSubjects_whenPaging_thenAllMatchesReturnedExactlyOnce() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 10, Quad.defaultGraphIRI);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        String query = """
+                query Page($after: String) {
+                  quadsConnection(subjects: [ { kind: URI, value: "https://example.org/7" },
+                                              { kind: URI, value: "https://example.org/2" },
+                                              { kind: URI, value: "https://example.org/5" } ],
+                                  first: 2, after: $after) {
+                    edges { node { subject { value } predicate { value } } }
+                    pageInfo { hasNextPage endCursor }
+                  }
+                }""";
+        List<Object> subjects = new ArrayList<>();
+
+        // When
+        String after = null;
+        boolean hasNext = true;
+        while (hasNext) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put(DatasetSchema.AFTER_ARGUMENT, after);
+            Map<String, Object> page = (Map<String, Object>) ((Map<String, Object>) verifyExecution(executor, query,
+                                                                                                    variables).getData())
+                    .get(DatasetSchema.QUADS_CONNECTION_FIELD);
+            for (Map<String, Object> edge : edges(page)) {
+                subjects.add(((Map<String, Object>) ((Map<String, Object>) edge.get(DatasetSchema.NODE_FIELD)).get(
+                        "subject")).get("value"));
+            }
+            hasNext = (Boolean) pageInfo(page).get(DatasetSchema.HAS_NEXT_PAGE_FIELD);
+            after = (String) pageInfo(page).get(DatasetSchema.END_CURSOR_FIELD);
+        }
+
+        // Then
+        Assert.assertEquals(subjects, List.of("https://example.org/2", "https://example.org/2", "https://example.org/5",
+                                              "https://example.org/5", "https://example.org/7",
+                                              "https://example.org/7"));
+    }
+
+    /**
+     * Fetcher that emulates an ordered store that can start a scan at the cursor quad
+     */
+    private static final class SeekingFetcher extends QuadsConnectionFetcher {
+        @Override
+        protected Stream<Quad> scan(DatasetGraph dsg, Node graph, Node subject, Node predicate,
+                                                     Node object, Quad after) {
+            Stream<Quad> stream = super.scan(dsg, graph, subject, predicate, object, after);
+            return after != null ? stream.dropWhile(q -> !q.equals(after)) : stream;
+        }
+
+        @Override
+        protected boolean seeks(DatasetGraph dsg, Quad pattern) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.TraversalSchema;
+
+import java.io.IOException;
+import java.util.Map;
+
+@SuppressWarnings("unchecked")
+public class TestQueryCost extends AbstractExecution {
+
+    private static final String SIMPLE_QUADS_QUERY = loadQuery("/queries/dataset/", "simple-quads.graphql");
+
+    private static String nestedTraversal(int depth, String starts) {
+        StringBuilder query = new StringBuilder("{ nodes" + starts + " { node { value } ");
+        for (int i = 0; i < depth; i++) {
+            query.append("outgoing { edge { value } target { ");
+        }
+        query.append("node { value } ");
+        query.append("} } ".repeat(depth));
+        query.append("} }");
+        return query.toString();
+    }
+
+    private static Map<String, Object> verifyCost(ExecutionResult result) {
+        Map<String, Object> cost =
+                (Map<String, Object>) result.getExtensions().get(QueryCostInstrumentation.EXTENSION_QUERY_COST);
+        Assert.assertNotNull(cost);
+        return cost;
+    }
+
+    private static int getCost(ExecutionResult result) {
+        return (Integer) verifyCost(result).get(QueryCostInstrumentation.EXTENSION_COST);
+    }
+
+    @Test
+    public void givenDatasetExecutor_whenExecutingSimpleQuery_thenCostReported() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create());
+
+        // When
+        ExecutionResult result = verifyExecution(executor, SIMPLE_QUADS_QUERY);
+
+        // Then
+        Map<String, Object> cost = verifyCost(result);
+        Assert.assertTrue((Integer) cost.get(QueryCostInstrumentation.EXTENSION_COST) > 100);
+        Assert.assertEquals(cost.get(QueryCostInstrumentation.EXTENSION_MAXIMUM_COST),
+                            QueryCostModel.DEFAULT_MAXIMUM_COST);
+    }
+
+    @Test
+    public void givenTraversalExecutor_whenExecutingDeeplyNestedQuery_thenRejected() throws IOException {
+        // Given
+        TraversalExecutor executor = new TraversalExecutor(DatasetGraphFactory.create());
+
+        // When
+        ExecutionResult result = executor.execute(nestedTraversal(10, ""));
+
+        // Then
+        Assert.assertFalse(result.isDataPresent());
+        Assert.assertEquals(result.getErrors().size(), 1);
+        GraphQLError error = result.getErrors().get(0);
+        Assert.assertTrue(error instanceof QueryCostExceededException);
+        Assert.assertTrue(error.getMessage().contains("exceeds the maximum permitted cost"));
+        Assert.assertEquals(error.getExtensions().get(QueryCostInstrumentation.EXTENSION_MAXIMUM_COST),
+                            QueryCostModel.DEFAULT_MAXIMUM_COST);
+        Assert.assertTrue(getCost(result) > QueryCostModel.DEFAULT_MAXIMUM_COST);
+        Assert.assertTrue(error.toSpecification().containsKey("extensions"));
+    }
+
+    @Test
+    public void givenTraversalExecutor_whenExecutingShallowQuery_thenAccepted() throws IOException {
+        // Given
+        TraversalExecutor executor = new TraversalExecutor(DatasetGraphFactory.create());
+
+        // When
+        ExecutionResult result = verifyExecution(executor, nestedTraversal(2, ""));
+
+        // Then
+        Assert.assertTrue(getCost(result) < QueryCostModel.DEFAULT_MAXIMUM_COST);
+    }
+
+    @Test
+    public void givenTraversalExecutor_whenStartsGiven_thenCostReflectsStarts() throws IOException {
+        // Given
+        TraversalExecutor executor = new TraversalExecutor(DatasetGraphFactory.create());
+        String oneStart = "(" + TraversalSchema.STARTS_ARGUMENT + ": [ { kind: URI, value: \"urn:a\" } ])";
+        String twoStarts = "(" + TraversalSchema.STARTS_ARGUMENT
+                           + ": [ { kind: URI, value: \"urn:a\" }, { kind: URI, value: \"urn:b\" } ])";
+
+        // When
+        int unbounded = getCost(verifyExecution(executor, nestedTraversal(1, "")));
+        int one = getCost(verifyExecution(executor, nestedTraversal(1, oneStart)));
+        int two = getCost(verifyExecution(executor, nestedTraversal(1, twoStarts)));
+
+        // Then
+        Assert.assertTrue(one < two);
+        Assert.assertTrue(two < unbounded);
+    }
+
+    @Test
+    public void givenUnlimitedCostModel_whenExecutingDeeplyNestedQuery_thenAccepted() throws IOException {
+        // Given
+        TraversalExecutor executor = new TraversalExecutor(DatasetGraphFactory.create()) {
+            @Override
+            protected QueryCostModel createCostModel() {
+                return QueryCostModel.unlimited();
+            }
+        };
+
+        // When
+        ExecutionResult result = verifyExecution(executor, nestedTraversal(10, ""));
+
+        // Then
+        Assert.assertEquals(getCost(result), Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void givenInvalidQuery_whenExecuting_thenNoCostReported() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create());
+
+        // When
+        ExecutionResult result = executor.execute("{ nosuchfield }");
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+        Assert.assertTrue(result.getExtensions() == null || !result.getExtensions()
+                                                                   .containsKey(
+                                                                           QueryCostInstrumentation.EXTENSION_QUERY_COST));
+    }
+
+    @Test
+    public void givenCustomWeights_whenCalculating_thenWeightsApplied() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create()) {
+            @Override
+            protected QueryCostModel createCostModel() {
+                return QueryCostModel.newModel().maximumCost(20).defaultListSize(5).build();
+            }
+        };
+
+        // When
+        ExecutionResult result = executor.execute(SIMPLE_QUADS_QUERY);
+
+        // Then
+        QueryCostExceededException error = (QueryCostExceededException) result.getErrors().get(0);
+        Assert.assertEquals(error.getMaximumCost(), 20);
+        Assert.assertTrue(error.getCost() > error.getMaximumCost());
+        Assert.assertEquals(verifyCost(result).get(QueryCostInstrumentation.EXTENSION_MAXIMUM_COST), 20);
+        Assert.assertEquals(verifyCost(result).get(QueryCostInstrumentation.EXTENSION_COST), error.getCost());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenNegativeMaximum_whenBuildingModel_thenRejected() {
+        // When and Then
+        QueryCostModel.newModel().maximumCost(-1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenZeroListSize_whenBuildingModel_thenRejected() {
+        // When and Then
+        QueryCostModel.newModel().listSize("Quads", "quads", 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenZeroDefaultListSize_whenBuildingModel_thenRejected() {
+        // When and Then
+        QueryCostModel.newModel().defaultListSize(0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenNegativeWeight_whenBuildingModel_thenRejected() {
+        // When and Then
+        QueryCostModel.newModel().fieldWeight("Quads", "quads", -1);
+    }
+}
@@ -0,0 +1,290 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.schema.DataFetchingEnvironment;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.DatasetGraphWrapper;
+import org.apache.jena.sparql.core.Quad;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class TestQueryDeadline extends AbstractExecution {
+
+    private static final String SIMPLE_QUADS_QUERY = loadQuery("/queries/dataset/", "simple-quads.graphql");
+    private static final int DATASET_SIZE = QueryDeadline.CHECK_INTERVAL * 10;
+
+    /**
+     * A dataset that pauses after the first quad of each scan, used to simulate a slow scan
+     */
+    private static final class SlowDatasetGraph extends DatasetGraphWrapper {
+        private final AtomicInteger consumed = new AtomicInteger();
+        private final long pauseMillis;
+
+        SlowDatasetGraph(DatasetGraph dsg, long pauseMillis) {
+            super(dsg);
+            this.pauseMillis = pauseMillis;
+        }
+
+        @Override
+        public Iterator<Quad> find(Node g, Node s, Node p, Node o) {
+            Iterator<Quad> iter = super.find(g, s, p, o);
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iter.hasNext();
+                }
+
+                @Override
+                public Quad next() {
+                    Quad q = iter.next();
+                    if (consumed.incrementAndGet() == 1) {
+                        pause();
+                    }
+                    return q;
+                }
+            };
+        }
+
+        private void pause() {
+            try {
+                Thread.sleep(this.pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+
+    private static void verifyTimedOut(ExecutionResult result) {
+        Assert.assertFalse(result.isDataPresent());
+        Assert.assertEquals(result.getErrors().size(), 1);
+        GraphQLError error = result.getErrors().get(0);
+        Assert.assertTrue(error instanceof QueryTimeoutException);
+        Assert.assertFalse(((QueryTimeoutException) error).isCancelled());
+        Assert.assertNotNull(error.getExtensions().get(QueryTimeoutException.EXTENSION_TIMEOUT));
+    }
+
+    @Test
+    public void givenNoTimeout_whenExecutingSlowScan_thenCompletes() throws IOException {
+        // Given
+        DatasetGraph base = DatasetGraphFactory.create();
+        generateDummyQuads(base, DATASET_SIZE);
+        SlowDatasetGraph dsg = new SlowDatasetGraph(base, 50);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+
+        // When
+        ExecutionResult result = verifyExecution(executor, SIMPLE_QUADS_QUERY);
+
+        // Then
+        Map<String, Object> data = result.getData();
+        Assert.assertEquals(((List<?>) data.get("quads")).size(), DATASET_SIZE);
+        Assert.assertEquals(dsg.consumed.get(), DATASET_SIZE);
+    }
+
+    @Test
+    public void givenDefaultTimeout_whenExecutingSlowScan_thenAbandonedPartWayThroughScan() throws IOException {
+        // Given
+        DatasetGraph base = DatasetGraphFactory.create();
+        generateDummyQuads(base, DATASET_SIZE);
+        SlowDatasetGraph dsg = new SlowDatasetGraph(base, 500);
+        DatasetExecutor executor = new DatasetExecutor(dsg) {
+            @Override
+            protected Duration getDefaultTimeout() {
+                return Duration.ofMillis(250);
+            }
+        };
+
+        // When
+        ExecutionResult result = executor.execute(SIMPLE_QUADS_QUERY);
+
+        // Then
+        verifyTimedOut(result);
+        Assert.assertTrue(dsg.consumed.get() < DATASET_SIZE);
+        Assert.assertFalse(dsg.isInTransaction());
+    }
+
+    @Test
+    public void givenTimeoutHint_whenExecutingSlowScan_thenAbandonedPartWayThroughScan() throws IOException {
+        // Given
+        DatasetGraph base = DatasetGraphFactory.create();
+        generateDummyQuads(base, DATASET_SIZE);
+        SlowDatasetGraph dsg = new SlowDatasetGraph(base, 500);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+
+        // When
+        ExecutionResult result = executor.execute(SIMPLE_QUADS_QUERY, null, Collections.emptyMap(),
+                                                  Map.of(QueryDeadline.EXTENSION_TIMEOUT, 250));
+
+        // Then
+        verifyTimedOut(result);
+        Assert.assertTrue(dsg.consumed.get() < DATASET_SIZE);
+    }
+
+    @Test
+    public void givenExpiredDeadline_whenExecuting_thenRejectedBeforeExecution() throws IOException {
+        // Given
+        DatasetGraph base = DatasetGraphFactory.create();
+        generateDummyQuads(base, DATASET_SIZE);
+        SlowDatasetGraph dsg = new SlowDatasetGraph(base, 0);
+        DatasetExecutor executor = new DatasetExecutor(dsg) {
+            @Override
+            protected Duration getDefaultTimeout() {
+                return Duration.ofNanos(1);
+            }
+        };
+
+        // When
+        ExecutionResult result = executor.execute(SIMPLE_QUADS_QUERY);
+
+        // Then
+        verifyTimedOut(result);
+        Assert.assertEquals(dsg.consumed.get(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenNegativeDefaultTimeout_whenCreatingExecutor_thenRejected() throws IOException {
+        // When and Then
+        new DatasetExecutor(DatasetGraphFactory.create()) {
+            @Override
+            protected Duration getDefaultTimeout() {
+                return Duration.ofSeconds(-1);
+            }
+        };
+    }
+
+    @DataProvider(name = "timeouts")
+    private Object[][] timeouts() {
+        Duration second = Duration.ofSeconds(1);
+        Duration minute = Duration.ofMinutes(1);
+        return new Object[][] {
+                { null, null, null },
+                { null, 1000, second },
+                { null, "1000", second },
+                { minute, null, minute },
+                { minute, 1000, second },
+                { second, 60_000, second },
+                { minute, 0, minute },
+                { minute, -1, minute },
+                { minute, "rubbish", minute },
+                { minute, List.of(), minute }
+        };
+    }
+
+    @Test(dataProvider = "timeouts")
+    public void givenTimeouts_whenSelecting_thenShortestTimeoutSelected(Duration defaultTimeout, Object requested,
+                                                                      Duration expected) {
+        // Given
+        Map<String, Object> extensions =
+                requested != null ? Map.of(QueryDeadline.EXTENSION_TIMEOUT, requested) : Collections.emptyMap();
+
+        // When
+        Duration selected = QueryDeadline.selectTimeout(defaultTimeout, extensions);
+
+        // Then
+        Assert.assertEquals(selected, expected);
+    }
+
+    @Test
+    public void givenCancelledDeadline_whenChecking_thenCancellationReported() {
+        // Given
+        QueryDeadline deadline = QueryDeadline.none();
+        Assert.assertFalse(deadline.isExpired());
+        Assert.assertNull(deadline.getTimeout());
+        Assert.assertNull(deadline.getRemaining());
+
+        // When
+        deadline.cancel();
+
+        // Then
+        Assert.assertTrue(deadline.isCancelled());
+        Assert.assertEquals(deadline.getRemaining(), Duration.ZERO);
+        Assert.assertTrue(deadline.isExpired());
+        QueryTimeoutException e = Assert.expectThrows(QueryTimeoutException.class, deadline::check);
+        Assert.assertTrue(e.isCancelled());
+        Assert.assertNull(e.getTimeout());
+        Assert.assertEquals(e.getExtensions(), Map.of(QueryTimeoutException.EXTENSION_CANCELLED, true));
+    }
+
+    @Test
+    public void givenCancelledDeadline_whenConsumingCheckedStream_thenStreamAbandoned() {
+        // Given
+        QueryDeadline deadline = QueryDeadline.after(Duration.ofMinutes(1));
+        AtomicInteger consumed = new AtomicInteger();
+
+        // When
+        Assert.expectThrows(QueryTimeoutException.class,
+                            () -> deadline.checked(IntStream.range(0, DATASET_SIZE).boxed()).forEach(i -> {
+                                if (consumed.incrementAndGet() == 1) {
+                                    deadline.cancel();
+                                }
+                            }));
+
+        // Then
+        Assert.assertEquals(consumed.get(), QueryDeadline.CHECK_INTERVAL - 1);
+    }
+
+    @Test
+    public void givenTimeout_whenObtainingRemainingTime_thenBoundedByTimeout() {
+        // Given
+        QueryDeadline deadline = QueryDeadline.after(Duration.ofMinutes(1));
+
+        // When
+        Duration remaining = deadline.getRemaining();
+
+        // Then
+        Assert.assertTrue(remaining.compareTo(Duration.ZERO) > 0);
+        Assert.assertTrue(remaining.compareTo(Duration.ofMinutes(1)) <= 0);
+    }
+
+    @Test
+    public void givenNoEnvironment_whenObtainingDeadline_thenNeverExpires() {
+        // When
+        QueryDeadline deadline = QueryDeadline.of((DataFetchingEnvironment) null);
+
+        // Then
+        Assert.assertFalse(deadline.isExpired());
+        Assert.assertEquals(deadline.checked(IntStream.range(0, DATASET_SIZE).boxed()).toList().size(), DATASET_SIZE);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenZeroTimeout_whenCreatingDeadline_thenRejected() {
+        // When and Then
+        QueryDeadline.after(Duration.ZERO);
+    }
+}
@@ -0,0 +1,334 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.DatasetGraphWrapper;
+import org.apache.jena.sparql.sse.SSE;
+import org.apache.jena.system.Txn;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class TestResponseCache extends AbstractExecution {
+
+    private static final String SUBJECTS_QUERY = "{ quads { subject { value } } }";
+    private static final String QUAD = "(_ <http://s1> <http://p> <http://o>)";
+
+    private static DatasetExecutor createCachingExecutor(DatasetGraph dsg) throws IOException {
+        return new DatasetExecutor(dsg) {
+            @Override
+            protected ResponseCache createResponseCache() {
+                return ResponseCache.withMaximumWeight(ResponseCache.DEFAULT_MAXIMUM_WEIGHT);
+            }
+        };
+    }
+
+    private static int quadCount(ExecutionResult result) {
+        Map<String, Object> data = result.getData();
+        return ((List<?>) data.get("quads")).size();
+    }
+
+    @Test
+    public void givenVersionedDataset_whenExecutingRepeatedly_thenCachedResponseReturned() throws IOException {
+        // Given
+        DatasetExecutor executor = createCachingExecutor(new VersionedDatasetGraph(createDataset(QUAD)));
+
+        // When
+        ExecutionResult first = executor.execute(SUBJECTS_QUERY);
+        ExecutionResult second = executor.execute("{quads{subject{value}}}");
+
+        // Then
+        Assert.assertSame(second, first);
+        Assert.assertEquals(executor.getResponseCacheStats().missCount(), 1);
+        Assert.assertEquals(executor.getResponseCacheStats().hitCount(), 1);
+    }
+
+    @Test
+    public void givenVersionedDataset_whenWriteCommitted_thenCachedResponseInvalidated() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(createDataset(QUAD));
+        DatasetExecutor executor = createCachingExecutor(dsg);
+        Assert.assertEquals(quadCount(executor.execute(SUBJECTS_QUERY)), 1);
+
+        // When
+        Txn.executeWrite(dsg, () -> dsg.add(SSE.parseQuad("(_ <http://s2> <http://p> <http://o>)")));
+        ExecutionResult result = executor.execute(SUBJECTS_QUERY);
+
+        // Then
+        Assert.assertEquals(quadCount(result), 2);
+        Assert.assertEquals(executor.getResponseCacheStats().hitCount(), 0);
+        Assert.assertEquals(executor.responseCache.size(), 1);
+    }
+
+    @Test
+    public void givenUnversionedDataset_whenExecutingRepeatedly_thenNotCached() throws IOException {
+        // Given
+        DatasetExecutor executor = createCachingExecutor(DatasetGraphFactory.createTxnMem());
+
+        // When
+        ExecutionResult first = executor.execute(SUBJECTS_QUERY);
+        ExecutionResult second = executor.execute(SUBJECTS_QUERY);
+
+        // Then
+        Assert.assertNotSame(second, first);
+        Assert.assertEquals(executor.getResponseCacheStats().requestCount(), 0);
+    }
+
+    @Test
+    public void givenDifferentVariablesAndExtensions_whenExecuting_thenCachedSeparately() throws IOException {
+        // Given
+        DatasetExecutor executor = createCachingExecutor(new VersionedDatasetGraph(createDataset(QUAD)));
+        String query = "query q($s: String) { quads(subject: { kind: URI, value: $s }) { subject { value } } }";
+
+        // When
+        ExecutionResult a = executor.execute(query, null, Map.of("s", "http://s1"), Map.of());
+        ExecutionResult b = executor.execute(query, null, Map.of("s", "http://s2"), Map.of());
+        ExecutionResult c = executor.execute(query, null, Map.of("s", "http://s1"), Map.of("authToken", "user"));
+        ExecutionResult d = executor.execute(query, null, Map.of("s", "http://s1"),
+                                             Map.of(QueryDeadline.EXTENSION_TIMEOUT, 60_000));
+
+        // Then
+        Assert.assertEquals(quadCount(a), 1);
+        Assert.assertEquals(quadCount(b), 0);
+        Assert.assertNotSame(c, a);
+        Assert.assertSame(d, a);
+        Assert.assertEquals(executor.responseCache.size(), 3);
+    }
+
+    @Test
+    public void givenDifferentPersistedOperations_whenExecutingByHash_thenCachedSeparately() throws IOException {
+        // Given
+        String predicatesQuery = "{ quads { predicate { value } } }";
+        DatasetExecutor executor = new DatasetExecutor(new VersionedDatasetGraph(createDataset(QUAD))) {
+            @Override
+            protected ResponseCache createResponseCache() {
+                return ResponseCache.withMaximumWeight(ResponseCache.DEFAULT_MAXIMUM_WEIGHT);
+            }
+
+            @Override
+            protected PersistedOperations createPersistedOperations() {
+                return PersistedOperations.newRegistry().operation(SUBJECTS_QUERY).operation(predicatesQuery).build();
+            }
+        };
+
+        // When
+        ExecutionResult subjects = executor.execute(null, null, Map.of(), Map.of(
+                PersistedOperations.EXTENSION_PERSISTED_QUERY,
+                Map.of(PersistedOperations.VERSION, PersistedOperations.SUPPORTED_VERSION,
+                       PersistedOperations.SHA256_HASH, PersistedOperations.hash(SUBJECTS_QUERY))));
+        ExecutionResult predicates = executor.execute(null, null, Map.of(), Map.of(
+                PersistedOperations.EXTENSION_PERSISTED_QUERY,
+                Map.of(PersistedOperations.VERSION, PersistedOperations.SUPPORTED_VERSION,
+                       PersistedOperations.SHA256_HASH, PersistedOperations.hash(predicatesQuery))));
+
+        // Then
+        Assert.assertTrue(subjects.getErrors().isEmpty(), "Unexpected errors: " + subjects.getErrors());
+        Assert.assertTrue(predicates.getErrors().isEmpty(), "Unexpected errors: " + predicates.getErrors());
+        Assert.assertNotSame(predicates, subjects);
+        Map<String, Object> data = predicates.getData();
+        Assert.assertEquals(data.get("quads"), List.of(Map.of("predicate", Map.of("value", "http://p"))));
+        Assert.assertEquals(executor.getResponseCacheStats().hitCount(), 0);
+        Assert.assertEquals(executor.responseCache.size(), 2);
+    }
+
+    @Test
+    public void givenErrors_whenExecuting_thenNotCached() throws IOException {
+        // Given
+        DatasetExecutor executor = createCachingExecutor(new VersionedDatasetGraph(createDataset(QUAD)));
+
+        // When
+        executor.execute("{ quads { nosuchfield } }");
+        executor.execute("{ quads { nosuchfield } }");
+
+        // Then
+        Assert.assertEquals(executor.getResponseCacheStats().hitCount(), 0);
+        Assert.assertEquals(executor.responseCache.size(), 0);
+    }
+
+    @Test
+    public void givenListener_whenExecuting_thenNotCached() throws IOException {
+        // Given
+        DatasetExecutor executor = createCachingExecutor(new VersionedDatasetGraph(createDataset(QUAD)));
+        GraphQLRequest request = new GraphQLRequest();
+        request.setQuery(SUBJECTS_QUERY);
+        IncrementalResultListener listener = new IncrementalResultListener() {
+            @Override
+            public void onInitialResult(ExecutionResult result) {
+                // Ignored
+            }
+
+            @Override
+            public void onSubsequentResult(DelayedIncrementalPartialResult result) {
+                // Ignored
+            }
+        };
+
+        // When
+        executor.execute(executor.dsg, request, listener);
+        executor.execute(executor.dsg, request, listener);
+
+        // Then
+        Assert.assertEquals(executor.getResponseCacheStats().requestCount(), 0);
+    }
+
+    @Test
+    public void givenDefaultCache_whenExecuting_thenNotCached() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(new VersionedDatasetGraph(createDataset(QUAD)));
+
+        // When
+        ExecutionResult first = executor.execute(SUBJECTS_QUERY);
+        ExecutionResult second = executor.execute(SUBJECTS_QUERY);
+
+        // Then
+        Assert.assertNotSame(second, first);
+        Assert.assertFalse(executor.responseCache.isEnabled());
+        Assert.assertEquals(executor.getResponseCacheStats().requestCount(), 0);
+        Assert.assertEquals(executor.responseCache.size(), 0);
+        executor.responseCache.invalidateAll();
+    }
+
+    @Test
+    public void givenSizedCache_whenExceedingSize_thenEvictionsRecorded() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(new VersionedDatasetGraph(createDataset(QUAD))) {
+            @Override
+            protected ResponseCache createResponseCache() {
+                return ResponseCache.withMaximumSize(2);
+            }
+        };
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            executor.execute("query Q" + i + " { quads { subject { value } } }");
+        }
+
+        // Then
+        Assert.assertTrue(executor.getResponseCacheStats().evictionCount() > 0);
+        Assert.assertTrue(executor.responseCache.size() <= 2);
+        executor.responseCache.invalidateAll();
+        Assert.assertEquals(executor.responseCache.size(), 0);
+    }
+
+    @Test
+    public void givenVersionedDataset_whenChanging_thenVersionIncremented() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(DatasetGraphFactory.createTxnMem());
+        long initial = dsg.getVersion();
+
+        // When and Then
+        Txn.executeRead(dsg, () -> dsg.find().hasNext());
+        Assert.assertEquals(dsg.getVersion(), initial);
+        dsg.begin(ReadWrite.WRITE);
+        dsg.add(SSE.parseQuad("(_ <http://s> <http://p> <http://o>)"));
+        Assert.assertEquals(dsg.getVersion(), initial);
+        dsg.abort();
+        dsg.end();
+        Assert.assertEquals(dsg.getVersion(), initial);
+        Txn.executeWrite(dsg, () -> dsg.delete(SSE.parseQuad("(_ <http://s> <http://p> <http://o>)")));
+        Assert.assertEquals(dsg.getVersion(), initial + 1);
+    }
+
+    @Test
+    public void givenVersionedDataset_whenChangingOutsideTransaction_thenVersionIncremented() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(DatasetGraphFactory.create());
+        long version = dsg.getVersion();
+
+        // When
+        dsg.add(SSE.parseQuad("(<http://g> <http://s> <http://p> <http://o>)"));
+        dsg.add(SSE.parseNode("<http://g>"), SSE.parseNode("<http://s>"), SSE.parseNode("<http://p>"),
+                SSE.parseNode("<http://o2>"));
+        dsg.delete(SSE.parseQuad("(<http://g> <http://s> <http://p> <http://o>)"));
+        dsg.delete(SSE.parseNode("<http://g>"), SSE.parseNode("<http://s>"), SSE.parseNode("<http://p>"),
+                   SSE.parseNode("<http://o2>"));
+        dsg.deleteAny(null, null, null, null);
+        dsg.addGraph(SSE.parseNode("<http://g2>"), DatasetGraphFactory.create().getDefaultGraph());
+        dsg.removeGraph(SSE.parseNode("<http://g2>"));
+        dsg.clear();
+
+        // Then
+        Assert.assertEquals(dsg.getVersion(), version + 8);
+    }
+
+    @Test
+    public void givenWrappedVersionedDataset_whenGettingVersion_thenVersionFound() {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(DatasetGraphFactory.create());
+        dsg.add(SSE.parseQuad("(_ <http://s> <http://p> <http://o>)"));
+
+        // When and Then
+        Assert.assertEquals(VersionedDatasetGraph.versionOf(new DatasetGraphWrapper(dsg)), dsg.getVersion());
+        Assert.assertEquals(VersionedDatasetGraph.versionOf(new DatasetGraphWrapper(DatasetGraphFactory.create())),
+                            VersionedDatasetGraph.UNVERSIONED);
+        Assert.assertEquals(VersionedDatasetGraph.versionOf(DatasetGraphFactory.create()),
+                            VersionedDatasetGraph.UNVERSIONED);
+    }
+
+    @Test
+    public void givenData_whenWeighing_thenValuesCounted() {
+        // When and Then
+        Assert.assertEquals(ResponseCache.weigh(null), 1);
+        Assert.assertEquals(ResponseCache.weigh("a"), 1);
+        Assert.assertEquals(ResponseCache.weigh(Map.of("a", 1, "b", List.of(1, 2, 3))), 6);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenNegativeSize_whenCreatingCache_thenRejected() {
+        // When and Then
+        ResponseCache.withMaximumSize(-1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenNegativeWeight_whenCreatingCache_thenRejected() {
+        // When and Then
+        ResponseCache.withMaximumWeight(-1);
+    }
+
+    @Test
+    public void givenUnversionedKey_whenCaching_thenIgnored() {
+        // Given
+        ResponseCache cache = ResponseCache.withMaximumWeight(100);
+        DatasetGraph dsg = DatasetGraphFactory.create();
+
+        // When
+        ResponseCache.ResponseKey key =
+                cache.key(dsg, VersionedDatasetGraph.UNVERSIONED, SUBJECTS_QUERY, null, null, null);
+
+        // Then
+        Assert.assertNull(key);
+        Assert.assertNull(cache.get(null));
+        Assert.assertNotNull(cache.key(dsg, 1, SUBJECTS_QUERY, null, null, null));
+    }
+}
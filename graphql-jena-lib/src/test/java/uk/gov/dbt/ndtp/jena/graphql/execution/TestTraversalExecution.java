@@ -24,19 +24,32 @@
 package uk.gov.dbt.ndtp.jena.graphql.execution;
 
 import graphql.ExecutionResult;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.TraversalEdgesFetcher;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.TraversalSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.NodeKind;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFParserBuilder;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
 import org.apache.jena.sparql.vocabulary.FOAF;
+import org.apache.jena.system.Txn;
+import org.dataloader.DataLoaderRegistry;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @SuppressWarnings("unchecked")
 public class TestTraversalExecution extends AbstractExecution {
@@ -205,4 +218,632 @@ public class TestTraversalExecution extends AbstractExecution {
             Assert.assertNull(outgoing);
         }
     }
+
+    @Test
+    public void traversal_overlappingPredicates() {
+        // Given
+        String query = """
+                query {
+                  nodes(starts: [ { kind: URI, value: "https://example.org/Adam" } ]) {
+                    outgoing(predicate: [ { kind: URI, value: "http://xmlns.com/foaf/0.1/knows" },
+                                          { kind: URI, value: "http://xmlns.com/foaf/0.1/knows" },
+                                          { kind: VARIABLE, value: "p" } ]) {
+                      target { node { value } }
+                    }
+                  }
+                }""";
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        List<Object> nodes = (List<Object>) ((Map<String, Object>) result.getData()).get(TraversalSchema.NODES_FIELD);
+        List<Object> outgoing = (List<Object>) ((Map<String, Object>) nodes.get(0)).get(TraversalSchema.OUTGOING_FIELD);
+        Assert.assertEquals(outgoing.size(), 6);
+    }
+
+    @Test
+    public void traversal_literalFilter() {
+        // Given
+        String query = """
+                query {
+                  nodes(starts: [ { kind: URI, value: "https://example.org/Adam" } ]) {
+                    outgoing(literal: { regex: "^A" }) {
+                      target { node { value } }
+                    }
+                    incoming {
+                      edge { value }
+                    }
+                  }
+                }""";
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        List<Object> nodes = (List<Object>) ((Map<String, Object>) result.getData()).get(TraversalSchema.NODES_FIELD);
+        List<Object> outgoing = (List<Object>) ((Map<String, Object>) nodes.get(0)).get(TraversalSchema.OUTGOING_FIELD);
+        Assert.assertEquals(outgoing.size(), 1);
+        verifyTargets(outgoing, List.of("Adam"));
+    }
+
+    private static Map<String, Object> expand(ExecutionResult result) {
+        List<Object> nodes = (List<Object>) ((Map<String, Object>) result.getData()).get(TraversalSchema.NODES_FIELD);
+        Assert.assertEquals(nodes.size(), 1);
+        return (Map<String, Object>) ((Map<String, Object>) nodes.get(0)).get(TraversalSchema.EXPAND_FIELD);
+    }
+
+    private static Map<String, Integer> reachedDepths(Map<String, Object> expansion) {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        for (Object reached : (List<Object>) expansion.get(TraversalSchema.NODES_FIELD)) {
+            Map<String, Object> node = (Map<String, Object>) ((Map<String, Object>) reached).get(
+                    TraversalSchema.NODE_FIELD);
+            depths.put((String) node.get(TraversalSchema.VALUE_FIELD),
+                       (Integer) ((Map<String, Object>) reached).get(TraversalSchema.DEPTH_FIELD));
+        }
+        return depths;
+    }
+
+    private static String expandQuery(String arguments) {
+        return """
+                query {
+                  nodes(starts: [ { kind: URI, value: "https://example.org/Adam" } ]) {
+                    expand(%s) {
+                      nodes { node { value } depth }
+                      edges { subject { value } object { value } }
+                      truncated
+                    }
+                  }
+                }""".formatted(arguments);
+    }
+
+    @Test
+    public void traversal_expand_oneHop() {
+        // Given
+        String query = expandQuery(
+                "depth: 1, direction: OUT, predicate: [ { kind: URI, value: \"" + FOAF.knows.getURI() + "\" } ]");
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Map<String, Object> expansion = expand(result);
+        Assert.assertEquals(reachedDepths(expansion),
+                            Map.of(ADAM_ID, 0, BENJAMIN_ID, 1, CHARLIE_ID, 1, DANIEL_ID, 1, EVE_ID, 1));
+        Assert.assertEquals(((List<Object>) expansion.get(TraversalSchema.EDGES_FIELD)).size(), 4);
+        Assert.assertEquals(expansion.get(TraversalSchema.TRUNCATED_FIELD), false);
+    }
+
+    @Test
+    public void traversal_expand_multiHopVisitsEachNodeOnce() {
+        // Given
+        String query = expandQuery("depth: 3, predicate: [ { kind: URI, value: \"" + FOAF.knows.getURI() + "\" } ]");
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Map<String, Object> expansion = expand(result);
+        List<Object> reached = (List<Object>) expansion.get(TraversalSchema.NODES_FIELD);
+        Assert.assertEquals(reached.size(), 5);
+        Assert.assertEquals(reachedDepths(expansion),
+                            Map.of(ADAM_ID, 0, BENJAMIN_ID, 1, CHARLIE_ID, 1, DANIEL_ID, 1, EVE_ID, 1));
+        // Every foaf:knows edge exactly once, even though both directions were followed
+        Assert.assertEquals(((List<Object>) expansion.get(TraversalSchema.EDGES_FIELD)).size(), 11);
+    }
+
+    @Test
+    public void traversal_expand_incomingSecondHop() {
+        // Given
+        String query = """
+                query {
+                  nodes(starts: [ { kind: URI, value: "https://example.org/Eve" } ]) {
+                    expand(depth: 2, direction: IN) {
+                      nodes { node { value } depth }
+                      edges { subject { value } }
+                      truncated
+                    }
+                  }
+                }""";
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Map<String, Object> expansion = expand(result);
+        Assert.assertEquals(reachedDepths(expansion),
+                            Map.of(EVE_ID, 0, ADAM_ID, 1, BENJAMIN_ID, 1, DANIEL_ID, 1, CHARLIE_ID, 2));
+    }
+
+    @Test
+    public void traversal_expand_kinds() {
+        // Given
+        String query = expandQuery("depth: 1, direction: OUT, kinds: [ URI ]");
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Map<String, Object> expansion = expand(result);
+        Map<String, Integer> depths = reachedDepths(expansion);
+        Assert.assertEquals(depths.size(), 6);
+        Assert.assertTrue(depths.containsKey(FOAF.Person.getURI()));
+        Assert.assertFalse(depths.containsKey("Adam"));
+        Assert.assertEquals(((List<Object>) expansion.get(TraversalSchema.EDGES_FIELD)).size(), 5);
+    }
+
+    @Test
+    public void traversal_expand_truncated() {
+        // Given
+        String query = expandQuery("depth: 2, maxNodes: 3");
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Map<String, Object> expansion = expand(result);
+        Assert.assertEquals(reachedDepths(expansion).size(), 3);
+        Assert.assertEquals(expansion.get(TraversalSchema.TRUNCATED_FIELD), true);
+    }
+
+    @Test
+    public void traversal_expand_maxEdges_truncated() {
+        // Given
+        String query = expandQuery("depth: 2, maxEdges: 2");
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Map<String, Object> expansion = expand(result);
+        Assert.assertEquals(((List<Object>) expansion.get(TraversalSchema.EDGES_FIELD)).size(), 2);
+        Assert.assertEquals(expansion.get(TraversalSchema.TRUNCATED_FIELD), true);
+    }
+
+    @Test
+    public void traversal_expand_maximumDegree_truncated() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(this.executor.dsg);
+        TraversalExecutor scanning = new TraversalExecutor(dsg, false, 2);
+        TraversalExecutor indexed = new TraversalExecutor(dsg, true, 2) {
+            @Override
+            protected AdjacencyIndexManager createAdjacencyIndexManager() {
+                return new AdjacencyIndexManager(this.dsg, Runnable::run);
+            }
+        };
+        String query = expandQuery(
+                "depth: 1, direction: OUT, predicate: [ { kind: URI, value: \"" + FOAF.knows.getURI() + "\" } ]");
+
+        for (TraversalExecutor executor : List.of(scanning, indexed)) {
+            // When
+            Map<String, Object> expansion = expand(verifyExecution(executor, query));
+
+            // Then
+            // Adam knows four people, but only two of those edges may be visited
+            Assert.assertEquals(reachedDepths(expansion).size(), 3);
+            Assert.assertEquals(((List<Object>) expansion.get(TraversalSchema.EDGES_FIELD)).size(), 2);
+            Assert.assertEquals(expansion.get(TraversalSchema.TRUNCATED_FIELD), true);
+        }
+    }
+
+    @Test
+    public void traversal_expand_zeroDepth() {
+        // Given
+        String query = expandQuery("depth: 0");
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Map<String, Object> expansion = expand(result);
+        Assert.assertEquals(reachedDepths(expansion), Map.of(ADAM_ID, 0));
+        Assert.assertTrue(((List<Object>) expansion.get(TraversalSchema.EDGES_FIELD)).isEmpty());
+    }
+
+    @Test
+    public void traversal_expand_invalidArguments() {
+        for (String arguments : List.of("depth: -1", "depth: 11", "depth: 1, maxNodes: 0", "depth: 1, maxNodes: 10001",
+                                        "depth: 1, maxEdges: 0", "depth: 1, maxEdges: 100001")) {
+            // Given
+            String query = expandQuery(arguments);
+
+            // When
+            ExecutionResult result = this.executor.execute(query);
+
+            // Then
+            Assert.assertFalse(result.getErrors().isEmpty(), arguments);
+        }
+    }
+
+    private static List<List<String>> paths(ExecutionResult result) {
+        List<List<String>> paths = new ArrayList<>();
+        for (Object path : (List<Object>) ((Map<String, Object>) result.getData()).get(TraversalSchema.PATHS_FIELD)) {
+            Map<String, Object> traversalPath = (Map<String, Object>) path;
+            List<Object> nodes = (List<Object>) traversalPath.get(TraversalSchema.NODES_FIELD);
+            Assert.assertEquals(((List<Object>) traversalPath.get(TraversalSchema.EDGES_FIELD)).size(),
+                                nodes.size() - 1);
+            paths.add(nodes.stream()
+                           .map(n -> (String) ((Map<String, Object>) n).get(TraversalSchema.VALUE_FIELD))
+                           .toList());
+        }
+        return paths;
+    }
+
+    private static String pathsQuery(String from, String to, String arguments) {
+        return """
+                query {
+                  paths(from: { kind: URI, value: "%s" }, to: { kind: URI, value: "%s" }%s) {
+                    nodes { value }
+                    edges { subject { value } predicate { value } object { value } }
+                  }
+                }""".formatted(from, to, arguments);
+    }
+
+    private static final String KNOWS = ", predicate: [ { kind: URI, value: \"" + FOAF.knows.getURI() + "\" } ]";
+
+    @Test
+    public void traversal_paths_directed() {
+        // Given
+        String query = pathsQuery(CHARLIE_ID, EVE_ID, KNOWS + ", direction: OUT");
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Assert.assertEquals(new HashSet<>(paths(result)), Set.of(List.of(CHARLIE_ID, ADAM_ID, EVE_ID),
+                                                                 List.of(CHARLIE_ID, DANIEL_ID, EVE_ID)));
+    }
+
+    @Test
+    public void traversal_paths_directedNoPath() {
+        // Given
+        String query = pathsQuery(EVE_ID, CHARLIE_ID, KNOWS + ", direction: OUT");
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Assert.assertTrue(paths(result).isEmpty());
+    }
+
+    @Test
+    public void traversal_paths_bothDirections() {
+        // Given
+        String query = pathsQuery(BENJAMIN_ID, CHARLIE_ID, KNOWS);
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        // Benjamin and Adam know each other, as do Adam and Charlie, so there are two edges for each step
+        List<List<String>> paths = paths(result);
+        Assert.assertEquals(paths.size(), 4);
+        Assert.assertEquals(new HashSet<>(paths), Set.of(List.of(BENJAMIN_ID, ADAM_ID, CHARLIE_ID)));
+    }
+
+    @Test
+    public void traversal_paths_limited() {
+        // Given
+        String query = pathsQuery(CHARLIE_ID, EVE_ID, KNOWS + ", direction: OUT, limit: 1");
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Assert.assertEquals(paths(result).size(), 1);
+    }
+
+    @Test
+    public void traversal_paths_sameNode() {
+        // Given
+        String query = pathsQuery(ADAM_ID, ADAM_ID, "");
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Assert.assertEquals(paths(result), List.of(List.of(ADAM_ID)));
+    }
+
+    @Test
+    public void traversal_paths_chain() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        Node next = FOAF.knows.asNode();
+        for (int i = 0; i < 7; i++) {
+            dsg.add(Quad.defaultGraphIRI, NodeFactory.createURI("https://example.org/" + i), next,
+                    NodeFactory.createURI("https://example.org/" + (i + 1)));
+        }
+        // A longer detour that must not be returned
+        dsg.add(Quad.defaultGraphIRI, NodeFactory.createURI("https://example.org/1"), next,
+                NodeFactory.createURI("https://example.org/detour"));
+        dsg.add(Quad.defaultGraphIRI, NodeFactory.createURI("https://example.org/detour"), next,
+                NodeFactory.createURI("https://example.org/2"));
+        TraversalExecutor chain = new TraversalExecutor(dsg);
+
+        // When
+        ExecutionResult found =
+                verifyExecution(chain, pathsQuery("https://example.org/0", "https://example.org/5", ", maxDepth: 5"));
+        ExecutionResult tooShort =
+                verifyExecution(chain, pathsQuery("https://example.org/0", "https://example.org/5", ", maxDepth: 4"));
+
+        // Then
+        Assert.assertEquals(paths(found), List.of(List.of("https://example.org/0", "https://example.org/1",
+                                                          "https://example.org/2", "https://example.org/3",
+                                                          "https://example.org/4", "https://example.org/5")));
+        Assert.assertTrue(paths(tooShort).isEmpty());
+    }
+
+    @Test
+    public void traversal_paths_maxNodes_truncated() throws IOException {
+        // Given
+        // Every node of the chain also has many leaves, so the search must visit many nodes to find the path
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        Node next = FOAF.knows.asNode();
+        for (int i = 0; i < 4; i++) {
+            Node node = NodeFactory.createURI("https://example.org/" + i);
+            dsg.add(Quad.defaultGraphIRI, node, next, NodeFactory.createURI("https://example.org/" + (i + 1)));
+            for (int j = 0; j < 20; j++) {
+                dsg.add(Quad.defaultGraphIRI, node, next, NodeFactory.createURI("https://example.org/" + i + "/" + j));
+            }
+        }
+        TraversalExecutor chain = new TraversalExecutor(dsg);
+
+        // When
+        ExecutionResult found = verifyExecution(chain, pathsQuery("https://example.org/0", "https://example.org/4",
+                                                                  ", direction: OUT"));
+        ExecutionResult truncated = verifyExecution(chain, pathsQuery("https://example.org/0", "https://example.org/4",
+                                                                      ", direction: OUT, maxNodes: 10"));
+
+        // Then
+        Assert.assertEquals(paths(found).size(), 1);
+        Assert.assertTrue(paths(truncated).isEmpty());
+    }
+
+    @Test
+    public void traversal_paths_invalidArguments() {
+        for (String query : List.of(pathsQuery(ADAM_ID, EVE_ID, ", maxDepth: 11"),
+                                    pathsQuery(ADAM_ID, EVE_ID, ", maxDepth: -1"),
+                                    pathsQuery(ADAM_ID, EVE_ID, ", limit: 0"),
+                                    pathsQuery(ADAM_ID, EVE_ID, ", limit: 1001"),
+                                    pathsQuery(ADAM_ID, EVE_ID, ", maxNodes: 0"),
+                                    pathsQuery(ADAM_ID, EVE_ID, ", maxNodes: 100001"),
+                                    """
+                                    query {
+                                      paths(from: { kind: VARIABLE, value: "x" }, to: { kind: URI, value: "y" }) {
+                                        nodes { value }
+                                      }
+                                    }""")) {
+            // When
+            ExecutionResult result = this.executor.execute(query);
+
+            // Then
+            Assert.assertFalse(result.getErrors().isEmpty(), query);
+        }
+    }
+
+    @Test
+    public void traversal_dataLoaders_freshPerExecution() {
+        // Given and When
+        DataLoaderRegistry first = this.executor.getDataLoaderRegistry(this.executor.dsg);
+        DataLoaderRegistry second = this.executor.getDataLoaderRegistry(this.executor.dsg);
+
+        // Then
+        Assert.assertNotNull(first.getDataLoader(TraversalEdgesFetcher.DATA_LOADER_NAME));
+        Assert.assertNotSame(first.getDataLoader(TraversalEdgesFetcher.DATA_LOADER_NAME),
+                             second.getDataLoader(TraversalEdgesFetcher.DATA_LOADER_NAME));
+    }
+
+    private static TraversalExecutor createIndexedExecutor(DatasetGraph dsg) throws IOException {
+        return new TraversalExecutor(dsg, true) {
+            @Override
+            protected AdjacencyIndexManager createAdjacencyIndexManager() {
+                // Build synchronously so the index is current as soon as the executor is created
+                return new AdjacencyIndexManager(this.dsg, Runnable::run);
+            }
+
+            @Override
+            protected ResponseCache createResponseCache() {
+                return ResponseCache.none();
+            }
+        };
+    }
+
+    /**
+     * Normalises response data so that data that only differs in the order of list items compares as equal
+     */
+    private static Object normalise(Object data) {
+        if (data instanceof Map<?, ?> map) {
+            Map<Object, Object> normalised = new TreeMap<>();
+            map.forEach((k, v) -> normalised.put(k, normalise(v)));
+            return normalised;
+        } else if (data instanceof List<?> list) {
+            return list.stream().map(TestTraversalExecution::normalise).map(String::valueOf).sorted().toList();
+        }
+        return data;
+    }
+
+    @DataProvider(name = "traversals")
+    public Object[][] traversals() {
+        return new Object[][] {
+                { SIMPLE_TRAVERSAL },
+                { NAMES_TRAVERSAL },
+                { FRIENDS_TRAVERSAL },
+                { LITERALS_TRAVERSAL },
+                { BLANKS_TRAVERSAL },
+                { "{ nodes { node { value } incoming { edge { value } target { node { value } } } } }" },
+                { expandQuery("depth: 3") }
+        };
+    }
+
+    @Test(dataProvider = "traversals")
+    public void traversal_adjacencyIndex_sameResults(String query) throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(this.executor.dsg);
+        TraversalExecutor indexed = createIndexedExecutor(dsg);
+        Assert.assertNotNull(Txn.calculateRead(dsg, indexed.getAdjacencyIndexManager()::current));
+
+        // When
+        ExecutionResult expected = verifyExecution(this.executor, query);
+        ExecutionResult actual = verifyExecution(indexed, query);
+
+        // Then
+        Assert.assertEquals(normalise(actual.getData()), normalise(expected.getData()));
+    }
+
+    @Test
+    public void traversal_adjacencyIndex_usedOnlyWhenCurrent() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(DatasetGraphFactory.createTxnMem());
+        TraversalExecutor indexed = createIndexedExecutor(dsg);
+        Map<Object, Object> context = new HashMap<>();
+
+        // When and Then
+        indexed.populateContext(dsg, context);
+        Assert.assertSame(context.get(AdjacencyIndexManager.class), indexed.getAdjacencyIndexManager());
+        context.clear();
+        indexed.populateContext(DatasetGraphFactory.empty(), context);
+        Assert.assertFalse(context.containsKey(AdjacencyIndexManager.class));
+        this.executor.populateContext(this.executor.dsg, context);
+        Assert.assertFalse(context.containsKey(AdjacencyIndexManager.class));
+        Assert.assertNull(this.executor.getAdjacencyIndexManager());
+
+        // Whether the index is current is decided within the transaction in which it is used, and changes to the data
+        // are applied to the index as they are committed
+        AdjacencyIndexManager manager = indexed.getAdjacencyIndexManager();
+        Assert.assertNull(manager.current());
+        Node adam = NodeFactory.createURI(ADAM_ID);
+        Txn.executeWrite(dsg, () -> {
+            dsg.add(Quad.defaultGraphIRI, adam, FOAF.knows.asNode(), adam);
+            Assert.assertNull(manager.current());
+        });
+        Assert.assertEquals(Txn.calculateRead(dsg, manager::current).getEdgeCount(), 1);
+    }
+
+    @Test
+    public void traversal_adjacencyIndex_reflectsChanges() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(DatasetGraphFactory.createTxnMem());
+        TraversalExecutor indexed = createIndexedExecutor(dsg);
+        verifyNodeCount(indexed, 0);
+
+        // When
+        Txn.executeWrite(dsg, () -> dsg.add(Quad.defaultGraphIRI, NodeFactory.createURI(ADAM_ID),
+                                            FOAF.knows.asNode(), NodeFactory.createURI(EVE_ID)));
+
+        // Then
+        verifyNodeCount(indexed, 1);
+        verifyNodeCount(indexed, 1);
+        Assert.assertEquals(Txn.calculateRead(dsg, indexed.getAdjacencyIndexManager()::current).getEdgeCount(), 1);
+    }
+
+    private static void verifyNodeCount(TraversalExecutor executor, int expected) {
+        ExecutionResult result = verifyExecution(executor, "{ nodes { node { value } } }");
+        List<Object> nodes = (List<Object>) ((Map<String, Object>) result.getData()).get(TraversalSchema.NODES_FIELD);
+        Assert.assertEquals(nodes.size(), expected);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void traversal_adjacencyIndex_requiresVersionedDataset() throws IOException {
+        // Given, When and Then
+        createIndexedExecutor(DatasetGraphFactory.createTxnMem());
+    }
+
+    private static final String DEGREE_QUERY = """
+            {
+              nodes(starts: [{ kind: URI, value: "%s" }]) {
+                truncated
+                out: truncated(direction: OUT)
+                in: truncated(direction: IN)
+                outgoing { edge { value } }
+                incoming { edge { value } }
+              }
+            }""";
+
+    private static Map<String, Object> degreeNode(TraversalExecutor executor, String id) {
+        ExecutionResult result = verifyExecution(executor, DEGREE_QUERY.formatted(id));
+        List<Object> nodes = (List<Object>) ((Map<String, Object>) result.getData()).get(TraversalSchema.NODES_FIELD);
+        Assert.assertEquals(nodes.size(), 1);
+        return (Map<String, Object>) nodes.get(0);
+    }
+
+    @Test
+    public void traversal_maximumDegree_truncated() throws IOException {
+        // Given
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(this.executor.dsg);
+        TraversalExecutor scanning = new TraversalExecutor(dsg, false, 2);
+        TraversalExecutor indexed = new TraversalExecutor(dsg, true, 2) {
+            @Override
+            protected AdjacencyIndexManager createAdjacencyIndexManager() {
+                return new AdjacencyIndexManager(this.dsg, Runnable::run);
+            }
+        };
+        Assert.assertEquals(scanning.getMaximumDegree(), 2);
+        Assert.assertEquals(this.executor.getMaximumDegree(), TraversalEdgesFetcher.DEFAULT_MAXIMUM_DEGREE);
+
+        for (TraversalExecutor executor : List.of(scanning, indexed)) {
+            // When
+            Map<String, Object> adam = degreeNode(executor, ADAM_ID);
+            Map<String, Object> eve = degreeNode(executor, EVE_ID);
+
+            // Then
+            Assert.assertEquals(adam.get(TraversalSchema.TRUNCATED_FIELD), true);
+            Assert.assertEquals(adam.get("out"), true);
+            Assert.assertEquals(adam.get("in"), true);
+            Assert.assertEquals(((List<Object>) adam.get(TraversalSchema.OUTGOING_FIELD)).size(), 2);
+            Assert.assertEquals(((List<Object>) adam.get(TraversalSchema.INCOMING_FIELD)).size(), 2);
+            Assert.assertEquals(eve.get(TraversalSchema.TRUNCATED_FIELD), true);
+            Assert.assertEquals(eve.get("out"), false);
+            Assert.assertEquals(eve.get("in"), true);
+            Assert.assertEquals(((List<Object>) eve.get(TraversalSchema.OUTGOING_FIELD)).size(), 2);
+        }
+        Assert.assertEquals(degreeNode(this.executor, ADAM_ID).get(TraversalSchema.TRUNCATED_FIELD), false);
+    }
+
+    @Test
+    public void traversal_edges_pagedAndSampled() {
+        // Given
+        String query = """
+                {
+                  nodes(starts: [{ kind: URI, value: "%s" }]) {
+                    all: outgoing { target { node { value } } }
+                    page: outgoing(limit: 2, offset: 1) { target { node { value } } }
+                    sample: outgoing(sample: 3) { target { node { value } } }
+                  }
+                }""".formatted(ADAM_ID);
+
+        // When
+        ExecutionResult result = verifyExecution(this.executor, query);
+
+        // Then
+        Map<String, Object> node =
+                (Map<String, Object>) ((List<Object>) ((Map<String, Object>) result.getData()).get(
+                        TraversalSchema.NODES_FIELD)).get(0);
+        List<Object> all = (List<Object>) node.get("all");
+        Assert.assertEquals(all.size(), 6);
+        Assert.assertEquals(node.get("page"), all.subList(1, 3));
+        List<Object> sample = (List<Object>) node.get("sample");
+        Assert.assertEquals(sample.size(), 3);
+        Assert.assertTrue(all.containsAll(sample));
+    }
+
+    @Test
+    public void traversal_edges_invalidArguments() {
+        for (String argument : List.of("limit: -1", "offset: -2", "sample: -3")) {
+            // Given
+            String query = "{ nodes { incoming(" + argument + ") { edge { value } } } }";
+
+            // When
+            ExecutionResult result = this.executor.execute(query);
+
+            // Then
+            Assert.assertFalse(result.getErrors().isEmpty(), query);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void traversal_maximumDegree_mustBePositive() throws IOException {
+        // Given, When and Then
+        new TraversalExecutor(DatasetGraphFactory.empty(), false, 0);
+    }
 }
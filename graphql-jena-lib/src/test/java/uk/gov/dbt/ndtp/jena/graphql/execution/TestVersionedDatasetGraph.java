@@ -0,0 +1,304 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.shared.DeleteDeniedException;
+import org.apache.jena.query.TxnType;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.DatasetGraphWrapper;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.core.Transactional.Promote;
+import org.apache.jena.sparql.sse.SSE;
+import org.apache.jena.system.Txn;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestVersionedDatasetGraph {
+
+    private static final Quad EXISTING = SSE.parseQuad("(_ <http://a> <http://knows> <http://b>)");
+    private static final Quad NEW = SSE.parseQuad("(<http://g> <http://a> <http://knows> <http://c>)");
+
+    private record Notification(long version, VersionedDatasetGraph.Changes changes) {
+    }
+
+    private static VersionedDatasetGraph createDataset(List<Notification> notifications) {
+        VersionedDatasetGraph dsg = new VersionedDatasetGraph(DatasetGraphFactory.createTxnMem());
+        Txn.executeWrite(dsg, () -> dsg.add(EXISTING));
+        dsg.addChangeListener((version, changes) -> notifications.add(new Notification(version, changes)));
+        return dsg;
+    }
+
+    @Test
+    public void givenWriteTransaction_whenCommitted_thenListenerNotifiedOfActualChanges() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        VersionedDatasetGraph dsg = createDataset(notifications);
+        Quad viaGraph = SSE.parseQuad("(_ <http://b> <http://knows> <http://c>)");
+
+        // When
+        Txn.executeWrite(dsg, () -> {
+            dsg.add(NEW);
+            dsg.add(EXISTING);
+            dsg.delete(EXISTING);
+            dsg.delete(SSE.parseQuad("(_ <http://x> <http://knows> <http://y>)"));
+            Graph graph = dsg.getDefaultGraph();
+            graph.add(viaGraph.asTriple());
+        });
+
+        // Then
+        Assert.assertEquals(notifications.size(), 1);
+        Notification notification = notifications.get(0);
+        Assert.assertEquals(notification.version(), dsg.getVersion());
+        Assert.assertEquals(notification.changes().added().size(), 2);
+        Assert.assertTrue(notification.changes().added().contains(NEW));
+        Assert.assertEquals(notification.changes().added().get(1).asTriple(), viaGraph.asTriple());
+        Assert.assertEquals(notification.changes().deleted(), List.of(EXISTING));
+    }
+
+    @Test
+    public void givenDeleteAny_whenCommitted_thenMatchingQuadsNotifiedAsDeleted() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        VersionedDatasetGraph dsg = createDataset(notifications);
+        Txn.executeWrite(dsg, () -> dsg.add(NEW));
+        notifications.clear();
+
+        // When
+        Txn.executeWrite(dsg, () -> dsg.deleteAny(Node.ANY, EXISTING.getSubject(), Node.ANY, Node.ANY));
+
+        // Then
+        Assert.assertEquals(notifications.size(), 1);
+        Assert.assertEquals(notifications.get(0).changes().deleted().size(), 2);
+        Assert.assertTrue(notifications.get(0).changes().added().isEmpty());
+    }
+
+    @Test
+    public void givenAbortedTransaction_whenAborted_thenListenerNotNotified() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        VersionedDatasetGraph dsg = createDataset(notifications);
+        long version = dsg.getVersion();
+
+        // When
+        dsg.begin(TxnType.WRITE);
+        dsg.add(NEW);
+        dsg.abort();
+        dsg.end();
+
+        // Then
+        Assert.assertTrue(notifications.isEmpty());
+        Assert.assertEquals(dsg.getVersion(), version);
+    }
+
+    @Test
+    public void givenUnrecordableChanges_whenCommitted_thenChangesUnknown() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        VersionedDatasetGraph dsg = createDataset(notifications);
+
+        // When
+        Txn.executeWrite(dsg, dsg::clear);
+        dsg.add(NEW);
+        Txn.executeWrite(dsg, () -> {
+            for (int i = 0; i <= VersionedDatasetGraph.MAXIMUM_RECORDED_CHANGES; i++) {
+                dsg.add(Quad.defaultGraphIRI, EXISTING.getSubject(), EXISTING.getPredicate(),
+                        NodeFactory.createURI("http://o" + i));
+            }
+        });
+
+        // Then
+        Assert.assertEquals(notifications.stream().map(Notification::version).toList(),
+                            List.of(dsg.getVersion() - 2, dsg.getVersion() - 1, dsg.getVersion()));
+        Assert.assertTrue(notifications.stream().allMatch(n -> n.changes() == null));
+    }
+
+    @Test
+    public void givenTransactions_whenGettingTransactionVersion_thenOnlyKnownForReads() {
+        // Given
+        VersionedDatasetGraph dsg = createDataset(new ArrayList<>());
+        long version = dsg.getVersion();
+
+        // When and Then
+        Assert.assertEquals(dsg.getTransactionVersion(), VersionedDatasetGraph.UNVERSIONED);
+        Assert.assertEquals((long) Txn.calculateRead(dsg, dsg::getTransactionVersion), version);
+        Assert.assertEquals((long) Txn.calculateRead(dsg, () -> VersionedDatasetGraph.transactionVersionOf(
+                new DatasetGraphWrapper(dsg))), version);
+        Assert.assertEquals((long) Txn.calculateWrite(dsg, dsg::getTransactionVersion),
+                            VersionedDatasetGraph.UNVERSIONED);
+        // Committing a write transaction is a new version, whether or not it changed anything
+        dsg.begin(TxnType.READ_PROMOTE);
+        try {
+            Assert.assertEquals(dsg.getTransactionVersion(), version + 1);
+            Assert.assertTrue(dsg.promote());
+            Assert.assertEquals(dsg.getTransactionVersion(), VersionedDatasetGraph.UNVERSIONED);
+            dsg.commit();
+        } finally {
+            dsg.end();
+        }
+        Assert.assertEquals(dsg.getVersion(), version + 2);
+        Assert.assertEquals(VersionedDatasetGraph.transactionVersionOf(DatasetGraphFactory.createTxnMem()),
+                            VersionedDatasetGraph.UNVERSIONED);
+    }
+
+    @Test
+    public void givenGraphViews_whenChangedWithinTransaction_thenChangesRecorded() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        VersionedDatasetGraph dsg = createDataset(notifications);
+
+        // When
+        Txn.executeWrite(dsg, () -> {
+            dsg.getGraph(NEW.getGraph()).add(NEW.asTriple());
+            dsg.getGraph(Quad.defaultGraphNodeGenerated).delete(EXISTING.asTriple());
+        });
+        Txn.executeWrite(dsg, () -> {
+            Assert.assertEquals(dsg.getGraph(Quad.unionGraph).size(), 1);
+            Assert.assertEquals(dsg.getUnionGraph().size(), 1);
+            // Not all datasets permit deleting from the union graph, but the changes are unknown if they do
+            Assert.expectThrows(DeleteDeniedException.class,
+                                () -> dsg.deleteAny(Quad.unionGraph, Node.ANY, Node.ANY, Node.ANY));
+        });
+
+        // Then
+        Assert.assertEquals(notifications.size(), 2);
+        Assert.assertEquals(notifications.get(0).changes().added(), List.of(NEW));
+        Assert.assertEquals(notifications.get(0).changes().deleted(), List.of(EXISTING));
+        Assert.assertNull(notifications.get(1).changes());
+    }
+
+    @Test
+    public void givenQuadAddedThenDeleted_whenCommitted_thenQuadInBothChanges() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        VersionedDatasetGraph dsg = createDataset(notifications);
+
+        // When
+        Txn.executeWrite(dsg, () -> {
+            dsg.add(NEW.getGraph(), NEW.getSubject(), NEW.getPredicate(), NEW.getObject());
+            dsg.delete(NEW.getGraph(), NEW.getSubject(), NEW.getPredicate(), NEW.getObject());
+        });
+
+        // Then
+        Assert.assertEquals(notifications.get(0).changes().added(), List.of(NEW));
+        Assert.assertEquals(notifications.get(0).changes().deleted(), List.of(NEW));
+    }
+
+    @Test
+    public void givenExistingQuadDeletedThenAdded_whenCommitted_thenQuadInBothChanges() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        VersionedDatasetGraph dsg = createDataset(notifications);
+
+        // When
+        Txn.executeWrite(dsg, () -> {
+            dsg.delete(EXISTING);
+            dsg.add(EXISTING);
+        });
+
+        // Then
+        // The quad was present both before and after the transaction, so the changes cancel out
+        Assert.assertEquals(notifications.get(0).changes().added(), List.of(EXISTING));
+        Assert.assertEquals(notifications.get(0).changes().deleted(), List.of(EXISTING));
+        Assert.assertTrue(Txn.calculateRead(dsg, () -> dsg.contains(EXISTING)));
+    }
+
+    @Test
+    public void givenPromotableTransactions_whenChangedAndCommitted_thenListenerNotifiedOfChanges() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        VersionedDatasetGraph dsg = createDataset(notifications);
+
+        // When
+        dsg.begin();
+        try {
+            Assert.assertTrue(dsg.promote(Promote.ISOLATED));
+            dsg.add(NEW);
+            dsg.commit();
+        } finally {
+            dsg.end();
+        }
+        dsg.begin(ReadWrite.WRITE);
+        try {
+            dsg.delete(NEW);
+            dsg.commit();
+        } finally {
+            dsg.end();
+        }
+
+        // Then
+        Assert.assertEquals(notifications.size(), 2);
+        Assert.assertEquals(notifications.get(0).changes().added(), List.of(NEW));
+        Assert.assertEquals(notifications.get(1).changes().deleted(), List.of(NEW));
+    }
+
+    @Test
+    public void givenReadTransaction_whenCommitted_thenNoNewVersion() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        VersionedDatasetGraph dsg = createDataset(notifications);
+        long version = dsg.getVersion();
+
+        // When
+        dsg.begin(ReadWrite.READ);
+        try {
+            dsg.commit();
+        } finally {
+            dsg.end();
+        }
+
+        // Then
+        Assert.assertTrue(notifications.isEmpty());
+        Assert.assertEquals(dsg.getVersion(), version);
+    }
+
+    @Test
+    public void givenFailingAndRemovedListeners_whenCommitted_thenOnlyRemainingListenersNotified() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        List<Notification> removed = new ArrayList<>();
+        VersionedDatasetGraph dsg = createDataset(notifications);
+        VersionedDatasetGraph.ChangeListener removedListener =
+                (version, changes) -> removed.add(new Notification(version, changes));
+        dsg.addChangeListener(removedListener);
+        dsg.addChangeListener((version, changes) -> {
+            throw new IllegalStateException("Failed");
+        });
+        dsg.removeChangeListener(removedListener);
+
+        // When
+        Txn.executeWrite(dsg, () -> dsg.add(NEW));
+
+        // Then
+        Assert.assertEquals(notifications.size(), 1);
+        Assert.assertTrue(removed.isEmpty());
+        Assert.assertEquals(dsg.getVersion(), notifications.get(0).version());
+    }
+}
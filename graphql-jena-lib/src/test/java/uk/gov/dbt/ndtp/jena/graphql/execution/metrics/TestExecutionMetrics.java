@@ -0,0 +1,291 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.execution.metrics;
+
+import graphql.ExecutionResult;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.DatasetGraphWrapper;
+import org.apache.jena.sparql.core.Quad;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.execution.AbstractExecution;
+import uk.gov.dbt.ndtp.jena.graphql.execution.DatasetExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.List;
+
+public class TestExecutionMetrics extends AbstractExecution {
+
+    private static final String SIMPLE_QUADS_QUERY = loadQuery("/queries/dataset/", "simple-quads.graphql");
+
+    /**
+     * Executor that records its metrics in memory
+     */
+    private static final class InMemoryMetricsExecutor extends DatasetExecutor {
+
+        InMemoryMetricsExecutor(DatasetGraph dsg) throws IOException {
+            super(dsg);
+        }
+
+        @Override
+        protected ExecutionMetrics createMetrics() {
+            return new AggregatingExecutionMetrics();
+        }
+
+        AggregatingExecutionMetrics getMetrics() {
+            return (AggregatingExecutionMetrics) this.metrics;
+        }
+    }
+
+    @Test
+    public void givenValues_whenRecordingInHistogram_thenStatisticsCalculated() {
+        // Given
+        Histogram histogram = new Histogram();
+
+        // When
+        for (long i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-5);
+
+        // Then
+        Assert.assertEquals(histogram.getCount(), 101);
+        Assert.assertEquals(histogram.getSum(), 5050);
+        Assert.assertEquals(histogram.getMax(), 100);
+        Assert.assertEquals(histogram.getMean(), 5050 / 101.0, 0.0001);
+        Assert.assertEquals(histogram.getPercentile(0), 0);
+        // Percentiles are accurate to the bucket i.e. within a factor of 2
+        Assert.assertEquals(histogram.getPercentile(0.5), 63);
+        Assert.assertEquals(histogram.getPercentile(0.99), 100);
+        Assert.assertEquals(histogram.getPercentile(1), 100);
+    }
+
+    @Test
+    public void givenHistogram_whenReset_thenEmpty() {
+        // Given
+        Histogram histogram = new Histogram();
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(histogram.getPercentile(0.5), Long.MAX_VALUE);
+
+        // When
+        histogram.reset();
+
+        // Then
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getMax(), 0);
+        Assert.assertEquals(histogram.getMean(), 0.0);
+        Assert.assertEquals(histogram.getPercentile(0.5), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenInvalidPercentile_whenCalculating_thenRejected() {
+        // When and Then
+        new Histogram().getPercentile(1.5);
+    }
+
+    @Test
+    public void givenDatasetExecutor_whenExecutingQuery_thenOperationAndFieldMetricsRecorded() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.create();
+        generateDummyQuads(dsg, 50);
+        InMemoryMetricsExecutor executor = new InMemoryMetricsExecutor(dsg);
+        AggregatingExecutionMetrics metrics = executor.getMetrics();
+
+        // When
+        verifyExecution(executor, SIMPLE_QUADS_QUERY);
+        verifyExecution(executor, SIMPLE_QUADS_QUERY);
+
+        // Then
+        ExecutionStatistics operation = metrics.getOperationStatistics(null);
+        Assert.assertNotNull(operation);
+        Assert.assertEquals(operation.getCount(), 2);
+        Assert.assertEquals(operation.getErrorCount(), 0);
+        Assert.assertTrue(operation.getMaxLatencyMillis() > 0);
+        Assert.assertTrue(operation.getP50LatencyMillis() <= operation.getP99LatencyMillis());
+
+        // And
+        ExecutionStatistics quads =
+                metrics.getFieldStatistics(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.QUADS_FIELD);
+        Assert.assertNotNull(quads);
+        Assert.assertEquals(quads.getCount(), 2);
+        Assert.assertEquals(quads.getMeanListSize(), 50.0);
+        Assert.assertEquals(quads.getMaxListSize(), 50);
+        Assert.assertEquals(quads.getP99ListSize(), 50);
+        Assert.assertTrue(quads.getMeanLatencyMillis() > 0);
+        Assert.assertTrue(quads.getP95LatencyMillis() > 0);
+
+        // And
+        Assert.assertTrue(metrics.getAllFieldStatistics()
+                                 .containsKey(DatasetSchema.QUADS_QUERY_TYPE + "." + DatasetSchema.QUADS_FIELD));
+        Assert.assertTrue(metrics.getAllFieldStatistics().keySet().stream().noneMatch(f -> f.endsWith(".value")),
+                          "Trivial fields should not be recorded");
+        Assert.assertNull(metrics.getFieldStatistics("NoSuchType", "field"));
+    }
+
+    @Test
+    public void givenFailingDataset_whenExecutingQuery_thenErrorsRecorded() throws IOException {
+        // Given
+        DatasetGraph dsg = new DatasetGraphWrapper(DatasetGraphFactory.create()) {
+            @Override
+            public Iterator<Quad> find(Node g, Node s, Node p, Node o) {
+                throw new IllegalStateException("Failed");
+            }
+        };
+        InMemoryMetricsExecutor executor = new InMemoryMetricsExecutor(dsg);
+        AggregatingExecutionMetrics metrics = executor.getMetrics();
+
+        // When
+        ExecutionResult result = executor.execute("query Failing { quads { subject { value } } }");
+
+        // Then
+        Assert.assertFalse(result.getErrors().isEmpty());
+        Assert.assertEquals(metrics.getOperationStatistics("Failing").getErrorCount(), 1);
+        ExecutionStatistics quads =
+                metrics.getFieldStatistics(DatasetSchema.QUADS_QUERY_TYPE, DatasetSchema.QUADS_FIELD);
+        Assert.assertEquals(quads.getCount(), 1);
+        Assert.assertEquals(quads.getErrorCount(), 1);
+
+        // And
+        quads.reset();
+        Assert.assertEquals(quads.getCount(), 0);
+        Assert.assertEquals(quads.getErrorCount(), 0);
+    }
+
+    @Test
+    public void givenRecordedValues_whenReadingStatistics_thenMillisecondsAndListSizesReported() {
+        // Given
+        ExecutionStatistics stats = new ExecutionStatistics();
+
+        // When
+        stats.record(2_000_000, 10, 0);
+        stats.record(4_000_000, ExecutionMetrics.NOT_A_LIST, 1);
+
+        // Then
+        Assert.assertEquals(stats.getCount(), 2);
+        Assert.assertEquals(stats.getErrorCount(), 1);
+        Assert.assertEquals(stats.getMeanLatencyMillis(), 3.0);
+        Assert.assertEquals(stats.getMaxLatencyMillis(), 4.0);
+        Assert.assertTrue(stats.getP50LatencyMillis() <= stats.getP95LatencyMillis());
+        Assert.assertTrue(stats.getP95LatencyMillis() <= stats.getP99LatencyMillis());
+        Assert.assertEquals(stats.getP99LatencyMillis(), 4.0);
+        Assert.assertEquals(stats.getListSizes().getCount(), 1);
+        Assert.assertEquals(stats.getMeanListSize(), 10.0);
+        Assert.assertEquals(stats.getP99ListSize(), 10);
+        Assert.assertEquals(stats.getMaxListSize(), 10);
+        Assert.assertEquals(stats.getLatencies().getSum(), 6_000_000);
+    }
+
+    @Test
+    public void givenFetchedValues_whenCalculatingListSize_thenOnlyListsHaveSizes() {
+        // When and Then
+        Assert.assertEquals(MetricsInstrumentation.listSize(List.of(1, 2, 3)), 3);
+        Assert.assertEquals(MetricsInstrumentation.listSize(new String[] { "a", "b" }), 2);
+        Assert.assertEquals(MetricsInstrumentation.listSize("a"), ExecutionMetrics.NOT_A_LIST);
+        Assert.assertEquals(MetricsInstrumentation.listSize(null), ExecutionMetrics.NOT_A_LIST);
+    }
+
+    @Test
+    public void givenNoMetrics_whenExecuting_thenNothingRecorded() throws IOException {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create()) {
+            @Override
+            protected ExecutionMetrics createMetrics() {
+                return ExecutionMetrics.NONE;
+            }
+        };
+
+        // When and Then
+        verifyExecution(executor, SIMPLE_QUADS_QUERY);
+    }
+
+    @Test
+    public void givenBoundedMetrics_whenExceedingMaximumOperations_thenAggregatedAsOther() {
+        // Given
+        AggregatingExecutionMetrics metrics = new AggregatingExecutionMetrics(2);
+
+        // When
+        metrics.recordOperation("a", 1, 0);
+        metrics.recordOperation("b", 1, 0);
+        metrics.recordOperation("c", 1, 0);
+        metrics.recordOperation("d", 1, 2);
+        metrics.recordOperation("a", 1, 0);
+
+        // Then
+        Assert.assertEquals(metrics.getOperationStatistics("a").getCount(), 2);
+        Assert.assertNull(metrics.getOperationStatistics("c"));
+        ExecutionStatistics other = metrics.getOperationStatistics(AggregatingExecutionMetrics.OTHER_OPERATIONS);
+        Assert.assertEquals(other.getCount(), 2);
+        Assert.assertEquals(other.getErrorCount(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenZeroMaximumOperations_whenCreatingMetrics_thenRejected() {
+        // When and Then
+        new AggregatingExecutionMetrics(0);
+    }
+
+    @Test
+    public void givenJmxMetrics_whenRecording_thenPublishedAsMXBeans() throws Exception {
+        // Given
+        JmxExecutionMetrics metrics = JmxExecutionMetrics.forName("test-executor");
+        Assert.assertSame(JmxExecutionMetrics.forName("test-executor"), metrics);
+        Assert.assertEquals(metrics.getExecutorName(), "test-executor");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        // When
+        metrics.recordField("Node", "types", 1_000_000, 3, false);
+        metrics.recordOperation("Test", 2_000_000, 0);
+
+        // Then
+        ObjectName field = metrics.getObjectName(AggregatingExecutionMetrics.KIND_FIELD, "Node.types");
+        Assert.assertTrue(server.isRegistered(field));
+        Assert.assertEquals(server.getAttribute(field, "Count"), 1L);
+        Assert.assertEquals(server.getAttribute(field, "MaxListSize"), 3L);
+        ObjectName operation = metrics.getObjectName(AggregatingExecutionMetrics.KIND_OPERATION, "Test");
+        Assert.assertTrue(server.isRegistered(operation));
+        Assert.assertEquals(server.getAttribute(operation, "ErrorCount"), 0L);
+    }
+
+    @Test
+    public void givenDefaultExecutor_whenExecuting_thenMetricsPublishedViaJmx() throws Exception {
+        // Given
+        DatasetExecutor executor = new DatasetExecutor(DatasetGraphFactory.create());
+
+        // When
+        verifyExecution(executor, SIMPLE_QUADS_QUERY);
+
+        // Then
+        JmxExecutionMetrics metrics = JmxExecutionMetrics.forName(DatasetExecutor.class.getName());
+        ObjectName quads = metrics.getObjectName(AggregatingExecutionMetrics.KIND_FIELD,
+                                                 DatasetSchema.QUADS_QUERY_TYPE + "." + DatasetSchema.QUADS_FIELD);
+        Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(quads));
+    }
+}
@@ -193,6 +193,7 @@ public class TestNodeFetcher {
                 {"subject", Map.of("subject", new WrappedNode(createBlankNode(UtilConstants.RANDOM_ID)))},
                 {"predicate", Map.of("predicate", new WrappedNode(createBlankNode(UtilConstants.RANDOM_ID)))},
                 {"object", Map.of("object", createBlankNode(UtilConstants.RANDOM_ID))},
+                {"graph", Map.of("graph", createBlankNode(UtilConstants.RANDOM_ID))},
                 };
     }
 
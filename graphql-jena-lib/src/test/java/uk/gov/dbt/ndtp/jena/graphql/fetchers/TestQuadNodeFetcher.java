@@ -0,0 +1,117 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers;
+
+import graphql.TrivialDataFetcher;
+import graphql.execution.MergedField;
+import graphql.language.Field;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.core.Quad;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.WrappedNode;
+
+public class TestQuadNodeFetcher {
+
+    private static final Node GRAPH = NodeFactory.createURI("https://example.org/graph");
+    private static final Node SUBJECT = NodeFactory.createURI("https://example.org/subject");
+    private static final Node PREDICATE = NodeFactory.createURI("https://example.org/predicate");
+    private static final Node OBJECT = NodeFactory.createLiteralString("object");
+    private static final Quad QUAD = Quad.create(GRAPH, SUBJECT, PREDICATE, OBJECT);
+
+    private static DataFetchingEnvironment environment(String field, Object source) {
+        //@formatter:off
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                                          .source(source)
+                                          .mergedField(MergedField.newMergedField()
+                                                                  .addField(new Field(field))
+                                                                  .build())
+                                          .build();
+        //@formatter:on
+    }
+
+    @DataProvider(name = "fields")
+    private Object[][] fields() {
+        return new Object[][] {
+                { IANodeSchema.SUBJECT_FIELD, SUBJECT },
+                { IANodeSchema.PREDICATE_FIELD, PREDICATE },
+                { IANodeSchema.OBJECT_FIELD, OBJECT },
+                { IANodeSchema.GRAPH_FIELD, GRAPH }
+        };
+    }
+
+    @Test(dataProvider = "fields")
+    public void givenQuad_whenFetchingField_thenCorrectNodeReturned(String field, Node expected) {
+        // Given
+        QuadNodeFetcher fetcher = QuadNodeFetcher.forField(field);
+
+        // When
+        WrappedNode node = fetcher.get(environment(field, QUAD));
+
+        // Then
+        Assert.assertEquals(node.getNode(), expected);
+        Assert.assertTrue(fetcher instanceof TrivialDataFetcher<?>);
+    }
+
+    @Test
+    public void givenTriple_whenFetchingField_thenFallsBackToNodeFetcher() {
+        // Given
+        QuadNodeFetcher fetcher = QuadNodeFetcher.forField(IANodeSchema.SUBJECT_FIELD);
+
+        // When
+        WrappedNode node = fetcher.get(environment(IANodeSchema.SUBJECT_FIELD, QUAD.asTriple()));
+
+        // Then
+        Assert.assertEquals(node.getNode(), SUBJECT);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenTriple_whenFetchingGraph_thenRejected() {
+        // Given
+        QuadNodeFetcher fetcher = QuadNodeFetcher.forField(IANodeSchema.GRAPH_FIELD);
+        Triple triple = QUAD.asTriple();
+
+        // When and Then
+        fetcher.get(environment(IANodeSchema.GRAPH_FIELD, triple));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenUnknownField_whenCreating_thenRejected() {
+        // When and Then
+        QuadNodeFetcher.forField("unknown");
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void givenNullAccessor_whenCreating_thenRejected() {
+        // When and Then
+        new QuadNodeFetcher(null);
+    }
+}
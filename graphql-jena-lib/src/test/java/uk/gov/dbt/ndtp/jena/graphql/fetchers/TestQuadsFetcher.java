@@ -115,6 +115,7 @@ public class TestQuadsFetcher {
         // then
         Assert.assertNotNull(result);
         Assert.assertFalse(result.isEmpty());
+        Assert.assertEquals(result.get(0), Quad.ANY);
     }
 
     private static class TestDataFetchingFieldSelectionSet
@@ -23,15 +23,99 @@
 
 package uk.gov.dbt.ndtp.jena.graphql.fetchers;
 
+import graphql.GraphQLContext;
 import graphql.execution.MergedField;
 import graphql.language.Field;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingEnvironmentImpl;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.DatasetGraphWrapper;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.dataloader.DataLoaderRegistry;
+import org.testng.Assert;
 import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.execution.AdjacencyIndex;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.TraversalSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.EdgeDirection;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.NodeKind;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.TraversalEdge;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.TraversalNode;
+import uk.gov.dbt.ndtp.jena.graphql.utils.NodeFilter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.apache.jena.graph.NodeFactory.createLiteralString;
+import static org.apache.jena.graph.NodeFactory.createURI;
 
 public class TestTraversalEdgesFetcher {
 
+    /**
+     * A dataset that records the subjects of the lookups made against it, and how many quads those lookups read
+     */
+    private static final class RecordingDatasetGraph extends DatasetGraphWrapper {
+        private final List<Node> lookups = new ArrayList<>();
+        private int read = 0;
+
+        RecordingDatasetGraph(DatasetGraph dsg) {
+            super(dsg);
+        }
+
+        @Override
+        public Stream<Quad> stream(Node g, Node s, Node p, Node o) {
+            Assert.assertTrue(isInTransaction());
+            this.lookups.add(s);
+            return super.stream(g, s, p, o).peek(q -> this.read++);
+        }
+    }
+
+    private static RecordingDatasetGraph createDataset() {
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        dsg.add(new Quad(Quad.defaultGraphIRI, createURI("urn:c"), RDF.type.asNode(), createURI("urn:type1")));
+        dsg.add(new Quad(Quad.defaultGraphIRI, createURI("urn:a"), RDF.type.asNode(), createURI("urn:type1")));
+        dsg.add(new Quad(Quad.defaultGraphIRI, createURI("urn:a"), RDF.type.asNode(), createURI("urn:type2")));
+        dsg.add(new Quad(Quad.defaultGraphIRI, createURI("urn:a"), RDFS.label.asNode(), createLiteralString("A")));
+        return new RecordingDatasetGraph(dsg);
+    }
+
+    private static DataFetchingEnvironment environment(DatasetGraph dsg, DataLoaderRegistry registry, String uri,
+                                                       Map<String, Object> arguments) {
+        return environment(dsg, registry, Map.of(), TraversalSchema.OUTGOING_FIELD, uri, arguments);
+    }
+
+    private static DataFetchingEnvironment environment(DatasetGraph dsg, DataLoaderRegistry registry,
+                                                       AdjacencyIndex index, String field, String uri,
+                                                       Map<String, Object> arguments) {
+        return environment(dsg, registry, Map.of(AdjacencyIndex.class, index), field, uri, arguments);
+    }
+
+    private static DataFetchingEnvironment environment(DatasetGraph dsg, DataLoaderRegistry registry,
+                                                       Map<Object, Object> context, String field, String uri,
+                                                       Map<String, Object> arguments) {
+        DataFetchingEnvironmentImpl.Builder builder =
+                DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                                           .localContext(dsg)
+                                           .source(TraversalNode.of(createURI(uri)))
+                                           .mergedField(MergedField.newMergedField()
+                                                                   .addField(new Field(field))
+                                                                   .build())
+                                           .arguments(arguments);
+        if (registry != null) {
+            builder.dataLoaderRegistry(registry);
+        }
+        return builder.graphQLContext(GraphQLContext.of(context)).build();
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class)
     public void test_get_unrecognisedField() {
         // given
@@ -39,6 +123,7 @@ public class TestTraversalEdgesFetcher {
         DataFetchingEnvironment environment = DataFetchingEnvironmentImpl
                 .newDataFetchingEnvironment()
                 .localContext(DatasetGraphFactory.empty())
+                .source(TraversalNode.of(createURI("urn:a")))
                 .mergedField(mergedField)
                 .build();
         TraversalEdgesFetcher traversalEdgesFetcher = new TraversalEdgesFetcher();
@@ -46,4 +131,302 @@ public class TestTraversalEdgesFetcher {
         // then
         traversalEdgesFetcher.get(environment);
     }
+
+    @Test
+    public void givenNoDataLoader_whenFetching_thenFoundImmediately() {
+        // given
+        RecordingDatasetGraph dsg = createDataset();
+        TraversalEdgesFetcher fetcher = new TraversalEdgesFetcher();
+
+        // when
+        CompletableFuture<List<TraversalEdge>> future = fetcher.get(environment(dsg, null, "urn:a", Map.of()));
+
+        // then
+        Assert.assertTrue(future.isDone());
+        Assert.assertEquals(future.join().size(), 3);
+        Assert.assertEquals(dsg.lookups, List.of(createURI("urn:a")));
+    }
+
+    @Test
+    public void givenDataLoader_whenFetchingMultipleNodes_thenLookupsBatchedInSortedOrder() {
+        // given
+        RecordingDatasetGraph dsg = createDataset();
+        TraversalEdgesFetcher fetcher = new TraversalEdgesFetcher();
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(TraversalEdgesFetcher.DATA_LOADER_NAME, fetcher.createDataLoader(dsg));
+        Map<String, Object> types = Map.of(IANodeSchema.PREDICATE_FIELD, List.of(NodeFilter.make(RDF.type.asNode())));
+
+        // when
+        CompletableFuture<List<TraversalEdge>> c = fetcher.get(environment(dsg, registry, "urn:c", types));
+        CompletableFuture<List<TraversalEdge>> b = fetcher.get(environment(dsg, registry, "urn:b", types));
+        CompletableFuture<List<TraversalEdge>> a = fetcher.get(environment(dsg, registry, "urn:a", types));
+        CompletableFuture<List<TraversalEdge>> all = fetcher.get(environment(dsg, registry, "urn:a", Map.of()));
+        CompletableFuture<List<TraversalEdge>> c2 = fetcher.get(environment(dsg, registry, "urn:c", types));
+
+        // then
+        Assert.assertFalse(a.isDone());
+        Assert.assertTrue(dsg.lookups.isEmpty());
+        registry.dispatchAll();
+        Assert.assertEquals(dsg.lookups,
+                            List.of(createURI("urn:a"), createURI("urn:b"), createURI("urn:c"), createURI("urn:a")));
+        Assert.assertEquals(a.join().size(), 2);
+        Assert.assertNull(b.join());
+        Assert.assertEquals(c.join().size(), 1);
+        Assert.assertEquals(all.join().size(), 3);
+        Assert.assertSame(c2.join(), c.join());
+    }
+
+    @Test
+    public void givenAdjacencyIndex_whenFetching_thenFoundWithoutLookups() {
+        // given
+        RecordingDatasetGraph dsg = createDataset();
+        AdjacencyIndex index = AdjacencyIndex.build(dsg);
+        dsg.lookups.clear();
+        TraversalEdgesFetcher fetcher = new TraversalEdgesFetcher();
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(TraversalEdgesFetcher.DATA_LOADER_NAME, fetcher.createDataLoader(dsg));
+        Map<String, Object> literals = Map.of(TraversalSchema.KINDS_ARGUMENT,
+                                              List.of(NodeKind.PLAIN_LITERAL.name(), NodeKind.TYPED_LITERAL.name()));
+
+        // when
+        CompletableFuture<List<TraversalEdge>> all =
+                fetcher.get(environment(dsg, registry, index, TraversalSchema.OUTGOING_FIELD, "urn:a", Map.of()));
+        CompletableFuture<List<TraversalEdge>> labels =
+                fetcher.get(environment(dsg, registry, index, TraversalSchema.OUTGOING_FIELD, "urn:a", literals));
+        CompletableFuture<List<TraversalEdge>> incoming =
+                fetcher.get(environment(dsg, null, index, TraversalSchema.INCOMING_FIELD, "urn:type1", Map.of()));
+        registry.dispatchAll();
+
+        // then
+        Assert.assertTrue(dsg.lookups.isEmpty());
+        Assert.assertEquals(all.join().size(), 3);
+        Assert.assertEquals(labels.join().size(), 1);
+        Assert.assertEquals(labels.join().get(0).getTarget().getNode().getNode(), createLiteralString("A"));
+        Assert.assertEquals(incoming.join().size(), 2);
+        Assert.assertTrue(incoming.join().stream().allMatch(e -> e.getDirection() == EdgeDirection.IN));
+    }
+
+    private static RecordingDatasetGraph createHub(int degree) {
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        for (int i = 0; i < degree; i++) {
+            dsg.add(new Quad(Quad.defaultGraphIRI, createURI("urn:hub"), RDFS.member.asNode(),
+                             createURI("urn:member" + i)));
+        }
+        return new RecordingDatasetGraph(dsg);
+    }
+
+    private static List<TraversalEdge> fetchHub(DatasetGraph dsg, Map<Object, Object> context,
+                                                Map<String, Object> arguments) {
+        return new TraversalEdgesFetcher().get(
+                environment(dsg, null, context, TraversalSchema.OUTGOING_FIELD, "urn:hub", arguments)).join();
+    }
+
+    private static List<Node> targets(List<TraversalEdge> edges) {
+        return edges.stream().map(e -> e.getTarget().getNode().getNode()).toList();
+    }
+
+    @Test
+    public void givenLimitAndOffset_whenFetching_thenEdgesPaged() {
+        // given
+        RecordingDatasetGraph dsg = createHub(10);
+        List<Node> all = targets(fetchHub(dsg, Map.of(), Map.of()));
+
+        // when
+        List<TraversalEdge> page = fetchHub(dsg, Map.of(), Map.of(TraversalSchema.LIMIT_ARGUMENT, 3,
+                                                                   TraversalSchema.OFFSET_ARGUMENT, 4));
+        List<TraversalEdge> last = fetchHub(dsg, Map.of(), Map.of(TraversalSchema.OFFSET_ARGUMENT, 8));
+        List<TraversalEdge> none = fetchHub(dsg, Map.of(), Map.of(TraversalSchema.LIMIT_ARGUMENT, 0));
+        List<TraversalEdge> beyond = fetchHub(dsg, Map.of(), Map.of(TraversalSchema.OFFSET_ARGUMENT, 10));
+
+        // then
+        Assert.assertEquals(all.size(), 10);
+        Assert.assertEquals(targets(page), all.subList(4, 7));
+        Assert.assertEquals(targets(last), all.subList(8, 10));
+        Assert.assertNull(none);
+        Assert.assertNull(beyond);
+    }
+
+    @Test
+    public void givenLimitWithIndex_whenFetching_thenStopsOncePageComplete() {
+        // given
+        RecordingDatasetGraph dsg = createHub(10);
+        AdjacencyIndex index = AdjacencyIndex.build(dsg);
+        Map<Object, Object> context = Map.of(AdjacencyIndex.class, index);
+        List<Node> all = targets(fetchHub(dsg, context, Map.of()));
+
+        // when
+        List<TraversalEdge> page = fetchHub(dsg, context, Map.of(TraversalSchema.LIMIT_ARGUMENT, 2,
+                                                                  TraversalSchema.OFFSET_ARGUMENT, 1));
+
+        // then
+        Assert.assertEquals(targets(page), all.subList(1, 3));
+    }
+
+    @Test
+    public void givenSample_whenFetching_thenRandomSubsetReturned() {
+        // given
+        RecordingDatasetGraph dsg = createHub(20);
+        Set<Node> all = new HashSet<>(targets(fetchHub(dsg, Map.of(), Map.of())));
+
+        // when
+        List<TraversalEdge> sample = fetchHub(dsg, Map.of(), Map.of(TraversalSchema.SAMPLE_ARGUMENT, 5));
+        List<TraversalEdge> paged = fetchHub(dsg, Map.of(), Map.of(TraversalSchema.SAMPLE_ARGUMENT, 5,
+                                                                    TraversalSchema.OFFSET_ARGUMENT, 3,
+                                                                    TraversalSchema.LIMIT_ARGUMENT, 10));
+        List<TraversalEdge> everything = fetchHub(dsg, Map.of(), Map.of(TraversalSchema.SAMPLE_ARGUMENT, 50));
+
+        // then
+        Assert.assertEquals(sample.size(), 5);
+        Assert.assertEquals(new HashSet<>(targets(sample)).size(), 5);
+        Assert.assertTrue(all.containsAll(targets(sample)));
+        Assert.assertEquals(paged.size(), 2);
+        Assert.assertEquals(new HashSet<>(targets(everything)), all);
+    }
+
+    @Test
+    public void givenSample_whenFetchingRepeatedly_thenEveryEdgeCanBeSampled() {
+        // given
+        RecordingDatasetGraph dsg = createHub(10);
+        Set<Node> sampled = new HashSet<>();
+
+        // when
+        for (int i = 0; i < 200; i++) {
+            sampled.addAll(targets(fetchHub(dsg, Map.of(), Map.of(TraversalSchema.SAMPLE_ARGUMENT, 2))));
+        }
+
+        // then
+        Assert.assertEquals(sampled.size(), 10);
+    }
+
+    @Test
+    public void givenMaximumDegree_whenFetching_thenEdgesTruncated() {
+        // given
+        RecordingDatasetGraph dsg = createHub(10);
+        Map<Object, Object> context = Map.of(TraversalEdgesFetcher.MAXIMUM_DEGREE_CONTEXT_KEY, 4);
+        Map<Object, Object> indexed = Map.of(TraversalEdgesFetcher.MAXIMUM_DEGREE_CONTEXT_KEY, 4,
+                                             AdjacencyIndex.class, AdjacencyIndex.build(dsg));
+
+        // when and then
+        Assert.assertEquals(fetchHub(dsg, context, Map.of()).size(), 4);
+        Assert.assertEquals(fetchHub(dsg, indexed, Map.of()).size(), 4);
+        Assert.assertEquals(fetchHub(dsg, context, Map.of(TraversalSchema.OFFSET_ARGUMENT, 2)).size(), 2);
+        Assert.assertEquals(fetchHub(dsg, context, Map.of(TraversalSchema.SAMPLE_ARGUMENT, 6)).size(), 4);
+        Assert.assertEquals(fetchHub(dsg, Map.of(), Map.of()).size(), 10);
+        Assert.assertEquals(TraversalEdgesFetcher.maximumDegree(null), TraversalEdgesFetcher.DEFAULT_MAXIMUM_DEGREE);
+    }
+
+    @Test
+    public void givenMaximumDegree_whenFilteringByKind_thenNonMatchingEdgesStillCount() {
+        // given
+        RecordingDatasetGraph dsg = createDataset();
+        AdjacencyIndex index = AdjacencyIndex.build(dsg);
+        Map<String, Object> literals = Map.of(TraversalSchema.KINDS_ARGUMENT,
+                                              List.of(NodeKind.PLAIN_LITERAL.name(), NodeKind.TYPED_LITERAL.name()));
+
+        // when
+        // Edges are visited in order of predicate, and rdf:type sorts before rdfs:label, so the literal label edge is
+        // the last of the three edges visited
+        List<TraversalEdge> truncated = new TraversalEdgesFetcher().get(
+                environment(dsg, null, Map.of(AdjacencyIndex.class, index,
+                                              TraversalEdgesFetcher.MAXIMUM_DEGREE_CONTEXT_KEY, 2),
+                            TraversalSchema.OUTGOING_FIELD, "urn:a", literals)).join();
+        List<TraversalEdge> complete = new TraversalEdgesFetcher().get(
+                environment(dsg, null, Map.of(AdjacencyIndex.class, index,
+                                              TraversalEdgesFetcher.MAXIMUM_DEGREE_CONTEXT_KEY, 3),
+                            TraversalSchema.OUTGOING_FIELD, "urn:a", literals)).join();
+
+        // then
+        Assert.assertNull(truncated);
+        Assert.assertEquals(complete.size(), 1);
+    }
+
+    @Test
+    public void givenIndexOrNot_whenFetching_thenSameEdgesInSameOrder() {
+        // given
+        // Members are added in numeric order, which is not their term order, plus a second predicate so that edges
+        // must also be ordered by predicate
+        RecordingDatasetGraph dsg = createHub(12);
+        dsg.add(new Quad(Quad.defaultGraphIRI, createURI("urn:hub"), RDF.type.asNode(), createURI("urn:type1")));
+        AdjacencyIndex index = AdjacencyIndex.build(dsg);
+        List<Map<String, Object>> arguments = List.of(Map.of(), Map.of(TraversalSchema.LIMIT_ARGUMENT, 3),
+                                                      Map.of(TraversalSchema.LIMIT_ARGUMENT, 4,
+                                                             TraversalSchema.OFFSET_ARGUMENT, 5),
+                                                      Map.of(TraversalSchema.OFFSET_ARGUMENT, 9),
+                                                      Map.of(IANodeSchema.PREDICATE_FIELD,
+                                                             List.of(NodeFilter.make(RDFS.member.asNode()),
+                                                                     NodeFilter.make(RDF.type.asNode()))));
+
+        for (Map<String, Object> args : arguments) {
+            // when
+            List<TraversalEdge> scanned = fetchHub(dsg, Map.of(), args);
+            List<TraversalEdge> indexed = fetchHub(dsg, Map.of(AdjacencyIndex.class, index), args);
+
+            // then
+            if (scanned == null || indexed == null) {
+                Assert.assertSame(scanned, indexed);
+                continue;
+            }
+            Assert.assertEquals(targets(scanned), targets(indexed));
+            Assert.assertEquals(scanned.stream().map(e -> e.getEdge().getNode()).toList(),
+                                indexed.stream().map(e -> e.getEdge().getNode()).toList());
+        }
+        List<Node> all = targets(fetchHub(dsg, Map.of(), Map.of()));
+        Assert.assertEquals(all.get(0), createURI("urn:type1"));
+        Assert.assertEquals(all.get(1), createURI("urn:member0"));
+        Assert.assertEquals(all.get(2), createURI("urn:member1"));
+        Assert.assertEquals(all.get(3), createURI("urn:member10"));
+    }
+
+    @Test
+    public void givenMaximumDegree_whenSamplingRepeatedly_thenOnlyEdgesWithinMaximumDegreeSampled() {
+        // given
+        RecordingDatasetGraph dsg = createHub(10);
+        Map<Object, Object> context = Map.of(TraversalEdgesFetcher.MAXIMUM_DEGREE_CONTEXT_KEY, 4);
+        Map<Object, Object> indexed = Map.of(TraversalEdgesFetcher.MAXIMUM_DEGREE_CONTEXT_KEY, 4,
+                                             AdjacencyIndex.class, AdjacencyIndex.build(dsg));
+        Set<Node> sampled = new HashSet<>();
+        Set<Node> sampledViaIndex = new HashSet<>();
+
+        // when
+        for (int i = 0; i < 200; i++) {
+            sampled.addAll(targets(fetchHub(dsg, context, Map.of(TraversalSchema.SAMPLE_ARGUMENT, 2))));
+            sampledViaIndex.addAll(targets(fetchHub(dsg, indexed, Map.of(TraversalSchema.SAMPLE_ARGUMENT, 2))));
+        }
+
+        // then
+        Assert.assertEquals(sampled.size(), 4);
+        Assert.assertEquals(sampledViaIndex.size(), 4);
+    }
+
+    @Test
+    public void givenMaximumDegree_whenScanning_thenStopsOnceMaximumDegreeRead() {
+        // given
+        RecordingDatasetGraph dsg = createHub(100);
+        Map<Object, Object> context = Map.of(TraversalEdgesFetcher.MAXIMUM_DEGREE_CONTEXT_KEY, 4);
+
+        // when
+        List<TraversalEdge> edges = fetchHub(dsg, context, Map.of());
+        int readForEdges = dsg.read;
+        dsg.read = 0;
+        List<TraversalEdge> sample = fetchHub(dsg, context, Map.of(TraversalSchema.SAMPLE_ARGUMENT, 2));
+        int readForSample = dsg.read;
+
+        // then
+        Assert.assertEquals(edges.size(), 4);
+        Assert.assertEquals(readForEdges, 4);
+        Assert.assertEquals(sample.size(), 2);
+        Assert.assertTrue(readForSample <= 5, "Sampling read " + readForSample + " edges");
+    }
+
+    @Test
+    public void givenNegativeArguments_whenFetching_thenRejected() {
+        // given
+        RecordingDatasetGraph dsg = createHub(1);
+
+        // when and then
+        for (String argument : List.of(TraversalSchema.LIMIT_ARGUMENT, TraversalSchema.OFFSET_ARGUMENT,
+                                       TraversalSchema.SAMPLE_ARGUMENT)) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> fetchHub(dsg, Map.of(), Map.of(argument, -1)));
+        }
+    }
 }
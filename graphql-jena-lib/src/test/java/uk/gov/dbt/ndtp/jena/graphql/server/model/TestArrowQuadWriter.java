@@ -0,0 +1,208 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.server.model;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.apache.jena.vocabulary.XSD;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.NodeKind;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestArrowQuadWriter {
+
+    private static final Node GRAPH = NodeFactory.createURI("https://example.org/graph");
+
+    /**
+     * Reads an Arrow stream using the reference Java implementation, decoding every row into a map from column names
+     * to values, omitting null values
+     *
+     * @param data Arrow stream
+     * @return Rows
+     * @throws IOException Thrown if the stream cannot be read
+     */
+    static List<Map<String, String>> read(byte[] data) throws IOException {
+        return read(data, new ArrayList<>(), new ArrayList<>());
+    }
+
+    private static List<Map<String, String>> read(byte[] data, List<Integer> batchSizes, List<Field> fields) throws
+            IOException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(data), allocator)) {
+            fields.addAll(reader.getVectorSchemaRoot().getSchema().getFields());
+            while (reader.loadNextBatch()) {
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                batchSizes.add(root.getRowCount());
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    Map<String, String> values = new HashMap<>();
+                    for (FieldVector vector : root.getFieldVectors()) {
+                        if (vector.isNull(row)) {
+                            continue;
+                        }
+                        DictionaryEncoding encoding = vector.getField().getDictionary();
+                        VarCharVector dictionary =
+                                (VarCharVector) reader.getDictionaryVectors().get(encoding.getId()).getVector();
+                        byte[] value = dictionary.get(((IntVector) vector).get(row));
+                        values.put(vector.getName(), new String(value, StandardCharsets.UTF_8));
+                    }
+                    rows.add(values);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static List<Quad> createQuads(int count) {
+        List<Quad> quads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Node subject = i % 2 == 0 ? NodeFactory.createURI("https://example.org/" + i) : NodeFactory.createBlankNode(
+                    "b" + i);
+            Node object = switch (i % 3) {
+                case 0 -> NodeFactory.createLiteralLang("Thing " + i, "en");
+                case 1 -> NodeFactory.createLiteralDT(Integer.toString(i), XSDDatatype.XSDinteger);
+                default -> NodeFactory.createLiteralString("Thing ü " + i);
+            };
+            quads.add(new Quad(i % 4 == 0 ? Quad.defaultGraphIRI : GRAPH, subject, RDFS.label.asNode(), object));
+        }
+        return quads;
+    }
+
+    @Test
+    public void givenNoQuads_whenWriting_thenEmptyStreamWithExpectedSchema() throws IOException {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<Field> fields = new ArrayList<>();
+
+        // When
+        long written = ArrowQuadWriter.write(Collections.emptyIterator(), output);
+
+        // Then
+        Assert.assertEquals(written, 0);
+        Assert.assertTrue(read(output.toByteArray(), new ArrayList<>(), fields).isEmpty());
+        Assert.assertEquals(fields.size(), 16);
+        Assert.assertEquals(fields.get(0).getName(), "subject.kind");
+        Assert.assertEquals(fields.get(5).getName(), "predicate.value");
+        Assert.assertEquals(fields.get(15).getName(), "graph.language");
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            Assert.assertTrue(field.isNullable());
+            Assert.assertEquals(field.getDictionary().getId(), i);
+            Assert.assertEquals(field.getDictionary().getIndexType(), new ArrowType.Int(32, true));
+        }
+    }
+
+    @Test
+    public void givenQuads_whenWritingInBatches_thenReadBackIdentically() throws IOException {
+        // Given
+        List<Quad> quads = createQuads(25);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<Integer> batchSizes = new ArrayList<>();
+
+        // When
+        long written = ArrowQuadWriter.write(quads.iterator(), output, 10);
+
+        // Then
+        Assert.assertEquals(written, 25);
+        List<Map<String, String>> rows = read(output.toByteArray(), batchSizes, new ArrayList<>());
+        Assert.assertEquals(batchSizes, List.of(10, 10, 5));
+        Assert.assertEquals(rows.size(), quads.size());
+        for (int i = 0; i < quads.size(); i++) {
+            Quad quad = quads.get(i);
+            Map<String, String> row = rows.get(i);
+            Assert.assertEquals(row.get("subject.kind"),
+                                quad.getSubject().isURI() ? NodeKind.URI.name() : NodeKind.BLANK.name());
+            Assert.assertEquals(row.get("predicate.value"), RDFS.label.getURI());
+            Assert.assertEquals(row.get("object.value"), quad.getObject().getLiteralLexicalForm());
+            Assert.assertEquals(row.get("object.datatype"), quad.getObject().getLiteralDatatypeURI());
+            Assert.assertEquals(row.get("object.language"),
+                                quad.getObject().getLiteralLanguage().isEmpty() ? null :
+                                quad.getObject().getLiteralLanguage());
+            Assert.assertEquals(row.get("graph.value"), quad.getGraph().getURI());
+        }
+    }
+
+    @Test
+    public void givenNodesWithoutDatatypes_whenWriting_thenNullsRead() throws IOException {
+        // Given
+        Quad quad = new Quad(GRAPH, NodeFactory.createURI("https://example.org/s"), RDF.type.asNode(),
+                             NodeFactory.createURI(XSD.getURI() + "Thing"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        ArrowQuadWriter.write(List.of(quad).iterator(), output);
+
+        // Then
+        Map<String, String> row = read(output.toByteArray()).get(0);
+        Assert.assertEquals(row.size(), 8);
+        Assert.assertFalse(row.containsKey("subject.datatype"));
+        Assert.assertFalse(row.containsKey("object.language"));
+        Assert.assertEquals(row.get("object.kind"), NodeKind.URI.name());
+    }
+
+    @Test
+    public void givenExactMultipleOfBatchSize_whenWriting_thenNoEmptyTrailingBatch() throws IOException {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<Integer> batchSizes = new ArrayList<>();
+
+        // When
+        ArrowQuadWriter.write(createQuads(20).iterator(), output, 10);
+
+        // Then
+        Assert.assertEquals(read(output.toByteArray(), batchSizes, new ArrayList<>()).size(), 20);
+        Assert.assertEquals(batchSizes, List.of(10, 10));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenZeroBatchSize_whenWriting_thenRejected() throws IOException {
+        // When and Then
+        ArrowQuadWriter.write(Collections.emptyIterator(), new ByteArrayOutputStream(), 0);
+    }
+}
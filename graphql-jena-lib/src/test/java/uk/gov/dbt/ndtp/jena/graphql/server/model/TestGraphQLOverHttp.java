@@ -23,6 +23,8 @@
 
 package uk.gov.dbt.ndtp.jena.graphql.server.model;
 
+import static uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp.acceptsIncrementalDelivery;
+import static uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp.parseBatchRequest;
 import static uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp.parseMap;
 import static uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp.parseRequest;
 import static uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp.selectHttpStatus;
@@ -43,6 +45,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 public class TestGraphQLOverHttp {
@@ -170,4 +173,115 @@ public class TestGraphQLOverHttp {
         String result = outputStream.toString(StandardCharsets.UTF_8); // Specify the encoding used in the conversion
         Assert.assertNotNull(result);
     }
+
+    @Test
+    public void test_parseBatchRequest_single() throws IOException {
+        // given
+        InputStream input = new ByteArrayInputStream("{\"query\": \"{ a }\"}".getBytes());
+        // when
+        GraphQLBatchRequest batch = parseBatchRequest(input);
+        // then
+        Assert.assertFalse(batch.isBatch());
+        Assert.assertEquals(batch.getRequests().size(), 1);
+        Assert.assertEquals(batch.getRequests().get(0).getQuery(), "{ a }");
+    }
+
+    @Test
+    public void test_parseBatchRequest_batch() throws IOException {
+        // given
+        InputStream input = new ByteArrayInputStream(
+                "[{\"query\": \"{ a }\"}, {\"query\": \"{ b }\", \"operationName\": \"B\"}]".getBytes());
+        // when
+        GraphQLBatchRequest batch = parseBatchRequest(input);
+        // then
+        Assert.assertTrue(batch.isBatch());
+        Assert.assertEquals(batch.getRequests().size(), 2);
+        Assert.assertEquals(batch.getRequests().get(0).getQuery(), "{ a }");
+        Assert.assertEquals(batch.getRequests().get(1).getOperationName(), "B");
+    }
+
+    @Test
+    public void test_parseBatchRequest_emptyBatch() throws IOException {
+        // given
+        InputStream input = new ByteArrayInputStream("[]".getBytes());
+        // when
+        GraphQLBatchRequest batch = parseBatchRequest(input);
+        // then
+        Assert.assertTrue(batch.isBatch());
+        Assert.assertTrue(batch.getRequests().isEmpty());
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void test_parseBatchRequest_invalidBatch() throws IOException {
+        // given
+        InputStream input = new ByteArrayInputStream("[{\"query\": \"{ a }\"}, \"{ b }\"]".getBytes());
+        // when
+        parseBatchRequest(input);
+    }
+
+    @Test
+    public void test_parseBatchRequest_POST() {
+        // given
+        InputStream input = new ByteArrayInputStream("[{}, {}]".getBytes());
+        // when
+        GraphQLBatchRequest batch = parseBatchRequest("", "post", (a, b) -> "{}", (a) -> input);
+        // then
+        Assert.assertTrue(batch.isBatch());
+        Assert.assertEquals(batch.getRequests().size(), 2);
+    }
+
+    @Test(expectedExceptions = RuntimeException.class)
+    public void test_parseBatchRequest_POST_exception() {
+        // given
+        InputStream input = new ByteArrayInputStream("[{}".getBytes());
+        // when
+        parseBatchRequest("", "POST", (a, b) -> "{}", (a) -> input);
+    }
+
+    @Test
+    public void test_parseBatchRequest_GET() {
+        // given
+        // when
+        GraphQLBatchRequest batch =
+                parseBatchRequest("", "GET", (a, b) -> b.equals("query") ? "{ a }" : null, (a) -> null);
+        // then
+        Assert.assertFalse(batch.isBatch());
+        Assert.assertEquals(batch.getRequests().get(0).getQuery(), "{ a }");
+    }
+
+    @Test
+    public void test_write_batch() throws IOException {
+        // given
+        List<ExecutionResult> results = List.of(new ExecutionResultImpl(Map.of("a", 1), Collections.emptyList()),
+                                                new ExecutionResultImpl(new AbortExecutionException("Failed")));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        // when
+        write(results, outputStream);
+        //then
+        String result = outputStream.toString(StandardCharsets.UTF_8);
+        Assert.assertTrue(result.startsWith("[{\"data\":{\"a\":1}},{\"errors\":[{"));
+        Assert.assertTrue(result.endsWith("}]"));
+    }
+
+    @DataProvider(name = "acceptHeaders")
+    private Object[][] acceptHeaders() {
+        return new Object[][] {
+                { null, false },
+                { "", false },
+                { "*/*", false },
+                { "application/graphql-response+json", false },
+                { "multipart/mixed", true },
+                { "multipart/mixed;deferSpec=20220824, application/json", true },
+                { "application/json;q=0.9, Multipart/Mixed; boundary=\"-\"", true },
+                { "multipart/form-data", false }
+        };
+    }
+
+    @Test(dataProvider = "acceptHeaders")
+    public void test_acceptsIncrementalDelivery(String accept, boolean expected) {
+        // when
+        boolean actual = acceptsIncrementalDelivery(accept);
+        // then
+        Assert.assertEquals(actual, expected);
+    }
 }
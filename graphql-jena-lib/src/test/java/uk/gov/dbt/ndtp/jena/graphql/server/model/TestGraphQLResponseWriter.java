@@ -0,0 +1,285 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.server.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.AbortExecutionException;
+import graphql.incremental.DeferPayload;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.DelayedIncrementalPartialResultImpl;
+import graphql.incremental.IncrementalExecutionResultImpl;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.execution.AbstractExecution;
+import uk.gov.dbt.ndtp.jena.graphql.execution.DatasetExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.NodeKind;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TestGraphQLResponseWriter extends AbstractExecution {
+
+    private static final ObjectMapper JSON = new JsonMapper();
+
+    /**
+     * Simple POJO that is not one of the types the writer handles natively
+     */
+    public record Pojo(String name, int size) {
+    }
+
+    @DataProvider(name = "results")
+    private Object[][] results() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("string", "value with \"quotes\" and é");
+        data.put("int", 1);
+        data.put("long", Long.MAX_VALUE);
+        data.put("short", (short) 2);
+        data.put("byte", (byte) 3);
+        data.put("double", 1.5d);
+        data.put("float", 2.5f);
+        data.put("decimal", new BigDecimal("12345678901234567890.123"));
+        data.put("integer", new BigInteger("123456789012345678901234567890"));
+        data.put("boolean", true);
+        data.put("null", null);
+        data.put("enum", NodeKind.URI);
+        data.put("list", List.of(1, "two", List.of(3)));
+        data.put("set", Set.of("a"));
+        data.put("array", new Object[] { "x", Map.of("y", 1) });
+        data.put("pojo", new Pojo("test", 3));
+        AbortExecutionException error = new AbortExecutionException("Failed");
+
+        //@formatter:off
+        return new Object[][] {
+                { ExecutionResultImpl.newExecutionResult().data(data).build() },
+                { ExecutionResultImpl.newExecutionResult().data(null).build() },
+                { ExecutionResultImpl.newExecutionResult().addError(error).build() },
+                { ExecutionResultImpl.newExecutionResult()
+                                     .data(Map.of("a", List.of()))
+                                     .addError(error)
+                                     .extensions(Map.of("queryCost", 12))
+                                     .build() },
+                { new ExecutionResultImpl(List.of()) }
+        };
+        //@formatter:on
+    }
+
+    @Test(dataProvider = "results")
+    public void givenResult_whenWriting_thenSameAsSpecification(ExecutionResult result) throws IOException {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        GraphQLResponseWriter.write(result, output);
+
+        // Then
+        JsonNode expected = JSON.readTree(JSON.writeValueAsBytes(result.toSpecification()));
+        Assert.assertEquals(JSON.readTree(output.toByteArray()), expected);
+    }
+
+    @Test
+    public void givenIncrementalResult_whenWriting_thenSameAsSpecification() throws IOException {
+        // Given
+        DeferPayload payload = DeferPayload.newDeferredItem()
+                                           .data(Map.of("b", 2))
+                                           .path(List.of("a", 0))
+                                           .label("test")
+                                           .build();
+        ExecutionResult result = IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                                                               .data(Map.of("a", List.of(Map.of())))
+                                                               .hasNext(true)
+                                                               .incremental(List.of(payload))
+                                                               .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        GraphQLResponseWriter.write(result, output);
+
+        // Then
+        Assert.assertEquals(JSON.readTree(output.toByteArray()),
+                            JSON.readTree(JSON.writeValueAsBytes(result.toSpecification())));
+    }
+
+    @Test
+    public void givenSubsequentResult_whenWriting_thenSameAsSpecification() throws IOException {
+        // Given
+        DeferPayload payload = DeferPayload.newDeferredItem()
+                                           .data(Map.of("b", List.of(1, 2)))
+                                           .path(List.of("a"))
+                                           .errors(List.of(new AbortExecutionException("Failed")))
+                                           .build();
+        DelayedIncrementalPartialResult result = DelayedIncrementalPartialResultImpl.newIncrementalExecutionResult()
+                                                                                   .incrementalItems(List.of(payload))
+                                                                                   .extensions(Map.of("c", 3))
+                                                                                   .hasNext(false)
+                                                                                   .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        GraphQLResponseWriter.write(result, output);
+
+        // Then
+        Assert.assertEquals(JSON.readTree(output.toByteArray()),
+                            JSON.readTree(JSON.writeValueAsBytes(result.toSpecification())));
+    }
+
+    @Test
+    public void givenIncrementalResults_whenWritingMultipart_thenPartsDelimited() throws IOException {
+        // Given
+        ExecutionResult initial = IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                                                                .data(Map.of())
+                                                                .hasNext(true)
+                                                                .build();
+        DelayedIncrementalPartialResult subsequent =
+                DelayedIncrementalPartialResultImpl.newIncrementalExecutionResult().hasNext(false).build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MultipartResponseWriter writer = new MultipartResponseWriter(output);
+
+        // When
+        writer.writeInitial(initial);
+        writer.writeSubsequent(subsequent);
+        writer.end();
+        writer.end();
+
+        // Then
+        String part = "\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n";
+        Assert.assertEquals(output.toString(StandardCharsets.UTF_8),
+                            part + "{\"data\":{},\"hasNext\":true}" + part + "{\"hasNext\":false,\"incremental\":[]}\r\n-----\r\n");
+    }
+
+    @Test
+    public void givenFailureAfterInitialResult_whenWritingMultipart_thenErrorsInFinalPart() throws IOException {
+        // Given
+        ExecutionResult initial = IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                                                                .data(Map.of())
+                                                                .hasNext(true)
+                                                                .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MultipartResponseWriter writer = new MultipartResponseWriter(output);
+
+        // When
+        writer.writeInitial(initial);
+        writer.writeFailure(List.of(new AbortExecutionException("Failed")));
+        writer.end();
+
+        // Then
+        String body = output.toString(StandardCharsets.UTF_8);
+        String last = body.substring(body.lastIndexOf("\r\n\r\n") + 4, body.lastIndexOf("\r\n-----\r\n"));
+        JsonNode json = JSON.readTree(last);
+        Assert.assertEquals(json.get("errors").get(0).get("message").asText(), "Failed");
+        Assert.assertFalse(json.get("hasNext").asBoolean());
+        Assert.assertFalse(json.has("data"));
+    }
+
+    @Test
+    public void givenResult_whenWriting_thenFieldsInSpecificationOrder() throws IOException {
+        // Given
+        ExecutionResult result = ExecutionResultImpl.newExecutionResult()
+                                                    .data(Map.of("a", 1))
+                                                    .addError(new AbortExecutionException("Failed"))
+                                                    .extensions(Map.of("b", 2))
+                                                    .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        GraphQLResponseWriter.write(result, output);
+
+        // Then
+        List<String> fields = new ArrayList<>();
+        JSON.readTree(output.toByteArray()).fieldNames().forEachRemaining(fields::add);
+        Assert.assertEquals(fields, new ArrayList<>(result.toSpecification().keySet()));
+    }
+
+    @Test
+    public void givenExecutorResult_whenWriting_thenSameAsSpecification() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.create();
+        generateDummyQuads(dsg, 100);
+        DatasetExecutor executor = new DatasetExecutor(dsg);
+        ExecutionResult result = executor.execute(
+                "{ quads { subject { kind value } predicate { value } object { kind value language datatype } } }");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        GraphQLOverHttp.write(result, output);
+
+        // Then
+        Assert.assertTrue(result.getErrors().isEmpty());
+        JsonNode actual = JSON.readTree(output.toByteArray());
+        Assert.assertEquals(actual, JSON.readTree(JSON.writeValueAsBytes(result.toSpecification())));
+        Assert.assertEquals(actual.get("data").get("quads").size(), 100);
+    }
+
+    @Test
+    public void givenOutputStream_whenWriting_thenNotClosed() throws IOException {
+        // Given
+        boolean[] closed = { false };
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) {
+                buffer.write(b);
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        // When
+        GraphQLResponseWriter.write(ExecutionResultImpl.newExecutionResult().data(Map.of()).build(), output);
+
+        // Then
+        Assert.assertFalse(closed[0]);
+        Assert.assertEquals(buffer.toString(), "{\"data\":{}}");
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void givenNullResult_whenWriting_thenRejected() throws IOException {
+        // When and Then
+        GraphQLResponseWriter.write((ExecutionResult) null, new ByteArrayOutputStream());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void givenNullOutput_whenWriting_thenRejected() throws IOException {
+        // When and Then
+        GraphQLResponseWriter.write(new ExecutionResultImpl(List.of()), (OutputStream) null);
+    }
+}
@@ -0,0 +1,238 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.server.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.execution.AbstractExecution;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryTimeoutException;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.models.NodeKind;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+public class TestQuadExportWriter extends AbstractExecution {
+
+    private static final ObjectMapper JSON = new JsonMapper();
+
+    @DataProvider(name = "accept")
+    private Object[][] accept() {
+        return new Object[][] {
+                { null, QuadExportWriter.CONTENT_TYPE_NDJSON },
+                { "", QuadExportWriter.CONTENT_TYPE_NDJSON },
+                { "*/*", QuadExportWriter.CONTENT_TYPE_NDJSON },
+                { "application/x-ndjson", QuadExportWriter.CONTENT_TYPE_NDJSON },
+                { "application/n-quads", QuadExportWriter.CONTENT_TYPE_NQUADS },
+                { "text/plain, application/n-quads;q=0.9", QuadExportWriter.CONTENT_TYPE_NQUADS },
+                { "application/vnd.apache.arrow.stream", QuadExportWriter.CONTENT_TYPE_ARROW_STREAM },
+                { "application/vnd.apache.arrow.stream, application/n-quads", QuadExportWriter.CONTENT_TYPE_ARROW_STREAM }
+        };
+    }
+
+    @Test(dataProvider = "accept")
+    public void givenAcceptHeader_whenSelectingContentType_thenExpectedTypeSelected(String accept, String expected) {
+        // When
+        String contentType = QuadExportWriter.selectContentType(accept);
+
+        // Then
+        Assert.assertEquals(contentType, expected);
+    }
+
+    @Test
+    public void givenFilter_whenExportingAsJson_thenOneLinePerMatchingQuad() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 5, GRAPH, "en");
+        QuadFilter filter = QuadExportWriter.parseFilter("""
+                { "graph": { "kind": "URI", "value": "https://example.org/graph" } }""");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long written = QuadExportWriter.write(dsg, filter, QuadExportWriter.CONTENT_TYPE_NDJSON, output);
+
+        // Then
+        Assert.assertEquals(written, 5);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        Assert.assertEquals(lines.length, 5);
+        for (String line : lines) {
+            JsonNode quad = JSON.readTree(line);
+            Assert.assertEquals(quad.get("graph").get("value").asText(), GRAPH.getURI());
+            Assert.assertEquals(quad.get("subject").get("kind").asText(), NodeKind.URI.name());
+            Assert.assertEquals(quad.get("object").get("kind").asText(), NodeKind.LANGUAGE_LITERAL.name());
+            Assert.assertEquals(quad.get("object").get("language").asText(), "en");
+        }
+        Assert.assertFalse(dsg.isInTransaction());
+    }
+
+    @Test
+    public void givenNoFilter_whenExportingAsNQuads_thenWholeDatasetExported() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 5, GRAPH, "en");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long written = QuadExportWriter.write(dsg, QuadExportWriter.parseFilter((String) null),
+                                              QuadExportWriter.CONTENT_TYPE_NQUADS, output);
+
+        // Then
+        Assert.assertEquals(written, 10);
+        DatasetGraph parsed = DatasetGraphFactory.createTxnMem();
+        RDFParser.source(new ByteArrayInputStream(output.toByteArray())).lang(Lang.NQUADS).parse(parsed);
+        Assert.assertTrue(parsed.getDefaultGraph().isIsomorphicWith(dsg.getDefaultGraph()));
+        Assert.assertTrue(parsed.getGraph(GRAPH).isIsomorphicWith(dsg.getGraph(GRAPH)));
+    }
+
+    @Test
+    public void givenFilter_whenExportingAsArrow_thenMatchingQuadsExported() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 5, GRAPH, "en");
+        QuadFilter filter = QuadExportWriter.parseFilter("""
+                { "graph": { "kind": "URI", "value": "https://example.org/graph" } }""");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long written = QuadExportWriter.write(dsg, filter, QuadExportWriter.CONTENT_TYPE_ARROW_STREAM, output);
+
+        // Then
+        Assert.assertEquals(written, 5);
+        List<Map<String, String>> rows = TestArrowQuadWriter.read(output.toByteArray());
+        Assert.assertEquals(rows.size(), 5);
+        for (Map<String, String> row : rows) {
+            Assert.assertEquals(row.get("graph.value"), GRAPH.getURI());
+            Assert.assertEquals(row.get("object.language"), "en");
+        }
+    }
+
+    @Test
+    public void givenLimit_whenExporting_thenAtMostLimitQuadsExported() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 5, GRAPH, "en");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long written = QuadExportWriter.write(dsg, QuadExportWriter.parseFilter(Map.of()),
+                                              QuadExportWriter.parseLimit("3"), QueryDeadline.none(),
+                                              QuadExportWriter.CONTENT_TYPE_NDJSON, output);
+
+        // Then
+        Assert.assertEquals(written, 3);
+        Assert.assertEquals(output.toString(StandardCharsets.UTF_8).lines().count(), 3);
+    }
+
+    @Test(expectedExceptions = QueryTimeoutException.class)
+    public void givenExpiredDeadline_whenExporting_thenAbandoned() throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 5, GRAPH, "en");
+        QueryDeadline deadline = QueryDeadline.none();
+        deadline.cancel();
+
+        // When and Then
+        QuadExportWriter.write(dsg, QuadExportWriter.parseFilter(Map.of()), Long.MAX_VALUE, deadline,
+                               QuadExportWriter.CONTENT_TYPE_NDJSON, new ByteArrayOutputStream());
+    }
+
+    @DataProvider(name = "limits")
+    private Object[][] limits() {
+        return new Object[][] {
+                { null, null },
+                { " ", null },
+                { "10", 10L },
+                { " 5 ", 5L }
+        };
+    }
+
+    @Test(dataProvider = "limits")
+    public void givenLimit_whenParsing_thenParsed(String rawLimit, Long expected) {
+        // When and Then
+        Assert.assertEquals(QuadExportWriter.parseLimit(rawLimit), expected);
+    }
+
+    @Test(dataProvider = "invalidLimits", expectedExceptions = IllegalArgumentException.class)
+    public void givenInvalidLimit_whenParsing_thenRejected(String rawLimit) {
+        // When and Then
+        QuadExportWriter.parseLimit(rawLimit);
+    }
+
+    @DataProvider(name = "invalidLimits")
+    private Object[][] invalidLimits() {
+        return new Object[][] { { "0" }, { "-1" }, { "ten" } };
+    }
+
+    @Test(expectedExceptions = JsonProcessingException.class)
+    public void givenMalformedFilter_whenParsing_thenRejected() throws JsonProcessingException {
+        // When and Then
+        QuadExportWriter.parseFilter("{");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenWronglyTypedFilter_whenParsing_thenRejected() {
+        // When and Then
+        QuadExportWriter.parseFilter(Map.of("subject", List.of("https://example.org/0")));
+    }
+
+    @DataProvider(name = "contentTypes")
+    private Object[][] contentTypes() {
+        return new Object[][] {
+                { QuadExportWriter.CONTENT_TYPE_NDJSON },
+                { QuadExportWriter.CONTENT_TYPE_NQUADS },
+                { QuadExportWriter.CONTENT_TYPE_ARROW_STREAM }
+        };
+    }
+
+    @Test(dataProvider = "contentTypes", expectedExceptions = IOException.class)
+    public void givenFailingOutput_whenExporting_thenIOExceptionThrown(String contentType) throws IOException {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        generatePeople(dsg, 5, GRAPH, "en");
+        OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Client went away");
+            }
+        };
+
+        // When and Then
+        QuadExportWriter.write(dsg, QuadExportWriter.parseFilter(Map.of()), contentType, output);
+    }
+}
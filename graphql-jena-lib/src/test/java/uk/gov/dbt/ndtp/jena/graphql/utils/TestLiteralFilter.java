@@ -0,0 +1,115 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.utils;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+
+import java.util.Map;
+
+public class TestLiteralFilter {
+
+    private static final String DATE_TIME = XSDDatatype.XSDdateTime.getURI();
+
+    private static Node dateTime(String lexical) {
+        return NodeFactory.createLiteralDT(lexical, XSDDatatype.XSDdateTime);
+    }
+
+    @Test
+    public void givenNoFilter_whenParsing_thenNull() {
+        // When and Then
+        Assert.assertNull(LiteralFilter.parse(null));
+        Assert.assertNull(LiteralFilter.parse(Map.of()));
+    }
+
+    @DataProvider(name = "filters")
+    private Object[][] filters() {
+        Node integer = NodeFactory.createLiteralDT("42", XSDDatatype.XSDinteger);
+        Node decimal = NodeFactory.createLiteralDT("41.5", XSDDatatype.XSDdecimal);
+        Node english = NodeFactory.createLiteralLang("colour", "en-GB");
+        Node plain = NodeFactory.createLiteralString("Benjamin");
+        return new Object[][] {
+                { Map.of(IANodeSchema.DATATYPE_FIELD, DATE_TIME, IANodeSchema.GREATER_THAN_FIELD,
+                         "2024-01-01T00:00:00Z"), dateTime("2024-06-01T12:00:00Z"), true },
+                { Map.of(IANodeSchema.DATATYPE_FIELD, DATE_TIME, IANodeSchema.GREATER_THAN_FIELD,
+                         "2024-01-01T00:00:00Z"), dateTime("2023-06-01T12:00:00Z"), false },
+                { Map.of(IANodeSchema.DATATYPE_FIELD, DATE_TIME, IANodeSchema.GREATER_THAN_OR_EQUAL_FIELD,
+                         "2024-01-01T00:00:00Z", IANodeSchema.LESS_THAN_FIELD, "2024-02-01T00:00:00Z"),
+                  dateTime("2024-01-01T00:00:00Z"), true },
+                { Map.of(IANodeSchema.DATATYPE_FIELD, DATE_TIME, IANodeSchema.LESS_THAN_OR_EQUAL_FIELD,
+                         "2024-01-01T00:00:00Z"), dateTime("2024-01-01T00:00:01Z"), false },
+                { Map.of(IANodeSchema.DATATYPE_FIELD, DATE_TIME, IANodeSchema.LESS_THAN_FIELD,
+                         "2024-01-01T00:00:00Z"), plain, false },
+                // Numeric comparisons use value semantics across numeric datatypes
+                { Map.of(IANodeSchema.DATATYPE_FIELD, XSDDatatype.XSDinteger.getURI(), IANodeSchema.GREATER_THAN_FIELD,
+                         "41"), integer, true },
+                { Map.of(IANodeSchema.GREATER_THAN_FIELD, "41"), decimal, false },
+                { Map.of(IANodeSchema.DATATYPE_FIELD, XSDDatatype.XSDdecimal.getURI(), IANodeSchema.LESS_THAN_FIELD,
+                         "42"), decimal, true },
+                { Map.of(IANodeSchema.LANGUAGE_FIELD, "en"), english, true },
+                { Map.of(IANodeSchema.LANGUAGE_FIELD, "fr"), english, false },
+                { Map.of(IANodeSchema.LANGUAGE_FIELD, "en"), plain, false },
+                { Map.of(IANodeSchema.PREFIX_FIELD, "Ben"), plain, true },
+                { Map.of(IANodeSchema.PREFIX_FIELD, "ben"), plain, false },
+                { Map.of(IANodeSchema.REGEX_FIELD, "jam"), plain, true },
+                { Map.of(IANodeSchema.REGEX_FIELD, "^JAM"), plain, false },
+                { Map.of(IANodeSchema.REGEX_FIELD, "^ben", IANodeSchema.FLAGS_FIELD, "ixsm"), plain, true },
+                { Map.of(IANodeSchema.GREATER_THAN_FIELD, "A", IANodeSchema.LESS_THAN_FIELD, "C"), plain, true },
+                { Map.of(IANodeSchema.DATATYPE_FIELD, XSDDatatype.XSDstring.getURI()), integer, false },
+                { Map.of(IANodeSchema.PREFIX_FIELD, "https"), NodeFactory.createURI("https://example.org"), false },
+                { Map.of(IANodeSchema.PREFIX_FIELD, "https"), null, false }
+        };
+    }
+
+    @Test(dataProvider = "filters")
+    public void givenFilter_whenTesting_thenExpectedResult(Map<String, Object> rawFilter, Node node,
+                                                           boolean expected) {
+        // Given
+        LiteralFilter filter = LiteralFilter.parse(rawFilter);
+
+        // When and Then
+        Assert.assertEquals(filter.test(node), expected);
+    }
+
+    @DataProvider(name = "invalidFilters")
+    private Object[][] invalidFilters() {
+        return new Object[][] {
+                { Map.of(IANodeSchema.DATATYPE_FIELD, DATE_TIME, IANodeSchema.GREATER_THAN_FIELD, "yesterday") },
+                { Map.of(IANodeSchema.REGEX_FIELD, "(unclosed") },
+                { Map.of(IANodeSchema.REGEX_FIELD, "a", IANodeSchema.FLAGS_FIELD, "q") }
+        };
+    }
+
+    @Test(dataProvider = "invalidFilters", expectedExceptions = IllegalArgumentException.class)
+    public void givenInvalidFilter_whenParsing_thenRejected(Map<String, Object> rawFilter) {
+        // When and Then
+        LiteralFilter.parse(rawFilter);
+    }
+}
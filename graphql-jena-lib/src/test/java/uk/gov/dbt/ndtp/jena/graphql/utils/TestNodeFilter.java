@@ -34,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -110,4 +111,43 @@ public class TestNodeFilter {
         Assert.assertNotNull(actualList);
         Assert.assertFalse(actualList.isEmpty());
     }
+
+    @Test
+    public void test_parseValues_none() {
+        // given
+        // when
+        List<Node> actual = NodeFilter.parseValues(null, null);
+        // then
+        Assert.assertEquals(actual, List.of(Node.ANY));
+    }
+
+    @Test
+    public void test_parseValues_emptyList() {
+        // given
+        // when
+        List<Node> actual = NodeFilter.parseValues(null, List.of());
+        // then
+        Assert.assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    public void test_parseValues_sortedAndDistinct() {
+        // given
+        Node a = NodeFactory.createURI("https://example.org/a");
+        Node b = NodeFactory.createURI("https://example.org/b");
+        // when
+        List<Node> actual = NodeFilter.parseValues(make(b), List.of(make(a), make(b), make(a)));
+        // then
+        Assert.assertEquals(actual, List.of(a, b));
+    }
+
+    @Test
+    public void test_parseValues_wildcard() {
+        // given
+        Node a = NodeFactory.createURI("https://example.org/a");
+        // when
+        List<Node> actual = NodeFilter.parseValues(List.of(make(a), make(NodeFactory.createVariable("x"))));
+        // then
+        Assert.assertEquals(actual, List.of(Node.ANY));
+    }
 }
@@ -0,0 +1,99 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.utils;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDFS;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Base64;
+
+public class TestQuadCursor {
+
+    private static final Node GRAPH = NodeFactory.createURI("https://example.org/graph");
+    private static final Node SUBJECT = NodeFactory.createURI("https://example.org/subject");
+
+    @DataProvider(name = "objects")
+    private Object[][] objects() {
+        return new Object[][] {
+                { NodeFactory.createURI("https://example.org/object") },
+                { NodeFactory.createBlankNode() },
+                { NodeFactory.createBlankNode("b0") },
+                { NodeFactory.createLiteralString("plain") },
+                { NodeFactory.createLiteralString("with \"quotes\"\nand new lines") },
+                { NodeFactory.createLiteralLang("colour", "en-GB") },
+                { NodeFactory.createLiteralDT("0012", XSDDatatype.XSDinteger) },
+                { NodeFactory.createLiteralString("x".repeat(100_000)) },
+                { NodeFactory.createTripleNode(SUBJECT, RDFS.label.asNode(), NodeFactory.createBlankNode()) }
+        };
+    }
+
+    @Test(dataProvider = "objects")
+    public void givenQuad_whenEncodingAndDecoding_thenRoundTrips(Node object) {
+        // Given
+        Quad quad = new Quad(GRAPH, SUBJECT, RDFS.comment.asNode(), object);
+
+        // When
+        String cursor = QuadCursor.encode(quad);
+        Quad decoded = QuadCursor.decode(cursor);
+
+        // Then
+        Assert.assertEquals(decoded, quad);
+        Assert.assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenVariable_whenEncoding_thenRejected() {
+        // When and Then
+        QuadCursor.encode(new Quad(GRAPH, SUBJECT, RDFS.comment.asNode(), NodeFactory.createVariable("x")));
+    }
+
+    @DataProvider(name = "invalidCursors")
+    private Object[][] invalidCursors() {
+        String valid = QuadCursor.encode(new Quad(GRAPH, SUBJECT, RDFS.comment.asNode(), SUBJECT));
+        byte[] versioned = Base64.getUrlDecoder().decode(valid);
+        versioned[0] = 99;
+        return new Object[][] {
+                { "" },
+                { "not a cursor!" },
+                { valid.substring(0, valid.length() / 2) },
+                { valid + "AAAA" },
+                { Base64.getUrlEncoder().encodeToString(versioned) },
+                { Base64.getUrlEncoder().encodeToString(new byte[] { 1, 'X' }) },
+                { Base64.getUrlEncoder().encodeToString(new byte[] { 1, 'U', 0x7f, 0, 0, 0 }) }
+        };
+    }
+
+    @Test(dataProvider = "invalidCursors", expectedExceptions = IllegalArgumentException.class)
+    public void givenInvalidCursor_whenDecoding_thenRejected(String cursor) {
+        // When and Then
+        QuadCursor.decode(cursor);
+    }
+}
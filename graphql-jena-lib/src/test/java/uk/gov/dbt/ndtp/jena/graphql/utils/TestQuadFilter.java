@@ -0,0 +1,168 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+
+package uk.gov.dbt.ndtp.jena.graphql.utils;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDFS;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryTimeoutException;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.IANodeSchema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static uk.gov.dbt.ndtp.jena.graphql.utils.NodeFilter.make;
+
+public class TestQuadFilter {
+
+    private static Node uri(String name) {
+        return NodeFactory.createURI("https://example.org/" + name);
+    }
+
+    @Test
+    public void givenNoArguments_whenParsing_thenSingleWildcardPattern() {
+        // When
+        QuadFilter filter = QuadFilter.parse(Map.of());
+
+        // Then
+        Assert.assertTrue(filter.isSinglePattern());
+        Assert.assertEquals(filter.patterns().toList(), List.of(new Quad(Node.ANY, Node.ANY, Node.ANY, Node.ANY)));
+    }
+
+    @Test
+    public void givenMultipleValues_whenParsing_thenPatternsInKeyOrder() {
+        // When
+        QuadFilter filter = QuadFilter.parse(
+                Map.of(DatasetSchema.SUBJECTS_ARGUMENT, List.of(make(uri("b")), make(uri("a"))),
+                       IANodeSchema.PREDICATE_FIELD, make(RDFS.label.asNode()), DatasetSchema.PREDICATES_ARGUMENT,
+                       List.of(make(RDFS.comment.asNode()))));
+
+        // Then
+        Assert.assertFalse(filter.isSinglePattern());
+        Assert.assertEquals(filter.patterns().toList(),
+                            List.of(new Quad(Node.ANY, uri("a"), RDFS.comment.asNode(), Node.ANY),
+                                    new Quad(Node.ANY, uri("a"), RDFS.label.asNode(), Node.ANY),
+                                    new Quad(Node.ANY, uri("b"), RDFS.comment.asNode(), Node.ANY),
+                                    new Quad(Node.ANY, uri("b"), RDFS.label.asNode(), Node.ANY)));
+        Assert.assertTrue(filter.matches(new Quad(uri("g"), uri("b"), RDFS.label.asNode(), uri("o"))));
+        Assert.assertFalse(filter.matches(new Quad(uri("g"), uri("c"), RDFS.label.asNode(), uri("o"))));
+        Assert.assertFalse(filter.matches(new Quad(uri("g"), uri("a"), RDFS.seeAlso.asNode(), uri("o"))));
+    }
+
+    @Test
+    public void givenMultipleValues_whenFinding_thenAllMatchesFoundOnce() {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        for (String s : List.of("a", "b", "c")) {
+            dsg.add(new Quad(Quad.defaultGraphIRI, uri(s), RDFS.label.asNode(), NodeFactory.createLiteralString(s)));
+        }
+        QuadFilter filter = QuadFilter.parse(
+                Map.of(DatasetSchema.SUBJECTS_ARGUMENT, List.of(make(uri("c")), make(uri("a")), make(uri("a")))));
+
+        // When
+        List<Quad> quads = dsg.calculateRead(() -> {
+            try (Stream<Quad> stream = filter.find(dsg, QueryDeadline.none())) {
+                return stream.toList();
+            }
+        });
+
+        // Then
+        Assert.assertEquals(quads.stream().map(Quad::getSubject).toList(), List.of(uri("a"), uri("c")));
+    }
+
+    @Test(expectedExceptions = QueryTimeoutException.class)
+    public void givenExpiredDeadline_whenFindingManyPatterns_thenTimesOut() {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        QuadFilter filter = QuadFilter.parse(
+                Map.of(DatasetSchema.SUBJECTS_ARGUMENT, List.of(make(uri("a")), make(uri("b")))));
+        QueryDeadline deadline = QueryDeadline.none();
+        deadline.cancel();
+
+        // When and Then
+        dsg.executeRead(() -> filter.find(dsg, deadline).count());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void givenTooManyValues_whenParsing_thenRejected() {
+        // Given
+        List<Object> values = new ArrayList<>();
+        IntStream.range(0, 101).forEach(i -> values.add(make(uri(Integer.toString(i)))));
+
+        // When and Then
+        QuadFilter.parse(Map.of(DatasetSchema.SUBJECTS_ARGUMENT, values, DatasetSchema.OBJECTS_ARGUMENT, values));
+    }
+
+    @Test
+    public void givenSinglePattern_whenCreating_thenSinglePattern() {
+        // When
+        QuadFilter filter = QuadFilter.of(Node.ANY, uri("a"), Node.ANY, Node.ANY);
+
+        // Then
+        Assert.assertTrue(filter.isSinglePattern());
+        Assert.assertTrue(filter.matches(new Quad(uri("g"), uri("a"), uri("p"), uri("o"))));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+          expectedExceptionsMessageRegExp = ".*union graph.*")
+    public void givenUnionAndNamedGraphs_whenParsing_thenRejected() {
+        // When and Then
+        QuadFilter.parse(Map.of(DatasetSchema.GRAPHS_ARGUMENT, List.of(make(Quad.unionGraph), make(uri("g")))));
+    }
+
+    @Test
+    public void givenDefaultGraphAliases_whenFinding_thenAllMatchesFoundOnce() {
+        // Given
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        dsg.add(new Quad(Quad.defaultGraphIRI, uri("a"), RDFS.label.asNode(), NodeFactory.createLiteralString("a")));
+        dsg.add(new Quad(uri("g"), uri("b"), RDFS.label.asNode(), NodeFactory.createLiteralString("b")));
+        QuadFilter filter = QuadFilter.parse(Map.of(DatasetSchema.GRAPHS_ARGUMENT,
+                                                    List.of(make(Quad.defaultGraphIRI),
+                                                            make(Quad.defaultGraphNodeGenerated),
+                                                            make(Quad.unionGraph))));
+
+        // When
+        List<Quad> quads = dsg.calculateRead(() -> {
+            try (Stream<Quad> stream = filter.find(dsg, QueryDeadline.none())) {
+                return stream.toList();
+            }
+        });
+
+        // Then
+        Assert.assertEquals(filter.patterns().count(), 2);
+        Assert.assertEquals(quads.stream().map(Quad::getSubject).toList(), List.of(uri("a"), uri("b")));
+        Assert.assertTrue(quads.stream().allMatch(filter::matches));
+    }
+}
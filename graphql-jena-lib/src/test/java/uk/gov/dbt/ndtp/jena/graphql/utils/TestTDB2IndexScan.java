@@ -0,0 +1,184 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.utils;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.DatasetGraphFilteredView;
+import org.apache.jena.sparql.core.DatasetGraphWrapper;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.system.Txn;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.apache.jena.tdb2.sys.SystemTDB;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.execution.AbstractExecution;
+import uk.gov.dbt.ndtp.jena.graphql.execution.VersionedDatasetGraph;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+public class TestTDB2IndexScan extends AbstractExecution {
+
+    private static DatasetGraph createPeople() {
+        DatasetGraph dsg = new VersionedDatasetGraph(TDB2Factory.createDataset().asDatasetGraph());
+        Txn.executeWrite(dsg, () -> {
+            generatePeople(dsg, 20, GRAPH);
+            for (int i = 0; i < 20; i++) {
+                dsg.add(GRAPH, NodeFactory.createURI("https://example.org/" + i), RDFS.comment.asNode(),
+                        NodeFactory.createLiteralDT(Integer.toString(i), XSDDatatype.XSDinteger));
+            }
+        });
+        return dsg;
+    }
+
+    private static List<Quad> scan(DatasetGraph dsg, Quad pattern, Quad start) {
+        try (Stream<Quad> stream = TDB2IndexScan.scan(dsg, pattern.getGraph(), pattern.getSubject(),
+                                                      pattern.getPredicate(), pattern.getObject(), start)) {
+            return stream.toList();
+        }
+    }
+
+    @DataProvider(name = "patterns")
+    private Object[][] patterns() {
+        Node subject = NodeFactory.createURI("https://example.org/7");
+        return new Object[][] {
+                { new Quad(Node.ANY, Node.ANY, Node.ANY, Node.ANY) },
+                { new Quad(Quad.defaultGraphIRI, Node.ANY, Node.ANY, Node.ANY) },
+                { new Quad(GRAPH, Node.ANY, Node.ANY, Node.ANY) },
+                { new Quad(Node.ANY, Node.ANY, RDFS.label.asNode(), Node.ANY) },
+                { new Quad(Node.ANY, subject, Node.ANY, Node.ANY) },
+                { new Quad(GRAPH, subject, Node.ANY, NodeFactory.createLiteralString("Person 7")) },
+                { new Quad(Node.ANY, Node.ANY, RDF.type.asNode(), PERSON) },
+                { new Quad(Node.ANY, NodeFactory.createURI("https://example.org/missing"), Node.ANY, Node.ANY) }
+        };
+    }
+
+    @Test(dataProvider = "patterns")
+    public void givenTDB2Dataset_whenScanning_thenSameQuadsAsDataset(Quad pattern) {
+        // Given
+        DatasetGraph dsg = createPeople();
+
+        // When
+        List<Quad> scanned = Txn.calculateRead(dsg, () -> scan(dsg, pattern, null));
+
+        // Then
+        List<Quad> expected = Txn.calculateRead(dsg, () -> dsg.stream(pattern.getGraph(), pattern.getSubject(),
+                                                                     pattern.getPredicate(), pattern.getObject())
+                                                              .toList());
+        Assert.assertEquals(scanned.size(), expected.size());
+        Assert.assertEquals(new HashSet<>(scanned), new HashSet<>(expected));
+    }
+
+    @Test(dataProvider = "patterns")
+    public void givenStartQuad_whenScanning_thenScanStartsAtThatQuad(Quad pattern) {
+        // Given
+        DatasetGraph dsg = createPeople();
+        List<Quad> all = Txn.calculateRead(dsg, () -> scan(dsg, pattern, null));
+
+        for (int i = 0; i < all.size(); i++) {
+            // When
+            Quad start = all.get(i);
+            List<Quad> resumed = Txn.calculateRead(dsg, () -> scan(dsg, pattern, start));
+
+            // Then
+            Assert.assertEquals(resumed, all.subList(i, all.size()));
+        }
+    }
+
+    @Test
+    public void givenRemovedStartQuad_whenScanning_thenScanStartsAfterItsPosition() {
+        // Given
+        DatasetGraph dsg = createPeople();
+        Quad pattern = new Quad(GRAPH, Node.ANY, RDFS.label.asNode(), Node.ANY);
+        List<Quad> all = Txn.calculateRead(dsg, () -> scan(dsg, pattern, null));
+        Quad removed = all.get(5);
+        Txn.executeWrite(dsg, () -> dsg.delete(removed));
+
+        // When
+        List<Quad> resumed = Txn.calculateRead(dsg, () -> scan(dsg, pattern, removed));
+
+        // Then
+        Assert.assertEquals(resumed, all.subList(6, all.size()));
+    }
+
+    @Test
+    public void givenNonTDB2Dataset_whenScanning_thenNotSupported() {
+        // Given
+        DatasetGraph dsg = new VersionedDatasetGraph(DatasetGraphFactory.createTxnMem());
+
+        // When and Then
+        Assert.assertFalse(TDB2IndexScan.supports(dsg));
+        Assert.assertNull(TDB2IndexScan.scan(dsg, Node.ANY, Node.ANY, Node.ANY, Node.ANY, null));
+        Assert.assertTrue(TDB2IndexScan.supports(createPeople()));
+    }
+
+    @Test
+    public void givenUnionGraph_whenScanning_thenNotSupported() {
+        // Given
+        DatasetGraph dsg = createPeople();
+
+        // When and Then
+        Assert.assertNull(Txn.calculateRead(dsg, () -> TDB2IndexScan.scan(dsg, Quad.unionGraph, Node.ANY, Node.ANY,
+                                                                          Node.ANY, null)));
+    }
+
+    @Test
+    public void givenFilteredView_whenScanning_thenNotSupported() {
+        // Given
+        DatasetGraph tdb = createPeople();
+        DatasetGraph filtered = new DatasetGraphFilteredView(tdb, q -> !q.getPredicate().equals(RDFS.label.asNode()),
+                                                             List.of(GRAPH));
+
+        // When and Then
+        Assert.assertFalse(TDB2IndexScan.supports(filtered));
+        Assert.assertFalse(TDB2IndexScan.supports(new VersionedDatasetGraph(filtered)));
+        Assert.assertFalse(TDB2IndexScan.supports(new DatasetGraphWrapper(tdb)));
+        Assert.assertNull(Txn.calculateRead(tdb, () -> TDB2IndexScan.scan(filtered, Node.ANY, Node.ANY, Node.ANY,
+                                                                          Node.ANY, null)));
+    }
+
+    @Test
+    public void givenTupleFilter_whenScanning_thenNotSupported() {
+        // Given
+        DatasetGraph dsg = createPeople();
+        dsg.getContext().set(SystemTDB.symTupleFilter, (Predicate<?>) t -> true);
+
+        try {
+            // When and Then
+            Assert.assertFalse(TDB2IndexScan.supports(dsg));
+        } finally {
+            dsg.getContext().unset(SystemTDB.symTupleFilter);
+        }
+        Assert.assertTrue(TDB2IndexScan.supports(dsg));
+    }
+}
@@ -73,6 +73,31 @@ public class GraphQLEntrypoint extends AbstractAppEntrypoint {
     @MutuallyExclusiveWith(tag = "data-source")
     private File data;
 
+    @Option(name = {
+            "--traversal-index"
+    }, description = "Specifies that an in-memory adjacency index over the dataset should be maintained and used to answer traversal queries")
+    private boolean traversalIndex = false;
+
+    @Option(name = {
+            "--traversal-max-degree"
+    }, title = "MaxDegree", description = "Specifies the maximum number of edges visited for any single node when answering traversal queries, the edges of nodes with more edges than this are truncated.  Defaults to 10000.")
+    private Integer traversalMaxDegree;
+
+    @Option(name = {
+            "--query-timeout"
+    }, title = "Milliseconds", description = "Specifies the maximum time in milliseconds that any single query, or quad export, may take, after which it is abandoned.  Callers may request a shorter timeout via the timeout extension of their requests, but never a longer one.  By default queries have no timeout.")
+    private Long queryTimeout;
+
+    @Option(name = {
+            "--enable-mutations"
+    }, description = "Specifies that mutations, which modify the dataset, may be executed via the /dataset/graphql endpoint.  This endpoint is unauthenticated so this should only be enabled where the server is not exposed to untrusted callers.  By default the server is read-only.")
+    private boolean enableMutations = false;
+
+    @Option(name = {
+            "--response-cache"
+    }, description = "Specifies that responses to dataset and traversal queries should be cached until the data changes.  Responses to IANode queries are never cached since their search fields read from an external API.")
+    private boolean responseCache = false;
+
     @AirlineModule
     private HelpOption<GraphQLEntrypoint> help = new HelpOption<>();
 
@@ -114,6 +139,22 @@ public class GraphQLEntrypoint extends AbstractAppEntrypoint {
                 System.setProperty("data.location", entrypoint.data.getAbsolutePath());
             }
 
+            if (entrypoint.traversalIndex) {
+                System.setProperty("traversal.index", "true");
+            }
+            if (entrypoint.enableMutations) {
+                System.setProperty("mutations.enabled", "true");
+            }
+            if (entrypoint.responseCache) {
+                System.setProperty("response.cache", "true");
+            }
+            if (entrypoint.traversalMaxDegree != null) {
+                System.setProperty("traversal.max.degree", Integer.toString(entrypoint.traversalMaxDegree));
+            }
+            if (entrypoint.queryTimeout != null) {
+                System.setProperty("query.timeout", Long.toString(entrypoint.queryTimeout));
+            }
+
             entrypoint.run(true);
             System.exit(0);
         } catch (ParseException e) {
@@ -28,10 +28,14 @@ import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
 
 import java.io.IOException;
+import java.time.Duration;
 
 import uk.gov.dbt.ndtp.jena.graphql.execution.DatasetExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.execution.ResponseCache;
 import uk.gov.dbt.ndtp.jena.graphql.execution.TraversalExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.execution.VersionedDatasetGraph;
 import uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph.IANodeGraphExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.fetchers.TraversalEdgesFetcher;
 import uk.gov.dbt.ndtp.jena.graphql.utils.ExcludeFromJacocoGeneratedReport;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.jena.riot.RDFParserBuilder;
@@ -46,6 +50,12 @@ import org.slf4j.LoggerFactory;
  */
 public class DatasetInitializer implements ServletContextListener {
 
+    /**
+     * Servlet context attribute holding the default query timeout, if any, for those endpoints that read the dataset
+     * directly rather than via an executor
+     */
+    public static final String QUERY_TIMEOUT_ATTRIBUTE = "query.timeout";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(DatasetInitializer.class);
 
     private DatasetGraph dsg;
@@ -74,21 +84,90 @@ public class DatasetInitializer implements ServletContextListener {
             LOGGER.info("Using non-persistent In-Memory Dataset");
             this.dsg = DatasetGraphFactory.createTxnMem();
         }
+        // Track the version of the dataset so that the executors can cache responses, and maintain any indexes, until the
+        // data changes
+        this.dsg = new VersionedDatasetGraph(this.dsg);
 
         // Then create the necessary executors so that the various endpoints can retrieve these later when they actually
-        // handle queries
+        // handle queries, the dataset itself is also made available for those endpoints that read it directly
+        sce.getServletContext().setAttribute(DatasetGraph.class.getCanonicalName(), this.dsg);
+        // Response caching is opt-in, the IANode executor never caches as its search fields read from an external API
+        boolean cacheResponses = Boolean.getBoolean("response.cache");
+        if (cacheResponses) {
+            LOGGER.info("Caching responses for the dataset and traversal schemas until the data changes");
+        }
+        // Mutations are opt-in as the endpoints are unauthenticated
+        boolean mutationsEnabled = Boolean.getBoolean("mutations.enabled");
+        if (mutationsEnabled) {
+            LOGGER.warn("Mutations are enabled, any caller of the dataset endpoint may modify the dataset");
+        }
+        // Queries have no timeout unless one is configured, though callers may always request a timeout of their own
+        Long queryTimeoutMillis = Long.getLong("query.timeout");
+        Duration queryTimeout = queryTimeoutMillis != null ? Duration.ofMillis(queryTimeoutMillis) : null;
+        if (queryTimeout != null) {
+            LOGGER.info("Abandoning queries that take longer than {}", queryTimeout);
+        }
+        sce.getServletContext().setAttribute(QUERY_TIMEOUT_ATTRIBUTE, queryTimeout);
         try {
             sce.getServletContext()
-               .setAttribute(DatasetExecutor.class.getCanonicalName(), new DatasetExecutor(this.dsg));
+               .setAttribute(DatasetExecutor.class.getCanonicalName(), new DatasetExecutor(this.dsg, mutationsEnabled) {
+                   @ExcludeFromJacocoGeneratedReport
+                   @Override
+                   protected ResponseCache createResponseCache() {
+                       return createServerResponseCache(cacheResponses);
+                   }
+
+                   @ExcludeFromJacocoGeneratedReport
+                   @Override
+                   protected Duration getDefaultTimeout() {
+                       return queryTimeout;
+                   }
+               });
+            boolean traversalIndex = Boolean.getBoolean("traversal.index");
+            if (traversalIndex) {
+                LOGGER.info("Maintaining an in-memory adjacency index for traversal queries");
+            }
             sce.getServletContext()
-               .setAttribute(TraversalExecutor.class.getCanonicalName(), new TraversalExecutor(this.dsg));
+               .setAttribute(TraversalExecutor.class.getCanonicalName(),
+                             new TraversalExecutor(this.dsg, traversalIndex,
+                                                   Integer.getInteger("traversal.max.degree",
+                                                                      TraversalEdgesFetcher.DEFAULT_MAXIMUM_DEGREE)) {
+                                 @ExcludeFromJacocoGeneratedReport
+                                 @Override
+                                 protected ResponseCache createResponseCache() {
+                                     return createServerResponseCache(cacheResponses);
+                                 }
+
+                                 @ExcludeFromJacocoGeneratedReport
+                                 @Override
+                                 protected Duration getDefaultTimeout() {
+                                     return queryTimeout;
+                                 }
+                             });
             sce.getServletContext()
-               .setAttribute(IANodeGraphExecutor.class.getCanonicalName(), new IANodeGraphExecutor(this.dsg));
+               .setAttribute(IANodeGraphExecutor.class.getCanonicalName(), new IANodeGraphExecutor(this.dsg) {
+                   @ExcludeFromJacocoGeneratedReport
+                   @Override
+                   protected Duration getDefaultTimeout() {
+                       return queryTimeout;
+                   }
+               });
         } catch (IOException e) {
             throw new RuntimeException("Failed to initialise Dataset GraphQL Executors", e);
         }
     }
 
+    /**
+     * Creates the response cache for an executor whose data fetchers only read from the dataset
+     *
+     * @param enabled Whether response caching was enabled for the server
+     * @return Response cache
+     */
+    @ExcludeFromJacocoGeneratedReport
+    private static ResponseCache createServerResponseCache(boolean enabled) {
+        return enabled ? ResponseCache.withMaximumWeight(ResponseCache.DEFAULT_MAXIMUM_WEIGHT) : ResponseCache.none();
+    }
+
     @ExcludeFromJacocoGeneratedReport
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
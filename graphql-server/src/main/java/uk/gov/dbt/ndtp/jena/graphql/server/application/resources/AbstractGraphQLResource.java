@@ -26,17 +26,45 @@ package uk.gov.dbt.ndtp.jena.graphql.server.application.resources;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import graphql.ExecutionResult;
 import graphql.ParseAndValidateResult;
+import graphql.execution.AbortExecutionException;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
 import uk.gov.dbt.ndtp.secure.agent.server.jaxrs.model.Problem;
 import jakarta.servlet.ServletContext;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.ConnectionCallback;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import uk.gov.dbt.ndtp.jena.graphql.execution.GraphQLExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.execution.IncrementalResultListener;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryTimeoutException;
+import uk.gov.dbt.ndtp.jena.graphql.server.application.DatasetInitializer;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLBatchRequest;
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.MultipartResponseWriter;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.QuadExportWriter;
+import uk.gov.dbt.ndtp.jena.graphql.utils.QuadFilter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.jena.riot.web.HttpNames;
+import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.web.HttpSC;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -126,13 +154,7 @@ public class AbstractGraphQLResource {
 
         GraphQLExecutor executor = (GraphQLExecutor) servletContext.getAttribute(executorType.getCanonicalName());
         if (executor == null) {
-            //@formatter:off
-            return new Problem("ServiceUnavailable",
-                               "No " + executorType.getSimpleName() + " Configured",
-                               HttpSC.INTERNAL_SERVER_ERROR_500,
-                               "No GraphQL Executor configured for this API",
-                               null).toResponse();
-            //@formatter:on
+            return noExecutorConfigured(executorType);
         }
 
         if (validate) {
@@ -145,14 +167,491 @@ public class AbstractGraphQLResource {
         } else {
             LOGGER.info("Starting GraphQL Query with executor {}...", executor.getClass().getSimpleName());
             ExecutionResult result = executor.execute(query, operationName, variables, extensions);
-            Map<String, Object> specResponse = result.toSpecification();
-            int status = GraphQLOverHttp.selectHttpStatus(result);
-            LOGGER.info("Finished GraphQL Query with executor {}, returning status {}", executor.getClass().getSimpleName(),
-                        status);
-            return Response.status(status)
-                           .entity(specResponse)
-                           .header(HttpNames.hContentType, GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON)
-                           .build();
+            return toResponse(executor, result);
+        }
+    }
+
+    /**
+     * Executes the given GraphQL query (and associated variables/extensions) asynchronously, resuming the suspended
+     * response once execution completes
+     *
+     * @param query          query to execute
+     * @param operationName  operation Name
+     * @param variables      variables to make available to the query
+     * @param extensions     query extensions
+     * @param servletContext for communicating with surrounding container (session management etc..)
+     * @param executorType   relevant class to execute the operation
+     * @param asyncResponse  suspended response to resume with either the results or the error(s)
+     */
+    protected final void executeGraphQLAsync(String query, String operationName, String variables, String extensions,
+                                             ServletContext servletContext, Class<?> executorType,
+                                             AsyncResponse asyncResponse) {
+        executeGraphQLAsync(query, operationName, variables, extensions, servletContext, executorType, asyncResponse,
+                            null);
+    }
+
+    /**
+     * Executes the given GraphQL query (and associated variables/extensions) asynchronously, resuming the suspended
+     * response once execution completes, or once the initial result is available if incremental delivery is accepted
+     * <p>
+     * These are the parameters of a GET request, which must not modify the dataset, so if the requested operation is a
+     * mutation the response is a {@code 405 Method Not Allowed} indicating that it must be sent via POST instead.
+     * </p>
+     *
+     * @param query          query to execute
+     * @param operationName  operation Name
+     * @param variables      variables to make available to the query
+     * @param extensions     query extensions
+     * @param servletContext for communicating with surrounding container (session management etc..)
+     * @param executorType   relevant class to execute the operation
+     * @param asyncResponse  suspended response to resume with either the results or the error(s)
+     * @param accept         value of the {@code Accept} header of the request, may be {@code null}
+     */
+    protected final void executeGraphQLAsync(String query, String operationName, String variables, String extensions,
+                                             ServletContext servletContext, Class<?> executorType,
+                                             AsyncResponse asyncResponse, String accept) {
+        boolean variable = true;
+        try {
+            Map<String, Object> parsedVariables = parseJSONStringIntoMap(variables);
+            variable = false;
+            Map<String, Object> parsedExtensions = parseJSONStringIntoMap(extensions);
+            GraphQLExecutor executor = (GraphQLExecutor) servletContext.getAttribute(executorType.getCanonicalName());
+            if (executor != null && executor.isMutation(query, operationName, parsedExtensions)) {
+                asyncResponse.resume(mutationNotAllowed());
+                return;
+            }
+            executeGraphQLAsync(query, operationName, parsedVariables, parsedExtensions, servletContext, executorType,
+                                asyncResponse, accept);
+        } catch (JsonProcessingException exception) {
+            if (variable) {
+                asyncResponse.resume(
+                        badRequest(exception, "Invalid GraphQL Variables", GraphQLOverHttp.PARAMETER_VARIABLES));
+            } else {
+                asyncResponse.resume(
+                        badRequest(exception, "Invalid GraphQL Extensions", GraphQLOverHttp.PARAMETER_EXTENSIONS));
+            }
+        }
+    }
+
+    /**
+     * Executes the given GraphQL query (and associated variables/extensions) asynchronously, resuming the suspended
+     * response once execution completes
+     * <p>
+     * The request thread is released as soon as execution has been handed off to the executor, the actual query
+     * execution, including its read transaction, happens on the executor's own threads.  If the client disconnects
+     * before the execution completes then the execution is cancelled, so that it stops consuming resources.
+     * </p>
+     *
+     * @param query          query to execute
+     * @param operationName  operation Name
+     * @param variables      variables to make available to the query
+     * @param extensions     query extensions
+     * @param servletContext for communicating with surrounding container (session management etc..)
+     * @param executorType   relevant class to execute the operation
+     * @param asyncResponse  suspended response to resume with either the results or the error(s)
+     */
+    protected final void executeGraphQLAsync(String query, String operationName, Map<String, Object> variables,
+                                             Map<String, Object> extensions, ServletContext servletContext,
+                                             Class<?> executorType, AsyncResponse asyncResponse) {
+        executeGraphQLAsync(query, operationName, variables, extensions, servletContext, executorType, asyncResponse,
+                            null);
+    }
+
+    /**
+     * Executes the given GraphQL query (and associated variables/extensions) asynchronously, resuming the suspended
+     * response once execution completes, or once the initial result is available if incremental delivery is accepted
+     * <p>
+     * If the request accepts {@value GraphQLOverHttp#CONTENT_TYPE_MULTIPART_MIXED} responses, and the query uses the
+     * {@code @defer} directive, then the response is resumed as soon as the initial result is available.  It is then
+     * streamed as a {@code multipart/mixed} response with the deferred results written as further parts as the
+     * execution produces them.  Otherwise this behaves as
+     * {@link #executeGraphQLAsync(String, String, Map, Map, ServletContext, Class, AsyncResponse)}.
+     * </p>
+     *
+     * @param query          query to execute
+     * @param operationName  operation Name
+     * @param variables      variables to make available to the query
+     * @param extensions     query extensions
+     * @param servletContext for communicating with surrounding container (session management etc..)
+     * @param executorType   relevant class to execute the operation
+     * @param asyncResponse  suspended response to resume with either the results or the error(s)
+     * @param accept         value of the {@code Accept} header of the request, may be {@code null}
+     */
+    protected final void executeGraphQLAsync(String query, String operationName, Map<String, Object> variables,
+                                             Map<String, Object> extensions, ServletContext servletContext,
+                                             Class<?> executorType, AsyncResponse asyncResponse, String accept) {
+        if (variables == null) {
+            variables = Collections.emptyMap();
+        }
+        if (extensions == null) {
+            extensions = Collections.emptyMap();
+        }
+
+        GraphQLExecutor executor = (GraphQLExecutor) servletContext.getAttribute(executorType.getCanonicalName());
+        if (executor == null) {
+            asyncResponse.resume(noExecutorConfigured(executorType));
+            return;
+        }
+
+        if (GraphQLOverHttp.acceptsIncrementalDelivery(accept)) {
+            LOGGER.info("Starting incremental GraphQL Query with executor {}...", executor.getClass().getSimpleName());
+            IncrementalResponse response = new IncrementalResponse(executor, asyncResponse);
+            CompletableFuture<ExecutionResult> future =
+                    executor.executeAsync(query, operationName, variables, extensions, response);
+            asyncResponse.register((ConnectionCallback) disconnected -> future.cancel(true));
+            future.whenComplete((result, error) -> response.completed(error));
+            return;
+        }
+
+        LOGGER.info("Starting async GraphQL Query with executor {}...", executor.getClass().getSimpleName());
+        CompletableFuture<ExecutionResult> future = executor.executeAsync(query, operationName, variables, extensions);
+        asyncResponse.register((ConnectionCallback) disconnected -> future.cancel(true));
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                LOGGER.warn("Failed async GraphQL Query with executor {}: {}", executor.getClass().getSimpleName(),
+                            cause.getMessage());
+                asyncResponse.resume(cause);
+            } else {
+                asyncResponse.resume(toResponse(executor, result));
+            }
+        });
+    }
+
+    /**
+     * Executes the body of a POST request asynchronously, resuming the suspended response once execution completes
+     * <p>
+     * If the body contains a single request then this behaves as
+     * {@link #executeGraphQLAsync(String, String, Map, Map, ServletContext, Class, AsyncResponse, String)}.  Otherwise
+     * the whole batch of requests is executed together, see {@link GraphQLExecutor#executeBatchAsync(java.util.List)},
+     * and the response is a JSON array of results in the same order as the requests.  Incremental delivery is not
+     * supported for batches.
+     * </p>
+     *
+     * @param request        request body, containing either a single request or a batch of requests
+     * @param servletContext for communicating with surrounding container (session management etc..)
+     * @param executorType   relevant class to execute the operation
+     * @param asyncResponse  suspended response to resume with either the results or the error(s)
+     * @param accept         value of the {@code Accept} header of the request, may be {@code null}
+     */
+    protected final void executeGraphQLAsync(GraphQLBatchRequest request, ServletContext servletContext,
+                                             Class<?> executorType, AsyncResponse asyncResponse, String accept) {
+        if (!request.isBatch()) {
+            GraphQLRequest single = request.getRequests().get(0);
+            executeGraphQLAsync(single.getQuery(), single.getOperationName(), single.getVariables(),
+                                single.getExtensions(), servletContext, executorType, asyncResponse, accept);
+            return;
+        }
+
+        GraphQLExecutor executor = (GraphQLExecutor) servletContext.getAttribute(executorType.getCanonicalName());
+        if (executor == null) {
+            asyncResponse.resume(noExecutorConfigured(executorType));
+            return;
+        }
+
+        LOGGER.info("Starting batch of {} GraphQL Queries with executor {}...", request.getRequests().size(),
+                    executor.getClass().getSimpleName());
+        CompletableFuture<List<ExecutionResult>> future;
+        try {
+            future = executor.executeBatchAsync(request.getRequests());
+        } catch (IllegalArgumentException e) {
+            //@formatter:off
+            asyncResponse.resume(new Problem("BadRequest",
+                                             "Invalid GraphQL Batch",
+                                             HttpSC.BAD_REQUEST_400,
+                                             e.getMessage(),
+                                             null).toResponse());
+            //@formatter:on
+            return;
+        }
+        asyncResponse.register((ConnectionCallback) disconnected -> future.cancel(true));
+        future.whenComplete((results, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                LOGGER.warn("Failed batch of GraphQL Queries with executor {}: {}",
+                            executor.getClass().getSimpleName(), cause.getMessage());
+                asyncResponse.resume(cause);
+            } else {
+                StreamingOutput entity = output -> GraphQLOverHttp.write(results, output);
+                LOGGER.info("Finished batch of GraphQL Queries with executor {}", executor.getClass().getSimpleName());
+                asyncResponse.resume(Response.status(HttpSC.OK_200)
+                                             .entity(entity)
+                                             .header(HttpNames.hContentType,
+                                                     GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON)
+                                             .build());
+            }
+        });
+    }
+
+    /**
+     * Exports the quads matching a filter, streaming them directly to the response as the dataset is scanned
+     *
+     * @param filter         JSON encoded quad filter, may be {@code null} to export the whole dataset in which case a
+     *                       limit is required
+     * @param limit          maximum number of quads to export, may be {@code null} for no limit
+     * @param accept         value of the {@code Accept} header of the request, may be {@code null}
+     * @param servletContext for communicating with surrounding container (session management etc..)
+     * @return either a streaming response (200) or the error (400)
+     */
+    protected final Response exportQuads(String filter, String limit, String accept, ServletContext servletContext) {
+        try {
+            return exportQuads(QuadExportWriter.parseFilter(filter), limit, accept, servletContext);
+        } catch (JsonProcessingException e) {
+            return badRequest(e, "Invalid Quad Filter", QuadExportWriter.PARAMETER_FILTER);
+        } catch (IllegalArgumentException e) {
+            return invalidFilter(e);
+        }
+    }
+
+    /**
+     * Exports the quads matching a filter, streaming them directly to the response as the dataset is scanned
+     * <p>
+     * The response is written as newline delimited JSON, N-Quads or an Apache Arrow IPC stream, as selected by
+     * {@link QuadExportWriter#selectContentType(String)}.  Since the quads are written as they are found the response
+     * status is decided before the export starts, should the export subsequently fail, or exceed the query timeout
+     * configured for the server (if any), the response is truncated.
+     * </p>
+     * <p>
+     * As for the Fuseki export endpoint a limit is required when the filter matches every quad, so that a bare request
+     * cannot export the whole dataset.
+     * </p>
+     *
+     * @param filter         quad filter, may be {@code null} to export the whole dataset in which case a limit is
+     *                       required
+     * @param limit          maximum number of quads to export, may be {@code null} for no limit
+     * @param accept         value of the {@code Accept} header of the request, may be {@code null}
+     * @param servletContext for communicating with surrounding container (session management etc..)
+     * @return either a streaming response (200) or the error (400)
+     */
+    protected final Response exportQuads(Map<String, Object> filter, String limit, String accept,
+                                         ServletContext servletContext) {
+        try {
+            return exportQuads(QuadExportWriter.parseFilter(filter), limit, accept, servletContext);
+        } catch (IllegalArgumentException e) {
+            return invalidFilter(e);
+        }
+    }
+
+    private static Response exportQuads(QuadFilter filter, String rawLimit, String accept,
+                                        ServletContext servletContext) {
+        DatasetGraph dsg = (DatasetGraph) servletContext.getAttribute(DatasetGraph.class.getCanonicalName());
+        if (dsg == null) {
+            //@formatter:off
+            return new Problem("ServiceUnavailable",
+                               "No Dataset Configured",
+                               HttpSC.INTERNAL_SERVER_ERROR_500,
+                               "No Dataset configured for this API",
+                               null).toResponse();
+            //@formatter:on
+        }
+
+        Long limit;
+        try {
+            limit = QuadExportWriter.parseLimit(rawLimit);
+        } catch (IllegalArgumentException e) {
+            return invalidExport("Invalid Limit", e.getMessage());
+        }
+        if (filter.isUnrestricted() && limit == null) {
+            return invalidExport("Unrestricted Export",
+                                 "Exports MUST supply either a quad filter or a " + QuadExportWriter.PARAMETER_LIMIT
+                                 + " parameter");
+        }
+
+        Duration timeout = (Duration) servletContext.getAttribute(DatasetInitializer.QUERY_TIMEOUT_ATTRIBUTE);
+        String contentType = QuadExportWriter.selectContentType(accept);
+        StreamingOutput entity = output -> {
+            LOGGER.info("Starting export of quads as {}...", contentType);
+            try {
+                long written = QuadExportWriter.write(dsg, filter, Objects.requireNonNullElse(limit, Long.MAX_VALUE),
+                                                      QueryDeadline.after(timeout), contentType, output);
+                LOGGER.info("Finished export of {} quads", written);
+            } catch (QueryTimeoutException e) {
+                // The response is already committed so the client sees a truncated export
+                LOGGER.warn("Quad export abandoned before completion: {}", e.getMessage());
+            }
+        };
+        return Response.status(HttpSC.OK_200).entity(entity).header(HttpNames.hContentType, contentType).build();
+    }
+
+    private static Response invalidFilter(IllegalArgumentException e) {
+        return invalidExport("Invalid Quad Filter", e.getMessage());
+    }
+
+    private static Response invalidExport(String title, String detail) {
+        //@formatter:off
+        return new Problem("BadRequest",
+                           title,
+                           HttpSC.BAD_REQUEST_400,
+                           detail,
+                           null).toResponse();
+        //@formatter:on
+    }
+
+    /**
+     * Creates a 500 Internal Server Error response for when no executor of the required type is configured
+     *
+     * @param executorType Executor type
+     * @return 500 Internal Server Error response
+     */
+    private static Response noExecutorConfigured(Class<?> executorType) {
+        //@formatter:off
+        return new Problem("ServiceUnavailable",
+                           "No " + executorType.getSimpleName() + " Configured",
+                           HttpSC.INTERNAL_SERVER_ERROR_500,
+                           "No GraphQL Executor configured for this API",
+                           null).toResponse();
+        //@formatter:on
+    }
+
+    /**
+     * Creates a 405 Method Not Allowed response to a mutation sent via GET
+     *
+     * @return 405 Method Not Allowed response
+     */
+    private static Response mutationNotAllowed() {
+        //@formatter:off
+        return Response.fromResponse(new Problem("MethodNotAllowed",
+                                                 "Mutation Not Allowed",
+                                                 HttpSC.METHOD_NOT_ALLOWED_405,
+                                                 "GraphQL mutations must be sent via POST",
+                                                 null).toResponse())
+                       .header(HttpHeaders.ALLOW, HttpMethod.POST)
+                       .build();
+        //@formatter:on
+    }
+
+    /**
+     * Converts an execution result into a GraphQL over HTTP response
+     * <p>
+     * The result is streamed directly to the response body when the response is written, rather than first being
+     * converted into its specification form, so large results are not held in memory twice.
+     * </p>
+     *
+     * @param executor Executor that produced the result
+     * @param result   Execution result
+     * @return Response
+     */
+    private static Response toResponse(GraphQLExecutor executor, ExecutionResult result) {
+        StreamingOutput entity = output -> GraphQLOverHttp.write(result, output);
+        int status = GraphQLOverHttp.selectHttpStatus(result);
+        LOGGER.info("Finished GraphQL Query with executor {}, returning status {}", executor.getClass().getSimpleName(),
+                    status);
+        return Response.status(status)
+                       .entity(entity)
+                       .header(HttpNames.hContentType, GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON)
+                       .build();
+    }
+
+    /**
+     * Unwraps the error a future completed with, which is wrapped in a {@link CompletionException} when thrown by an
+     * earlier stage
+     * <p>
+     * Suspended responses are resumed with the underlying error so that it is translated into a {@link Problem}
+     * response by the registered exception mappers, exactly as it would be had it been thrown by a synchronous request.
+     * </p>
+     *
+     * @param error Error
+     * @return Underlying error
+     */
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Listener that resumes a suspended response with the results of an execution, streaming them as a
+     * {@code multipart/mixed} response when the execution delivers results incrementally
+     * <p>
+     * The subsequent results are produced on the execution's thread, within its read transaction, and are handed off
+     * to the thread writing the response via a queue, so the execution is never blocked by a slow client.  Should the
+     * execution fail after the initial result the response ends with a final part carrying the error, so clients can
+     * tell a failed execution from a complete one.
+     * </p>
+     */
+    private static final class IncrementalResponse implements IncrementalResultListener {
+        private static final Object END = new Object();
+
+        private final GraphQLExecutor executor;
+        private final AsyncResponse asyncResponse;
+        private final BlockingQueue<Object> subsequent = new LinkedBlockingQueue<>();
+        private volatile ExecutionResult initial;
+
+        private IncrementalResponse(GraphQLExecutor executor, AsyncResponse asyncResponse) {
+            this.executor = executor;
+            this.asyncResponse = asyncResponse;
+        }
+
+        @Override
+        public void onInitialResult(ExecutionResult result) {
+            this.initial = result;
+            if (result instanceof IncrementalExecutionResult incremental && incremental.hasNext()) {
+                StreamingOutput entity = this::write;
+                LOGGER.info("Streaming incremental GraphQL Query results with executor {}",
+                            this.executor.getClass().getSimpleName());
+                Response response = Response.status(HttpSC.OK_200)
+                                            .entity(entity)
+                                            .header(HttpNames.hContentType,
+                                                    GraphQLOverHttp.CONTENT_TYPE_INCREMENTAL_RESPONSE)
+                                            .build();
+                // Resuming may write the response on the calling thread, which would then wait forever for the
+                // subsequent results that only this thread can produce, so resume from a different thread, using the
+                // executor's own async executor since the writing thread blocks for as long as the execution runs
+                CompletableFuture.runAsync(() -> this.asyncResponse.resume(response),
+                                           this.executor.getAsyncExecutor());
+            } else {
+                this.asyncResponse.resume(toResponse(this.executor, result));
+            }
+        }
+
+        @Override
+        public void onSubsequentResult(DelayedIncrementalPartialResult result) {
+            this.subsequent.add(result);
+        }
+
+        /**
+         * Called when the execution completes, whether successfully or not
+         *
+         * @param error Error, {@code null} if the execution was successful
+         */
+        private void completed(Throwable error) {
+            if (this.initial == null) {
+                Throwable cause = error != null ? unwrap(error) : new IllegalStateException("No results");
+                LOGGER.warn("Failed incremental GraphQL Query with executor {}: {}",
+                            this.executor.getClass().getSimpleName(), cause.getMessage());
+                this.asyncResponse.resume(cause);
+            } else if (error != null) {
+                Throwable cause = unwrap(error);
+                LOGGER.warn("Failed incremental GraphQL Query with executor {} after its initial result: {}",
+                            this.executor.getClass().getSimpleName(), cause.getMessage());
+                this.subsequent.add(new AbortExecutionException(
+                        Objects.requireNonNullElse(cause.getMessage(), cause.getClass().getSimpleName())));
+            } else {
+                this.subsequent.add(END);
+            }
+        }
+
+        private void write(OutputStream output) throws IOException {
+            MultipartResponseWriter writer = new MultipartResponseWriter(output);
+            writer.writeInitial(this.initial);
+            try {
+                while (true) {
+                    Object next = this.subsequent.take();
+                    if (next == END) {
+                        break;
+                    } else if (next instanceof AbortExecutionException failure) {
+                        writer.writeFailure(List.of(failure));
+                        break;
+                    }
+                    DelayedIncrementalPartialResult result = (DelayedIncrementalPartialResult) next;
+                    writer.writeSubsequent(result);
+                    if (!result.hasNext()) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for incremental results");
+            }
+            writer.end();
         }
     }
 
@@ -27,7 +27,10 @@ package uk.gov.dbt.ndtp.jena.graphql.server.application.resources;
 import jakarta.servlet.ServletContext;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import uk.gov.dbt.ndtp.jena.graphql.execution.DatasetExecutor;
@@ -35,8 +38,12 @@ import uk.gov.dbt.ndtp.jena.graphql.execution.TraversalExecutor;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.DatasetSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.TraversalSchema;
 import uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph.IANodeGraphExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLBatchRequest;
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp;
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.QuadExportWriter;
+
+import java.util.Map;
 
 /**
  * A JAX-RS resource that provides access to GraphQL queries using the
@@ -55,113 +62,176 @@ public class DatasetResource extends AbstractGraphQLResource {
     /**
      * GET requests using the {@link DatasetSchema}
      *
-     * @param query          GraphQL Query
+     * @param query          GraphQL Query, may be omitted if a persisted operation is requested via the extensions
      * @param operationName  GraphQL Operation name
      * @param variables      GraphQL variables
      * @param extensions     GraphQL extensions
+     * @param accept         Accept header of the request
      * @param servletContext Servlet context
-     * @return Response
+     * @param asyncResponse  Suspended response
      */
     @Path("/graphql")
     @GET
-    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, "application/problem+json" })
-    public Response quads(@QueryParam(GraphQLOverHttp.PARAMETER_QUERY) @NotNull String query,
-                          @QueryParam(GraphQLOverHttp.PARAMETER_OPERATION_NAME) String operationName,
-                          @QueryParam(GraphQLOverHttp.PARAMETER_VARIABLES) String variables,
-                          @QueryParam(GraphQLOverHttp.PARAMETER_EXTENSIONS) String extensions,
-                          @Context ServletContext servletContext) {
-        return executeOrValidateGraphQL(query, operationName, variables, extensions, servletContext, DatasetExecutor.class, false);
+    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, GraphQLOverHttp.CONTENT_TYPE_MULTIPART_MIXED,
+                "application/problem+json" })
+    public void quads(@QueryParam(GraphQLOverHttp.PARAMETER_QUERY) String query,
+                      @QueryParam(GraphQLOverHttp.PARAMETER_OPERATION_NAME) String operationName,
+                      @QueryParam(GraphQLOverHttp.PARAMETER_VARIABLES) String variables,
+                      @QueryParam(GraphQLOverHttp.PARAMETER_EXTENSIONS) String extensions,
+                      @HeaderParam(HttpHeaders.ACCEPT) String accept,
+                      @Context ServletContext servletContext,
+                      @Suspended AsyncResponse asyncResponse) {
+        executeGraphQLAsync(query, operationName, variables, extensions, servletContext, DatasetExecutor.class,
+                            asyncResponse, accept);
     }
 
     /**
      * POST requests using the {@link DatasetSchema}
      *
-     * @param request        GraphQL Request
+     * @param request        GraphQL Request, or a batch of requests
+     * @param accept         Accept header of the request
      * @param servletContext Servlet context
-     * @return Response
+     * @param asyncResponse  Suspended response
      */
     @Path("/graphql")
     @POST
     @Consumes({ MediaType.APPLICATION_JSON })
-    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, "application/problem+json" })
-    public Response postQuads(GraphQLRequest request, @Context ServletContext servletContext) {
-        return executeOrValidateGraphQL(request.getQuery(), request.getOperationName(), request.getVariables(),
-                                        request.getExtensions(), servletContext, DatasetExecutor.class, false);
+    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, GraphQLOverHttp.CONTENT_TYPE_MULTIPART_MIXED,
+                "application/problem+json" })
+    public void postQuads(GraphQLBatchRequest request, @HeaderParam(HttpHeaders.ACCEPT) String accept,
+                          @Context ServletContext servletContext, @Suspended AsyncResponse asyncResponse) {
+        executeGraphQLAsync(request, servletContext, DatasetExecutor.class, asyncResponse, accept);
     }
 
     /**
      * GET requests using the {@link TraversalSchema}
      *
-     * @param query          GraphQL Query
+     * @param query          GraphQL Query, may be omitted if a persisted operation is requested via the extensions
      * @param operationName  GraphQL Operation name
      * @param variables      GraphQL variables
      * @param extensions     GraphQL extensions
+     * @param accept         Accept header of the request
      * @param servletContext Servlet context
-     * @return Response
+     * @param asyncResponse  Suspended response
      */
     @Path("/traversal/graphql")
     @GET
-    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, "application/problem+json" })
-    public Response traverse(@QueryParam(GraphQLOverHttp.PARAMETER_QUERY) @NotNull String query,
-                             @QueryParam(GraphQLOverHttp.PARAMETER_OPERATION_NAME) String operationName,
-                             @QueryParam(GraphQLOverHttp.PARAMETER_VARIABLES) String variables,
-                             @QueryParam(GraphQLOverHttp.PARAMETER_EXTENSIONS) String extensions,
-                             @Context ServletContext servletContext) {
-        return executeOrValidateGraphQL(query, operationName, variables, extensions, servletContext, TraversalExecutor.class, false);
+    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, GraphQLOverHttp.CONTENT_TYPE_MULTIPART_MIXED,
+                "application/problem+json" })
+    public void traverse(@QueryParam(GraphQLOverHttp.PARAMETER_QUERY) String query,
+                         @QueryParam(GraphQLOverHttp.PARAMETER_OPERATION_NAME) String operationName,
+                         @QueryParam(GraphQLOverHttp.PARAMETER_VARIABLES) String variables,
+                         @QueryParam(GraphQLOverHttp.PARAMETER_EXTENSIONS) String extensions,
+                         @HeaderParam(HttpHeaders.ACCEPT) String accept,
+                         @Context ServletContext servletContext,
+                         @Suspended AsyncResponse asyncResponse) {
+        executeGraphQLAsync(query, operationName, variables, extensions, servletContext, TraversalExecutor.class,
+                            asyncResponse, accept);
     }
 
     /**
      * POST requests using the {@link TraversalSchema}
      *
-     * @param request        GraphQL Request
+     * @param request        GraphQL Request, or a batch of requests
+     * @param accept         Accept header of the request
      * @param servletContext Servlet context
-     * @return Response
+     * @param asyncResponse  Suspended response
      */
     @Path("/traversal/graphql")
     @POST
     @Consumes({ MediaType.APPLICATION_JSON })
-    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, "application/problem+json" })
-    public Response postTraversal(GraphQLRequest request, @Context ServletContext servletContext) {
-        return executeOrValidateGraphQL(request.getQuery(), request.getOperationName(), request.getVariables(),
-                                        request.getExtensions(), servletContext, TraversalExecutor.class, false);
+    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, GraphQLOverHttp.CONTENT_TYPE_MULTIPART_MIXED,
+                "application/problem+json" })
+    public void postTraversal(GraphQLBatchRequest request, @HeaderParam(HttpHeaders.ACCEPT) String accept,
+                              @Context ServletContext servletContext, @Suspended AsyncResponse asyncResponse) {
+        executeGraphQLAsync(request, servletContext, TraversalExecutor.class, asyncResponse, accept);
     }
 
 
     /**
      * GET requests using the {@link uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.IANodeGraphSchema}
      *
-     * @param query          GraphQL Query
+     * @param query          GraphQL Query, may be omitted if a persisted operation is requested via the extensions
      * @param operationName  GraphQL Operation name
      * @param variables      GraphQL variables
      * @param extensions     GraphQL extensions
+     * @param accept         Accept header of the request
      * @param servletContext Servlet context
-     * @return Response
+     * @param asyncResponse  Suspended response
      */
     @Path("/ianode/graphql")
     @GET
-    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, "application/problem+json" })
-    public Response ianode(@QueryParam(GraphQLOverHttp.PARAMETER_QUERY) @NotNull String query,
-                             @QueryParam(GraphQLOverHttp.PARAMETER_OPERATION_NAME) String operationName,
-                             @QueryParam(GraphQLOverHttp.PARAMETER_VARIABLES) String variables,
-                             @QueryParam(GraphQLOverHttp.PARAMETER_EXTENSIONS) String extensions,
-                             @Context ServletContext servletContext) {
-        return executeOrValidateGraphQL(query, operationName, variables, extensions, servletContext, IANodeGraphExecutor.class, false);
+    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, GraphQLOverHttp.CONTENT_TYPE_MULTIPART_MIXED,
+                "application/problem+json" })
+    public void ianode(@QueryParam(GraphQLOverHttp.PARAMETER_QUERY) String query,
+                       @QueryParam(GraphQLOverHttp.PARAMETER_OPERATION_NAME) String operationName,
+                       @QueryParam(GraphQLOverHttp.PARAMETER_VARIABLES) String variables,
+                       @QueryParam(GraphQLOverHttp.PARAMETER_EXTENSIONS) String extensions,
+                       @HeaderParam(HttpHeaders.ACCEPT) String accept,
+                       @Context ServletContext servletContext,
+                       @Suspended AsyncResponse asyncResponse) {
+        executeGraphQLAsync(query, operationName, variables, extensions, servletContext, IANodeGraphExecutor.class,
+                            asyncResponse, accept);
     }
 
     /**
      * POST requests using the {@link uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.IANodeGraphSchema}
      *
-     * @param request        GraphQL Request
+     * @param request        GraphQL Request, or a batch of requests
+     * @param accept         Accept header of the request
      * @param servletContext Servlet context
-     * @return Response
+     * @param asyncResponse  Suspended response
      */
     @Path("/ianode/graphql")
     @POST
     @Consumes({ MediaType.APPLICATION_JSON })
-    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, "application/problem+json" })
-    public Response postIANode(GraphQLRequest request, @Context ServletContext servletContext) {
-        return executeOrValidateGraphQL(request.getQuery(), request.getOperationName(), request.getVariables(),
-                                        request.getExtensions(), servletContext, IANodeGraphExecutor.class, false);
+    @Produces({ GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON, GraphQLOverHttp.CONTENT_TYPE_MULTIPART_MIXED,
+                "application/problem+json" })
+    public void postIANode(GraphQLBatchRequest request, @HeaderParam(HttpHeaders.ACCEPT) String accept,
+                           @Context ServletContext servletContext, @Suspended AsyncResponse asyncResponse) {
+        executeGraphQLAsync(request, servletContext, IANodeGraphExecutor.class, asyncResponse, accept);
+    }
+
+    /**
+     * GET requests to bulk export the quads matching a filter
+     *
+     * @param filter         JSON encoded quad filter, as for the arguments of the {@code quads} field, if omitted the
+     *                       whole dataset is exported in which case a limit is required
+     * @param limit          Maximum number of quads to export
+     * @param accept         Accept header of the request
+     * @param servletContext Servlet context
+     * @return Streaming response
+     */
+    @Path("/export")
+    @GET
+    @Produces({ QuadExportWriter.CONTENT_TYPE_NDJSON, QuadExportWriter.CONTENT_TYPE_NQUADS,
+                QuadExportWriter.CONTENT_TYPE_ARROW_STREAM, "application/problem+json" })
+    public Response export(@QueryParam(QuadExportWriter.PARAMETER_FILTER) String filter,
+                           @QueryParam(QuadExportWriter.PARAMETER_LIMIT) String limit,
+                           @HeaderParam(HttpHeaders.ACCEPT) String accept,
+                           @Context ServletContext servletContext) {
+        return exportQuads(filter, limit, accept, servletContext);
+    }
+
+    /**
+     * POST requests to bulk export the quads matching a filter
+     *
+     * @param filter         Quad filter, as for the arguments of the {@code quads} field
+     * @param limit          Maximum number of quads to export, required if the filter matches every quad
+     * @param accept         Accept header of the request
+     * @param servletContext Servlet context
+     * @return Streaming response
+     */
+    @Path("/export")
+    @POST
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ QuadExportWriter.CONTENT_TYPE_NDJSON, QuadExportWriter.CONTENT_TYPE_NQUADS,
+                QuadExportWriter.CONTENT_TYPE_ARROW_STREAM, "application/problem+json" })
+    public Response postExport(Map<String, Object> filter,
+                               @QueryParam(QuadExportWriter.PARAMETER_LIMIT) String limit,
+                               @HeaderParam(HttpHeaders.ACCEPT) String accept,
+                               @Context ServletContext servletContext) {
+        return exportQuads(filter, limit, accept, servletContext);
     }
 
     /**
@@ -23,17 +23,56 @@
 
 package uk.gov.dbt.ndtp.jena.graphql.server;
 
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.incremental.DelayedIncrementalPartialResultImpl;
+import graphql.incremental.IncrementalExecutionResultImpl;
+import jakarta.servlet.ServletContext;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.ConnectionCallback;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import uk.gov.dbt.ndtp.jena.graphql.execution.GraphQLExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.execution.IncrementalResultListener;
+import uk.gov.dbt.ndtp.jena.graphql.execution.PersistedOperations;
+import uk.gov.dbt.ndtp.jena.graphql.server.application.DatasetInitializer;
+import uk.gov.dbt.ndtp.jena.graphql.server.application.resources.AbstractGraphQLResource;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLBatchRequest;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp;
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
+import uk.gov.dbt.ndtp.jena.graphql.server.model.QuadExportWriter;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.mockito.ArgumentCaptor;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLOverHttp.CONTENT_TYPE_GRAPHQL_RESPONSE_JSON;
 
 public class DatasetResourceQueryTests extends AbstractResource {
@@ -185,6 +224,64 @@ public class DatasetResourceQueryTests extends AbstractResource {
         verifyResponse(response, Response.Status.OK);
     }
 
+    @Test
+    public void test_mutation_disabledByDefault() {
+        WebTarget target = getTargetForEndpoint(DATASET_ENDPOINT);
+        String mutation = "mutation{deletePattern(subject:{kind:URI,value:\"https://example.org/none\"})}";
+
+        // Without a mutation type in the schema a GET is simply answered with the validation error
+        Response invalid = target.queryParam("query", URLEncoder.encode(mutation, StandardCharsets.UTF_8))
+                                 .request(CONTENT_TYPE_GRAPHQL_RESPONSE_JSON)
+                                 .get();
+        Assert.assertNotEquals(invalid.getStatus(), Response.Status.METHOD_NOT_ALLOWED.getStatusCode());
+        Assert.assertFalse(invalid.readEntity(String.class).contains("\"deletePattern\""));
+
+        GraphQLRequest request = new GraphQLRequest();
+        request.setQuery(mutation);
+        Response response = target.request().post(Entity.entity(request, MediaType.APPLICATION_JSON));
+        String body = response.readEntity(String.class);
+        Assert.assertTrue(body.contains("\"errors\""));
+        Assert.assertFalse(body.contains("\"deletePattern\""));
+    }
+
+    @Test
+    public void test_getDataset_persistedOperation() {
+        WebTarget target = getTargetForEndpoint(DATASET_ENDPOINT);
+        String query = "query{quads{object{value}}}";
+        String extensions = URLEncoder.encode("{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\""
+                                                      + PersistedOperations.hash(query) + "\"}}",
+                                              StandardCharsets.UTF_8);
+
+        // Unknown until the client sends the full query along with its hash
+        Response notFound = target.queryParam("extensions", extensions)
+                                  .request(CONTENT_TYPE_GRAPHQL_RESPONSE_JSON)
+                                  .get();
+        Assert.assertEquals(notFound.getStatus(), 400);
+        Assert.assertTrue(notFound.readEntity(String.class).contains("PersistedQueryNotFound"));
+        Response registered = target.queryParam("query", URLEncoder.encode(query, StandardCharsets.UTF_8))
+                                    .queryParam("extensions", extensions)
+                                    .request(CONTENT_TYPE_GRAPHQL_RESPONSE_JSON)
+                                    .get();
+        verifyResponse(registered, Response.Status.OK);
+
+        // Thereafter the hash alone suffices
+        Response byHash = target.queryParam("extensions", extensions)
+                                .request(CONTENT_TYPE_GRAPHQL_RESPONSE_JSON)
+                                .get();
+        verifyResponse(byHash, Response.Status.OK);
+    }
+
+    @Test
+    public void test_postDataset_streamedResponse() {
+        WebTarget target = getTargetForEndpoint(DATASET_ENDPOINT);
+        GraphQLRequest request = new GraphQLRequest();
+        request.setQuery(VALID_QUAD_QUERY);
+        Response response = target.request().post(Entity.entity(request, MediaType.APPLICATION_JSON));
+        Assert.assertEquals(response.getStatus(), 200);
+        Assert.assertEquals(response.getMediaType().toString(), CONTENT_TYPE_GRAPHQL_RESPONSE_JSON);
+        Assert.assertTrue(response.readEntity(String.class).startsWith("{\"data\":{\"quads\":[]}"));
+    }
+
     @Test
     public void test_getTraversalValidate_success() {
         WebTarget target = getTargetForEndpoint(TRAVERSAL_ENDPOINT);
@@ -220,4 +317,475 @@ public class DatasetResourceQueryTests extends AbstractResource {
         verifyResponse(response, Response.Status.OK);
     }
 
+    /**
+     * Test resource that exposes the protected execution methods
+     */
+    private static final class TestResource extends AbstractGraphQLResource {
+        Response execute(ServletContext context) {
+            return this.executeOrValidateGraphQL(VALID_QUAD_QUERY, null, (Map<String, Object>) null, null, context,
+                                                 GraphQLExecutor.class, false);
+        }
+
+        void executeAsync(ServletContext context, AsyncResponse asyncResponse) {
+            this.executeGraphQLAsync(VALID_QUAD_QUERY, null, (Map<String, Object>) null, null, context,
+                                     GraphQLExecutor.class, asyncResponse);
+        }
+
+        void executeIncremental(ServletContext context, AsyncResponse asyncResponse) {
+            this.executeGraphQLAsync(VALID_QUAD_QUERY, null, (String) null, null, context, GraphQLExecutor.class,
+                                     asyncResponse, GraphQLOverHttp.CONTENT_TYPE_MULTIPART_MIXED);
+        }
+
+        void executeBatch(ServletContext context, AsyncResponse asyncResponse) {
+            GraphQLRequest request = new GraphQLRequest();
+            request.setQuery(VALID_QUAD_QUERY);
+            this.executeGraphQLAsync(new GraphQLBatchRequest(List.of(request, request)), context,
+                                     GraphQLExecutor.class, asyncResponse, null);
+        }
+
+        Response export(String filter, String limit, String accept, ServletContext context) {
+            return this.exportQuads(filter, limit, accept, context);
+        }
+
+        void executeAsync(String variables, String extensions, ServletContext context, AsyncResponse asyncResponse) {
+            this.executeGraphQLAsync(VALID_QUAD_QUERY, null, variables, extensions, context, GraphQLExecutor.class,
+                                     asyncResponse);
+        }
+    }
+
+    private static ServletContext mockContext(GraphQLExecutor executor) {
+        ServletContext context = mock(ServletContext.class);
+        when(context.getAttribute(anyString())).thenReturn(executor);
+        return context;
+    }
+
+    private static Response captureResponse(AsyncResponse asyncResponse) {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(asyncResponse, timeout(5000)).resume(captor.capture());
+        Assert.assertTrue(captor.getValue() instanceof Response);
+        return (Response) captor.getValue();
+    }
+
+    @Test
+    public void test_syncExecution_success() {
+        GraphQLExecutor executor = mock(GraphQLExecutor.class);
+        ExecutionResult result = ExecutionResultImpl.newExecutionResult().data(Map.of()).build();
+        when(executor.execute(anyString(), isNull(), any(), any())).thenReturn(result);
+        try (Response response = new TestResource().execute(mockContext(executor))) {
+            Assert.assertEquals(response.getStatus(), 200);
+        }
+    }
+
+    @Test
+    public void test_asyncExecution_nullExecutor() {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeAsync(mockContext(null), asyncResponse);
+        try (Response response = captureResponse(asyncResponse)) {
+            Assert.assertEquals(response.getStatus(), 500);
+        }
+    }
+
+    @Test
+    public void test_asyncExecution_success() {
+        GraphQLExecutor executor = mock(GraphQLExecutor.class);
+        ExecutionResult result = ExecutionResultImpl.newExecutionResult().data(Map.of()).build();
+        when(executor.executeAsync(anyString(), isNull(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture(result));
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeAsync(mockContext(executor), asyncResponse);
+        try (Response response = captureResponse(asyncResponse)) {
+            Assert.assertEquals(response.getStatus(), 200);
+        }
+    }
+
+    @Test
+    public void test_asyncExecution_failure() {
+        GraphQLExecutor executor = mock(GraphQLExecutor.class);
+        RuntimeException error = new RuntimeException("Failed");
+        when(executor.executeAsync(anyString(), isNull(), any(), any())).thenReturn(
+                CompletableFuture.failedFuture(error));
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeAsync(mockContext(executor), asyncResponse);
+        verify(asyncResponse, timeout(5000)).resume(error);
+    }
+
+    @Test
+    public void test_asyncExecution_wrappedFailure_resumedWithCause() {
+        GraphQLExecutor executor = mock(GraphQLExecutor.class);
+        RuntimeException error = new RuntimeException("Failed");
+        when(executor.executeAsync(anyString(), isNull(), any(), any())).thenReturn(
+                CompletableFuture.failedFuture(new CompletionException(error)));
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeAsync(mockContext(executor), asyncResponse);
+        verify(asyncResponse, timeout(5000)).resume(error);
+    }
+
+    @Test
+    public void test_asyncExecution_clientDisconnects_executionCancelled() {
+        GraphQLExecutor executor = mock(GraphQLExecutor.class);
+        CompletableFuture<ExecutionResult> future = new CompletableFuture<>();
+        when(executor.executeAsync(anyString(), isNull(), any(), any())).thenReturn(future);
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeAsync(mockContext(executor), asyncResponse);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(asyncResponse).register(captor.capture());
+        ((ConnectionCallback) captor.getValue()).onDisconnect(asyncResponse);
+        Assert.assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void test_asyncExecution_mutationViaGet_notAllowed() {
+        GraphQLExecutor executor = mock(GraphQLExecutor.class);
+        when(executor.isMutation(anyString(), isNull(), any())).thenReturn(true);
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeAsync(null, null, mockContext(executor), asyncResponse);
+        try (Response response = captureResponse(asyncResponse)) {
+            Assert.assertEquals(response.getStatus(), Response.Status.METHOD_NOT_ALLOWED.getStatusCode());
+            Assert.assertEquals(response.getHeaderString(HttpHeaders.ALLOW), "POST");
+        }
+        verify(executor, never()).executeAsync(anyString(), any(), any(), any());
+    }
+
+    @Test
+    public void test_asyncExecution_invalidJson() {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeAsync("{}", "RUBBISH", mockContext(null), asyncResponse);
+        try (Response response = captureResponse(asyncResponse)) {
+            Assert.assertEquals(response.getStatus(), 400);
+        }
+    }
+
+    @Test
+    public void test_postDataset_batch() {
+        WebTarget target = getTargetForEndpoint(DATASET_ENDPOINT);
+        GraphQLRequest valid = new GraphQLRequest();
+        valid.setQuery(VALID_QUAD_QUERY);
+        GraphQLRequest invalid = new GraphQLRequest();
+        invalid.setQuery("query{quads{nosuchfield}}");
+        Response response = target.request()
+                                  .post(Entity.entity(List.of(valid, invalid, valid), MediaType.APPLICATION_JSON));
+        Assert.assertEquals(response.getStatus(), 200);
+        Assert.assertEquals(response.getMediaType().toString(), CONTENT_TYPE_GRAPHQL_RESPONSE_JSON);
+        List<?> results = response.readEntity(List.class);
+        Assert.assertEquals(results.size(), 3);
+        Assert.assertTrue(((Map<?, ?>) results.get(0)).containsKey("data"));
+        Assert.assertTrue(((Map<?, ?>) results.get(1)).containsKey("errors"));
+        Assert.assertTrue(((Map<?, ?>) results.get(2)).containsKey("data"));
+    }
+
+    @Test
+    public void test_postDataset_emptyBatch() {
+        WebTarget target = getTargetForEndpoint(DATASET_ENDPOINT);
+        Response response = target.request().post(Entity.entity("[]", MediaType.APPLICATION_JSON));
+        Assert.assertEquals(response.getStatus(), 400);
+    }
+
+    @Test
+    public void test_batchExecution_nullExecutor() {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeBatch(mockContext(null), asyncResponse);
+        try (Response response = captureResponse(asyncResponse)) {
+            Assert.assertEquals(response.getStatus(), 500);
+        }
+    }
+
+    @Test
+    public void test_batchExecution_failure() {
+        GraphQLExecutor executor = mock(GraphQLExecutor.class);
+        RuntimeException error = new RuntimeException("Failed");
+        when(executor.executeBatchAsync(any())).thenReturn(CompletableFuture.failedFuture(error));
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeBatch(mockContext(executor), asyncResponse);
+        verify(asyncResponse, timeout(5000)).resume(error);
+    }
+
+    @Test
+    public void test_batchExecution_wrappedFailure_resumedWithCause() {
+        GraphQLExecutor executor = mock(GraphQLExecutor.class);
+        RuntimeException error = new RuntimeException("Failed");
+        when(executor.executeBatchAsync(any())).thenReturn(
+                CompletableFuture.failedFuture(new CompletionException(error)));
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeBatch(mockContext(executor), asyncResponse);
+        verify(asyncResponse, timeout(5000)).resume(error);
+    }
+
+    @Test
+    public void test_postDataset_incremental() {
+        WebTarget target = getTargetForEndpoint(DATASET_ENDPOINT);
+        GraphQLRequest request = new GraphQLRequest();
+        request.setQuery("query { ... @defer(label: \"quads\") { quads { subject { kind } } } }");
+        Response response = target.request(GraphQLOverHttp.CONTENT_TYPE_MULTIPART_MIXED)
+                                  .post(Entity.entity(request, MediaType.APPLICATION_JSON));
+        Assert.assertEquals(response.getStatus(), 200);
+        Assert.assertEquals(response.getHeaderString("Content-Type"),
+                            GraphQLOverHttp.CONTENT_TYPE_INCREMENTAL_RESPONSE);
+        String body = response.readEntity(String.class);
+        Assert.assertTrue(body.contains("\"hasNext\":true"));
+        Assert.assertTrue(body.contains("\"label\":\"quads\""));
+        Assert.assertTrue(body.endsWith("\r\n-----\r\n"));
+    }
+
+    @Test
+    public void test_postDataset_incrementalWithoutDefer() {
+        WebTarget target = getTargetForEndpoint(DATASET_ENDPOINT);
+        GraphQLRequest request = new GraphQLRequest();
+        request.setQuery(VALID_QUAD_QUERY);
+        Response response = target.request(GraphQLOverHttp.CONTENT_TYPE_MULTIPART_MIXED)
+                                  .post(Entity.entity(request, MediaType.APPLICATION_JSON));
+        Assert.assertEquals(response.getStatus(), 200);
+        Assert.assertEquals(response.getMediaType().toString(), CONTENT_TYPE_GRAPHQL_RESPONSE_JSON);
+    }
+
+    private static GraphQLExecutor mockIncrementalExecutor(ExecutionResult initial,
+                                                           CompletableFuture<ExecutionResult> future) {
+        GraphQLExecutor executor = mock(GraphQLExecutor.class);
+        when(executor.getAsyncExecutor()).thenReturn(ForkJoinPool.commonPool());
+        when(executor.executeAsync(anyString(), isNull(), any(), any(), any(IncrementalResultListener.class)))
+                .thenAnswer(invocation -> {
+                    IncrementalResultListener listener = invocation.getArgument(4);
+                    if (initial != null) {
+                        listener.onInitialResult(initial);
+                        listener.onSubsequentResult(DelayedIncrementalPartialResultImpl.newIncrementalExecutionResult()
+                                                                                       .hasNext(true)
+                                                                                       .build());
+                    }
+                    return future;
+                });
+        return executor;
+    }
+
+    private static String writeEntity(Response response) throws IOException {
+        Assert.assertTrue(response.getEntity() instanceof StreamingOutput);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void test_incrementalExecution_success() throws IOException {
+        ExecutionResult initial = IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                                                                .data(Map.of())
+                                                                .hasNext(true)
+                                                                .build();
+        CompletableFuture<ExecutionResult> future = new CompletableFuture<>();
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeIncremental(mockContext(mockIncrementalExecutor(initial, future)), asyncResponse);
+        future.complete(initial);
+        try (Response response = captureResponse(asyncResponse)) {
+            Assert.assertEquals(response.getStatus(), 200);
+            Assert.assertEquals(response.getHeaderString("Content-Type"),
+                                GraphQLOverHttp.CONTENT_TYPE_INCREMENTAL_RESPONSE);
+            String body = writeEntity(response);
+            Assert.assertTrue(body.contains("{\"data\":{},\"hasNext\":true}"));
+            Assert.assertTrue(body.contains("{\"hasNext\":true,\"incremental\":[]}"));
+            Assert.assertTrue(body.endsWith("\r\n-----\r\n"));
+        }
+    }
+
+    @Test
+    public void test_incrementalExecution_notIncremental() {
+        ExecutionResult result = ExecutionResultImpl.newExecutionResult().data(Map.of()).build();
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeIncremental(
+                mockContext(mockIncrementalExecutor(result, CompletableFuture.completedFuture(result))),
+                asyncResponse);
+        try (Response response = captureResponse(asyncResponse)) {
+            Assert.assertEquals(response.getStatus(), 200);
+            Assert.assertEquals(response.getHeaderString("Content-Type"), CONTENT_TYPE_GRAPHQL_RESPONSE_JSON);
+        }
+    }
+
+    @Test
+    public void test_incrementalExecution_failure() {
+        RuntimeException error = new RuntimeException("Failed");
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeIncremental(
+                mockContext(mockIncrementalExecutor(null, CompletableFuture.failedFuture(error))), asyncResponse);
+        verify(asyncResponse, timeout(5000)).resume(error);
+    }
+
+    @Test
+    public void test_incrementalExecution_failureAfterInitialResult() throws IOException {
+        ExecutionResult initial = IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                                                                .data(Map.of())
+                                                                .hasNext(true)
+                                                                .build();
+        CompletableFuture<ExecutionResult> future = new CompletableFuture<>();
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeIncremental(mockContext(mockIncrementalExecutor(initial, future)), asyncResponse);
+        future.completeExceptionally(new CompletionException(new RuntimeException("Failed")));
+        try (Response response = captureResponse(asyncResponse)) {
+            String body = writeEntity(response);
+            Assert.assertTrue(body.contains("{\"hasNext\":true,\"incremental\":[]}"));
+            Assert.assertTrue(body.contains("\"message\":\"Failed\""));
+            Assert.assertTrue(body.contains("\"hasNext\":false}"));
+            Assert.assertTrue(body.endsWith("\r\n-----\r\n"));
+        }
+    }
+
+    @Test
+    public void test_incrementalExecution_completeInitialResult() {
+        ExecutionResult result = IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                                                               .data(Map.of())
+                                                               .hasNext(false)
+                                                               .build();
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeIncremental(
+                mockContext(mockIncrementalExecutor(result, CompletableFuture.completedFuture(result))),
+                asyncResponse);
+        try (Response response = captureResponse(asyncResponse)) {
+            Assert.assertEquals(response.getStatus(), 200);
+            Assert.assertEquals(response.getHeaderString("Content-Type"), CONTENT_TYPE_GRAPHQL_RESPONSE_JSON);
+        }
+    }
+
+    @Test
+    public void test_incrementalExecution_noResults() {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeIncremental(
+                mockContext(mockIncrementalExecutor(null, CompletableFuture.completedFuture(null))), asyncResponse);
+        verify(asyncResponse, timeout(5000)).resume(any(IllegalStateException.class));
+    }
+
+    @Test
+    public void test_incrementalExecution_nullExecutor() {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeIncremental(mockContext(null), asyncResponse);
+        try (Response response = captureResponse(asyncResponse)) {
+            Assert.assertEquals(response.getStatus(), 500);
+        }
+    }
+
+    @Test
+    public void test_incrementalExecution_clientDisconnects_executionCancelled() throws IOException {
+        ExecutionResult initial = IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                                                                .data(Map.of())
+                                                                .hasNext(true)
+                                                                .build();
+        CompletableFuture<ExecutionResult> future = new CompletableFuture<>();
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        new TestResource().executeIncremental(mockContext(mockIncrementalExecutor(initial, future)), asyncResponse);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(asyncResponse).register(captor.capture());
+        ((ConnectionCallback) captor.getValue()).onDisconnect(asyncResponse);
+        Assert.assertTrue(future.isCancelled());
+        try (Response response = captureResponse(asyncResponse)) {
+            Assert.assertTrue(writeEntity(response).endsWith("\r\n-----\r\n"));
+        }
+    }
+
+    @Test
+    public void test_export_getSuccess() {
+        WebTarget target = getTargetForEndpoint("/dataset/export");
+        Response response = target.queryParam(QuadExportWriter.PARAMETER_LIMIT, 10)
+                                  .request(QuadExportWriter.CONTENT_TYPE_NDJSON)
+                                  .get();
+        Assert.assertEquals(response.getMediaType().toString(), QuadExportWriter.CONTENT_TYPE_NDJSON);
+        verifyResponse(response, Response.Status.OK);
+    }
+
+    @Test
+    public void test_export_postSuccess() {
+        WebTarget target = getTargetForEndpoint("/dataset/export");
+        Map<String, Object> filter = Map.of("subject", Map.of("kind", "URI", "value", "https://example.org/s"));
+        Response response = target.request(QuadExportWriter.CONTENT_TYPE_NQUADS)
+                                  .post(Entity.entity(filter, MediaType.APPLICATION_JSON));
+        Assert.assertEquals(response.getMediaType().toString(), QuadExportWriter.CONTENT_TYPE_NQUADS);
+        verifyResponse(response, Response.Status.OK);
+    }
+
+    @Test
+    public void test_export_arrowSuccess() {
+        WebTarget target = getTargetForEndpoint("/dataset/export");
+        Response response = target.queryParam(QuadExportWriter.PARAMETER_LIMIT, 10)
+                                  .request(QuadExportWriter.CONTENT_TYPE_ARROW_STREAM)
+                                  .get();
+        Assert.assertEquals(response.getMediaType().toString(), QuadExportWriter.CONTENT_TYPE_ARROW_STREAM);
+        Assert.assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+        byte[] stream = response.readEntity(byte[].class);
+        // Stream always finishes with the end of stream marker
+        Assert.assertTrue(stream.length > 8);
+        Assert.assertEquals(Arrays.copyOfRange(stream, stream.length - 8, stream.length),
+                            new byte[] { -1, -1, -1, -1, 0, 0, 0, 0 });
+    }
+
+    @Test
+    public void test_export_invalidFilter() {
+        WebTarget target = getTargetForEndpoint("/dataset/export");
+        verifyResponse(target.queryParam(QuadExportWriter.PARAMETER_FILTER, "RUBBISH")
+                             .request(QuadExportWriter.CONTENT_TYPE_NDJSON)
+                             .get(), Response.Status.BAD_REQUEST);
+        verifyResponse(target.queryParam(QuadExportWriter.PARAMETER_FILTER,
+                                         URLEncoder.encode("{\"subject\":\"RUBBISH\"}", StandardCharsets.UTF_8))
+                             .request(QuadExportWriter.CONTENT_TYPE_NDJSON)
+                             .get(), Response.Status.BAD_REQUEST);
+        verifyResponse(target.request(QuadExportWriter.CONTENT_TYPE_NDJSON)
+                             .post(Entity.entity(Map.of("subject", "RUBBISH"), MediaType.APPLICATION_JSON)),
+                       Response.Status.BAD_REQUEST);
+    }
+
+    @Test
+    public void test_export_unrestrictedWithoutLimit() {
+        WebTarget target = getTargetForEndpoint("/dataset/export");
+        verifyResponse(target.request(QuadExportWriter.CONTENT_TYPE_NDJSON).get(), Response.Status.BAD_REQUEST);
+        verifyResponse(target.request(QuadExportWriter.CONTENT_TYPE_NDJSON)
+                             .post(Entity.entity(Map.of(), MediaType.APPLICATION_JSON)),
+                       Response.Status.BAD_REQUEST);
+    }
+
+    @Test
+    public void test_export_invalidLimit() {
+        WebTarget target = getTargetForEndpoint("/dataset/export");
+        verifyResponse(target.queryParam(QuadExportWriter.PARAMETER_LIMIT, -1)
+                             .request(QuadExportWriter.CONTENT_TYPE_NDJSON)
+                             .get(), Response.Status.BAD_REQUEST);
+        verifyResponse(target.queryParam(QuadExportWriter.PARAMETER_LIMIT, "RUBBISH")
+                             .request(QuadExportWriter.CONTENT_TYPE_NDJSON)
+                             .get(), Response.Status.BAD_REQUEST);
+    }
+
+    @Test
+    public void test_export_noDataset() {
+        ServletContext context = mock(ServletContext.class);
+        try (Response response = new TestResource().export(null, null, null, context)) {
+            Assert.assertEquals(response.getStatus(), 500);
+        }
+    }
+
+    @Test
+    public void test_export_streamsMatchingQuads() throws IOException {
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        for (int i = 0; i < 3; i++) {
+            dsg.add(NodeFactory.createURI("https://example.org/g"), NodeFactory.createURI("https://example.org/" + i),
+                    NodeFactory.createURI("https://example.org/p"), NodeFactory.createLiteralString("o" + i));
+        }
+        ServletContext context = mock(ServletContext.class);
+        when(context.getAttribute(DatasetGraph.class.getCanonicalName())).thenReturn(dsg);
+        try (Response response = new TestResource().export("{}", "2", null, context)) {
+            Assert.assertEquals(response.getStatus(), 200);
+            Assert.assertEquals(writeEntity(response).lines().count(), 2);
+        }
+        String filter = "{\"graph\":{\"kind\":\"URI\",\"value\":\"https://example.org/g\"}}";
+        try (Response response = new TestResource().export(filter, null, null, context)) {
+            Assert.assertEquals(response.getStatus(), 200);
+            Assert.assertEquals(writeEntity(response).lines().count(), 3);
+        }
+    }
+
+    @Test
+    public void test_export_timeoutElapsed_truncated() throws IOException {
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        dsg.add(NodeFactory.createURI("https://example.org/g"), NodeFactory.createURI("https://example.org/s"),
+                NodeFactory.createURI("https://example.org/p"), NodeFactory.createLiteralString("o"));
+        ServletContext context = mock(ServletContext.class);
+        when(context.getAttribute(DatasetGraph.class.getCanonicalName())).thenReturn(dsg);
+        when(context.getAttribute(DatasetInitializer.QUERY_TIMEOUT_ATTRIBUTE)).thenReturn(Duration.ofNanos(1));
+        try (Response response = new TestResource().export("{}", "10", null, context)) {
+            Assert.assertEquals(response.getStatus(), 200);
+            Assert.assertEquals(writeEntity(response), "");
+        }
+    }
 }
@@ -25,6 +25,8 @@ package uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.jena.sparql.core.DatasetGraph;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
 
 import java.util.Objects;
 
@@ -36,6 +38,7 @@ public class IANodeExecutionContext {
 
     private final DatasetGraph dsg;
     private final String authToken;
+    private final DataLoaderRegistry dataLoaders;
 
     /**
      * Creates a new execution context
@@ -44,9 +47,22 @@ public class IANodeExecutionContext {
      * @param authToken The users authentication token for passing onwards to other IANode services where needed
      */
     public IANodeExecutionContext(DatasetGraph dsg, String authToken) {
+        this(dsg, authToken, null);
+    }
+
+    /**
+     * Creates a new execution context
+     *
+     * @param dsg         Dataset Graph the query executes over
+     * @param authToken   The users authentication token for passing onwards to other IANode services where needed
+     * @param dataLoaders Registry of data loaders that fetchers may use to batch their lookups, may be {@code null} in
+     *                    which case fetchers do their lookups individually
+     */
+    public IANodeExecutionContext(DatasetGraph dsg, String authToken, DataLoaderRegistry dataLoaders) {
         Objects.requireNonNull(dsg, "DatasetGraph cannot be null");
         this.dsg = dsg;
         this.authToken = authToken;
+        this.dataLoaders = dataLoaders;
     }
 
     /**
@@ -75,4 +91,25 @@ public class IANodeExecutionContext {
     public boolean hasAuthToken() {
         return StringUtils.isNotBlank(this.authToken);
     }
+
+    /**
+     * Gets the registry of data loaders for the execution (if any)
+     *
+     * @return Data Loader registry, or {@code null} if none
+     */
+    public DataLoaderRegistry getDataLoaderRegistry() {
+        return this.dataLoaders;
+    }
+
+    /**
+     * Gets a data loader by name
+     *
+     * @param name Data Loader name
+     * @param <K>  Key type
+     * @param <V>  Value type
+     * @return Data Loader, or {@code null} if no such data loader is registered
+     */
+    public <K, V> DataLoader<K, V> getDataLoader(String name) {
+        return this.dataLoaders != null ? this.dataLoaders.getDataLoader(name) : null;
+    }
 }
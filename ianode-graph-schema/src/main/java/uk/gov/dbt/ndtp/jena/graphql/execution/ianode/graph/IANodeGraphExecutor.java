@@ -28,13 +28,17 @@ import graphql.schema.idl.NaturalEnumValuesProvider;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import uk.gov.dbt.ndtp.jena.graphql.execution.AbstractDatasetExecutor;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryCostModel;
+import uk.gov.dbt.ndtp.jena.graphql.execution.ResponseCache;
 import uk.gov.dbt.ndtp.jena.graphql.fetchers.ianode.graph.*;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.EdgeDirection;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.IANodeGraphSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.SearchType;
 import org.apache.jena.sparql.core.DatasetGraph;
+import org.dataloader.DataLoaderRegistry;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -42,6 +46,18 @@ import java.util.Map;
  */
 public class IANodeGraphExecutor extends AbstractDatasetExecutor {
 
+    private static final NodeTypesFetcher TYPES_FETCHER = new NodeTypesFetcher();
+    private static final LiteralPropertiesFetcher PROPERTIES_FETCHER = new LiteralPropertiesFetcher();
+    private static final RelationshipsFetcher INBOUND_FETCHER = new RelationshipsFetcher(EdgeDirection.IN);
+    private static final RelationshipsFetcher OUTBOUND_FETCHER = new RelationshipsFetcher(EdgeDirection.OUT);
+    private static final InstancesFetcher INSTANCES_FETCHER = new InstancesFetcher();
+
+    /**
+     * The fetchers for the fields of a {@code Node} which batch their lookups via data loaders
+     */
+    private static final List<AbstractBatchedNodeFetcher<?>> BATCHED_FETCHERS =
+            List.of(TYPES_FETCHER, PROPERTIES_FETCHER, INBOUND_FETCHER, OUTBOUND_FETCHER, INSTANCES_FETCHER);
+
     /**
      * Creates a new execution
      *
@@ -68,7 +84,7 @@ public class IANodeGraphExecutor extends AbstractDatasetExecutor {
         NaturalEnumValuesProvider<SearchType> nodeKinds = new NaturalEnumValuesProvider<>(SearchType.class);
         //@formatter:off
         return RuntimeWiring.newRuntimeWiring()
-                            .type("Query",
+                            .type(IANodeGraphSchema.TYPE_QUERY,
                                   t -> t.dataFetcher(IANodeGraphSchema.QUERY_SINGLE_NODE, new StartingNodesFetcher(false))
                                         .dataFetcher(IANodeGraphSchema.QUERY_MULTIPLE_NODES, new StartingNodesFetcher(true))
                                         .dataFetcher(IANodeGraphSchema.QUERY_SEARCH, new StartingSearchFetcher())
@@ -76,11 +92,11 @@ public class IANodeGraphExecutor extends AbstractDatasetExecutor {
                                         .dataFetcher(IANodeGraphSchema.QUERY_STATES, new StartingStatesFetcher())
                                         .dataFetcher(IANodeGraphSchema.QUERY_GET_ALL_ENTITIES, new AllEntitiesFetcher()))
                             .type(IANodeGraphSchema.TYPE_NODE,
-                                  t -> t.dataFetcher(IANodeGraphSchema.FIELD_TYPES, new NodeTypesFetcher())
-                                        .dataFetcher(IANodeGraphSchema.FIELD_PROPERTIES, new LiteralPropertiesFetcher())
-                                        .dataFetcher(IANodeGraphSchema.FIELD_INBOUND_RELATIONSHIPS, new RelationshipsFetcher(EdgeDirection.IN))
-                                        .dataFetcher(IANodeGraphSchema.FIELD_OUTBOUND_RELATIONSHIPS, new RelationshipsFetcher(EdgeDirection.OUT))
-                                        .dataFetcher(IANodeGraphSchema.FIELD_INSTANCES, new InstancesFetcher()))
+                                  t -> t.dataFetcher(IANodeGraphSchema.FIELD_TYPES, TYPES_FETCHER)
+                                        .dataFetcher(IANodeGraphSchema.FIELD_PROPERTIES, PROPERTIES_FETCHER)
+                                        .dataFetcher(IANodeGraphSchema.FIELD_INBOUND_RELATIONSHIPS, INBOUND_FETCHER)
+                                        .dataFetcher(IANodeGraphSchema.FIELD_OUTBOUND_RELATIONSHIPS, OUTBOUND_FETCHER)
+                                        .dataFetcher(IANodeGraphSchema.FIELD_INSTANCES, INSTANCES_FETCHER))
                             .type(IANodeGraphSchema.TYPE_RELATIONSHIP,
                                   // The IANode Graph schema uses underscores in these property names which defeats
                                   // graphql-java's default logic of looking for an equivalent Java property name so
@@ -97,10 +113,50 @@ public class IANodeGraphExecutor extends AbstractDatasetExecutor {
         //@formatter:on
     }
 
+    @Override
+    protected QueryCostModel createCostModel() {
+        // getAllEntities and instances are potentially very large, while other list sizes are bounded by the arguments
+        // given to them.  Every field of a Node that is a list involves a further lookup against the dataset.
+        //@formatter:off
+        return QueryCostModel.newModel()
+                             .fieldWeight(IANodeGraphSchema.TYPE_QUERY, IANodeGraphSchema.QUERY_GET_ALL_ENTITIES, 10)
+                             .listSize(IANodeGraphSchema.TYPE_QUERY, IANodeGraphSchema.QUERY_GET_ALL_ENTITIES, 100)
+                             .listSizeArgument(IANodeGraphSchema.TYPE_QUERY, IANodeGraphSchema.QUERY_MULTIPLE_NODES,
+                                               IANodeGraphSchema.ARGUMENT_URIS)
+                             .listSizeArgument(IANodeGraphSchema.TYPE_QUERY, IANodeGraphSchema.QUERY_SEARCH,
+                                               IANodeGraphSchema.ARGUMENT_LIMIT)
+                             .fieldWeight(IANodeGraphSchema.TYPE_NODE, IANodeGraphSchema.FIELD_TYPES, 2)
+                             .fieldWeight(IANodeGraphSchema.TYPE_NODE, IANodeGraphSchema.FIELD_PROPERTIES, 2)
+                             .fieldWeight(IANodeGraphSchema.TYPE_NODE, IANodeGraphSchema.FIELD_INBOUND_RELATIONSHIPS, 2)
+                             .fieldWeight(IANodeGraphSchema.TYPE_NODE, IANodeGraphSchema.FIELD_OUTBOUND_RELATIONSHIPS, 2)
+                             .fieldWeight(IANodeGraphSchema.TYPE_NODE, IANodeGraphSchema.FIELD_INSTANCES, 5)
+                             .listSize(IANodeGraphSchema.TYPE_NODE, IANodeGraphSchema.FIELD_INSTANCES, 100)
+                             .build();
+        //@formatter:on
+    }
+
+    @Override
+    protected ResponseCache createResponseCache() {
+        // The search fields call out to the external IANode Search API whose results don't change with the dataset
+        // version, so responses can never be safely cached
+        return ResponseCache.none();
+    }
+
     @Override
     protected Object createLocalContext(DatasetGraph dsg, Map<String, Object> extensions) {
         // Get the auth token for the request (if any)
         String authToken = (String) extensions.get(IANodeGraphSchema.EXTENSION_AUTH_TOKEN);
-        return new IANodeExecutionContext(dsg, authToken);
+
+        // Data loaders cache their results so need to be created afresh for each execution
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        for (AbstractBatchedNodeFetcher<?> fetcher : BATCHED_FETCHERS) {
+            registry.register(fetcher.getName(), fetcher.createDataLoader(dsg));
+        }
+        return new IANodeExecutionContext(dsg, authToken, registry);
+    }
+
+    @Override
+    protected DataLoaderRegistry getDataLoaderRegistry(Object localContext) {
+        return ((IANodeExecutionContext) localContext).getDataLoaderRegistry();
     }
 }
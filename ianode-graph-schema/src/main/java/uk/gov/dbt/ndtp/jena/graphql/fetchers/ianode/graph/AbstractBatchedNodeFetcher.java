@@ -0,0 +1,149 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers.ianode.graph;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph.IANodeExecutionContext;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.IANodeGraphNode;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.util.NodeCmp;
+import org.apache.jena.system.Txn;
+import org.dataloader.BatchLoaderWithContext;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Abstract GraphQL {@link DataFetcher} for fields of a node whose values are found by looking up that node in the
+ * dataset
+ * <p>
+ * When the execution context provides a {@link DataLoader} registered under this fetcher's name the lookups for all the
+ * nodes at a given level of the query are batched together, and resolved in a single pass over the dataset.  Otherwise
+ * each node is looked up individually.
+ * </p>
+ *
+ * @param <T> Value type
+ */
+public abstract class AbstractBatchedNodeFetcher<T> implements DataFetcher<CompletableFuture<List<T>>> {
+
+    private final String name;
+
+    /**
+     * Creates a new fetcher
+     *
+     * @param name Name under which this fetcher's data loader is registered
+     */
+    protected AbstractBatchedNodeFetcher(String name) {
+        this.name = Objects.requireNonNull(name, "Data Loader name cannot be null");
+    }
+
+    /**
+     * Gets the name under which this fetcher's data loader is registered
+     *
+     * @return Data Loader name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public CompletableFuture<List<T>> get(DataFetchingEnvironment environment) {
+        IANodeExecutionContext context = environment.getLocalContext();
+        DatasetGraph dsg = context.getDatasetGraph();
+        IANodeGraphNode node = environment.getSource();
+
+        DataLoader<Node, List<T>> loader = context.getDataLoader(this.name);
+        if (loader != null) {
+            return loader.load(node.getNode(), environment);
+        }
+        QueryDeadline deadline = QueryDeadline.of(environment);
+        return CompletableFuture.completedFuture(Txn.calculateRead(dsg, () -> find(dsg, node.getNode(), deadline)));
+    }
+
+    /**
+     * Creates a data loader that batches lookups against the given dataset
+     * <p>
+     * A batch is resolved within a single read transaction, with each distinct node in the batch looked up once, in
+     * sorted node order, so that lookups against the same region of the underlying indexes happen together.  The batch
+     * is abandoned once the deadline of the execution the lookups were made from expires.
+     * </p>
+     *
+     * @param dsg Dataset Graph
+     * @return Data Loader
+     */
+    public DataLoader<Node, List<T>> createDataLoader(DatasetGraph dsg) {
+        BatchLoaderWithContext<Node, List<T>> loader =
+                (keys, batch) -> CompletableFuture.completedFuture(
+                        findAll(dsg, keys, deadline(batch.getKeyContextsList())));
+        return DataLoaderFactory.newDataLoader(loader);
+    }
+
+    private static QueryDeadline deadline(List<Object> environments) {
+        // All the lookups in a batch come from the same execution, and so share its deadline
+        return QueryDeadline.of(environments.isEmpty() ? null : (DataFetchingEnvironment) environments.get(0));
+    }
+
+    /**
+     * Finds the values for a batch of nodes
+     *
+     * @param dsg      Dataset Graph
+     * @param nodes    Nodes
+     * @param deadline Deadline for the lookups
+     * @return Values for each node, in the same order as the nodes
+     * @throws uk.gov.dbt.ndtp.jena.graphql.execution.QueryTimeoutException Thrown if the deadline expires
+     */
+    List<List<T>> findAll(DatasetGraph dsg, List<Node> nodes, QueryDeadline deadline) {
+        return Txn.calculateRead(dsg, () -> {
+            Map<Node, List<T>> results = new HashMap<>();
+            nodes.stream().distinct().sorted(NodeCmp::compareRDFTerms).forEach(n -> {
+                deadline.check();
+                results.put(n, find(dsg, n, deadline));
+            });
+            return nodes.stream().map(results::get).toList();
+        });
+    }
+
+    /**
+     * Finds the values for a single node
+     * <p>
+     * This is always called from within a read transaction on the dataset.  Implementations <strong>SHOULD</strong>
+     * wrap their scans of the dataset via {@link QueryDeadline#checked(java.util.stream.Stream)} so that a lookup of a
+     * node with many values is abandoned once the deadline expires.
+     * </p>
+     *
+     * @param dsg      Dataset Graph
+     * @param node     Node
+     * @param deadline Deadline for the lookup
+     * @return Values
+     */
+    protected abstract List<T> find(DatasetGraph dsg, Node node, QueryDeadline deadline);
+}
@@ -25,6 +25,7 @@ package uk.gov.dbt.ndtp.jena.graphql.fetchers.ianode.graph;
 
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
 import uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph.IANodeExecutionContext;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.IANodeGraphSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.IANodeGraphNode;
@@ -57,11 +58,13 @@ public class AllEntitiesFetcher implements DataFetcher<List<IANodeGraphNode>> {
         String rawGraph = environment.getArgument(IANodeGraphSchema.ARGUMENT_GRAPH);
         Node graphFilter = StringUtils.isNotBlank(rawGraph) ? StartingNodesFetcher.parseStart(rawGraph) : Node.ANY;
 
-        return Txn.calculateRead(dsg, () -> findEntities(dsg, graphFilter));
+        QueryDeadline deadline = QueryDeadline.of(environment);
+
+        return Txn.calculateRead(dsg, () -> findEntities(dsg, graphFilter, deadline));
     }
 
-    private static List<IANodeGraphNode> findEntities(DatasetGraph dsg, Node graphFilter) {
-        return dsg.stream(graphFilter, Node.ANY, RDF.type.asNode(), Node.ANY)
+    private static List<IANodeGraphNode> findEntities(DatasetGraph dsg, Node graphFilter, QueryDeadline deadline) {
+        return deadline.checked(dsg.stream(graphFilter, Node.ANY, RDF.type.asNode(), Node.ANY))
                   .filter(q -> q.getSubject().isURI() || q.getSubject().isBlank())
                   .map(Quad::getSubject)
                   .distinct()
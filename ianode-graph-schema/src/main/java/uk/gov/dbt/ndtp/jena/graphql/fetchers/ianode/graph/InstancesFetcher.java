@@ -24,13 +24,12 @@
 package uk.gov.dbt.ndtp.jena.graphql.fetchers.ianode.graph;
 
 import graphql.schema.DataFetcher;
-import graphql.schema.DataFetchingEnvironment;
-import uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph.IANodeExecutionContext;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.IANodeGraphSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.IANodeGraphNode;
 import org.apache.jena.graph.Node;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.Quad;
-import org.apache.jena.system.Txn;
 import org.apache.jena.vocabulary.RDF;
 
 import java.util.List;
@@ -39,7 +38,7 @@ import java.util.stream.Collectors;
 /**
  * A GraphQL {@link DataFetcher} that finds instances of a type
  */
-public class InstancesFetcher implements DataFetcher<List<IANodeGraphNode>> {
+public class InstancesFetcher extends AbstractBatchedNodeFetcher<IANodeGraphNode> {
 
     private static final Node RDF_TYPE = RDF.type.asNode();
 
@@ -47,24 +46,16 @@ public class InstancesFetcher implements DataFetcher<List<IANodeGraphNode>> {
      * Creates a fetcher that finds all instances of a type
      */
     public InstancesFetcher() {
-        // Stateless class
+        super(IANodeGraphSchema.FIELD_INSTANCES);
     }
 
     @Override
-    public List<IANodeGraphNode> get(DataFetchingEnvironment environment) {
-        IANodeExecutionContext context = environment.getLocalContext();
-        DatasetGraph dsg = context.getDatasetGraph();
-        IANodeGraphNode node = environment.getSource();
-
-        return Txn.calculateRead(dsg, () -> findInstances(dsg, node));
-    }
-
-    private static List<IANodeGraphNode> findInstances(DatasetGraph dsg, IANodeGraphNode node) {
-        return dsg.stream(Node.ANY, Node.ANY, RDF_TYPE, node.getNode())
-                  .filter(q -> q.getSubject().isURI() || q.getSubject().isBlank())
-                  .map(Quad::getSubject)
-                  .distinct()
-                  .map(n -> new IANodeGraphNode(n, dsg.prefixes()))
-                  .collect(Collectors.toList());
+    protected List<IANodeGraphNode> find(DatasetGraph dsg, Node node, QueryDeadline deadline) {
+        return deadline.checked(dsg.stream(Node.ANY, Node.ANY, RDF_TYPE, node))
+                       .filter(q -> q.getSubject().isURI() || q.getSubject().isBlank())
+                       .map(Quad::getSubject)
+                       .distinct()
+                       .map(n -> new IANodeGraphNode(n, dsg.prefixes()))
+                       .collect(Collectors.toList());
     }
 }
@@ -24,13 +24,11 @@
 package uk.gov.dbt.ndtp.jena.graphql.fetchers.ianode.graph;
 
 import graphql.schema.DataFetcher;
-import graphql.schema.DataFetchingEnvironment;
-import uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph.IANodeExecutionContext;
-import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.IANodeGraphNode;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.IANodeGraphSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.LiteralProperty;
 import org.apache.jena.graph.Node;
 import org.apache.jena.sparql.core.DatasetGraph;
-import org.apache.jena.system.Txn;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -38,29 +36,21 @@ import java.util.stream.Collectors;
 /**
  * A GraphQL {@link DataFetcher} that fetches the literal properties of a node
  */
-public class LiteralPropertiesFetcher implements DataFetcher<List<LiteralProperty>> {
+public class LiteralPropertiesFetcher extends AbstractBatchedNodeFetcher<LiteralProperty> {
 
     /**
      * Creates a fetcher that finds the literal properties associated with a node
      */
     public LiteralPropertiesFetcher() {
-        // Stateless class
+        super(IANodeGraphSchema.FIELD_PROPERTIES);
     }
 
     @Override
-    public List<LiteralProperty> get(DataFetchingEnvironment environment) {
-        IANodeExecutionContext context = environment.getLocalContext();
-        DatasetGraph dsg = context.getDatasetGraph();
-        IANodeGraphNode node = environment.getSource();
-
-        return Txn.calculateRead(dsg, () -> findLiterals(dsg, node));
-    }
-
-    private static List<LiteralProperty> findLiterals(DatasetGraph dsg, IANodeGraphNode node) {
-        return dsg.stream(Node.ANY, node.getNode(), Node.ANY, Node.ANY)
-                  .filter(q -> q.getObject().isLiteral())
-                  .map(q -> new LiteralProperty(q.getPredicate(), q.getObject(),
-                                                dsg.prefixes()))
-                  .collect(Collectors.toList());
+    protected List<LiteralProperty> find(DatasetGraph dsg, Node node, QueryDeadline deadline) {
+        return deadline.checked(dsg.stream(Node.ANY, node, Node.ANY, Node.ANY))
+                       .filter(q -> q.getObject().isLiteral())
+                       .map(q -> new LiteralProperty(q.getPredicate(), q.getObject(),
+                                                     dsg.prefixes()))
+                       .collect(Collectors.toList());
     }
 }
@@ -24,13 +24,12 @@
 package uk.gov.dbt.ndtp.jena.graphql.fetchers.ianode.graph;
 
 import graphql.schema.DataFetcher;
-import graphql.schema.DataFetchingEnvironment;
-import uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph.IANodeExecutionContext;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.IANodeGraphSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.IANodeGraphNode;
 import org.apache.jena.graph.Node;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.Quad;
-import org.apache.jena.system.Txn;
 import org.apache.jena.vocabulary.RDF;
 
 import java.util.List;
@@ -39,29 +38,21 @@ import java.util.stream.Collectors;
 /**
  * A GraphQL {@link DataFetcher} that fetches the defined {@code rdf:type}'s of a node
  */
-public class NodeTypesFetcher implements DataFetcher<List<IANodeGraphNode>> {
+public class NodeTypesFetcher extends AbstractBatchedNodeFetcher<IANodeGraphNode> {
 
     /**
      * Creates a fetcher that finds the types for nodes
      */
     public NodeTypesFetcher() {
-        // Stateless class
+        super(IANodeGraphSchema.FIELD_TYPES);
     }
 
     @Override
-    public List<IANodeGraphNode> get(DataFetchingEnvironment environment) {
-        IANodeExecutionContext context = environment.getLocalContext();
-        DatasetGraph dsg = context.getDatasetGraph();
-        IANodeGraphNode node = environment.getSource();
-
-        return Txn.calculateRead(dsg, () -> findRdfTypes(dsg, node));
-    }
-
-    private static List<IANodeGraphNode> findRdfTypes(DatasetGraph dsg, IANodeGraphNode node) {
-        return dsg.stream(Node.ANY, node.getNode(), RDF.type.asNode(), Node.ANY)
-                  .map(Quad::getObject)
-                  .filter(t -> t.isURI() || t.isBlank())
-                  .map(t -> new IANodeGraphNode(t, dsg.prefixes()))
-                  .collect(Collectors.toList());
+    protected List<IANodeGraphNode> find(DatasetGraph dsg, Node node, QueryDeadline deadline) {
+        return deadline.checked(dsg.stream(Node.ANY, node, RDF.type.asNode(), Node.ANY))
+                       .map(Quad::getObject)
+                       .filter(t -> t.isURI() || t.isBlank())
+                       .map(t -> new IANodeGraphNode(t, dsg.prefixes()))
+                       .collect(Collectors.toList());
     }
 }
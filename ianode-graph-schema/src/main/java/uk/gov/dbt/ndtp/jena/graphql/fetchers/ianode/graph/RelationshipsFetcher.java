@@ -24,15 +24,14 @@
 package uk.gov.dbt.ndtp.jena.graphql.fetchers.ianode.graph;
 
 import graphql.schema.DataFetcher;
-import graphql.schema.DataFetchingEnvironment;
-import uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph.IANodeExecutionContext;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.IANodeGraphSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.IANodeGraphNode;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.Relationship;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.models.EdgeDirection;
 import org.apache.jena.graph.Node;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.Quad;
-import org.apache.jena.system.Txn;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -41,7 +40,7 @@ import java.util.stream.Stream;
 /**
  * A GraphQL {@link DataFetcher} that finds the incoming/outgoing relationships for a node
  */
-public class RelationshipsFetcher implements DataFetcher<List<Relationship>> {
+public class RelationshipsFetcher extends AbstractBatchedNodeFetcher<Relationship> {
 
     private final EdgeDirection direction;
 
@@ -51,30 +50,25 @@ public class RelationshipsFetcher implements DataFetcher<List<Relationship>> {
      * @param direction Edge direction
      */
     public RelationshipsFetcher(EdgeDirection direction) {
+        super(direction == EdgeDirection.IN ? IANodeGraphSchema.FIELD_INBOUND_RELATIONSHIPS :
+              IANodeGraphSchema.FIELD_OUTBOUND_RELATIONSHIPS);
         this.direction = direction;
     }
 
     @Override
-    public List<Relationship> get(DataFetchingEnvironment environment) {
-        IANodeExecutionContext context = environment.getLocalContext();
-        DatasetGraph dsg = context.getDatasetGraph();
-        IANodeGraphNode target = environment.getSource();
-
-        return Txn.calculateRead(dsg, () -> findRelationships(dsg, target));
-    }
-
-    private List<Relationship> findRelationships(DatasetGraph dsg, IANodeGraphNode target) {
-        return stream(dsg, target).filter(q -> q.getObject().isURI() || q.getObject().isBlank())
-                                  .map(q -> new Relationship(new IANodeGraphNode(q.getSubject(), dsg.prefixes()),
-                                                             new IANodeGraphNode(q.getPredicate(), dsg.prefixes()),
-                                                             new IANodeGraphNode(q.getObject(), dsg.prefixes())))
-                                  .collect(Collectors.toList());
+    protected List<Relationship> find(DatasetGraph dsg, Node target, QueryDeadline deadline) {
+        return deadline.checked(stream(dsg, target))
+                       .filter(q -> q.getObject().isURI() || q.getObject().isBlank())
+                       .map(q -> new Relationship(new IANodeGraphNode(q.getSubject(), dsg.prefixes()),
+                                                  new IANodeGraphNode(q.getPredicate(), dsg.prefixes()),
+                                                  new IANodeGraphNode(q.getObject(), dsg.prefixes())))
+                       .collect(Collectors.toList());
     }
 
-    private Stream<Quad> stream(DatasetGraph dsg, IANodeGraphNode target) {
+    private Stream<Quad> stream(DatasetGraph dsg, Node target) {
         return switch (this.direction) {
-            case OUT -> dsg.stream(Node.ANY, target.getNode(), Node.ANY, Node.ANY);
-            case IN -> dsg.stream(Node.ANY, Node.ANY, Node.ANY, target.getNode());
+            case OUT -> dsg.stream(Node.ANY, target, Node.ANY, Node.ANY);
+            case IN -> dsg.stream(Node.ANY, Node.ANY, Node.ANY, target);
         };
     }
 }
@@ -25,6 +25,7 @@ package uk.gov.dbt.ndtp.jena.graphql.fetchers.ianode.graph;
 
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
 import uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph.IANodeExecutionContext;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.IANodeGraphSchema;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.State;
@@ -55,13 +56,15 @@ public class StartingStatesFetcher implements DataFetcher<List<State>> {
         DatasetGraph dsg = context.getDatasetGraph();
         Node node = StartingNodesFetcher.parseStart(environment.getArgument(IANodeGraphSchema.ARGUMENT_URI));
 
-        return Txn.calculateRead(dsg, () -> findStates(dsg, node));
+        QueryDeadline deadline = QueryDeadline.of(environment);
+
+        return Txn.calculateRead(dsg, () -> findStates(dsg, node, deadline));
     }
 
-    private static List<State> findStates(DatasetGraph dsg, Node node) {
+    private static List<State> findStates(DatasetGraph dsg, Node node, QueryDeadline deadline) {
         return IesFetchers.STATE_PREDICATES.stream()
-                                           .flatMap(p -> dsg.stream(Node.ANY, Node.ANY, p,
-                                                                    node)
+                                           .flatMap(p -> deadline.checked(dsg.stream(Node.ANY, Node.ANY, p,
+                                                                                     node))
                                                             .filter(q -> (q.getSubject()
                                                                            .isURI() || q.getSubject()
                                                                                         .isBlank()) && dsg.contains(
@@ -52,6 +52,10 @@ public class IANodeGraphSchema {
         return GraphQLJenaSchemas.loadSchema(SCHEMA_RESOURCE);
     }
 
+    /**
+     * Query type
+     */
+    public static final String TYPE_QUERY = "Query";
     /**
      * Node type
      */
@@ -25,9 +25,13 @@ package uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.CompletableFuture;
+
 public class TestIANodeExecutionContext {
 
     private static final String RANDOM_STRING = RandomStringUtils.random(6);
@@ -62,4 +66,25 @@ public class TestIANodeExecutionContext {
         Assert.assertTrue(actual);
         Assert.assertEquals(RANDOM_STRING, context.getAuthToken());
     }
+
+    @Test
+    public void test_noDataLoaders() {
+        // given
+        IANodeExecutionContext context = new IANodeExecutionContext(DatasetGraphFactory.empty(), null);
+        // when and then
+        Assert.assertNull(context.getDataLoaderRegistry());
+        Assert.assertNull(context.getDataLoader("types"));
+    }
+
+    @Test
+    public void test_dataLoaders() {
+        // given
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register("types", DataLoaderFactory.newDataLoader(keys -> CompletableFuture.completedFuture(keys)));
+        IANodeExecutionContext context = new IANodeExecutionContext(DatasetGraphFactory.empty(), null, registry);
+        // when and then
+        Assert.assertSame(context.getDataLoaderRegistry(), registry);
+        Assert.assertNotNull(context.getDataLoader("types"));
+        Assert.assertNull(context.getDataLoader("other"));
+    }
 }
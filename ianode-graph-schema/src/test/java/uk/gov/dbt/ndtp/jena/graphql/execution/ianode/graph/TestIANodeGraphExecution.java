@@ -33,6 +33,8 @@ import org.apache.jena.sys.JenaSystem;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import uk.gov.dbt.ndtp.jena.graphql.execution.AbstractExecution;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryCostExceededException;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryCostInstrumentation;
 import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.IANodeGraphSchema;
 import uk.gov.dbt.ndtp.jena.graphql.server.model.GraphQLRequest;
 
@@ -236,4 +238,35 @@ public class TestIANodeGraphExecution extends AbstractExecution {
                                 .anyMatch(s -> Objects.equals(s.get(IANodeGraphSchema.FIELD_URI),
                                                               "http://ndtp.co.uk/data#4cf1a38a-8c6f-45c9-be8f-915120279399")));
     }
+
+    @Test
+    public void givenStarWarsData_whenQueryingDeeplyNestedRelationships_thenRejectedBeforeExecution() {
+        // Given
+        String query = "{ getAllEntities { inRels { domain { inRels { domain { inRels { domain { inRels { domain { "
+                       + "outRels { range { uri } } } } } } } } } } } }";
+
+        // When
+        ExecutionResult result = this.starwars.execute(query);
+
+        // Then
+        Assert.assertFalse(result.isDataPresent());
+        Assert.assertEquals(result.getErrors().size(), 1);
+        Assert.assertTrue(result.getErrors().get(0) instanceof QueryCostExceededException);
+        Map<String, Object> cost =
+                (Map<String, Object>) result.getExtensions().get(QueryCostInstrumentation.EXTENSION_QUERY_COST);
+        Assert.assertTrue((Integer) cost.get(QueryCostInstrumentation.EXTENSION_COST) > (Integer) cost.get(
+                QueryCostInstrumentation.EXTENSION_MAXIMUM_COST));
+    }
+
+    @Test
+    public void givenStarWarsData_whenQueryingAllEntities_thenCostReported() {
+        // Given and When
+        ExecutionResult result = verifyExecution(this.starwars, ALL_ENTITIES_QUERY);
+
+        // Then
+        Map<String, Object> cost =
+                (Map<String, Object>) result.getExtensions().get(QueryCostInstrumentation.EXTENSION_QUERY_COST);
+        Assert.assertNotNull(cost);
+        Assert.assertTrue((Integer) cost.get(QueryCostInstrumentation.EXTENSION_COST) > 0);
+    }
 }
@@ -0,0 +1,153 @@
+// SPDX-License-Identifier: Apache-2.0
+// Originally developed by Telicent Ltd.; subsequently adapted, enhanced, and maintained by the National Digital Twin Programme.
+/*
+ *  Copyright (c) Telicent Ltd.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/*
+ *  Modifications made by the National Digital Twin Programme (NDTP)
+ *  © Crown Copyright 2025. This work has been developed by the National Digital Twin Programme
+ *  and is legally attributed to the Department for Business and Trade (UK) as the governing entity.
+ */
+
+package uk.gov.dbt.ndtp.jena.graphql.fetchers.ianode.graph;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDF;
+import org.dataloader.DataLoaderRegistry;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryDeadline;
+import uk.gov.dbt.ndtp.jena.graphql.execution.QueryTimeoutException;
+import uk.gov.dbt.ndtp.jena.graphql.execution.ianode.graph.IANodeExecutionContext;
+import uk.gov.dbt.ndtp.jena.graphql.schemas.ianode.graph.models.IANodeGraphNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.jena.graph.NodeFactory.createURI;
+
+public class TestAbstractBatchedNodeFetcher {
+
+    /**
+     * A fetcher that records the nodes it is asked to find
+     */
+    private static final class RecordingFetcher extends AbstractBatchedNodeFetcher<IANodeGraphNode> {
+        private final List<Node> found = new ArrayList<>();
+        private final NodeTypesFetcher delegate = new NodeTypesFetcher();
+
+        RecordingFetcher() {
+            super("recording");
+        }
+
+        @Override
+        protected List<IANodeGraphNode> find(DatasetGraph dsg, Node node, QueryDeadline deadline) {
+            Assert.assertTrue(dsg.isInTransaction());
+            this.found.add(node);
+            return this.delegate.find(dsg, node, deadline);
+        }
+    }
+
+    private static DatasetGraph createDataset() {
+        DatasetGraph dsg = DatasetGraphFactory.createTxnMem();
+        dsg.add(new Quad(Quad.defaultGraphIRI, createURI("urn:c"), RDF.type.asNode(), createURI("urn:type1")));
+        dsg.add(new Quad(Quad.defaultGraphIRI, createURI("urn:a"), RDF.type.asNode(), createURI("urn:type1")));
+        dsg.add(new Quad(Quad.defaultGraphIRI, createURI("urn:a"), RDF.type.asNode(), createURI("urn:type2")));
+        return dsg;
+    }
+
+    private static DataFetchingEnvironment environment(IANodeExecutionContext context, String uri) {
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                                          .localContext(context)
+                                          .source(new IANodeGraphNode(createURI(uri), null))
+                                          .build();
+    }
+
+    @Test
+    public void givenNoDataLoader_whenFetching_thenFoundImmediately() {
+        // given
+        RecordingFetcher fetcher = new RecordingFetcher();
+        IANodeExecutionContext context = new IANodeExecutionContext(createDataset(), null);
+
+        // when
+        CompletableFuture<List<IANodeGraphNode>> future = fetcher.get(environment(context, "urn:a"));
+
+        // then
+        Assert.assertTrue(future.isDone());
+        Assert.assertEquals(future.join().size(), 2);
+        Assert.assertEquals(fetcher.found, List.of(createURI("urn:a")));
+    }
+
+    @Test
+    public void givenDataLoader_whenFetchingMultipleNodes_thenLookupsBatchedInSortedOrder() {
+        // given
+        RecordingFetcher fetcher = new RecordingFetcher();
+        DatasetGraph dsg = createDataset();
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(fetcher.getName(), fetcher.createDataLoader(dsg));
+        IANodeExecutionContext context = new IANodeExecutionContext(dsg, null, registry);
+
+        // when
+        CompletableFuture<List<IANodeGraphNode>> c = fetcher.get(environment(context, "urn:c"));
+        CompletableFuture<List<IANodeGraphNode>> b = fetcher.get(environment(context, "urn:b"));
+        CompletableFuture<List<IANodeGraphNode>> a = fetcher.get(environment(context, "urn:a"));
+        CompletableFuture<List<IANodeGraphNode>> c2 = fetcher.get(environment(context, "urn:c"));
+
+        // then
+        Assert.assertFalse(a.isDone());
+        Assert.assertTrue(fetcher.found.isEmpty());
+        registry.dispatchAll();
+        Assert.assertEquals(fetcher.found, List.of(createURI("urn:a"), createURI("urn:b"), createURI("urn:c")));
+        Assert.assertEquals(a.join().size(), 2);
+        Assert.assertEquals(b.join().size(), 0);
+        Assert.assertEquals(c.join().size(), 1);
+        Assert.assertEquals(c2.join(), c.join());
+    }
+
+    @Test
+    public void givenBatchWithDuplicates_whenFindingAll_thenResultsInKeyOrder() {
+        // given
+        RecordingFetcher fetcher = new RecordingFetcher();
+        List<Node> keys = List.of(createURI("urn:c"), createURI("urn:a"), createURI("urn:c"));
+
+        // when
+        List<List<IANodeGraphNode>> results = fetcher.findAll(createDataset(), keys, QueryDeadline.none());
+
+        // then
+        Assert.assertEquals(results.size(), 3);
+        Assert.assertEquals(results.get(0).size(), 1);
+        Assert.assertEquals(results.get(1).size(), 2);
+        Assert.assertEquals(results.get(2).size(), 1);
+        Assert.assertEquals(fetcher.found, List.of(createURI("urn:a"), createURI("urn:c")));
+    }
+
+    @Test
+    public void givenExpiredDeadline_whenFindingAll_thenAbandoned() {
+        // given
+        RecordingFetcher fetcher = new RecordingFetcher();
+        QueryDeadline deadline = QueryDeadline.none();
+        deadline.cancel();
+
+        // when and then
+        Assert.expectThrows(QueryTimeoutException.class,
+                            () -> fetcher.findAll(createDataset(), List.of(createURI("urn:a")), deadline));
+        Assert.assertTrue(fetcher.found.isEmpty());
+    }
+}
@@ -58,7 +58,7 @@ public class TestInstancesFetcher {
                 .source(new IANodeGraphNode(createBlankNode("object"), null))
                 .build();
         // when
-        List<IANodeGraphNode> actualList = fetcher.get(environment);
+        List<IANodeGraphNode> actualList = fetcher.get(environment).join();
         // then
         Assert.assertNotNull(actualList);
         Assert.assertFalse(actualList.isEmpty());
@@ -83,7 +83,7 @@ public class TestInstancesFetcher {
                 .source(new IANodeGraphNode(createURI("object"), null))
                 .build();
         // when
-        List<IANodeGraphNode> actualList = fetcher.get(environment);
+        List<IANodeGraphNode> actualList = fetcher.get(environment).join();
         // then
         Assert.assertNotNull(actualList);
         Assert.assertFalse(actualList.isEmpty());
@@ -108,7 +108,7 @@ public class TestInstancesFetcher {
                 .source(new IANodeGraphNode(createLiteralString("object"), null))
                 .build();
         // when
-        List<IANodeGraphNode> actualList = fetcher.get(environment);
+        List<IANodeGraphNode> actualList = fetcher.get(environment).join();
         // then
         Assert.assertNotNull(actualList);
         Assert.assertTrue(actualList.isEmpty());
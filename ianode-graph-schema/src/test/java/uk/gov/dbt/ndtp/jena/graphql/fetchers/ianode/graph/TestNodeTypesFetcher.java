@@ -59,7 +59,7 @@ public class TestNodeTypesFetcher {
                 .source(new IANodeGraphNode(createBlankNode("subject"), null))
                 .build();
         // when
-        List<IANodeGraphNode> actualList = fetcher.get(environment);
+        List<IANodeGraphNode> actualList = fetcher.get(environment).join();
         // then
         Assert.assertNotNull(actualList);
         Assert.assertFalse(actualList.isEmpty());
@@ -84,7 +84,7 @@ public class TestNodeTypesFetcher {
                 .source(new IANodeGraphNode(createURI("subject"), null))
                 .build();
         // when
-        List<IANodeGraphNode> actualList = fetcher.get(environment);
+        List<IANodeGraphNode> actualList = fetcher.get(environment).join();
         // then
         Assert.assertNotNull(actualList);
         Assert.assertFalse(actualList.isEmpty());
@@ -109,7 +109,7 @@ public class TestNodeTypesFetcher {
                 .source(new IANodeGraphNode(createLiteralString("subject"), null))
                 .build();
         // when
-        List<IANodeGraphNode> actualList = fetcher.get(environment);
+        List<IANodeGraphNode> actualList = fetcher.get(environment).join();
         // then
         Assert.assertNotNull(actualList);
         Assert.assertFalse(actualList.isEmpty());
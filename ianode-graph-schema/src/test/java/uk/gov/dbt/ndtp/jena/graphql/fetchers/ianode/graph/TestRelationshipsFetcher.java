@@ -56,7 +56,7 @@ public class TestRelationshipsFetcher {
                 .source(new IANodeGraphNode(createBlankNode("object"), null))
                 .build();
         // when
-        List<Relationship> actualList = fetcher.get(environment);
+        List<Relationship> actualList = fetcher.get(environment).join();
         // then
         Assert.assertNotNull(actualList);
         Assert.assertFalse(actualList.isEmpty());
@@ -78,7 +78,7 @@ public class TestRelationshipsFetcher {
                 .source(new IANodeGraphNode(createURI("object"), null))
                 .build();
         // when
-        List<Relationship> actualList = fetcher.get(environment);
+        List<Relationship> actualList = fetcher.get(environment).join();
         // then
         Assert.assertNotNull(actualList);
         Assert.assertFalse(actualList.isEmpty());